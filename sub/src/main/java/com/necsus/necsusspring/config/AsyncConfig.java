@@ -1,16 +1,39 @@
 package com.necsus.necsusspring.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 
+import java.util.concurrent.Executor;
+
 /**
  * Configuração para habilitar processamento assíncrono na aplicação.
- * Necessário para que os listeners de notificação funcionem de forma assíncrona.
+ * Os métodos @Async rodam no executor "notifications" (AsyncExecutors), com fila limitada,
+ * em vez do executor padrão do Spring, que não tem limite de fila.
  */
 @Configuration
 @EnableAsync
-public class AsyncConfig {
-    // Esta classe habilita o suporte a @Async na aplicação
-    // Os listeners de notificação usam @Async para não bloquear
-    // o thread principal ao enviar notificações
+public class AsyncConfig implements AsyncConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    private final AsyncExecutors asyncExecutors;
+
+    public AsyncConfig(AsyncExecutors asyncExecutors) {
+        this.asyncExecutors = asyncExecutors;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return asyncExecutors.notifications();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (error, method, params) ->
+                logger.error("[ASYNC] Falha em {}.{}", method.getDeclaringClass().getSimpleName(), method.getName(), error);
+    }
 }
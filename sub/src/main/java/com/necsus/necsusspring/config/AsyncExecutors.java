@@ -0,0 +1,82 @@
+package com.necsus.necsusspring.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Executores nomeados por tipo de carga.
+ *
+ * notifications: padrão do @Async (ver AsyncConfig), usado pelas notificações em massa.
+ * ai-analysis: chamadas ao Gemini que não precisam segurar a requisição.
+ * files: relatórios gerados em segundo plano (ReportJobService), com limite próprio por tipo.
+ * notification-stream: envios do canal SSE de notificações (NotificationStreamService).
+ *
+ * Não são registrados como beans Executor de propósito: um bean desse tipo substituiria o
+ * executor que o Spring Boot configura para o MVC assíncrono. Ao desligar, cada pool termina
+ * as tarefas enfileiradas dentro de app.async.drain-seconds.
+ */
+@Component
+public class AsyncExecutors {
+
+    public static final String NOTIFICATIONS = "notifications";
+    public static final String AI_ANALYSIS = "ai-analysis";
+    public static final String FILES = "files";
+    public static final String NOTIFICATION_STREAM = "notification-stream";
+
+    private final InstrumentedExecutor notifications;
+    private final InstrumentedExecutor aiAnalysis;
+    private final InstrumentedExecutor files;
+    private final InstrumentedExecutor notificationStream;
+    private final long drainSeconds;
+
+    public AsyncExecutors(@Value("${app.async.notifications.threads:2}") int notificationThreads,
+                          @Value("${app.async.notifications.queue-capacity:500}") int notificationQueue,
+                          @Value("${app.async.notifications.rejection-policy:CALLER_RUNS}") InstrumentedExecutor.RejectionPolicy notificationPolicy,
+                          @Value("${app.async.ai-analysis.threads:2}") int aiThreads,
+                          @Value("${app.async.ai-analysis.queue-capacity:50}") int aiQueue,
+                          @Value("${app.async.ai-analysis.rejection-policy:CALLER_RUNS}") InstrumentedExecutor.RejectionPolicy aiPolicy,
+                          @Value("${app.async.files.threads:3}") int fileThreads,
+                          @Value("${app.async.files.queue-capacity:20}") int fileQueue,
+                          @Value("${app.async.files.rejection-policy:ABORT}") InstrumentedExecutor.RejectionPolicy filePolicy,
+                          @Value("${app.async.notification-stream.threads:2}") int streamThreads,
+                          @Value("${app.async.notification-stream.queue-capacity:5000}") int streamQueue,
+                          @Value("${app.async.notification-stream.rejection-policy:DISCARD}") InstrumentedExecutor.RejectionPolicy streamPolicy,
+                          @Value("${app.async.drain-seconds:30}") long drainSeconds) {
+        this.notifications = new InstrumentedExecutor(NOTIFICATIONS, notificationThreads, notificationQueue, notificationPolicy);
+        this.aiAnalysis = new InstrumentedExecutor(AI_ANALYSIS, aiThreads, aiQueue, aiPolicy);
+        this.files = new InstrumentedExecutor(FILES, fileThreads, fileQueue, filePolicy);
+        this.notificationStream = new InstrumentedExecutor(NOTIFICATION_STREAM, streamThreads, streamQueue, streamPolicy);
+        this.drainSeconds = drainSeconds;
+    }
+
+    public InstrumentedExecutor notifications() {
+        return notifications;
+    }
+
+    public InstrumentedExecutor aiAnalysis() {
+        return aiAnalysis;
+    }
+
+    public InstrumentedExecutor files() {
+        return files;
+    }
+
+    public InstrumentedExecutor notificationStream() {
+        return notificationStream;
+    }
+
+    public List<InstrumentedExecutor.Stats> stats() {
+        return List.of(notifications.stats(), aiAnalysis.stats(), files.stats(), notificationStream.stats());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        notifications.shutdown(drainSeconds);
+        aiAnalysis.shutdown(drainSeconds);
+        files.shutdown(drainSeconds);
+        notificationStream.shutdown(drainSeconds);
+    }
+}
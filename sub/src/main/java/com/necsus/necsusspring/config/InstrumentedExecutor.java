@@ -0,0 +1,174 @@
+package com.necsus.necsusspring.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de threads nomeado, com fila limitada, política de rejeição configurável e métricas.
+ *
+ * Uma rajada de tarefas nunca cria threads além do tamanho do pool: o excedente espera na fila
+ * e, com a fila cheia, segue a política escolhida. As métricas (fila, threads ativas, espera na
+ * fila, tempo de execução, rejeições) ficam disponíveis em {@link #stats()}.
+ */
+public class InstrumentedExecutor implements Executor {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstrumentedExecutor.class);
+
+    public enum RejectionPolicy {
+        /** Executa na thread de quem enviou a tarefa, freando a origem da rajada */
+        CALLER_RUNS,
+        /** Descarta a tarefa e registra no log */
+        DISCARD,
+        /** Recusa a tarefa com RejectedExecutionException */
+        ABORT
+    }
+
+    public record Stats(String name,
+                        RejectionPolicy rejectionPolicy,
+                        int poolSize,
+                        int activeThreads,
+                        int queueSize,
+                        int queueCapacity,
+                        long submitted,
+                        long completed,
+                        long failed,
+                        long rejected,
+                        long callerRuns,
+                        double avgWaitMs,
+                        double maxWaitMs,
+                        double avgRunMs) {
+    }
+
+    private final String name;
+    private final RejectionPolicy rejectionPolicy;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+
+    public InstrumentedExecutor(String name, int threads, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        this.name = name;
+        this.rejectionPolicy = rejectionPolicy != null ? rejectionPolicy : RejectionPolicy.CALLER_RUNS;
+        this.queueCapacity = Math.max(queueCapacity, 1);
+        AtomicInteger counter = new AtomicInteger();
+        int poolSize = Math.max(threads, 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(this.queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                rejectionHandler());
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submitted.incrementAndGet();
+        executor.execute(new TimedTask(task, System.nanoTime()));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Stats stats() {
+        long done = completed.get() + failed.get();
+        return new Stats(
+                name,
+                rejectionPolicy,
+                executor.getPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                queueCapacity,
+                submitted.get(),
+                completed.get(),
+                failed.get(),
+                rejected.get(),
+                callerRuns.get(),
+                done > 0 ? toMillis(totalWaitNanos.get()) / done : 0,
+                toMillis(maxWaitNanos.get()),
+                done > 0 ? toMillis(totalRunNanos.get()) / done : 0);
+    }
+
+    /**
+     * Para de aceitar tarefas e espera as enfileiradas terminarem até {@code drainSeconds};
+     * o que sobrar depois disso é interrompido.
+     */
+    public void shutdown(long drainSeconds) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(Math.max(drainSeconds, 0), TimeUnit.SECONDS)) {
+                List<Runnable> dropped = executor.shutdownNow();
+                logger.warn("[ASYNC {}] Encerrado sem concluir {} tarefas enfileiradas", name, dropped.size());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private RejectedExecutionHandler rejectionHandler() {
+        return (runnable, pool) -> {
+            if (rejectionPolicy == RejectionPolicy.CALLER_RUNS && !pool.isShutdown()) {
+                callerRuns.incrementAndGet();
+                runnable.run();
+                return;
+            }
+            rejected.incrementAndGet();
+            if (rejectionPolicy == RejectionPolicy.DISCARD) {
+                logger.warn("[ASYNC {}] Fila cheia, tarefa descartada", name);
+                return;
+            }
+            throw new RejectedExecutionException("Fila do executor " + name + " cheia");
+        };
+    }
+
+    private final class TimedTask implements Runnable {
+        private final Runnable task;
+        private final long enqueuedAt;
+
+        private TimedTask(Runnable task, long enqueuedAt) {
+            this.task = task;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            long waited = startedAt - enqueuedAt;
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            try {
+                task.run();
+                completed.incrementAndGet();
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                logger.error("[ASYNC {}] Falha na tarefa", name, e);
+            } finally {
+                totalRunNanos.addAndGet(System.nanoTime() - startedAt);
+            }
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -18,6 +18,7 @@ public class SecurityConfig {
 
     private static final String[] ADMIN_ROLES = RoleType.adminRoleCodes();
     private static final String[] USER_MANAGEMENT_ROLES = RoleType.userManagementRoleCodes();
+    private static final String[] OPERATIONS_ROLES = RoleType.operationsRoleCodes();
     private static final String[] AUTHENTICATED_ROLES = RoleType.allRoleCodes();
 
     private final UserAccountService userAccountService;
@@ -53,6 +54,12 @@ public class SecurityConfig {
                                 new AntPathRequestMatcher("/favicon.ico")
                         ).permitAll()
 
+                        // Métricas operacionais (antes das áreas administrativas, que cobrem os mesmos prefixos)
+                        .requestMatchers(
+                                new AntPathRequestMatcher("/events/api/board/cache-stats"),
+                                new AntPathRequestMatcher("/admin/async-executors/**")
+                        ).hasAnyRole(OPERATIONS_ROLES)
+
                         // Acesso Gerenciamento de Usuários
                         .requestMatchers(
                                 new AntPathRequestMatcher("/admin/users/**")
@@ -66,6 +73,7 @@ public class SecurityConfig {
                                 new AntPathRequestMatcher("/events/**"),
                                 new AntPathRequestMatcher("/pagamentos/**"),
                                 new AntPathRequestMatcher("/reports/**"),
+                                new AntPathRequestMatcher("/exports/**"),
                                 new AntPathRequestMatcher("/juridico/**"), // Adicionado por consistência
                                 new AntPathRequestMatcher("/financeiro/**"), // ADICIONADO AQUI
                                 new AntPathRequestMatcher("/api/nfe/**"), // API NFe
@@ -0,0 +1,29 @@
+package com.necsus.necsusspring.controller;
+
+import com.necsus.necsusspring.config.AsyncExecutors;
+import com.necsus.necsusspring.config.InstrumentedExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Métricas dos executores assíncronos (fila, threads ativas, espera, execução e rejeições)
+ */
+@RestController
+@RequestMapping("/admin/async-executors")
+public class AsyncExecutorController {
+
+    private final AsyncExecutors asyncExecutors;
+
+    public AsyncExecutorController(AsyncExecutors asyncExecutors) {
+        this.asyncExecutors = asyncExecutors;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<InstrumentedExecutor.Stats>> getStats() {
+        return ResponseEntity.ok(asyncExecutors.stats());
+    }
+}
@@ -2,11 +2,15 @@ package com.necsus.necsusspring.controller;
 
 import com.necsus.necsusspring.dto.DemandBoardCardDto;
 import com.necsus.necsusspring.dto.DemandBoardSnapshot;
+import com.necsus.necsusspring.dto.StatusBatchResult;
+import com.necsus.necsusspring.dto.StatusMoveRequest;
 import com.necsus.necsusspring.model.*;
+import com.necsus.necsusspring.service.DemandBoardStreamService;
 import com.necsus.necsusspring.service.DemandService;
 import com.necsus.necsusspring.service.UserAccountService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,6 +18,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDateTime;
@@ -35,10 +40,14 @@ public class DemandController {
 
     private final DemandService demandService;
     private final UserAccountService userAccountService;
+    private final DemandBoardStreamService boardStreamService;
 
-    public DemandController(DemandService demandService, UserAccountService userAccountService) {
+    public DemandController(DemandService demandService,
+                            UserAccountService userAccountService,
+                            DemandBoardStreamService boardStreamService) {
         this.demandService = demandService;
         this.userAccountService = userAccountService;
+        this.boardStreamService = boardStreamService;
     }
 
     /**
@@ -122,6 +131,68 @@ public class DemandController {
         return ResponseEntity.ok(snapshot);
     }
 
+    /**
+     * Canal SSE com as mudanças de cards do board, com a mesma regra de visibilidade do /api/board
+     */
+    @GetMapping(value = "/api/board/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<SseEmitter> streamBoard(Authentication authentication) {
+        String userRole = getUserRole(authentication);
+
+        if (!RoleType.canCreateDemands(userRole)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        String roleFilter = isDirectorOrAdmin(userRole) ? null : userRole;
+        return ResponseEntity.ok(boardStreamService.subscribe(roleFilter));
+    }
+
+    @GetMapping("/api/column")
+    @ResponseBody
+    public ResponseEntity<?> getBoardColumn(@RequestParam DemandStatus status,
+                                            @RequestParam(required = false) String after,
+                                            @RequestParam(required = false) Integer limit,
+                                            Authentication authentication) {
+        String userRole = getUserRole(authentication);
+
+        if (!RoleType.canCreateDemands(userRole)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Acesso negado"));
+        }
+
+        try {
+            // Mesma regra do board: ADMIN e DIRETORIA veem todas as demandas
+            String roleFilter = isDirectorOrAdmin(userRole) ? null : userRole;
+            return ResponseEntity.ok(demandService.getBoardColumn(status, roleFilter, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Move várias demandas de uma vez. Recebe uma lista de {id, status} e devolve o desfecho de cada card.
+     */
+    @PostMapping("/api/status:batch")
+    @ResponseBody
+    public ResponseEntity<?> updateDemandStatusBatch(@RequestBody List<StatusMoveRequest> moves,
+                                                     Authentication authentication) {
+        String userRole = getUserRole(authentication);
+        if (!RoleType.canCreateDemands(userRole)) {
+            logger.warn("Tentativa de mover demandas em lote sem permissão. Role: {}", userRole);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Você não tem permissão para atualizar demandas."));
+        }
+
+        try {
+            UserAccount currentUser = getCurrentUser(authentication);
+            StatusBatchResult result = demandService.updateStatusBatch(moves, currentUser);
+            logger.info("Movimentação em lote de demandas: {} pedidos, {} movidas", result.requested(), result.moved());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PutMapping("/api/{id}/status")
     @ResponseBody
     public ResponseEntity<?> updateDemandStatus(
@@ -4,17 +4,25 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.necsus.necsusspring.dto.EventBoardCardDto;
 import com.necsus.necsusspring.dto.EventBoardSnapshot;
+import com.necsus.necsusspring.dto.EventExportFilter;
+import com.necsus.necsusspring.dto.EventTextRevision;
 import com.necsus.necsusspring.dto.LegalProcessRequest;
 import com.necsus.necsusspring.model.*;
+import com.necsus.necsusspring.service.EventBoardSnapshotCache;
+import com.necsus.necsusspring.service.EventBoardStreamService;
 import com.necsus.necsusspring.service.EventService;
 import com.necsus.necsusspring.service.EventObservationHistoryService;
+import com.necsus.necsusspring.service.EventPdfExportJobService;
+import com.necsus.necsusspring.service.EventPdfExportService;
 import com.necsus.necsusspring.service.EventDescriptionHistoryService;
 import com.necsus.necsusspring.service.FileStorageService;
 import com.necsus.necsusspring.service.LegalProcessService;
 import com.necsus.necsusspring.service.PartnerService;
+import com.necsus.necsusspring.service.ReportJobService;
 import com.necsus.necsusspring.service.VehicleService;
 import jakarta.validation.Valid;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
@@ -28,6 +36,8 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.io.IOException;
@@ -51,6 +61,9 @@ public class EventController {
     private final EventObservationHistoryService observationHistoryService;
     private final EventDescriptionHistoryService descriptionHistoryService;
     private final LegalProcessService legalProcessService;
+    private final EventBoardStreamService boardStreamService;
+    private final EventPdfExportService pdfExportService;
+    private final EventPdfExportJobService pdfExportJobService;
     private final ObjectMapper objectMapper;
 
     public EventController(EventService eventService,
@@ -60,6 +73,9 @@ public class EventController {
                            EventObservationHistoryService observationHistoryService,
                            EventDescriptionHistoryService descriptionHistoryService,
                            LegalProcessService legalProcessService,
+                           EventBoardStreamService boardStreamService,
+                           EventPdfExportService pdfExportService,
+                           EventPdfExportJobService pdfExportJobService,
                            ObjectMapper objectMapper) {
         this.eventService = eventService;
         this.partnerService = partnerService;
@@ -68,6 +84,9 @@ public class EventController {
         this.observationHistoryService = observationHistoryService;
         this.descriptionHistoryService = descriptionHistoryService;
         this.legalProcessService = legalProcessService;
+        this.boardStreamService = boardStreamService;
+        this.pdfExportService = pdfExportService;
+        this.pdfExportJobService = pdfExportJobService;
         this.objectMapper = objectMapper;
     }
 
@@ -134,13 +153,7 @@ public class EventController {
     public ResponseEntity<List<com.necsus.necsusspring.dto.EventBoardCardDto>> getEventsByStatus(@PathVariable Status status) {
         try {
             logger.info("[KANBAN API] Buscando eventos com status: {}", status);
-            List<Event> events = eventService.listByStatus(status);
-            logger.info("[KANBAN API] Encontrados {} eventos para status {}", events.size(), status);
-
-            List<com.necsus.necsusspring.dto.EventBoardCardDto> dtos = events.stream()
-                    .map(com.necsus.necsusspring.dto.EventBoardCardDto::from)
-                    .toList();
-
+            List<com.necsus.necsusspring.dto.EventBoardCardDto> dtos = eventService.listBoardCardsByStatus(status);
             logger.info("[KANBAN API] Retornando {} DTOs para o frontend", dtos.size());
             return ResponseEntity.ok(dtos);
         } catch (Exception e) {
@@ -149,10 +162,56 @@ public class EventController {
         }
     }
 
+    /**
+     * API REST para carregar uma coluna do board sob demanda, paginada por cursor.
+     * O parâmetro after é o nextCursor devolvido pela página anterior.
+     */
+    @GetMapping("/api/column")
+    @ResponseBody
+    public ResponseEntity<?> getBoardColumn(@RequestParam Status status,
+                                            @RequestParam(required = false) String after,
+                                            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(eventService.getBoardColumn(status, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Snapshot do board. Com {@code sinceRevision} retorna apenas o delta desde essa revisão
+     * (ou o snapshot completo dentro do delta, se o cliente estiver atrasado demais).
+     */
     @GetMapping("/api/board")
     @ResponseBody
-    public ResponseEntity<EventBoardSnapshot> getBoardSnapshotApi() {
-        return ResponseEntity.ok(eventService.getBoardSnapshot());
+    public ResponseEntity<?> getBoardSnapshotApi(@RequestParam(required = false) Long sinceRevision,
+                                                 @RequestParam(defaultValue = "false") boolean includeLinked) {
+        if (includeLinked) {
+            // Visão do jurídico: eventos já vinculados a processos aparecem sinalizados
+            return ResponseEntity.ok(eventService.getBoardSnapshotIncludingLinked());
+        }
+        if (sinceRevision == null) {
+            return ResponseEntity.ok(eventService.getBoardSnapshot());
+        }
+        return ResponseEntity.ok(eventService.getBoardDelta(sinceRevision));
+    }
+
+    /**
+     * Métricas do cache do snapshot do board (hits, misses e tempo de reconstrução)
+     */
+    @GetMapping("/api/board/cache-stats")
+    @ResponseBody
+    public ResponseEntity<EventBoardSnapshotCache.Stats> getBoardCacheStats() {
+        return ResponseEntity.ok(eventService.getBoardCacheStats());
+    }
+
+    /**
+     * Canal SSE com as mudanças de cards do board, enviadas após o commit de cada alteração
+     */
+    @GetMapping(value = "/api/board/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamBoard() {
+        return boardStreamService.subscribe();
     }
 
     /**
@@ -189,6 +248,22 @@ public class EventController {
         }
     }
 
+    /**
+     * API REST para mover vários cards de uma vez (ex.: fechar o dia da VISTORIA).
+     * Recebe uma lista de {id, status} e devolve o desfecho de cada card.
+     */
+    @PostMapping("/api/status:batch")
+    @ResponseBody
+    public ResponseEntity<?> updateEventStatusBatch(@RequestBody List<com.necsus.necsusspring.dto.StatusMoveRequest> moves) {
+        try {
+            com.necsus.necsusspring.dto.StatusBatchResult result = eventService.updateStatusBatch(moves);
+            logger.info("Movimentação em lote de eventos: {} pedidos, {} movidos", result.requested(), result.moved());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/api/vehicles/{partnerId}")
     @ResponseBody
     public ResponseEntity<List<com.necsus.necsusspring.dto.VehicleDTO>> getVehiclesByPartner(@PathVariable Long partnerId) {
@@ -535,28 +610,81 @@ public class EventController {
     }
 
     /**
-     * API REST para exportação PDF
+     * Exportação PDF dos eventos selecionados ({@code ids}) ou de todos os eventos do filtro do board.
+     * Seleções pequenas são escritas direto na resposta; as grandes (ou com {@code background=true})
+     * viram um job e a resposta 202 traz os links de acompanhamento e download.
      */
     @GetMapping("/api/export/pdf")
-    public ResponseEntity<byte[]> exportToPDF(@RequestParam String ids) {
+    public ResponseEntity<?> exportToPDF(@RequestParam(required = false) String ids,
+                                         @RequestParam(required = false) Status status,
+                                         @RequestParam(required = false) Long partnerId,
+                                         @RequestParam(defaultValue = "false") boolean includeLinked,
+                                         @RequestParam(defaultValue = "false") boolean background,
+                                         Authentication authentication) {
+        EventExportFilter filter;
         try {
-            logger.info("Exportando eventos para PDF: {}", ids);
+            List<Long> selectedIds = EventExportFilter.parseIds(ids);
+            filter = new EventExportFilter(selectedIds, status, partnerId, includeLinked);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
 
-            // Implementação simplificada - retorna placeholder
-            String content = "PDF Export - Feature em desenvolvimento\n\nEventos: " + ids;
-            byte[] pdfBytes = content.getBytes();
+        long total = pdfExportService.count(filter);
+        if (background || pdfExportJobService.requiresJob(total)) {
+            try {
+                ReportJobService.JobStatus job = pdfExportJobService.submit(
+                        filter, total, authentication != null ? authentication.getName() : null);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(exportJobBody(job));
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+            }
+        }
 
-            org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-            headers.setContentType(org.springframework.http.MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", "eventos.pdf");
+        logger.info("Exportando {} eventos para PDF", total);
+        StreamingResponseBody body = out -> pdfExportService.write(filter, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"eventos.pdf\"")
+                .body(body);
+    }
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(pdfBytes);
-        } catch (Exception e) {
-            logger.error("Erro ao exportar PDF: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
-        }
+    /**
+     * Situação de uma exportação PDF em segundo plano
+     */
+    @GetMapping("/api/export/pdf/jobs/{jobId}")
+    @ResponseBody
+    public ResponseEntity<?> getExportJob(@PathVariable String jobId, Authentication authentication) {
+        return pdfExportJobService.find(jobId, authentication != null ? authentication.getName() : null)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(exportJobBody(job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Exportação não encontrada")));
+    }
+
+    /**
+     * Download do PDF gerado por uma exportação em segundo plano
+     */
+    @GetMapping("/api/export/pdf/jobs/{jobId}/download")
+    @ResponseBody
+    public ResponseEntity<Resource> downloadExportJob(@PathVariable String jobId, Authentication authentication) {
+        Path file = pdfExportJobService.artifact(jobId, authentication != null ? authentication.getName() : null)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Exportação não encontrada ou ainda não concluída"));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"eventos.pdf\"")
+                .body(new FileSystemResource(file));
+    }
+
+    private Map<String, Object> exportJobBody(ReportJobService.JobStatus job) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("jobId", job.id());
+        body.put("state", job.state());
+        body.put("total", job.total());
+        body.put("exported", job.progress());
+        body.put("createdAt", job.createdAt().toString());
+        body.put("finishedAt", job.finishedAt() != null ? job.finishedAt().toString() : null);
+        body.put("error", job.error());
+        body.put("statusUrl", "/events/api/export/pdf/jobs/" + job.id());
+        body.put("downloadUrl", job.ready() ? "/events/api/export/pdf/jobs/" + job.id() + "/download" : null);
+        return body;
     }
 
     /**
@@ -642,17 +770,17 @@ public class EventController {
     @ResponseBody
     public ResponseEntity<List<Map<String, Object>>> getObservationHistory(@PathVariable Long id) {
         try {
-            List<EventObservationHistory> history = observationHistoryService.getHistoryByEventId(id);
+            List<EventTextRevision> history = observationHistoryService.getHistoryByEventId(id);
 
             // Converte para formato JSON amigável
             List<Map<String, Object>> historyDtos = new ArrayList<>();
-            for (EventObservationHistory entry : history) {
+            for (EventTextRevision entry : history) {
                 Map<String, Object> dto = new HashMap<>();
-                dto.put("id", entry.getId());
-                dto.put("previousObservation", entry.getPreviousObservation());
-                dto.put("newObservation", entry.getNewObservation());
-                dto.put("modifiedBy", entry.getModifiedBy());
-                dto.put("modifiedAt", entry.getModifiedAt().toString());
+                dto.put("id", entry.id());
+                dto.put("previousObservation", entry.previousValue());
+                dto.put("newObservation", entry.newValue());
+                dto.put("modifiedBy", entry.modifiedBy());
+                dto.put("modifiedAt", entry.modifiedAt().toString());
                 historyDtos.add(dto);
             }
 
@@ -673,17 +801,17 @@ public class EventController {
     @ResponseBody
     public ResponseEntity<List<Map<String, Object>>> getDescriptionHistory(@PathVariable Long id) {
         try {
-            List<EventDescriptionHistory> history = descriptionHistoryService.getHistoryByEventId(id);
+            List<EventTextRevision> history = descriptionHistoryService.getHistoryByEventId(id);
 
             // Converte para formato JSON amigável
             List<Map<String, Object>> historyDtos = new ArrayList<>();
-            for (EventDescriptionHistory entry : history) {
+            for (EventTextRevision entry : history) {
                 Map<String, Object> dto = new HashMap<>();
-                dto.put("id", entry.getId());
-                dto.put("previousDescription", entry.getPreviousDescription());
-                dto.put("newDescription", entry.getNewDescription());
-                dto.put("modifiedBy", entry.getModifiedBy());
-                dto.put("modifiedAt", entry.getModifiedAt().toString());
+                dto.put("id", entry.id());
+                dto.put("previousDescription", entry.previousValue());
+                dto.put("newDescription", entry.newValue());
+                dto.put("modifiedBy", entry.modifiedBy());
+                dto.put("modifiedAt", entry.modifiedAt().toString());
                 historyDtos.add(dto);
             }
 
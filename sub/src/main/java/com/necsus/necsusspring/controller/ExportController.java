@@ -0,0 +1,103 @@
+package com.necsus.necsusspring.controller;
+
+import com.necsus.necsusspring.service.DataExportService;
+import com.necsus.necsusspring.service.DataExportService.Dataset;
+import com.necsus.necsusspring.service.DataExportService.Format;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação em massa para ferramentas de BI: /exports/{conjunto}.{csv|ndjson}
+ *
+ * Aceita os filtros das listagens (search, status, partnerId e, para eventos, includeLinked).
+ * A resposta é comprimida com gzip quando o cliente envia Accept-Encoding: gzip.
+ */
+@RestController
+@RequestMapping("/exports")
+public class ExportController {
+
+    private final DataExportService dataExportService;
+
+    public ExportController(DataExportService dataExportService) {
+        this.dataExportService = dataExportService;
+    }
+
+    @GetMapping("/{dataset}.{format}")
+    public ResponseEntity<?> export(@PathVariable String dataset,
+                                    @PathVariable String format,
+                                    @RequestParam(required = false) String search,
+                                    @RequestParam(required = false) String status,
+                                    @RequestParam(required = false) Long partnerId,
+                                    @RequestParam(defaultValue = "false") boolean includeLinked,
+                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Optional<Dataset> selectedDataset = Dataset.fromPath(dataset);
+        Optional<Format> selectedFormat = Format.fromPath(format);
+        if (selectedDataset.isEmpty() || selectedFormat.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        DataExportService.Query query;
+        try {
+            query = dataExportService.prepare(selectedDataset.get(),
+                    new DataExportService.Filter(search, status, partnerId, includeLinked));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        Format exportFormat = selectedFormat.get();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                dataExportService.write(query, exportFormat, gzipOut);
+                gzipOut.finish();
+            } else {
+                dataExportService.write(query, exportFormat, out);
+            }
+        };
+
+        String filename = selectedDataset.get().pathName() + "." + format;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * gzip aceito e sem q=0 no cabeçalho Accept-Encoding
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                if (parts[i].trim().matches("[qQ]\\s*=\\s*0(\\.0{0,3})?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
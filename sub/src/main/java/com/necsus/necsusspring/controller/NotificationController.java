@@ -1,19 +1,22 @@
 package com.necsus.necsusspring.controller;
 
+import com.necsus.necsusspring.dto.NotificationCursor;
+import com.necsus.necsusspring.dto.NotificationPage;
 import com.necsus.necsusspring.model.*;
+import com.necsus.necsusspring.service.NotificationDigestService;
 import com.necsus.necsusspring.service.NotificationService;
+import com.necsus.necsusspring.service.NotificationStreamService;
 import com.necsus.necsusspring.service.UserAccountService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
@@ -32,21 +35,27 @@ public class NotificationController {
 
     private final NotificationService notificationService;
     private final UserAccountService userAccountService;
+    private final NotificationStreamService notificationStreamService;
+    private final NotificationDigestService notificationDigestService;
 
     public NotificationController(NotificationService notificationService,
-                                  UserAccountService userAccountService) {
+                                  UserAccountService userAccountService,
+                                  NotificationStreamService notificationStreamService,
+                                  NotificationDigestService notificationDigestService) {
         this.notificationService = notificationService;
         this.userAccountService = userAccountService;
+        this.notificationStreamService = notificationStreamService;
+        this.notificationDigestService = notificationDigestService;
     }
 
     // ========== Endpoints WEB (Thymeleaf) ==========
 
     /**
-     * Página principal de notificações
+     * Página principal de notificações, paginada por cursor (parâmetro {@code before})
      */
     @GetMapping
     public String index(Authentication authentication,
-                       @RequestParam(defaultValue = "0") int page,
+                       @RequestParam(required = false) String before,
                        @RequestParam(defaultValue = "20") int size,
                        @RequestParam(required = false) String filter,
                        Model model) {
@@ -54,46 +63,71 @@ public class NotificationController {
             return "redirect:/login";
         }
 
-        UserAccount currentUser = getCurrentUser(authentication);
-        if (currentUser == null) {
+        Long recipientId = userAccountService.findCurrentUserId(authentication).orElse(null);
+        if (recipientId == null) {
             logger.error("Usuário não encontrado: {}", authentication.getName());
             return "redirect:/login";
         }
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Notification> notificationsPage;
+        NotificationCursor cursor;
+        try {
+            cursor = NotificationCursor.decode(before);
+        } catch (IllegalArgumentException e) {
+            return "redirect:/notifications" + (filter != null ? "?filter=" + filterStatusName(filter) : "");
+        }
 
-        // Aplica filtro se especificado
-        if ("unread".equals(filter)) {
-            notificationsPage = notificationService.findUnreadByRecipient(currentUser, pageable);
-            model.addAttribute("filter", "unread");
+        NotificationStatus status = filterStatus(filter);
+        if (status == NotificationStatus.UNREAD) {
             model.addAttribute("pageTitle", "SUB - Notificações Não Lidas");
-        } else if ("archived".equals(filter)) {
-            notificationsPage = notificationService.findArchivedByRecipient(currentUser, pageable);
-            model.addAttribute("filter", "archived");
+        } else if (status == NotificationStatus.ARCHIVED) {
             model.addAttribute("pageTitle", "SUB - Notificações Arquivadas");
         } else {
             // Mostra todas as notificações, incluindo arquivadas
-            notificationsPage = notificationService.findByRecipient(currentUser, pageable);
-            model.addAttribute("filter", "all");
             model.addAttribute("pageTitle", "SUB - Notificações");
         }
+        model.addAttribute("filter", filterStatusName(filter));
+
+        NotificationPage notificationsPage = notificationService.findPage(recipientId, status, cursor, size, false);
 
-        // Contadores
-        long unreadCount = notificationService.countUnread(currentUser);
-        long totalCount = notificationService.countAll(currentUser);
+        // Contadores: não lidas pelo contador em memória, total contado só até o teto
+        long totalCount = notificationService.countAllCapped(recipientId);
 
-        model.addAttribute("notifications", notificationsPage.getContent());
-        model.addAttribute("currentPage", page);
-        model.addAttribute("totalPages", notificationsPage.getTotalPages());
-        model.addAttribute("totalElements", notificationsPage.getTotalElements());
-        model.addAttribute("unreadCount", unreadCount);
-        model.addAttribute("totalCount", totalCount);
+        model.addAttribute("notifications", notificationsPage.items());
+        model.addAttribute("nextCursor", notificationsPage.nextCursor());
+        model.addAttribute("firstPage", cursor == null);
+        model.addAttribute("size", size);
+        model.addAttribute("unreadCount", notificationService.countUnread(recipientId));
+        model.addAttribute("totalCount", Math.min(totalCount, NotificationService.APPROXIMATE_TOTAL_CAP));
+        model.addAttribute("totalCountCapped", totalCount > NotificationService.APPROXIMATE_TOTAL_CAP);
         model.addAttribute("notificationTypes", NotificationType.values());
+        model.addAttribute("digestFrequency", notificationDigestService.getFrequency(recipientId));
+        model.addAttribute("digestFrequencies", NotificationDigestFrequency.values());
 
         return "notifications/index";
     }
 
+    /**
+     * Altera a preferência de resumo periódico do usuário
+     */
+    @PostMapping("/preferences/digest")
+    public String updateDigestPreference(Authentication authentication,
+                                         @RequestParam NotificationDigestFrequency frequency,
+                                         RedirectAttributes redirectAttributes) {
+        if (authentication == null) {
+            return "redirect:/login";
+        }
+
+        Long recipientId = userAccountService.findCurrentUserId(authentication).orElse(null);
+        if (recipientId == null) {
+            return "redirect:/login";
+        }
+
+        notificationDigestService.setFrequency(recipientId, frequency);
+        redirectAttributes.addFlashAttribute("successMessage",
+                "Preferência de notificações atualizada: " + frequency.getDisplayName() + ".");
+        return "redirect:/notifications";
+    }
+
     /**
      * Visualiza uma notificação específica e marca como lida
      */
@@ -145,33 +179,33 @@ public class NotificationController {
     // ========== API REST Endpoints ==========
 
     /**
-     * API: Lista todas as notificações do usuário
+     * API: Lista as notificações do usuário por cursor.
+     * {@code before} é o nextCursor da página anterior ("createdAt,id"); {@code includeTotal} pede o total aproximado.
      */
     @GetMapping("/api/list")
     @ResponseBody
-    public ResponseEntity<List<Notification>> listNotifications(Authentication authentication,
-                                                                @RequestParam(required = false) String filter) {
+    public ResponseEntity<NotificationPage> listNotifications(Authentication authentication,
+                                                              @RequestParam(required = false) String filter,
+                                                              @RequestParam(required = false) String before,
+                                                              @RequestParam(defaultValue = "20") int limit,
+                                                              @RequestParam(defaultValue = "false") boolean includeTotal) {
         if (authentication == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        UserAccount currentUser = getCurrentUser(authentication);
-        if (currentUser == null) {
+        Long recipientId = userAccountService.findCurrentUserId(authentication).orElse(null);
+        if (recipientId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        List<Notification> notifications;
-        if ("unread".equals(filter)) {
-            notifications = notificationService.findUnreadByRecipient(currentUser);
-        } else if ("recent".equals(filter)) {
-            notifications = notificationService.findRecentNotifications(currentUser);
-        } else if ("archived".equals(filter)) {
-            notifications = notificationService.findArchivedByRecipient(currentUser);
-        } else {
-            notifications = notificationService.findByRecipient(currentUser);
+        NotificationCursor cursor;
+        try {
+            cursor = NotificationCursor.decode(before);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
 
-        return ResponseEntity.ok(notifications);
+        return ResponseEntity.ok(notificationService.findPage(recipientId, filterStatus(filter), cursor, limit, includeTotal));
     }
 
     /**
@@ -204,18 +238,42 @@ public class NotificationController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        UserAccount currentUser = getCurrentUser(authentication);
-        if (currentUser == null) {
+        // Chamado em toda página e a cada poll: id e contagem vêm da memória, sem consultar o banco
+        Long recipientId = userAccountService.findCurrentUserId(authentication).orElse(null);
+        if (recipientId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        long unreadCount = notificationService.countUnread(currentUser);
+        long unreadCount = notificationService.countUnread(recipientId);
         Map<String, Long> response = new HashMap<>();
         response.put("unreadCount", unreadCount);
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Canal SSE com as notificações novas e o contador de não lidas do usuário.
+     * A retomada usa o cabeçalho Last-Event-ID (enviado pelo EventSource ao reconectar)
+     * ou o parâmetro lastEventId.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public ResponseEntity<SseEmitter> stream(Authentication authentication,
+                                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                             @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        if (authentication == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Long recipientId = userAccountService.findCurrentUserId(authentication).orElse(null);
+        if (recipientId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Long lastEventId = parseEventId(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+        return ResponseEntity.ok(notificationStreamService.subscribe(recipientId, lastEventId));
+    }
+
     /**
      * API: Marca uma notificação como lida
      */
@@ -424,4 +482,36 @@ public class NotificationController {
         return userAccountService.findByUsername(authentication.getName())
                 .orElse(null);
     }
+
+    /**
+     * Status correspondente ao filtro da lista (nulo para todas)
+     */
+    private static NotificationStatus filterStatus(String filter) {
+        if ("unread".equals(filter)) {
+            return NotificationStatus.UNREAD;
+        }
+        if ("archived".equals(filter)) {
+            return NotificationStatus.ARCHIVED;
+        }
+        return null;
+    }
+
+    private static String filterStatusName(String filter) {
+        NotificationStatus status = filterStatus(filter);
+        return status == null ? "all" : status.name().toLowerCase();
+    }
+
+    /**
+     * Token de retomada inválido é tratado como ausente: o cliente recebe só o que vier a partir de agora
+     */
+    private static Long parseEventId(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
@@ -1,12 +1,13 @@
 package com.necsus.necsusspring.controller;
 
-import com.necsus.necsusspring.model.Partner;
-import com.necsus.necsusspring.model.Vehicle;
+import com.necsus.necsusspring.dto.PartnerReportRow;
+import com.necsus.necsusspring.dto.VehicleReportRow;
 import com.necsus.necsusspring.model.VehicleStatus;
 import com.necsus.necsusspring.service.ReportDataService;
 import com.necsus.necsusspring.service.ReportDataService.PartnerReportData;
 import com.necsus.necsusspring.service.ReportDataService.VehicleReportData;
 import com.necsus.necsusspring.service.ExcelExportService;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -15,8 +16,7 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-
-import java.io.IOException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -65,6 +65,8 @@ public class ReportController {
     @GetMapping("/vehicles")
     public String vehicleReport(@RequestParam(value = "sections", required = false) List<String> sections,
                                @RequestParam(value = "generate", defaultValue = "false") boolean generate,
+                               @RequestParam(value = "page", defaultValue = "0") int page,
+                               @RequestParam(value = "size", defaultValue = "50") int size,
                                Model model) {
         model.addAttribute("pageTitle", "SUB - Relatório de Veículos");
         model.addAttribute("generated", false);
@@ -86,9 +88,11 @@ public class ReportController {
                     model.addAttribute("makerDistribution", buildDistributionList(reportData.vehiclesByMaker()));
                 }
                 if (selectedSections.contains("vehicleList")) {
-                    model.addAttribute("vehicles", reportData.vehicles().stream()
+                    Page<VehicleReportRow> vehiclePage = reportDataService.loadVehicleRows(page, size);
+                    model.addAttribute("vehicles", vehiclePage.getContent().stream()
                             .map(this::buildVehicleRow)
                             .collect(Collectors.toList()));
+                    model.addAttribute("vehiclesPage", buildPageInfo(vehiclePage));
                 }
 
                 model.addAttribute("selectedSections", selectedSections);
@@ -104,6 +108,8 @@ public class ReportController {
     @GetMapping("/partners")
     public String partnerReport(@RequestParam(value = "sections", required = false) List<String> sections,
                                @RequestParam(value = "generate", defaultValue = "false") boolean generate,
+                               @RequestParam(value = "page", defaultValue = "0") int page,
+                               @RequestParam(value = "size", defaultValue = "50") int size,
                                Model model) {
         model.addAttribute("pageTitle", "SUB - Relatório de Associados");
         model.addAttribute("generated", false);
@@ -125,9 +131,11 @@ public class ReportController {
                     model.addAttribute("generalIndicators", buildPartnerIndicators(reportData));
                 }
                 if (selectedSections.contains("partnerList")) {
-                    model.addAttribute("partners", reportData.partners().stream()
-                            .map(partner -> buildPartnerRow(partner, reportData))
+                    Page<PartnerReportRow> partnerPage = reportDataService.loadPartnerRows(page, size);
+                    model.addAttribute("partners", partnerPage.getContent().stream()
+                            .map(this::buildPartnerRow)
                             .collect(Collectors.toList()));
+                    model.addAttribute("partnersPage", buildPageInfo(partnerPage));
                 }
 
                 model.addAttribute("selectedSections", selectedSections);
@@ -152,7 +160,9 @@ public class ReportController {
 
     @GetMapping(value = "/vehicles/data", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> vehicleReportData(
-            @RequestParam(value = "sections", required = false) List<String> sections) {
+            @RequestParam(value = "sections", required = false) List<String> sections,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
 
         VehicleReportData reportData = reportDataService.loadVehicleReportData();
         Map<String, Object> response = new LinkedHashMap<>();
@@ -175,9 +185,11 @@ public class ReportController {
             response.put("makerDistribution", buildDistributionList(reportData.vehiclesByMaker()));
         }
         if (selectedSections.contains("vehicleList")) {
-            response.put("vehicles", reportData.vehicles().stream()
+            Page<VehicleReportRow> vehiclePage = reportDataService.loadVehicleRows(page, size);
+            response.put("vehicles", vehiclePage.getContent().stream()
                     .map(this::buildVehicleRow)
                     .collect(Collectors.toList()));
+            response.put("vehiclesPage", buildPageInfo(vehiclePage));
         }
 
         return ResponseEntity.ok(response);
@@ -185,7 +197,9 @@ public class ReportController {
 
     @GetMapping(value = "/partners/data", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> partnerReportData(
-            @RequestParam(value = "sections", required = false) List<String> sections) {
+            @RequestParam(value = "sections", required = false) List<String> sections,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
 
         PartnerReportData reportData = reportDataService.loadPartnerReportData();
         Map<String, Object> response = new LinkedHashMap<>();
@@ -208,74 +222,60 @@ public class ReportController {
             response.put("generalIndicators", buildPartnerIndicators(reportData));
         }
         if (selectedSections.contains("partnerList")) {
-            response.put("partners", reportData.partners().stream()
-                    .map(partner -> buildPartnerRow(partner, reportData))
+            Page<PartnerReportRow> partnerPage = reportDataService.loadPartnerRows(page, size);
+            response.put("partners", partnerPage.getContent().stream()
+                    .map(this::buildPartnerRow)
                     .collect(Collectors.toList()));
+            response.put("partnersPage", buildPageInfo(partnerPage));
         }
 
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Endpoint para download do relatório de associados em Excel (completo)
+     * Endpoint para download do relatório de associados em Excel (completo), escrito direto na resposta
      */
     @GetMapping("/partners/excel")
-    public ResponseEntity<byte[]> downloadPartnersExcel() {
-        try {
-            PartnerReportData reportData = reportDataService.loadPartnerReportData();
-
-            if (!reportData.hasPartners()) {
-                return ResponseEntity.noContent().build();
-            }
-
-            byte[] excelFile = excelExportService.generatePartnerReportExcel(reportData.partners());
-
-            String filename = "relatorio_associados_" +
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-            headers.setContentDispositionFormData("attachment", filename);
-            headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
+    public ResponseEntity<StreamingResponseBody> downloadPartnersExcel() {
+        if (!reportDataService.hasPartners()) {
+            return ResponseEntity.noContent().build();
+        }
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(excelFile);
+        String filename = "relatorio_associados_" +
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
+        StreamingResponseBody body = out -> excelExportService.writePartnerReportExcel(out);
 
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        return ResponseEntity.ok()
+                .headers(excelHeaders(filename))
+                .body(body);
     }
 
     /**
      * Endpoint para download do relatório resumido de associados em Excel
      */
     @GetMapping("/partners/excel/summary")
-    public ResponseEntity<byte[]> downloadPartnersSummaryExcel() {
-        try {
-            PartnerReportData reportData = reportDataService.loadPartnerReportData();
-
-            if (!reportData.hasPartners()) {
-                return ResponseEntity.noContent().build();
-            }
-
-            byte[] excelFile = excelExportService.generatePartnerSummaryExcel(reportData);
+    public ResponseEntity<StreamingResponseBody> downloadPartnersSummaryExcel() {
+        PartnerReportData reportData = reportDataService.loadPartnerReportData();
 
-            String filename = "relatorio_associados_resumo_" +
-                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
+        if (!reportData.hasPartners()) {
+            return ResponseEntity.noContent().build();
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-            headers.setContentDispositionFormData("attachment", filename);
-            headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
+        String filename = "relatorio_associados_resumo_" +
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
+        StreamingResponseBody body = out -> excelExportService.writePartnerSummaryExcel(reportData, out);
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(excelFile);
+        return ResponseEntity.ok()
+                .headers(excelHeaders(filename))
+                .body(body);
+    }
 
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
-        }
+    private HttpHeaders excelHeaders(String filename) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+        headers.setContentDispositionFormData("attachment", filename);
+        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
+        return headers;
     }
 
     private Set<String> normalizeSections(List<String> sections, Set<String> allowed) {
@@ -342,60 +342,59 @@ public class ReportController {
                 .collect(Collectors.toList());
     }
 
-    private Map<String, Object> buildVehicleRow(Vehicle vehicle) {
+    private Map<String, Object> buildVehicleRow(VehicleReportRow vehicle) {
         Map<String, Object> row = new LinkedHashMap<>();
         NumberFormat currency = NumberFormat.getCurrencyInstance(PT_BR);
 
-        row.put("id", vehicle.getId());
-        row.put("maker", safeValue(vehicle.getMaker()));
-        row.put("model", safeValue(vehicle.getModel()));
-        row.put("plaque", safeValue(vehicle.getPlaque()));
-        row.put("fuelType", safeValue(vehicle.getTipo_combustivel()));
+        row.put("id", vehicle.id());
+        row.put("maker", safeValue(vehicle.maker()));
+        row.put("model", safeValue(vehicle.model()));
+        row.put("plaque", safeValue(vehicle.plaque()));
+        row.put("fuelType", safeValue(vehicle.fuelType()));
         row.put("status", resolveVehicleStatus(vehicle));
-        row.put("partnerName", vehicle.getPartner() != null ? safeValue(vehicle.getPartner().getName()) : null);
-
-        if (vehicle.getPayment() != null && vehicle.getPayment().getMonthly() != null) {
-            row.put("monthlyValue", currency.format(vehicle.getPayment().getMonthly()));
-        } else {
-            row.put("monthlyValue", null);
-        }
+        row.put("partnerName", safeValue(vehicle.partnerName()));
+        row.put("monthlyValue", vehicle.monthly() != null ? currency.format(vehicle.monthly()) : null);
 
         return row;
     }
 
-    private Map<String, Object> buildPartnerRow(Partner partner, PartnerReportData data) {
+    private Map<String, Object> buildPartnerRow(PartnerReportRow partner) {
         Map<String, Object> row = new LinkedHashMap<>();
 
-        row.put("id", partner.getId());
-        row.put("name", safeValue(partner.getName()));
-        row.put("email", safeValue(partner.getEmail()));
-        row.put("cpf", safeValue(partner.getCpf()));
+        row.put("id", partner.id());
+        row.put("name", safeValue(partner.name()));
+        row.put("email", safeValue(partner.email()));
+        row.put("cpf", safeValue(partner.cpf()));
         row.put("status", resolvePartnerStatus(partner));
-        row.put("vehicleCount", data.partnerVehicleCount().getOrDefault(partner.getId(), 0));
-
-        if (partner.getAddress() != null) {
-            row.put("city", safeValue(partner.getAddress().getCity()));
-        } else {
-            row.put("city", null);
-        }
+        row.put("vehicleCount", partner.vehicleCount());
+        row.put("city", safeValue(partner.city()));
 
-        LocalDateTime registrationDate = partner.getRegistrationDate();
+        LocalDateTime registrationDate = partner.registrationDate();
         row.put("registrationDate", registrationDate != null ? registrationDate.format(DATE_TIME_FORMATTER) : null);
-        row.put("addressSummary", data.partnerAddressSummary().getOrDefault(partner.getId(), "Não informado"));
+        row.put("addressSummary", reportDataService.formatAddressSummary(partner));
 
-        LocalDate contractDate = partner.getContractDate();
+        LocalDate contractDate = partner.contractDate();
         row.put("contractDate", contractDate != null ? contractDate.format(DATE_FORMATTER) : null);
 
         return row;
     }
 
-    private String resolveVehicleStatus(Vehicle vehicle) {
-        if (vehicle.getVehicleStatus() != null) {
-            return vehicle.getVehicleStatus().getDisplayName();
+    private Map<String, Object> buildPageInfo(Page<?> page) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("page", page.getNumber());
+        info.put("size", page.getSize());
+        info.put("totalElements", page.getTotalElements());
+        info.put("totalPages", page.getTotalPages());
+        return info;
+    }
+
+    private String resolveVehicleStatus(VehicleReportRow vehicle) {
+        if (vehicle.vehicleStatus() != null) {
+            return vehicle.vehicleStatus().getDisplayName();
         }
-        if (vehicle.getStatus() != null) {
+        if (vehicle.status() != null) {
             try {
-                return VehicleStatus.fromId(vehicle.getStatus()).getDisplayName();
+                return VehicleStatus.fromId(vehicle.status()).getDisplayName();
             } catch (IllegalArgumentException ignored) {
                 // fallback handled below
             }
@@ -403,9 +402,9 @@ public class ReportController {
         return "Não informado";
     }
 
-    private String resolvePartnerStatus(Partner partner) {
-        if (partner.getStatus() != null) {
-            return partner.getStatus().getDisplayName();
+    private String resolvePartnerStatus(PartnerReportRow partner) {
+        if (partner.status() != null) {
+            return partner.status().getDisplayName();
         }
         return "Não informado";
     }
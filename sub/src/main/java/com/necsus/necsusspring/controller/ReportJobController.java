@@ -0,0 +1,187 @@
+package com.necsus.necsusspring.controller;
+
+import com.necsus.necsusspring.service.DataExportService;
+import com.necsus.necsusspring.service.DataExportService.Dataset;
+import com.necsus.necsusspring.service.DataExportService.Format;
+import com.necsus.necsusspring.service.ExcelExportService;
+import com.necsus.necsusspring.service.ReportDataService;
+import com.necsus.necsusspring.service.ReportDataService.PartnerReportData;
+import com.necsus.necsusspring.service.ReportJobService;
+import com.necsus.necsusspring.service.ReportJobService.JobStatus;
+import com.necsus.necsusspring.service.ReportJobService.ReportRequest;
+import com.necsus.necsusspring.service.ReportJobService.ReportType;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Relatórios gerados em segundo plano (ReportJobService).
+ *
+ * O POST cria o job (ou devolve o job idêntico ainda em andamento) e responde 202 com os links de
+ * acompanhamento: a situação fica em /reports/jobs/{id}, o progresso pode ser assinado via SSE em
+ * /reports/jobs/{id}/events e o arquivo é baixado em /reports/jobs/{id}/download quando pronto.
+ */
+@RestController
+@RequestMapping("/reports/jobs")
+public class ReportJobController {
+
+    private static final String EXCEL_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private final ReportJobService reportJobService;
+    private final ReportDataService reportDataService;
+    private final ExcelExportService excelExportService;
+    private final DataExportService dataExportService;
+
+    public ReportJobController(ReportJobService reportJobService,
+                               ReportDataService reportDataService,
+                               ExcelExportService excelExportService,
+                               DataExportService dataExportService) {
+        this.reportJobService = reportJobService;
+        this.reportDataService = reportDataService;
+        this.excelExportService = excelExportService;
+        this.dataExportService = dataExportService;
+    }
+
+    /**
+     * Relatório de associados em Excel: completo ou, com {@code summary=true}, resumido
+     */
+    @PostMapping("/partners-excel")
+    public ResponseEntity<?> submitPartnersExcel(@RequestParam(defaultValue = "false") boolean summary,
+                                                 Authentication authentication) {
+        long total = reportDataService.countPartners();
+        if (total == 0) {
+            return ResponseEntity.noContent().build();
+        }
+
+        String filename = (summary ? "relatorio_associados_resumo_" : "relatorio_associados_") +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
+        ReportJobService.ReportWriter writer = summary
+                ? (out, progress) -> {
+                    PartnerReportData reportData = reportDataService.loadPartnerReportData();
+                    excelExportService.writePartnerSummaryExcel(reportData, out);
+                    return reportData.totalPartners();
+                }
+                : (out, progress) -> excelExportService.writePartnerReportExcel(out, exported -> progress.accept(exported));
+
+        return submit(new ReportRequest(ReportType.PARTNERS_EXCEL, summary ? "summary" : "full", filename,
+                EXCEL_CONTENT_TYPE, total, writer), authentication);
+    }
+
+    /**
+     * Exportação CSV/NDJSON de /exports/{conjunto}.{formato} gerada em arquivo, com os mesmos filtros
+     */
+    @PostMapping("/exports/{dataset}.{format}")
+    public ResponseEntity<?> submitDataExport(@PathVariable String dataset,
+                                              @PathVariable String format,
+                                              @RequestParam(required = false) String search,
+                                              @RequestParam(required = false) String status,
+                                              @RequestParam(required = false) Long partnerId,
+                                              @RequestParam(defaultValue = "false") boolean includeLinked,
+                                              Authentication authentication) {
+        Optional<Dataset> selectedDataset = Dataset.fromPath(dataset);
+        Optional<Format> selectedFormat = Format.fromPath(format);
+        if (selectedDataset.isEmpty() || selectedFormat.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        DataExportService.Query query;
+        try {
+            query = dataExportService.prepare(selectedDataset.get(),
+                    new DataExportService.Filter(search, status, partnerId, includeLinked));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
+        Format exportFormat = selectedFormat.get();
+        String key = exportFormat + ":" + query.sql() + ":" + query.args();
+        return submit(new ReportRequest(ReportType.DATA_EXPORT, key, selectedDataset.get().pathName() + "." + format,
+                exportFormat.contentType(), 0, (out, progress) -> dataExportService.write(query, exportFormat, out, progress)),
+                authentication);
+    }
+
+    /**
+     * Jobs do usuário ainda retidos, do mais recente para o mais antigo
+     */
+    @GetMapping
+    public List<Map<String, Object>> listJobs(Authentication authentication) {
+        return reportJobService.list(owner(authentication)).stream()
+                .map(this::jobBody)
+                .collect(Collectors.toList());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String jobId, Authentication authentication) {
+        return reportJobService.find(jobId, owner(authentication))
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(jobBody(job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Relatório não encontrado")));
+    }
+
+    /**
+     * Progresso do job via SSE (evento "job", com o mesmo corpo de /reports/jobs/{id})
+     */
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter watchJob(@PathVariable String jobId, Authentication authentication) {
+        return reportJobService.subscribe(jobId, owner(authentication), this::jobBody)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Relatório não encontrado"));
+    }
+
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> downloadJob(@PathVariable String jobId, Authentication authentication) {
+        ReportJobService.Artifact artifact = reportJobService.artifact(jobId, owner(authentication))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Relatório não encontrado ou ainda não concluído"));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(artifact.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + artifact.filename() + "\"")
+                .body(new FileSystemResource(artifact.file()));
+    }
+
+    private ResponseEntity<?> submit(ReportRequest request, Authentication authentication) {
+        try {
+            JobStatus job = reportJobService.submit(request, owner(authentication));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobBody(job));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private Map<String, Object> jobBody(JobStatus job) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("jobId", job.id());
+        body.put("type", job.type().key());
+        body.put("state", job.state());
+        body.put("total", job.total());
+        body.put("progress", job.progress());
+        body.put("filename", job.filename());
+        body.put("createdAt", job.createdAt().toString());
+        body.put("finishedAt", job.finishedAt() != null ? job.finishedAt().toString() : null);
+        body.put("error", job.error());
+        body.put("statusUrl", "/reports/jobs/" + job.id());
+        body.put("eventsUrl", "/reports/jobs/" + job.id() + "/events");
+        body.put("downloadUrl", job.ready() ? "/reports/jobs/" + job.id() + "/download" : null);
+        return body;
+    }
+
+    private String owner(Authentication authentication) {
+        return authentication != null ? authentication.getName() : null;
+    }
+}
@@ -36,6 +36,17 @@ public class SaleController {
         return ResponseEntity.ok(sales);
     }
 
+    @GetMapping("/column")
+    public ResponseEntity<?> getBoardColumn(@RequestParam SaleStatus status,
+                                            @RequestParam(required = false) String after,
+                                            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(saleService.getBoardColumn(status, after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Sale> getSaleById(@PathVariable Long id) {
         return saleService.findById(id)
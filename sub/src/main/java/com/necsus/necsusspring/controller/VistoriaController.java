@@ -1,5 +1,6 @@
 package com.necsus.necsusspring.controller;
 
+import com.necsus.necsusspring.config.AsyncExecutors;
 import com.necsus.necsusspring.model.Event;
 import com.necsus.necsusspring.model.Partner;
 import com.necsus.necsusspring.model.Status;
@@ -44,19 +45,22 @@ public class VistoriaController {
     private final UserAccountService userAccountService;
     private final FileStorageService fileStorageService;
     private final GeminiService geminiService;
+    private final AsyncExecutors asyncExecutors;
 
     public VistoriaController(VistoriaService vistoriaService,
                               EventService eventService,
                               PartnerService partnerService,
                               UserAccountService userAccountService,
                               FileStorageService fileStorageService,
-                              GeminiService geminiService) {
+                              GeminiService geminiService,
+                              AsyncExecutors asyncExecutors) {
         this.vistoriaService = vistoriaService;
         this.eventService = eventService;
         this.partnerService = partnerService;
         this.userAccountService = userAccountService;
         this.fileStorageService = fileStorageService;
         this.geminiService = geminiService;
+        this.asyncExecutors = asyncExecutors;
     }
 
     // ... (Métodos index e showForm permanecem iguais) ...
@@ -185,16 +189,25 @@ public class VistoriaController {
             }
 
             // === INTEGRAÇÃO COM GEMINI AI ===
-            if (!arquivosRecebidos.isEmpty()) {
-                logger.info("Chamando Gemini para analisar {} novas fotos...", arquivosRecebidos.size());
+            // A análise roda no executor "ai-analysis", a partir das fotos já gravadas, sem segurar a requisição
+            if (!novasFotos.isEmpty()) {
+                logger.info("Solicitando análise do Gemini para {} novas fotos...", novasFotos.size());
                 try {
                     String contextoEvento = "Descrição do Evento: " + event.getDescricao() +
                             ". Observações: " + event.getObservacoes();
+                    List<String> fotoPaths = novasFotos.stream().map(VistoriaFoto::getFotoPath).toList();
+                    Long vistoriaSalvaId = vistoriaSalva.getId();
 
-                    String analise = geminiService.analisarVistoria(contextoEvento, arquivosRecebidos);
+                    asyncExecutors.aiAnalysis().execute(() -> {
+                        try {
+                            String analise = geminiService.analisarVistoriaArquivos(contextoEvento, fotoPaths);
 
-                    // FIX: Usa o método específico para atualizar só o texto, evitando erro de concorrência
-                    vistoriaService.updateAnaliseIa(vistoriaSalva.getId(), analise);
+                            // FIX: Usa o método específico para atualizar só o texto, evitando erro de concorrência
+                            vistoriaService.updateAnaliseIa(vistoriaSalvaId, analise);
+                        } catch (Exception e) {
+                            logger.error("Falha não obstativa na análise IA: ", e);
+                        }
+                    });
 
                 } catch (Exception e) {
                     logger.error("Falha não obstativa na análise IA: ", e);
@@ -0,0 +1,38 @@
+package com.necsus.necsusspring.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de uma coluna de kanban paginada por keyset.
+ *
+ * Guarda a chave de ordenação completa do último card entregue (data, rank de prioridade,
+ * título normalizado e id), exatamente como calculada pelo banco, e trafega como um token
+ * opaco em Base64 URL-safe no parâmetro {@code after}.
+ */
+public record BoardColumnCursor(String sortDate, int sortRank, String sortTitle, long id) {
+
+    private static final String SEPARATOR = "\n";
+
+    public String encode() {
+        String raw = sortDate + SEPARATOR + sortRank + SEPARATOR + id + SEPARATOR + (sortTitle != null ? sortTitle : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BoardColumnCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // O título é o último campo e pode conter qualquer caractere
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new BoardColumnCursor(parts[0], Integer.parseInt(parts[1]), parts[3], Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.necsus.necsusspring.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma coluna de kanban.
+ * {@code totalCount} só é calculado na primeira página; {@code nextCursor} é nulo quando não há mais cards.
+ */
+public record BoardColumnPage<T>(
+        String status,
+        List<T> items,
+        Long totalCount,
+        String nextCursor
+) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.necsus.necsusspring.dto;
+
+/**
+ * Mensagem enviada pelo canal SSE dos boards a cada card alterado.
+ * {@code card} é nulo quando o card saiu do board (removido ou fora do alcance do assinante).
+ * {@code revision} só é preenchida nos boards versionados (eventos).
+ */
+public record BoardStreamMessage<T>(
+        Long revision,
+        String type,
+        Long id,
+        T card
+) {
+
+    public static final String REMOVED = "REMOVED";
+
+    public static <T> BoardStreamMessage<T> removed(Long revision, Long id) {
+        return new BoardStreamMessage<>(revision, REMOVED, id, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.necsus.necsusspring.dto;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Destinatários de uma notificação em massa: todos os usuários ativos ou os usuários ativos
+ * de determinados roles (códigos de RoleType)
+ */
+public record BroadcastAudience(Set<String> roleCodes) {
+
+    public static final BroadcastAudience ALL_USERS = new BroadcastAudience(null);
+
+    public BroadcastAudience {
+        roleCodes = roleCodes != null ? Set.copyOf(roleCodes) : null;
+    }
+
+    public static BroadcastAudience roles(Collection<String> roleCodes) {
+        if (roleCodes == null || roleCodes.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um role ou use ALL_USERS");
+        }
+        return new BroadcastAudience(Set.copyOf(roleCodes));
+    }
+
+    public static BroadcastAudience roles(String... roleCodes) {
+        return roles(Arrays.asList(roleCodes));
+    }
+
+    public boolean isAllUsers() {
+        return roleCodes == null;
+    }
+}
@@ -40,15 +40,85 @@ public record EventBoardCardDto(
         Boolean hasCnh,
         Boolean hasBo,
         Boolean hasComprovanteResidencia,
-        Boolean hasTermoAbertura
+        Boolean hasTermoAbertura,
+        Boolean linkedToLegalProcess
 ) {
 
+    /**
+     * Construtor usado pelas projeções JPQL do board (ver EventRepository):
+     * recebe os enums como estão no banco e os indicadores de documentos já calculados na consulta,
+     * sem carregar a entidade Event nem os grafos de Partner/Vehicle.
+     * {@code linkedToLegalProcess} indica que o evento já foi enviado ao jurídico.
+     */
+    public EventBoardCardDto(Long id,
+                             String titulo,
+                             String descricao,
+                             Status status,
+                             Prioridade prioridade,
+                             Motivo motivo,
+                             Envolvimento envolvimento,
+                             String partnerName,
+                             Long partnerId,
+                             String vehiclePlate,
+                             Long vehicleId,
+                             String placaManual,
+                             LocalDate dataVencimento,
+                             LocalDate dataAconteceu,
+                             Integer horaAconteceu,
+                             LocalDate dataComunicacao,
+                             Integer horaComunicacao,
+                             String observacoes,
+                             String analistaResponsavel,
+                             Boolean hasCrlv,
+                             Boolean hasCnh,
+                             Boolean hasBo,
+                             Boolean hasComprovanteResidencia,
+                             Boolean hasTermoAbertura,
+                             Boolean linkedToLegalProcess) {
+        this(
+                id,
+                titulo,
+                descricao,
+                statusOrDefault(status).name(),
+                statusOrDefault(status).getDisplayName(),
+                prioridade != null ? prioridade.name() : null,
+                prioridade != null ? prioridade.getDisplayName() : null,
+                prioridade != null ? prioridade.getColor() : "secondary",
+                motivo != null ? motivo.name() : null,
+                motivo != null ? motivo.toString() : null,
+                envolvimento != null ? envolvimento.name() : null,
+                envolvimento != null ? envolvimento.toString() : null,
+                partnerName,
+                partnerId,
+                vehiclePlate,
+                vehicleId,
+                placaManual,
+                dataVencimento,
+                dataAconteceu,
+                horaAconteceu,
+                dataComunicacao,
+                horaComunicacao,
+                observacoes,
+                analistaResponsavel,
+                Boolean.TRUE.equals(hasCrlv),
+                Boolean.TRUE.equals(hasCnh),
+                Boolean.TRUE.equals(hasBo),
+                Boolean.TRUE.equals(hasComprovanteResidencia),
+                Boolean.TRUE.equals(hasTermoAbertura),
+                Boolean.TRUE.equals(linkedToLegalProcess)
+        );
+    }
+
+    private static Status statusOrDefault(Status status) {
+        return status != null ? status : Status.COMUNICADO;
+    }
+
     public static EventBoardCardDto from(Event event) {
         if (event == null) {
             return new EventBoardCardDto(null, null, null, Status.COMUNICADO.name(), Status.COMUNICADO.getDisplayName(),
                     null, null, "secondary", null, null, null, null, null, null, null, null, null, null,
                     null, null, null, null, null, null,
-                    false, false, false, false, false);
+                    false, false, false, false, false, false);
         }
 
         final Status status = Optional.ofNullable(event.getStatus()).orElse(Status.COMUNICADO);
@@ -87,7 +157,8 @@ public record EventBoardCardDto(
                 event.getDocCnhPath() != null && !event.getDocCnhPath().isEmpty(),
                 event.getDocBoPath() != null && !event.getDocBoPath().isEmpty(),
                 event.getDocComprovanteResidenciaPath() != null && !event.getDocComprovanteResidenciaPath().isEmpty(),
-                event.getDocTermoAberturaPath() != null && !event.getDocTermoAberturaPath().isEmpty()
+                event.getDocTermoAberturaPath() != null && !event.getDocTermoAberturaPath().isEmpty(),
+                false
         );
     }
 }
@@ -0,0 +1,37 @@
+package com.necsus.necsusspring.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resposta incremental do board de eventos a partir de uma revisão conhecida pelo cliente.
+ * Quando {@code fullSnapshot} é verdadeiro o cliente deve descartar o estado local e usar {@code snapshot}.
+ */
+public record EventBoardDelta(
+        long revision,
+        boolean fullSnapshot,
+        List<EventBoardCardDto> added,
+        List<EventBoardCardDto> moved,
+        List<EventBoardCardDto> updated,
+        List<Long> removed,
+        Map<String, Long> counters,
+        EventBoardSnapshot snapshot
+) {
+
+    public static EventBoardDelta full(EventBoardSnapshot snapshot) {
+        return new EventBoardDelta(
+                snapshot.revision(),
+                true,
+                List.of(),
+                List.of(),
+                List.of(),
+                List.of(),
+                snapshot.counters(),
+                snapshot
+        );
+    }
+
+    public boolean hasChanges() {
+        return fullSnapshot || !added.isEmpty() || !moved.isEmpty() || !updated.isEmpty() || !removed.isEmpty();
+    }
+}
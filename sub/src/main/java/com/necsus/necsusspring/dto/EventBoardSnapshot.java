@@ -6,7 +6,8 @@ import java.util.Map;
 public record EventBoardSnapshot(
         List<EventBoardCardDto> cards,
         Map<String, List<EventBoardCardDto>> eventsByStatus,
-        Map<String, Long> counters
+        Map<String, Long> counters,
+        long revision
 ) {
     public long totalEvents() {
         return cards != null ? cards.size() : 0;
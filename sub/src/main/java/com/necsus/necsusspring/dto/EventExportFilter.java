@@ -0,0 +1,50 @@
+package com.necsus.necsusspring.dto;
+
+import com.necsus.necsusspring.model.Status;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Seleção de eventos para exportação: ids escolhidos no board ou o mesmo filtro do board
+ * (status, associado e, opcionalmente, os eventos já enviados ao jurídico).
+ * Quando há ids o filtro é ignorado.
+ */
+public record EventExportFilter(List<Long> ids, Status status, Long partnerId, boolean includeLinked) {
+
+    public EventExportFilter {
+        ids = ids == null ? Collections.emptyList() : List.copyOf(ids);
+    }
+
+    public static EventExportFilter ofIds(List<Long> ids) {
+        return new EventExportFilter(ids, null, null, false);
+    }
+
+    /**
+     * Converte a lista "1,2,3" recebida na URL em ids ordenados e sem repetição
+     */
+    public static List<Long> parseIds(String ids) {
+        if (ids == null || ids.isBlank()) {
+            return Collections.emptyList();
+        }
+        TreeSet<Long> parsed = new TreeSet<>();
+        for (String part : ids.split(",")) {
+            String trimmed = part.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            try {
+                parsed.add(Long.parseLong(trimmed));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Id de evento inválido: " + trimmed);
+            }
+        }
+        return new ArrayList<>(parsed);
+    }
+
+    public boolean hasIds() {
+        return !ids.isEmpty();
+    }
+}
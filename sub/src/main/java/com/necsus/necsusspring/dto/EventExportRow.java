@@ -0,0 +1,36 @@
+package com.necsus.necsusspring.dto;
+
+import com.necsus.necsusspring.model.Envolvimento;
+import com.necsus.necsusspring.model.Motivo;
+import com.necsus.necsusspring.model.Prioridade;
+import com.necsus.necsusspring.model.Status;
+
+import java.time.LocalDate;
+
+/**
+ * Linha de exportação de um evento, montada direto pela projeção JPQL (ver EventRepository)
+ * para que a exportação não carregue a entidade Event nem os grafos de Partner/Vehicle.
+ */
+public record EventExportRow(
+        Long id,
+        String titulo,
+        String descricao,
+        Status status,
+        Prioridade prioridade,
+        Motivo motivo,
+        Envolvimento envolvimento,
+        String partnerName,
+        String partnerCpf,
+        String vehiclePlate,
+        String vehicleMaker,
+        String vehicleModel,
+        String placaManual,
+        LocalDate dataAconteceu,
+        Integer horaAconteceu,
+        LocalDate dataComunicacao,
+        Integer horaComunicacao,
+        LocalDate dataVencimento,
+        String observacoes,
+        String analistaResponsavel
+) {
+}
@@ -0,0 +1,17 @@
+package com.necsus.necsusspring.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Uma alteração da descrição ou da observação de um evento, já com os textos completos
+ * reconstruídos a partir do armazenamento compacto.
+ */
+public record EventTextRevision(
+        Long id,
+        Long eventId,
+        String previousValue,
+        String newValue,
+        String modifiedBy,
+        LocalDateTime modifiedAt
+) {
+}
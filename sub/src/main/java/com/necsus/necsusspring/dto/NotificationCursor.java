@@ -0,0 +1,40 @@
+package com.necsus.necsusspring.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Posição na lista de notificações paginada por keyset: (createdAt, id) da última notificação
+ * entregue. Trafega no parâmetro {@code before} como "createdAt,id" (data em ISO-8601).
+ */
+public record NotificationCursor(LocalDateTime createdAt, long id) {
+
+    /**
+     * Cursor anterior a qualquer notificação, usado para buscar a primeira página
+     */
+    public static final NotificationCursor FIRST = new NotificationCursor(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+
+    public static NotificationCursor of(NotificationItem item) {
+        return new NotificationCursor(item.createdAt(), item.id());
+    }
+
+    public String encode() {
+        return createdAt + "," + id;
+    }
+
+    public static NotificationCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        int separator = token.lastIndexOf(',');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        try {
+            return new NotificationCursor(LocalDateTime.parse(token.substring(0, separator).trim()),
+                    Long.parseLong(token.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
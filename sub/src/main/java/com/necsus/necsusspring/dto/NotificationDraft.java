@@ -0,0 +1,27 @@
+package com.necsus.necsusspring.dto;
+
+import com.necsus.necsusspring.model.NotificationType;
+import com.necsus.necsusspring.model.Prioridade;
+
+/**
+ * Dados de uma notificação a ser gravada em lote (sem carregar a entidade do destinatário)
+ */
+public record NotificationDraft(
+        Long recipientId,
+        String title,
+        String message,
+        NotificationType type,
+        String actionUrl,
+        Long relatedEntityId,
+        String relatedEntityType,
+        Prioridade priority
+) {
+
+    public static NotificationDraft of(Long recipientId, String title, String message, NotificationType type) {
+        return new NotificationDraft(recipientId, title, message, type, null, null, null, null);
+    }
+
+    public NotificationDraft withRecipient(Long recipientId) {
+        return new NotificationDraft(recipientId, title, message, type, actionUrl, relatedEntityId, relatedEntityType, priority);
+    }
+}
@@ -0,0 +1,25 @@
+package com.necsus.necsusspring.dto;
+
+import com.necsus.necsusspring.model.NotificationStatus;
+import com.necsus.necsusspring.model.NotificationType;
+import com.necsus.necsusspring.model.Prioridade;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificação sem o destinatário (projeção): canal /notifications/stream e listas paginadas por cursor
+ */
+public record NotificationItem(
+        Long id,
+        String title,
+        String message,
+        NotificationType type,
+        NotificationStatus status,
+        String actionUrl,
+        Long relatedEntityId,
+        String relatedEntityType,
+        Prioridade priority,
+        LocalDateTime createdAt,
+        Integer occurrences
+) {
+}
@@ -0,0 +1,20 @@
+package com.necsus.necsusspring.dto;
+
+import java.util.List;
+
+/**
+ * Página da lista de notificações.
+ * {@code nextCursor} é nulo quando não há mais notificações; {@code total} só é calculado quando
+ * pedido e, se {@code totalCapped}, é apenas um limite inferior (a contagem parou no teto).
+ */
+public record NotificationPage(
+        List<NotificationItem> items,
+        String nextCursor,
+        Long total,
+        boolean totalCapped
+) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
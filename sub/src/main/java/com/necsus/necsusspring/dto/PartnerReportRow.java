@@ -0,0 +1,34 @@
+package com.necsus.necsusspring.dto;
+
+import com.necsus.necsusspring.model.PartnerStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Linha do relatório de associados, montada direto pela projeção JPQL (ver PartnerRepository):
+ * endereço e empresa vêm do join e a quantidade de veículos de uma subconsulta, sem carregar
+ * a entidade Partner nem suas coleções.
+ */
+public record PartnerReportRow(
+        Long id,
+        String name,
+        String cpf,
+        String rg,
+        String email,
+        String phone,
+        String cell,
+        LocalDate dateBorn,
+        PartnerStatus status,
+        LocalDateTime registrationDate,
+        LocalDate contractDate,
+        String street,
+        String number,
+        String neighborhood,
+        String city,
+        String state,
+        String zipcode,
+        long vehicleCount,
+        String companyName
+) {
+}
@@ -0,0 +1,20 @@
+package com.necsus.necsusspring.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma movimentação em lote, com o desfecho de cada card na ordem do pedido
+ */
+public record StatusBatchResult(int requested, int moved, List<Item> results) {
+
+    public enum Outcome {
+        MOVED,
+        UNCHANGED,
+        NOT_FOUND,
+        INVALID_STATUS,
+        FORBIDDEN
+    }
+
+    public record Item(Long id, String status, Outcome outcome) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.necsus.necsusspring.dto;
+
+/**
+ * Item de uma movimentação em lote no kanban: card e coluna de destino
+ */
+public record StatusMoveRequest(Long id, String status) {
+}
@@ -0,0 +1,22 @@
+package com.necsus.necsusspring.dto;
+
+import com.necsus.necsusspring.model.VehicleStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Linha da listagem do relatório de veículos, montada pela projeção JPQL (ver VehicleRepository):
+ * nome do associado e mensalidade vêm de joins, sem carregar Vehicle nem seu Payment.
+ */
+public record VehicleReportRow(
+        Long id,
+        String maker,
+        String model,
+        String plaque,
+        String fuelType,
+        Integer status,
+        VehicleStatus vehicleStatus,
+        String partnerName,
+        BigDecimal monthly
+) {
+}
@@ -0,0 +1,13 @@
+package com.necsus.necsusspring.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais do relatório de veículos calculados em uma única consulta (ver VehicleRepository)
+ */
+public record VehicleReportTotals(
+        long totalVehicles,
+        long distinctPartners,
+        BigDecimal totalMonthlyValue
+) {
+}
@@ -0,0 +1,50 @@
+package com.necsus.necsusspring.event;
+
+import com.necsus.necsusspring.dto.BroadcastAudience;
+import com.necsus.necsusspring.model.NotificationType;
+import com.necsus.necsusspring.model.Prioridade;
+import com.necsus.necsusspring.service.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Notificações em massa disparadas por eventos da aplicação.
+ *
+ * Diferente do NotificationEventListener, que registra cada notificação no outbox dentro da
+ * transação de origem, aqui o volume é de um por usuário: o envio acontece após o commit,
+ * fora da thread da requisição, pelo NotificationService.broadcast (blocos em transações próprias).
+ */
+@Component
+public class BroadcastNotificationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastNotificationListener.class);
+
+    private final NotificationService notificationService;
+
+    public BroadcastNotificationListener(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    /**
+     * Avisa todos os usuários ativos sobre um novo comunicado
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleComunicadoPublished(ComunicadoPublishedEvent event) {
+        logger.info("Enviando notificação do comunicado {} para todos os usuários", event.comunicadoId());
+
+        notificationService.broadcast(
+                BroadcastAudience.ALL_USERS,
+                "Novo Comunicado",
+                event.titulo(),
+                NotificationType.COMUNICADO,
+                "/comunicados",
+                event.comunicadoId(),
+                "Comunicado",
+                Prioridade.MEDIA
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package com.necsus.necsusspring.event;
+
+/**
+ * Evento publicado pelo ComunicadoService quando um comunicado passa a ficar visível (criado ativo,
+ * reativado ou com a expiração prorrogada)
+ */
+public record ComunicadoPublishedEvent(Long comunicadoId, String titulo) {
+}
@@ -0,0 +1,16 @@
+package com.necsus.necsusspring.event;
+
+/**
+ * Evento publicado pelo DemandService sempre que um card do board de demandas
+ * é criado, alterado, movido de coluna ou removido.
+ * Os listeners o consomem após o commit da transação que originou a mudança.
+ */
+public record DemandBoardChangedEvent(Long demandId, Type type) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        MOVED,
+        DELETED
+    }
+}
@@ -0,0 +1,17 @@
+package com.necsus.necsusspring.event;
+
+/**
+ * Evento publicado sempre que um card do board de eventos é criado, alterado, movido de coluna
+ * ou removido: pelo EventService e também por quem altera dados exibidos no card (vínculo com
+ * processo jurídico, placa do veículo, nome do associado) ou remove eventos em lote.
+ * Os listeners o consomem após o commit da transação que originou a mudança.
+ */
+public record EventBoardChangedEvent(Long eventId, Type type) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        MOVED,
+        DELETED
+    }
+}
@@ -0,0 +1,21 @@
+package com.necsus.necsusspring.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado pelo EventService quando a descrição ou a observação de um evento é editada
+ * por um usuário identificado. O EventHistoryWriter o registra no outbox dentro da transação da
+ * edição e grava o histórico em lote após o commit.
+ */
+public record EventTextChangedEvent(Long eventId,
+                                    Field field,
+                                    String previousValue,
+                                    String newValue,
+                                    String modifiedBy,
+                                    LocalDateTime modifiedAt) {
+
+    public enum Field {
+        OBSERVATION,
+        DESCRIPTION
+    }
+}
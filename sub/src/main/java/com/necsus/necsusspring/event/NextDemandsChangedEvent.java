@@ -0,0 +1,15 @@
+package com.necsus.necsusspring.event;
+
+import java.util.Set;
+
+/**
+ * Evento publicado pelo DemandService quando a fila de "próximas demandas" de usuários
+ * pode ter mudado: atribuição, mudança de status, prioridade ou prazo, criação e remoção.
+ * Carrega os ids dos responsáveis afetados (o anterior e o novo, em uma reatribuição).
+ */
+public record NextDemandsChangedEvent(Set<Long> userIds) {
+
+    public NextDemandsChangedEvent {
+        userIds = Set.copyOf(userIds);
+    }
+}
@@ -1,166 +1,162 @@
 package com.necsus.necsusspring.event;
 
+import com.necsus.necsusspring.dto.NotificationDraft;
 import com.necsus.necsusspring.model.NotificationType;
 import com.necsus.necsusspring.model.Prioridade;
 import com.necsus.necsusspring.model.UserAccount;
+import com.necsus.necsusspring.service.NotificationOutbox;
 import com.necsus.necsusspring.service.NotificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 /**
  * Listener para eventos da aplicação que dispara notificações automaticamente.
- * Escuta eventos do sistema e cria notificações apropriadas para os usuários.
+ * Escuta eventos do sistema e registra as notificações no outbox (NotificationOutbox).
+ *
+ * Os listeners rodam de forma síncrona, dentro da transação de quem publicou o evento:
+ * a notificação só existe se a mudança for confirmada e é entregue depois, em lote,
+ * pelo NotificationOutboxDispatcher. Sem transação ativa o registro no outbox é feito
+ * em uma transação própria.
+ *
+ * A exceção é a atualização de evento: ela é gravada direto pelo NotificationService, ainda na
+ * transação de quem publicou, para que atualizações seguidas do mesmo evento sejam somadas na
+ * notificação não lida já existente em vez de gerar uma linha no outbox a cada edição.
  */
 @Component
 public class NotificationEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationEventListener.class);
 
+    private final NotificationOutbox notificationOutbox;
     private final NotificationService notificationService;
 
-    public NotificationEventListener(NotificationService notificationService) {
+    public NotificationEventListener(NotificationOutbox notificationOutbox, NotificationService notificationService) {
+        this.notificationOutbox = notificationOutbox;
         this.notificationService = notificationService;
     }
 
     /**
-     * Exemplo de listener para eventos personalizados.
-     * Este é um template que pode ser expandido conforme necessário.
+     * Dispara notificação quando um novo evento é criado (publicado pelo EventService para o
+     * analista responsável)
      */
-
-    /**
-     * Dispara notificação quando um novo evento é criado
-     *
-     * Para usar: publique um evento como este no EventService:
-     * applicationEventPublisher.publishEvent(new EventCreatedEvent(event, recipient));
-     */
-    @Async
     @EventListener
     public void handleEventCreated(EventCreatedEvent event) {
-        try {
-            logger.info("Disparando notificação para novo evento: {}", event.getEventId());
-
-            notificationService.createNotification(
-                    event.getRecipient(),
-                    "Novo Evento Criado",
-                    "Um novo evento foi criado com ID: " + event.getEventId(),
-                    NotificationType.EVENT,
-                    "/events/" + event.getEventId(),
-                    event.getEventId(),
-                    "Event",
-                    Prioridade.MEDIA
-            );
-
-            logger.info("Notificação criada com sucesso para evento ID: {}", event.getEventId());
-        } catch (Exception e) {
-            logger.error("Erro ao criar notificação para evento ID {}: ", event.getEventId(), e);
-        }
+        logger.info("Registrando notificação para novo evento: {}", event.getEventId());
+
+        enqueue(
+                "EVENT_CREATED",
+                event.getRecipient(),
+                "Novo Evento Criado",
+                "Um novo evento foi criado com ID: " + event.getEventId(),
+                NotificationType.EVENT,
+                "/events/" + event.getEventId(),
+                event.getEventId(),
+                "Event",
+                Prioridade.MEDIA
+        );
     }
 
     /**
-     * Dispara notificação quando um evento é atualizado
+     * Dispara notificação quando um evento é atualizado (publicado pelo EventService); agrupa na
+     * notificação não lida do mesmo evento, se houver
      */
-    @Async
     @EventListener
     public void handleEventUpdated(EventUpdatedEvent event) {
-        try {
-            logger.info("Disparando notificação para atualização de evento: {}", event.getEventId());
-
-            notificationService.createNotification(
-                    event.getRecipient(),
-                    "Evento Atualizado",
-                    event.getUpdateMessage(),
-                    NotificationType.EVENT,
-                    "/events/" + event.getEventId(),
-                    event.getEventId(),
-                    "Event",
-                    Prioridade.MEDIA
-            );
-
-            logger.info("Notificação de atualização criada para evento ID: {}", event.getEventId());
-        } catch (Exception e) {
-            logger.error("Erro ao criar notificação de atualização para evento ID {}: ", event.getEventId(), e);
+        logger.info("Registrando notificação para atualização de evento: {}", event.getEventId());
+
+        UserAccount recipient = event.getRecipient();
+        if (recipient == null || recipient.getId() == null) {
+            logger.warn("Evento EVENT_UPDATED sem destinatário, notificação ignorada");
+            return;
         }
+        notificationService.notifyEventUpdate(recipient, event.getEventId(), event.getUpdateMessage());
     }
 
     /**
-     * Dispara notificação quando uma demanda é criada
+     * Dispara notificação quando uma demanda é criada (publicado pelo DemandService para o responsável)
      */
-    @Async
     @EventListener
     public void handleDemandCreated(DemandCreatedEvent event) {
-        try {
-            logger.info("Disparando notificação para nova demanda: {}", event.getDemandId());
-
-            notificationService.createNotification(
-                    event.getRecipient(),
-                    "Nova Demanda Atribuída",
-                    event.getMessage(),
-                    NotificationType.DEMAND,
-                    "/demands/" + event.getDemandId(),
-                    event.getDemandId(),
-                    "Demand",
-                    Prioridade.ALTA
-            );
-
-            logger.info("Notificação criada para demanda ID: {}", event.getDemandId());
-        } catch (Exception e) {
-            logger.error("Erro ao criar notificação para demanda ID {}: ", event.getDemandId(), e);
-        }
+        logger.info("Registrando notificação para nova demanda: {}", event.getDemandId());
+
+        enqueue(
+                "DEMAND_CREATED",
+                event.getRecipient(),
+                "Nova Demanda Atribuída",
+                event.getMessage(),
+                NotificationType.DEMAND,
+                "/demands/" + event.getDemandId(),
+                event.getDemandId(),
+                "Demand",
+                Prioridade.ALTA
+        );
     }
 
     /**
-     * Dispara notificação quando um pagamento é processado
+     * Dispara notificação quando um pagamento é processado (publicado pelo PaymentService na baixa
+     * da fatura, para o financeiro)
      */
-    @Async
     @EventListener
     public void handlePaymentProcessed(PaymentProcessedEvent event) {
-        try {
-            logger.info("Disparando notificação para pagamento: {}", event.getPaymentId());
-
-            notificationService.createNotification(
-                    event.getRecipient(),
-                    "Notificação de Pagamento",
-                    event.getMessage(),
-                    NotificationType.PAYMENT,
-                    "/pagamentos/" + event.getPaymentId(),
-                    event.getPaymentId(),
-                    "Payment",
-                    Prioridade.ALTA
-            );
-
-            logger.info("Notificação criada para pagamento ID: {}", event.getPaymentId());
-        } catch (Exception e) {
-            logger.error("Erro ao criar notificação para pagamento ID {}: ", event.getPaymentId(), e);
-        }
+        logger.info("Registrando notificação para pagamento: {}", event.getPaymentId());
+
+        enqueue(
+                "PAYMENT_PROCESSED",
+                event.getRecipient(),
+                "Notificação de Pagamento",
+                event.getMessage(),
+                NotificationType.PAYMENT,
+                "/pagamentos/" + event.getPaymentId(),
+                event.getPaymentId(),
+                "Payment",
+                Prioridade.ALTA
+        );
     }
 
     /**
-     * Dispara notificação quando um comunicado é criado
+     * Dispara notificação de comunicado para um destinatário específico. Comunicados para todos
+     * os usuários seguem pelo ComunicadoPublishedEvent (BroadcastNotificationListener); este
+     * evento fica para avisos direcionados e não é publicado junto com aquele.
      */
-    @Async
     @EventListener
     public void handleComunicadoCreated(ComunicadoCreatedEvent event) {
-        try {
-            logger.info("Disparando notificação para comunicado: {}", event.getComunicadoId());
-
-            notificationService.createNotification(
-                    event.getRecipient(),
-                    "Novo Comunicado",
-                    event.getMessage(),
-                    NotificationType.COMUNICADO,
-                    "/comunicados",
-                    event.getComunicadoId(),
-                    "Comunicado",
-                    Prioridade.MEDIA
-            );
-
-            logger.info("Notificação criada para comunicado ID: {}", event.getComunicadoId());
-        } catch (Exception e) {
-            logger.error("Erro ao criar notificação para comunicado ID {}: ", event.getComunicadoId(), e);
+        logger.info("Registrando notificação para comunicado: {}", event.getComunicadoId());
+
+        enqueue(
+                "COMUNICADO_CREATED",
+                event.getRecipient(),
+                "Novo Comunicado",
+                event.getMessage(),
+                NotificationType.COMUNICADO,
+                "/comunicados",
+                event.getComunicadoId(),
+                "Comunicado",
+                Prioridade.MEDIA
+        );
+    }
+
+    /**
+     * Grava a notificação no outbox; eventos sem destinatário são ignorados
+     */
+    private void enqueue(String eventType, UserAccount recipient, String title, String message,
+                         NotificationType type, String actionUrl, Long relatedEntityId,
+                         String relatedEntityType, Prioridade priority) {
+        if (recipient == null || recipient.getId() == null) {
+            logger.warn("Evento {} sem destinatário, notificação ignorada", eventType);
+            return;
         }
+        notificationOutbox.enqueue(eventType, new NotificationDraft(
+                recipient.getId(),
+                title,
+                message,
+                type,
+                actionUrl,
+                relatedEntityId,
+                relatedEntityType,
+                priority
+        ));
     }
 
     // Classes de eventos customizados
@@ -187,7 +183,8 @@ public class NotificationEventListener {
     }
 
     /**
-     * Evento disparado quando um evento é atualizado
+     * Evento disparado quando um evento é atualizado; a mensagem descreve a alteração
+     * (ex.: "status alterado para Em análise")
      */
     public static class EventUpdatedEvent {
         private final Long eventId;
@@ -0,0 +1,12 @@
+package com.necsus.necsusspring.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado pelo NotificationService quando ocorrências novas foram somadas em notificações
+ * não lidas já existentes do destinatário (agrupamento), sem criar linhas. {@code since} é um
+ * instante anterior ao agrupamento: as notificações alteradas têm last_occurred_at a partir dele.
+ * Consumido após o commit pelo NotificationStreamService, que reenvia as notificações alteradas.
+ */
+public record NotificationsCoalescedEvent(Long recipientId, LocalDateTime since) {
+}
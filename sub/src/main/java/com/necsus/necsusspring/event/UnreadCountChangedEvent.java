@@ -0,0 +1,17 @@
+package com.necsus.necsusspring.event;
+
+/**
+ * Evento publicado pelo NotificationService quando o número de notificações não lidas
+ * de um destinatário muda. Com {@code reset} o contador passa a zero (marcar todas como lidas);
+ * caso contrário soma {@code delta}. Consumido após o commit pelo UnreadNotificationCounter.
+ */
+public record UnreadCountChangedEvent(Long recipientId, long delta, boolean reset) {
+
+    public static UnreadCountChangedEvent delta(Long recipientId, long delta) {
+        return new UnreadCountChangedEvent(recipientId, delta, false);
+    }
+
+    public static UnreadCountChangedEvent reset(Long recipientId) {
+        return new UnreadCountChangedEvent(recipientId, 0, true);
+    }
+}
@@ -1,13 +1,19 @@
 package com.necsus.necsusspring.model;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Modelo de Demanda - Sistema de hierarquia
@@ -52,6 +58,18 @@ public class Demand {
     @Column(name = "target_roles")
     private String targetRoles;
 
+    /**
+     * Os mesmos roles de targetRoles, normalizados em demand_target_roles (uma linha por role)
+     * para as consultas de acesso e do board. Mantido pelos setters de targetRoles.
+     */
+    @ElementCollection
+    @CollectionTable(name = "demand_target_roles", joinColumns = @JoinColumn(name = "demand_id"))
+    @Column(name = "role", length = 50)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<String> targetRoleSet = new LinkedHashSet<>();
+
     /**
      * Usuário específico ao qual a demanda foi atribuída (opcional)
      */
@@ -108,10 +126,31 @@ public class Demand {
      */
     public void setTargetRolesList(List<String> roles) {
         if (roles == null || roles.isEmpty()) {
-            this.targetRoles = null;
+            setTargetRoles(null);
         } else {
-            this.targetRoles = String.join(",", roles);
+            setTargetRoles(String.join(",", roles));
+        }
+    }
+
+    /**
+     * Define os roles destinatários ("RH,FINANCEIRO") e sincroniza demand_target_roles
+     */
+    public void setTargetRoles(String targetRoles) {
+        this.targetRoles = targetRoles;
+
+        Set<String> roles = new LinkedHashSet<>();
+        if (targetRoles != null) {
+            for (String role : targetRoles.split(",")) {
+                if (!role.trim().isEmpty()) {
+                    roles.add(role.trim());
+                }
+            }
+        }
+        if (targetRoleSet == null) {
+            targetRoleSet = new LinkedHashSet<>();
         }
+        targetRoleSet.retainAll(roles);
+        targetRoleSet.addAll(roles);
     }
 
     public String getPrioridadeColor() {
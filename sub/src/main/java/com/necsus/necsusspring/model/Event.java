@@ -128,12 +128,6 @@ public class Event {
 
     // Método auxiliar para obter cor da prioridade (para o frontend)
     public String getPrioridadeColor() {
-        if (prioridade == null) return "secondary";
-        return switch (prioridade) {
-            case BAIXA -> "success";
-            case MEDIA -> "info";
-            case ALTA -> "warning";
-            case URGENTE -> "danger";
-        };
+        return prioridade != null ? prioridade.getColor() : "secondary";
     }
 }
@@ -28,6 +28,19 @@ public class EventDescriptionHistory {
     @Column(name = "new_description", columnDefinition = "TEXT")
     private String newDescription;
 
+    /**
+     * Nulo para registros com as cópias completas ainda não processados, SNAPSHOT ou DELTA
+     * (ver EventTextHistoryCodec)
+     */
+    @Column(name = "storage_format", length = 10)
+    private String storageFormat;
+
+    @Column(name = "previous_delta", columnDefinition = "TEXT")
+    private String previousDelta;
+
+    @Column(name = "new_delta", columnDefinition = "TEXT")
+    private String newDelta;
+
     @Column(name = "modified_by", length = 100)
     private String modifiedBy;
 
@@ -21,6 +21,19 @@ public class EventObservationHistory {
     @Column(name = "new_observation", columnDefinition = "TEXT")
     private String newObservation;
 
+    /**
+     * Nulo para registros com as cópias completas ainda não processados, SNAPSHOT ou DELTA
+     * (ver EventTextHistoryCodec)
+     */
+    @Column(name = "storage_format", length = 10)
+    private String storageFormat;
+
+    @Column(name = "previous_delta", columnDefinition = "TEXT")
+    private String previousDelta;
+
+    @Column(name = "new_delta", columnDefinition = "TEXT")
+    private String newDelta;
+
     @Column(name = "modified_by", length = 100)
     private String modifiedBy;
 
@@ -73,6 +86,30 @@ public class EventObservationHistory {
         this.newObservation = newObservation;
     }
 
+    public String getStorageFormat() {
+        return storageFormat;
+    }
+
+    public void setStorageFormat(String storageFormat) {
+        this.storageFormat = storageFormat;
+    }
+
+    public String getPreviousDelta() {
+        return previousDelta;
+    }
+
+    public void setPreviousDelta(String previousDelta) {
+        this.previousDelta = previousDelta;
+    }
+
+    public String getNewDelta() {
+        return newDelta;
+    }
+
+    public void setNewDelta(String newDelta) {
+        this.newDelta = newDelta;
+    }
+
     public String getModifiedBy() {
         return modifiedBy;
     }
@@ -111,12 +111,38 @@ public class Notification {
     @Column(length = 20)
     private Prioridade priority;
 
+    /**
+     * Quantas notificações equivalentes (mesmo tipo e entidade relacionada) foram agrupadas nesta
+     */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer occurrences = 1;
+
+    /**
+     * Data e hora da ocorrência agrupada mais recente (nula se a notificação nunca foi agrupada)
+     */
+    @Column(name = "last_occurred_at")
+    private LocalDateTime lastOccurredAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         if (status == null) {
             status = NotificationStatus.UNREAD;
         }
+        if (occurrences == null) {
+            occurrences = 1;
+        }
+    }
+
+    /**
+     * Agrupa uma nova ocorrência nesta notificação, mantendo a mensagem mais recente
+     */
+    public void coalesce(String title, String message) {
+        this.title = title;
+        this.message = message;
+        this.occurrences = (occurrences != null ? occurrences : 1) + 1;
+        this.lastOccurredAt = LocalDateTime.now();
     }
 
     /**
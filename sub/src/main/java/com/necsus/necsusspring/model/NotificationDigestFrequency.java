@@ -0,0 +1,24 @@
+package com.necsus.necsusspring.model;
+
+/**
+ * Frequência com que o usuário recebe as notificações comuns.
+ * Fora de IMMEDIATE, elas são reunidas em um resumo periódico; alta prioridade é sempre imediata.
+ */
+public enum NotificationDigestFrequency {
+
+    IMMEDIATE("Imediata"),
+
+    HOURLY("Resumo de hora em hora"),
+
+    DAILY("Resumo diário");
+
+    private final String displayName;
+
+    NotificationDigestFrequency(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
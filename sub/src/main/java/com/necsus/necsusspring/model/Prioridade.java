@@ -1,18 +1,25 @@
 package com.necsus.necsusspring.model;
 
 public enum Prioridade {
-    BAIXA("Baixa"),
-    MEDIA("Média"),
-    ALTA("Alta"),
-    URGENTE("Urgente");
+    BAIXA("Baixa", "success"),
+    MEDIA("Média", "info"),
+    ALTA("Alta", "warning"),
+    URGENTE("Urgente", "danger");
 
     private final String displayName;
+    private final String color;
 
-    Prioridade(String displayName) {
+    Prioridade(String displayName, String color) {
         this.displayName = displayName;
+        this.color = color;
     }
 
     public String getDisplayName() {
         return displayName;
     }
+
+    // Cor usada pelo frontend para destacar a prioridade
+    public String getColor() {
+        return color;
+    }
 }
@@ -124,6 +124,14 @@ public enum RoleType {
         return new String[]{"ADMIN", "DIRETORIA", "GERENTE", "GESTOR"};
     }
 
+    /**
+     * Retorna os códigos dos roles com acesso às métricas operacionais (caches, executores)
+     * Apenas ADMIN e TI têm essa permissão
+     */
+    public static String[] operationsRoleCodes() {
+        return new String[]{"ADMIN", "TI"};
+    }
+
     /**
      * Verifica se um role pode gerenciar usuários
      */
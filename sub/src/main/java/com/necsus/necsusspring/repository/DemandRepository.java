@@ -4,10 +4,12 @@ import com.necsus.necsusspring.model.Demand;
 import com.necsus.necsusspring.model.DemandStatus;
 import com.necsus.necsusspring.model.UserAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -30,20 +32,112 @@ public interface DemandRepository extends JpaRepository<Demand, Long> {
     List<Demand> findByAssignedToAndStatusInOrderByCreatedAtDesc(UserAccount assignedTo,
                                                                  Collection<DemandStatus> statuses);
 
+    /**
+     * Ids das próximas demandas abertas de um responsável, já na ordem do dashboard:
+     * urgentes primeiro, depois prazo (nulos por último), prioridade e criação.
+     * O predicado de status é literal para casar com o índice parcial idx_demands_next_for_user.
+     */
+    @Query(value = "SELECT d.id FROM demands d " +
+            "WHERE d.assigned_to_id = :userId AND d.status IN ('PENDENTE', 'EM_ANDAMENTO') " +
+            "ORDER BY (CASE WHEN d.prioridade = 'URGENTE' THEN 0 ELSE 1 END), " +
+            "d.due_date ASC NULLS LAST, " +
+            "(CASE d.prioridade WHEN 'URGENTE' THEN 0 WHEN 'ALTA' THEN 1 WHEN 'BAIXA' THEN 3 ELSE 2 END), " +
+            "d.created_at ASC NULLS LAST, d.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Long> findNextDemandIdsForUser(@Param("userId") Long userId, @Param("limit") int limit);
+
     /**
      * Busca demandas por status
      */
     List<Demand> findByStatusOrderByCreatedAtDesc(DemandStatus status);
 
     /**
-     * Busca demandas onde o role está incluído nos targetRoles
+     * Dados mínimos para movimentação em lote: (id, status, titulo, id do criador, id do responsável)
+     */
+    @Query("SELECT d.id, d.status, d.titulo, d.createdBy.id, a.id FROM Demand d LEFT JOIN d.assignedTo a WHERE d.id IN :ids")
+    List<Object[]> findStatusRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Conclui várias demandas em um único UPDATE, preservando a data de conclusão já existente
+     */
+    @Modifying
+    @Query("UPDATE Demand d SET d.status = :status, d.updatedAt = :now, " +
+           "d.completedAt = COALESCE(d.completedAt, :now), d.completionObservation = NULL " +
+           "WHERE d.id IN :ids")
+    int completeByIdIn(@Param("status") DemandStatus status,
+                       @Param("ids") Collection<Long> ids,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Move várias demandas para um status não concluído em um único UPDATE, limpando os dados de conclusão
+     */
+    @Modifying
+    @Query("UPDATE Demand d SET d.status = :status, d.updatedAt = :now, " +
+           "d.completedAt = NULL, d.completionObservation = NULL " +
+           "WHERE d.id IN :ids")
+    int updateStatusByIdIn(@Param("status") DemandStatus status,
+                           @Param("ids") Collection<Long> ids,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * Busca demandas direcionadas ao role, pelo índice idx_demand_target_roles_role
      */
-    @Query("SELECT d FROM Demand d WHERE d.targetRoles LIKE %:role% ORDER BY d.createdAt DESC")
+    @Query(value = "SELECT d.* FROM demands d " +
+            "JOIN demand_target_roles r ON r.demand_id = d.id " +
+            "WHERE r.role = :role " +
+            "ORDER BY d.created_at DESC", nativeQuery = true)
     List<Demand> findByTargetRolesContaining(@Param("role") String role);
 
     /**
-     * Busca demandas que um usuário pode ver (criadas por ele ou direcionadas ao seu role)
+     * Busca demandas que um usuário pode ver (criadas por ele, atribuídas a ele ou direcionadas ao seu role).
+     * Cada ramo da união usa seu próprio índice em vez de um OR sobre a tabela inteira.
      */
-    @Query("SELECT d FROM Demand d WHERE d.createdBy = :user OR d.assignedTo = :user OR d.targetRoles LIKE %:role% ORDER BY d.createdAt DESC")
+    @Query(value = "SELECT d.* FROM demands d WHERE d.id IN (" +
+            "SELECT c.id FROM demands c WHERE c.created_by_id = :#{#user?.id} " +
+            "UNION SELECT a.id FROM demands a WHERE a.assigned_to_id = :#{#user?.id} " +
+            "UNION SELECT r.demand_id FROM demand_target_roles r WHERE r.role = :role" +
+            ") ORDER BY d.created_at DESC", nativeQuery = true)
     List<Demand> findAccessibleByUser(@Param("user") UserAccount user, @Param("role") String role);
+
+    /**
+     * Filtro de role das consultas do board; com role nulo não restringe
+     */
+    String ROLE_FILTER = "AND (CAST(:role AS text) IS NULL OR EXISTS (SELECT 1 FROM demand_target_roles r " +
+            "WHERE r.demand_id = d.id AND r.role = CAST(:role AS text))) ";
+
+    /**
+     * Chave de ordenação da coluna paginada do board de demandas: prazo (nulos por último),
+     * prioridade (urgente primeiro), título e id. Coberta pelo índice idx_demands_board_column.
+     * Com {@code role} nulo a coluna inclui todas as demandas (visão de diretoria/admin).
+     */
+    String BOARD_COLUMN_KEYS = "SELECT d.id, COALESCE(d.due_date, TIMESTAMP '9999-12-31 00:00:00') AS sort_date, " +
+            "(CASE d.prioridade WHEN 'URGENTE' THEN 0 WHEN 'ALTA' THEN 1 WHEN 'BAIXA' THEN 3 ELSE 2 END) AS sort_rank, " +
+            "LOWER(COALESCE(d.titulo, '')) AS sort_title " +
+            "FROM demands d " +
+            "WHERE d.status = :status " +
+            ROLE_FILTER;
+
+    String BOARD_COLUMN_KEYS_ORDER = " ORDER BY sort_date, sort_rank, sort_title, d.id LIMIT :limit";
+
+    @Query(value = BOARD_COLUMN_KEYS + BOARD_COLUMN_KEYS_ORDER, nativeQuery = true)
+    List<Object[]> findBoardColumnKeys(@Param("status") String status,
+                                       @Param("role") String role,
+                                       @Param("limit") int limit);
+
+    @Query(value = BOARD_COLUMN_KEYS +
+            "AND (COALESCE(d.due_date, TIMESTAMP '9999-12-31 00:00:00'), " +
+            "(CASE d.prioridade WHEN 'URGENTE' THEN 0 WHEN 'ALTA' THEN 1 WHEN 'BAIXA' THEN 3 ELSE 2 END), " +
+            "LOWER(COALESCE(d.titulo, '')), d.id) " +
+            "> (CAST(:afterDate AS timestamp), :afterRank, CAST(:afterTitle AS text), :afterId)" +
+            BOARD_COLUMN_KEYS_ORDER, nativeQuery = true)
+    List<Object[]> findBoardColumnKeysAfter(@Param("status") String status,
+                                            @Param("role") String role,
+                                            @Param("afterDate") String afterDate,
+                                            @Param("afterRank") int afterRank,
+                                            @Param("afterTitle") String afterTitle,
+                                            @Param("afterId") long afterId,
+                                            @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM demands d WHERE d.status = :status " + ROLE_FILTER, nativeQuery = true)
+    long countBoardColumn(@Param("status") String status, @Param("role") String role);
 }
@@ -10,10 +10,9 @@ import java.util.List;
 public interface EventDescriptionHistoryRepository extends JpaRepository<EventDescriptionHistory, Long> {
 
     /**
-     * Busca o histórico de alterações de descrição de um evento específico,
-     * ordenado da mais recente para a mais antiga
+     * Cadeia de histórico do evento na ordem de gravação, como o formato compacto exige
      */
-    List<EventDescriptionHistory> findByEventIdOrderByModifiedAtDesc(Long eventId);
+    List<EventDescriptionHistory> findByEventIdOrderByIdAsc(Long eventId);
 
     void deleteByEventId(Long eventId);
 }
@@ -2,14 +2,30 @@ package com.necsus.necsusspring.repository;
 
 import com.necsus.necsusspring.model.EventObservationHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface EventObservationHistoryRepository extends JpaRepository<EventObservationHistory, Long> {
 
-    List<EventObservationHistory> findByEventIdOrderByModifiedAtDesc(Long eventId);
+    /**
+     * Cadeia de histórico do evento na ordem de gravação, como o formato compacto exige
+     */
+    List<EventObservationHistory> findByEventIdOrderByIdAsc(Long eventId);
 
     void deleteByEventId(Long eventId);
+
+    /**
+     * Cadeias de histórico de vários eventos como linhas (id, event_id, storage_format, previous_observation,
+     * new_observation, previous_delta, new_delta, modified_by, modified_at), por evento e em ordem de gravação,
+     * sem carregar as entidades
+     */
+    @Query("SELECT h.id, h.event.id, h.storageFormat, h.previousObservation, h.newObservation, " +
+           "h.previousDelta, h.newDelta, h.modifiedBy, h.modifiedAt FROM EventObservationHistory h " +
+           "WHERE h.event.id IN :eventIds ORDER BY h.event.id, h.id")
+    List<Object[]> findChainsByEventIdIn(@Param("eventIds") Collection<Long> eventIds);
 }
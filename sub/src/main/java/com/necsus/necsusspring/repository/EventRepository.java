@@ -1,13 +1,18 @@
 package com.necsus.necsusspring.repository;
 
+import com.necsus.necsusspring.dto.EventBoardCardDto;
+import com.necsus.necsusspring.dto.EventExportRow;
 import com.necsus.necsusspring.model.Event;
 import com.necsus.necsusspring.model.Status;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,6 +26,164 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     void deleteByVehicleId(Long vehicleId);
 
+    /**
+     * Ids dos eventos do veículo, para avisar o board antes de alterar ou remover esses cards
+     */
+    @Query("SELECT e.id FROM Event e WHERE e.vehicle.id = :vehicleId")
+    List<Long> findIdsByVehicleId(@Param("vehicleId") Long vehicleId);
+
+    @Query("SELECT e.id FROM Event e WHERE e.partner.id = :partnerId")
+    List<Long> findIdsByPartnerId(@Param("partnerId") Long partnerId);
+
     @EntityGraph(attributePaths = {"partner", "vehicle"})
     List<Event> findAllByOrderByStatusAscDataVencimentoAscIdAsc();
-}
\ No newline at end of file
+
+    /**
+     * Status atual de cada evento informado, como pares (id, status)
+     */
+    @Query("SELECT e.id, e.status FROM Event e WHERE e.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Move vários eventos para o mesmo status em um único UPDATE
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.status = :status WHERE e.id IN :ids")
+    int updateStatusByIdIn(@Param("status") Status status, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Evento já enviado ao jurídico (há processo com source_event_id = e.id, coberto por
+     * idx_legal_processes_source_event_id). Esses eventos saem do board.
+     */
+    String LINKED_TO_LEGAL_PROCESS = "EXISTS (SELECT 1 FROM LegalProcess lp WHERE lp.sourceEventId = e.id)";
+
+    /**
+     * Colunas do card do board. Os caminhos de documentos viram indicadores calculados no banco
+     * e Partner/Vehicle contribuem apenas com nome/placa e id.
+     */
+    String BOARD_CARD_COLUMNS = "e.id, e.titulo, e.descricao, e.status, e.prioridade, e.motivo, e.envolvimento, " +
+            "p.name, p.id, v.plaque, v.id, e.placaManual, " +
+            "e.dataVencimento, e.dataAconteceu, e.horaAconteceu, e.dataComunicacao, e.horaComunicacao, " +
+            "e.observacoes, e.analistaResponsavel, " +
+            "CASE WHEN e.docCrlvPath IS NOT NULL AND e.docCrlvPath <> '' THEN true ELSE false END, " +
+            "CASE WHEN e.docCnhPath IS NOT NULL AND e.docCnhPath <> '' THEN true ELSE false END, " +
+            "CASE WHEN e.docBoPath IS NOT NULL AND e.docBoPath <> '' THEN true ELSE false END, " +
+            "CASE WHEN e.docComprovanteResidenciaPath IS NOT NULL AND e.docComprovanteResidenciaPath <> '' THEN true ELSE false END, " +
+            "CASE WHEN e.docTermoAberturaPath IS NOT NULL AND e.docTermoAberturaPath <> '' THEN true ELSE false END, ";
+
+    String BOARD_CARD_FROM = "FROM Event e LEFT JOIN e.partner p LEFT JOIN e.vehicle v ";
+
+    /**
+     * Projeção do board comum: a consulta já exclui os eventos vinculados, então o indicador é sempre falso
+     */
+    String BOARD_CARD_PROJECTION = "SELECT new com.necsus.necsusspring.dto.EventBoardCardDto(" +
+            BOARD_CARD_COLUMNS + "false) " + BOARD_CARD_FROM;
+
+    /**
+     * Projeção que mantém os eventos vinculados ao jurídico e os sinaliza no próprio card
+     */
+    String BOARD_CARD_FLAGGED_PROJECTION = "SELECT new com.necsus.necsusspring.dto.EventBoardCardDto(" +
+            BOARD_CARD_COLUMNS + "CASE WHEN " + LINKED_TO_LEGAL_PROCESS + " THEN true ELSE false END) " + BOARD_CARD_FROM;
+
+    /**
+     * Mesma ordenação do board em cada coluna: vencimento e título (ambos com nulos por último) e id
+     */
+    String BOARD_CARD_ORDER = " ORDER BY e.status, e.dataVencimento ASC NULLS LAST, LOWER(e.titulo) ASC NULLS LAST, e.id";
+
+    /**
+     * Cards do board em uma única consulta, já sem os eventos enviados ao jurídico
+     */
+    @Query(BOARD_CARD_PROJECTION + "WHERE NOT " + LINKED_TO_LEGAL_PROCESS + BOARD_CARD_ORDER)
+    List<EventBoardCardDto> findBoardCards();
+
+    /**
+     * Cards do board incluindo os eventos enviados ao jurídico, sinalizados em linkedToLegalProcess
+     */
+    @Query(BOARD_CARD_FLAGGED_PROJECTION + BOARD_CARD_ORDER)
+    List<EventBoardCardDto> findBoardCardsIncludingLinked();
+
+    @Query(BOARD_CARD_PROJECTION + "WHERE e.status = :status AND NOT " + LINKED_TO_LEGAL_PROCESS + BOARD_CARD_ORDER)
+    List<EventBoardCardDto> findBoardCardsByStatus(@Param("status") Status status);
+
+    /**
+     * Cards pelos ids, sinalizando os vinculados ao jurídico para que o chamador os trate como removidos
+     */
+    @Query(BOARD_CARD_FLAGGED_PROJECTION + "WHERE e.id IN :ids" + BOARD_CARD_ORDER)
+    List<EventBoardCardDto> findBoardCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Contagem de eventos por status desconsiderando os que já foram enviados ao jurídico
+     */
+    @Query("SELECT e.status, COUNT(e) FROM Event e " +
+           "WHERE NOT " + LINKED_TO_LEGAL_PROCESS + " " +
+           "GROUP BY e.status")
+    List<Object[]> countBoardEventsByStatus();
+
+    /**
+     * Chave de ordenação da coluna paginada, na mesma ordem de BOARD_CARD_ORDER e coberta pelo índice
+     * idx_event_board_column. Devolve (id, sort_date, sort_rank, sort_title); sort_rank marca os
+     * títulos nulos, que ficam por último como no NULLS LAST do board.
+     */
+    String BOARD_COLUMN_TITLE_RANK = "(CASE WHEN e.titulo IS NULL THEN 1 ELSE 0 END)";
+
+    String BOARD_COLUMN_KEYS = "SELECT e.id, COALESCE(e.data_vencimento, DATE '9999-12-31') AS sort_date, " +
+            BOARD_COLUMN_TITLE_RANK + " AS sort_rank, LOWER(COALESCE(e.titulo, '')) AS sort_title " +
+            "FROM event e " +
+            "WHERE e.status = :status " +
+            "AND NOT EXISTS (SELECT 1 FROM legal_processes lp WHERE lp.source_event_id = e.id) ";
+
+    String BOARD_COLUMN_KEYS_ORDER = " ORDER BY sort_date, sort_rank, sort_title, e.id LIMIT :limit";
+
+    @Query(value = BOARD_COLUMN_KEYS + BOARD_COLUMN_KEYS_ORDER, nativeQuery = true)
+    List<Object[]> findBoardColumnKeys(@Param("status") String status, @Param("limit") int limit);
+
+    @Query(value = BOARD_COLUMN_KEYS +
+            "AND (COALESCE(e.data_vencimento, DATE '9999-12-31'), " + BOARD_COLUMN_TITLE_RANK + ", " +
+            "LOWER(COALESCE(e.titulo, '')), e.id) " +
+            "> (CAST(:afterDate AS date), :afterRank, CAST(:afterTitle AS text), :afterId)" +
+            BOARD_COLUMN_KEYS_ORDER, nativeQuery = true)
+    List<Object[]> findBoardColumnKeysAfter(@Param("status") String status,
+                                            @Param("afterDate") String afterDate,
+                                            @Param("afterRank") int afterRank,
+                                            @Param("afterTitle") String afterTitle,
+                                            @Param("afterId") long afterId,
+                                            @Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM event e WHERE e.status = :status " +
+            "AND NOT EXISTS (SELECT 1 FROM legal_processes lp WHERE lp.source_event_id = e.id)", nativeQuery = true)
+    long countBoardColumn(@Param("status") String status);
+
+    /**
+     * Colunas da exportação de eventos (PDF), na ordem do construtor de EventExportRow
+     */
+    String EXPORT_ROW_PROJECTION = "SELECT new com.necsus.necsusspring.dto.EventExportRow(" +
+            "e.id, e.titulo, e.descricao, e.status, e.prioridade, e.motivo, e.envolvimento, " +
+            "p.name, p.cpf, v.plaque, v.maker, v.model, e.placaManual, " +
+            "e.dataAconteceu, e.horaAconteceu, e.dataComunicacao, e.horaComunicacao, e.dataVencimento, " +
+            "e.observacoes, e.analistaResponsavel) " + BOARD_CARD_FROM;
+
+    /**
+     * Filtro do board aplicado à exportação; parâmetros nulos não restringem
+     */
+    String EXPORT_FILTER = "(:status IS NULL OR e.status = :status) " +
+            "AND (:partnerId IS NULL OR p.id = :partnerId) " +
+            "AND (:includeLinked = true OR NOT " + LINKED_TO_LEGAL_PROCESS + ") ";
+
+    @Query(EXPORT_ROW_PROJECTION + "WHERE e.id IN :ids ORDER BY e.id")
+    List<EventExportRow> findExportRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Próximo bloco da exportação por filtro, paginado por id (keyset): o Pageable só limita o bloco
+     */
+    @Query(EXPORT_ROW_PROJECTION + "WHERE e.id > :afterId AND " + EXPORT_FILTER + "ORDER BY e.id")
+    List<EventExportRow> findExportRowsAfter(@Param("afterId") long afterId,
+                                             @Param("status") Status status,
+                                             @Param("partnerId") Long partnerId,
+                                             @Param("includeLinked") boolean includeLinked,
+                                             Pageable pageable);
+
+    @Query("SELECT COUNT(e) " + BOARD_CARD_FROM + "WHERE " + EXPORT_FILTER)
+    long countExportRows(@Param("status") Status status,
+                         @Param("partnerId") Long partnerId,
+                         @Param("includeLinked") boolean includeLinked);
+}
@@ -1,5 +1,6 @@
 package com.necsus.necsusspring.repository;
 
+import com.necsus.necsusspring.dto.NotificationItem;
 import com.necsus.necsusspring.model.Notification;
 import com.necsus.necsusspring.model.NotificationStatus;
 import com.necsus.necsusspring.model.NotificationType;
@@ -13,6 +14,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -62,6 +64,109 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient = :recipient AND n.status = com.necsus.necsusspring.model.NotificationStatus.UNREAD")
     long countUnreadByRecipient(@Param("recipient") UserAccount recipient);
 
+    /**
+     * Conta as notificações não lidas pelo id do destinatário (carga do contador em memória)
+     */
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient.id = :recipientId AND n.status = com.necsus.necsusspring.model.NotificationStatus.UNREAD")
+    long countUnreadByRecipientId(@Param("recipientId") Long recipientId);
+
+    /**
+     * Não lidas por destinatário em uma única consulta: (id do destinatário, quantidade).
+     * Destinatários sem notificações não lidas não aparecem no resultado.
+     */
+    @Query("SELECT n.recipient.id, COUNT(n) FROM Notification n WHERE n.recipient.id IN :recipientIds " +
+           "AND n.status = com.necsus.necsusspring.model.NotificationStatus.UNREAD GROUP BY n.recipient.id")
+    List<Object[]> countUnreadGroupedByRecipientIdIn(@Param("recipientIds") Collection<Long> recipientIds);
+
+    /**
+     * Notificações do destinatário com id maior que {@code afterId}, em ordem de id (canal SSE e retomada)
+     */
+    @Query("SELECT new com.necsus.necsusspring.dto.NotificationItem(n.id, n.title, n.message, n.type, n.status, " +
+           "n.actionUrl, n.relatedEntityId, n.relatedEntityType, n.priority, n.createdAt, n.occurrences) " +
+           "FROM Notification n WHERE n.recipient.id = :recipientId AND n.id > :afterId ORDER BY n.id")
+    List<NotificationItem> findStreamItemsAfter(@Param("recipientId") Long recipientId,
+                                                @Param("afterId") long afterId,
+                                                Pageable pageable);
+
+    /**
+     * Notificações do destinatário até {@code upToId} agrupadas (last_occurred_at) a partir de {@code since},
+     * em ordem de id: reenvio pelo canal /notifications/stream das linhas alteradas no lugar
+     */
+    @Query("SELECT new com.necsus.necsusspring.dto.NotificationItem(n.id, n.title, n.message, n.type, n.status, " +
+           "n.actionUrl, n.relatedEntityId, n.relatedEntityType, n.priority, n.createdAt, n.occurrences) " +
+           "FROM Notification n WHERE n.recipient.id = :recipientId AND n.id <= :upToId " +
+           "AND n.lastOccurredAt >= :since ORDER BY n.id")
+    List<NotificationItem> findStreamItemsCoalescedSince(@Param("recipientId") Long recipientId,
+                                                         @Param("upToId") long upToId,
+                                                         @Param("since") LocalDateTime since,
+                                                         Pageable pageable);
+
+    /**
+     * Notificação não lida equivalente (mesmo tipo e entidade relacionada) criada a partir de {@code since},
+     * a mais recente primeiro; usada no agrupamento de notificações repetidas
+     */
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId AND n.type = :type " +
+           "AND n.relatedEntityType = :relatedEntityType AND n.relatedEntityId = :relatedEntityId " +
+           "AND n.status = com.necsus.necsusspring.model.NotificationStatus.UNREAD AND n.createdAt >= :since " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findCoalescibleUnread(@Param("recipientId") Long recipientId,
+                                             @Param("type") NotificationType type,
+                                             @Param("relatedEntityType") String relatedEntityType,
+                                             @Param("relatedEntityId") Long relatedEntityId,
+                                             @Param("since") LocalDateTime since,
+                                             Pageable pageable);
+
+    /**
+     * Página por keyset: notificações do destinatário anteriores a (createdAt, id), mais recentes primeiro.
+     * Percorre o índice idx_recipient_created sem OFFSET, então o custo não cresce com a profundidade.
+     */
+    @Query("SELECT new com.necsus.necsusspring.dto.NotificationItem(n.id, n.title, n.message, n.type, n.status, " +
+           "n.actionUrl, n.relatedEntityId, n.relatedEntityType, n.priority, n.createdAt, n.occurrences) " +
+           "FROM Notification n WHERE n.recipient.id = :recipientId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationItem> findItemsBefore(@Param("recipientId") Long recipientId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") long id,
+                                           Pageable pageable);
+
+    /**
+     * Igual a {@link #findItemsBefore}, restrito a um status
+     */
+    @Query("SELECT new com.necsus.necsusspring.dto.NotificationItem(n.id, n.title, n.message, n.type, n.status, " +
+           "n.actionUrl, n.relatedEntityId, n.relatedEntityType, n.priority, n.createdAt, n.occurrences) " +
+           "FROM Notification n WHERE n.recipient.id = :recipientId AND n.status = :status " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationItem> findItemsByStatusBefore(@Param("recipientId") Long recipientId,
+                                                   @Param("status") NotificationStatus status,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") long id,
+                                                   Pageable pageable);
+
+    /**
+     * Conta as notificações do destinatário parando em {@code cap} linhas (total aproximado barato)
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM notifications WHERE recipient_id = :recipientId LIMIT :cap) t",
+           nativeQuery = true)
+    long countByRecipientIdCapped(@Param("recipientId") Long recipientId, @Param("cap") int cap);
+
+    /**
+     * Igual a {@link #countByRecipientIdCapped}, restrito a um status
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM notifications WHERE recipient_id = :recipientId " +
+                   "AND status = :status LIMIT :cap) t",
+           nativeQuery = true)
+    long countByRecipientIdAndStatusCapped(@Param("recipientId") Long recipientId,
+                                           @Param("status") String status,
+                                           @Param("cap") int cap);
+
+    /**
+     * Maior id de notificação do destinatário (0 se não houver nenhuma)
+     */
+    @Query("SELECT COALESCE(MAX(n.id), 0) FROM Notification n WHERE n.recipient.id = :recipientId")
+    long findMaxIdByRecipientId(@Param("recipientId") Long recipientId);
+
     /**
      * Conta o número de notificações por status para um usuário
      */
@@ -1,5 +1,6 @@
 package com.necsus.necsusspring.repository;
 
+import com.necsus.necsusspring.dto.PartnerReportRow;
 import com.necsus.necsusspring.model.Partner;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -40,4 +42,39 @@ public interface PartnerRepository extends JpaRepository<Partner, Long> {
            "WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
            "OR REPLACE(p.cpf, '.', '') LIKE CONCAT('%', REPLACE(REPLACE(:searchTerm, '.', ''), '-', ''), '%')")
     Page<Partner> searchByNameOrCpf(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    // ========== Relatório de associados ==========
+
+    /**
+     * Colunas do relatório de associados, na ordem do construtor de PartnerReportRow
+     */
+    String REPORT_ROW_PROJECTION = "SELECT new com.necsus.necsusspring.dto.PartnerReportRow(" +
+            "p.id, p.name, p.cpf, p.rg, p.email, p.phone, p.cell, p.dateBorn, p.status, " +
+            "p.registrationDate, p.contractDate, a.address, a.number, a.neighborhood, a.city, a.states, a.zipcode, " +
+            "(SELECT COUNT(v) FROM Vehicle v WHERE v.partnerId = p.id), c.companyName) " +
+            "FROM Partner p LEFT JOIN p.address a LEFT JOIN p.company c ";
+
+    @Query(value = REPORT_ROW_PROJECTION + "ORDER BY p.id",
+           countQuery = "SELECT COUNT(p) FROM Partner p")
+    Page<PartnerReportRow> findReportRows(Pageable pageable);
+
+    /**
+     * Próximo bloco do relatório, paginado por id (keyset): o Pageable só limita o bloco
+     */
+    @Query(REPORT_ROW_PROJECTION + "WHERE p.id > :afterId ORDER BY p.id")
+    List<PartnerReportRow> findReportRowsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT COUNT(p) FROM Partner p WHERE EXISTS (SELECT 1 FROM Vehicle v WHERE v.partnerId = p.id)")
+    long countWithVehicles();
+
+    @Query("SELECT COUNT(v) FROM Vehicle v WHERE v.partnerId IS NOT NULL")
+    long countVehiclesWithPartner();
+
+    /**
+     * Associados por cidade (nome sem espaços nas pontas), da maior para a menor quantidade
+     */
+    @Query("SELECT TRIM(a.city), COUNT(p) FROM Partner p JOIN p.address a " +
+           "WHERE a.city IS NOT NULL AND TRIM(a.city) <> '' " +
+           "GROUP BY TRIM(a.city) ORDER BY COUNT(p) DESC, TRIM(a.city)")
+    List<Object[]> countByCity();
 }
@@ -3,6 +3,8 @@ package com.necsus.necsusspring.repository;
 import com.necsus.necsusspring.model.Sale;
 import com.necsus.necsusspring.model.SaleStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +23,24 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
     Long countByConcluida(Boolean concluida);
 
     Long countByStatus(SaleStatus status);
+
+    /**
+     * Chave de ordenação da coluna paginada do funil: mais recentes primeiro, como em
+     * findAllByOrderByCreatedAtDesc. Coberta pelo índice idx_sales_board_column.
+     */
+    String BOARD_COLUMN_KEYS = "SELECT s.id, s.created_at AS sort_date, 0 AS sort_rank, '' AS sort_title " +
+            "FROM sales s WHERE s.status = :status ";
+
+    String BOARD_COLUMN_KEYS_ORDER = " ORDER BY s.created_at DESC, s.id DESC LIMIT :limit";
+
+    @Query(value = BOARD_COLUMN_KEYS + BOARD_COLUMN_KEYS_ORDER, nativeQuery = true)
+    List<Object[]> findBoardColumnKeys(@Param("status") String status, @Param("limit") int limit);
+
+    @Query(value = BOARD_COLUMN_KEYS +
+            "AND (s.created_at, s.id) < (CAST(:afterDate AS timestamp), :afterId)" +
+            BOARD_COLUMN_KEYS_ORDER, nativeQuery = true)
+    List<Object[]> findBoardColumnKeysAfter(@Param("status") String status,
+                                            @Param("afterDate") String afterDate,
+                                            @Param("afterId") long afterId,
+                                            @Param("limit") int limit);
 }
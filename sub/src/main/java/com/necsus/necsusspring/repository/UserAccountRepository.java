@@ -2,6 +2,8 @@ package com.necsus.necsusspring.repository;
 
 import com.necsus.necsusspring.model.UserAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Collection;
 import java.util.List;
@@ -11,6 +13,9 @@ public interface UserAccountRepository extends JpaRepository<UserAccount, Long>
 
     Optional<UserAccount> findByUsername(String username);
 
+    @Query("SELECT u.id FROM UserAccount u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
@@ -22,4 +27,21 @@ public interface UserAccountRepository extends JpaRepository<UserAccount, Long>
     long countByRoleIn(Collection<String> roles);
 
     List<UserAccount> findByRoleIn(Collection<String> roles);
+
+    @Query("SELECT u.id FROM UserAccount u WHERE u.active = true ORDER BY u.id")
+    List<Long> findActiveIds();
+
+    @Query("SELECT u.id FROM UserAccount u WHERE u.active = true AND u.role IN :roles ORDER BY u.id")
+    List<Long> findActiveIdsByRoleIn(@Param("roles") Collection<String> roles);
+
+    @Query("SELECT u FROM UserAccount u WHERE u.active = true AND u.role IN :roles ORDER BY u.id")
+    List<UserAccount> findActiveByRoleIn(@Param("roles") Collection<String> roles);
+
+    /**
+     * Usuários ativos cujo login ou nome completo é o texto informado (sem diferenciar maiúsculas),
+     * usado para achar o usuário de campos de texto livre como o analista responsável do evento
+     */
+    @Query("SELECT u FROM UserAccount u WHERE u.active = true " +
+           "AND (LOWER(u.username) = LOWER(:name) OR LOWER(u.fullName) = LOWER(:name)) ORDER BY u.id")
+    List<UserAccount> findActiveByUsernameOrFullName(@Param("name") String name);
 }
@@ -1,5 +1,7 @@
 package com.necsus.necsusspring.repository;
 
+import com.necsus.necsusspring.dto.VehicleReportRow;
+import com.necsus.necsusspring.dto.VehicleReportTotals;
 import com.necsus.necsusspring.model.Vehicle;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -38,4 +40,34 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long>, JpaSpec
     Page<Vehicle> searchByMakerModelOrPlaqueAndPartner(@Param("searchTerm") String searchTerm,
                                                         @Param("partnerId") Long partnerId,
                                                         Pageable pageable);
+
+    // ========== Relatório de veículos ==========
+
+    /**
+     * Total de veículos, associados distintos e soma das mensalidades (info_payment)
+     */
+    @Query("SELECT new com.necsus.necsusspring.dto.VehicleReportTotals(" +
+           "COUNT(v), COUNT(DISTINCT v.partnerId), COALESCE(SUM(pm.monthly), 0)) " +
+           "FROM Vehicle v LEFT JOIN v.payment pm")
+    VehicleReportTotals findReportTotals();
+
+    /**
+     * Veículos por tipo de combustível (sem espaços nas pontas); nulos e vazios ficam em um grupo cada
+     */
+    @Query("SELECT TRIM(v.tipo_combustivel), COUNT(v) FROM Vehicle v GROUP BY TRIM(v.tipo_combustivel)")
+    List<Object[]> countByFuelType();
+
+    @Query("SELECT TRIM(v.maker), COUNT(v) FROM Vehicle v GROUP BY TRIM(v.maker)")
+    List<Object[]> countByMaker();
+
+    /**
+     * Colunas da listagem do relatório, na ordem do construtor de VehicleReportRow
+     */
+    String REPORT_ROW_PROJECTION = "SELECT new com.necsus.necsusspring.dto.VehicleReportRow(" +
+            "v.id, v.maker, v.model, v.plaque, v.tipo_combustivel, v.status, v.vehicleStatus, pa.name, pm.monthly) " +
+            "FROM Vehicle v LEFT JOIN v.partner pa LEFT JOIN v.payment pm ";
+
+    @Query(value = REPORT_ROW_PROJECTION + "ORDER BY v.id",
+           countQuery = "SELECT COUNT(v) FROM Vehicle v")
+    Page<VehicleReportRow> findReportRows(Pageable pageable);
 }
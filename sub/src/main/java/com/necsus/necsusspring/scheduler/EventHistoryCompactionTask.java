@@ -0,0 +1,41 @@
+package com.necsus.necsusspring.scheduler;
+
+import com.necsus.necsusspring.service.EventTextHistoryCompactor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job agendado que compacta o histórico de descrição/observação dos eventos.
+ * A primeira execução, logo após a subida, converte os registros antigos; as seguintes
+ * convertem o que foi gravado desde a última passada.
+ */
+@Component
+public class EventHistoryCompactionTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventHistoryCompactionTask.class);
+
+    private final EventTextHistoryCompactor compactor;
+    private final boolean enabled;
+
+    public EventHistoryCompactionTask(EventTextHistoryCompactor compactor,
+                                      @Value("${app.events.history.compaction.enabled:true}") boolean enabled) {
+        this.compactor = compactor;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(initialDelayString = "${app.events.history.compaction.initial-delay-ms:120000}",
+               fixedDelayString = "${app.events.history.compaction.interval-ms:3600000}")
+    public void compactHistory() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            compactor.compactAll();
+        } catch (Exception e) {
+            logger.error("Erro no job de compactação do histórico de eventos: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.necsus.necsusspring.scheduler;
+
+import com.necsus.necsusspring.model.NotificationDigestFrequency;
+import com.necsus.necsusspring.service.NotificationDigestService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envio agendado dos resumos de notificações (de hora em hora e diário).
+ */
+@Component
+public class NotificationDigestTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDigestTask.class);
+
+    private final NotificationDigestService digestService;
+    private final boolean enabled;
+
+    public NotificationDigestTask(NotificationDigestService digestService,
+                                  @Value("${app.notifications.digest.enabled:true}") boolean enabled) {
+        this.digestService = digestService;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(cron = "${app.notifications.digest.hourly-cron:0 0 * * * *}")
+    public void sendHourly() {
+        send(NotificationDigestFrequency.HOURLY);
+    }
+
+    @Scheduled(cron = "${app.notifications.digest.daily-cron:0 0 8 * * *}")
+    public void sendDaily() {
+        send(NotificationDigestFrequency.DAILY);
+    }
+
+    private void send(NotificationDigestFrequency frequency) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            digestService.sendDue(frequency);
+        } catch (Exception e) {
+            logger.error("Erro no envio dos resumos de notificações ({}): {}", frequency, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.necsus.necsusspring.scheduler;
+
+import com.necsus.necsusspring.service.NotificationRetentionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job agendado de retenção das notificações (arquivamento das lidas e expurgo das arquivadas).
+ * Roda de madrugada por padrão; o trabalho em si é feito em blocos pelo NotificationRetentionService.
+ */
+@Component
+public class NotificationRetentionTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionTask.class);
+
+    private final NotificationRetentionService retentionService;
+    private final boolean enabled;
+
+    public NotificationRetentionTask(NotificationRetentionService retentionService,
+                                     @Value("${app.notifications.retention.enabled:true}") boolean enabled) {
+        this.retentionService = retentionService;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(cron = "${app.notifications.retention.cron:0 30 3 * * *}")
+    public void applyRetention() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            retentionService.runAll();
+        } catch (Exception e) {
+            logger.error("Erro no job de retenção de notificações: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.BoardColumnCursor;
+import com.necsus.necsusspring.dto.BoardColumnPage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Montagem das páginas de colunas de kanban a partir das consultas de chaves (keyset).
+ *
+ * As consultas nativas devolvem linhas (id, sort_date, sort_rank, sort_title) com limit + 1
+ * registros; a linha excedente só indica que existe próxima página. Os cards são carregados
+ * depois pelos ids e reordenados na ordem do keyset.
+ */
+final class BoardColumnKeyset {
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    private BoardColumnKeyset() {
+    }
+
+    static int normalizeLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    static <T> BoardColumnPage<T> assemble(String status,
+                                           List<Object[]> keys,
+                                           int limit,
+                                           Long totalCount,
+                                           Function<List<Long>, List<T>> loader,
+                                           Function<T, Long> idOf) {
+        boolean hasMore = keys.size() > limit;
+        List<Object[]> pageKeys = hasMore ? keys.subList(0, limit) : keys;
+
+        List<Long> ids = new ArrayList<>(pageKeys.size());
+        for (Object[] row : pageKeys) {
+            ids.add(((Number) row[0]).longValue());
+        }
+
+        List<T> items = ids.isEmpty() ? Collections.emptyList() : orderByIds(ids, loader.apply(ids), idOf);
+        String nextCursor = hasMore ? toCursor(pageKeys.get(pageKeys.size() - 1)).encode() : null;
+
+        return new BoardColumnPage<>(status, items, totalCount, nextCursor);
+    }
+
+    private static <T> List<T> orderByIds(List<Long> ids, List<T> loaded, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T item : loaded) {
+            byId.put(idOf.apply(item), item);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T item = byId.get(id);
+            // Registro removido entre as duas consultas: a página apenas fica menor
+            if (item != null) {
+                ordered.add(item);
+            }
+        }
+        return ordered;
+    }
+
+    private static BoardColumnCursor toCursor(Object[] row) {
+        long id = ((Number) row[0]).longValue();
+        String sortDate = String.valueOf(row[1]);
+        int sortRank = row[2] != null ? ((Number) row[2]).intValue() : 0;
+        String sortTitle = row[3] != null ? row[3].toString() : "";
+        return new BoardColumnCursor(sortDate, sortRank, sortTitle, id);
+    }
+}
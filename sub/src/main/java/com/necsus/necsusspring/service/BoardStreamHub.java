@@ -0,0 +1,121 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.BoardStreamMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Canal SSE de um board.
+ *
+ * As conexões ficam abertas como requisições assíncronas do servlet, então um assinante
+ * ocioso não ocupa thread do Tomcat. O envio das mensagens acontece em um pool pequeno
+ * e limitado, próprio do canal; se a fila encher a mensagem é descartada e os clientes
+ * se recuperam pela próxima mensagem ou pela recarga do board.
+ */
+public class BoardStreamHub<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoardStreamHub.class);
+
+    public static final String CHANGE_EVENT = "card-change";
+
+    private record Subscriber<T>(SseEmitter emitter, UnaryOperator<BoardStreamMessage<T>> view) {
+    }
+
+    private final String name;
+    private final long timeoutMs;
+    private final Set<Subscriber<T>> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor executor;
+
+    public BoardStreamHub(String name, long timeoutMs, int threads, int queueCapacity) {
+        this.name = name;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger counter = new AtomicInteger();
+        int poolSize = Math.max(threads, 1);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(queueCapacity, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-stream-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> logger.warn("[{} STREAM] Fila de envio cheia, mensagem descartada", name));
+    }
+
+    /**
+     * Registra um assinante. {@code view} adapta cada mensagem ao que o assinante pode ver:
+     * devolve a própria mensagem, uma versão reduzida, ou nulo para não enviar nada.
+     */
+    public SseEmitter subscribe(UnaryOperator<BoardStreamMessage<T>> view) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber<T> subscriber = new Subscriber<>(emitter, view != null ? view : UnaryOperator.identity());
+        subscribers.add(subscriber);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Executa a montagem e o envio de uma mensagem fora da thread que confirmou a transação
+     */
+    public void dispatch(Runnable task) {
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.warn("[{} STREAM] Falha ao preparar mensagem: {}", name, e.getMessage());
+            }
+        });
+    }
+
+    public void broadcast(BoardStreamMessage<T> message) {
+        for (Subscriber<T> subscriber : subscribers) {
+            BoardStreamMessage<T> visible = subscriber.view().apply(message);
+            if (visible != null) {
+                send(subscriber, SseEmitter.event().name(CHANGE_EVENT).data(visible));
+            }
+        }
+    }
+
+    /**
+     * Comentário periódico que mantém proxies com a conexão aberta e descobre clientes que caíram
+     */
+    public void heartbeat() {
+        for (Subscriber<T> subscriber : subscribers) {
+            send(subscriber, SseEmitter.event().comment("ping"));
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        subscribers.clear();
+    }
+
+    private void send(Subscriber<T> subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter().send(event);
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter().completeWithError(e);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.event.ComunicadoPublishedEvent;
 import com.necsus.necsusspring.model.Comunicado;
 import com.necsus.necsusspring.repository.ComunicadoRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,9 +14,12 @@ import java.util.Optional;
 public class ComunicadoService {
 
     private final ComunicadoRepository comunicadoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ComunicadoService(ComunicadoRepository comunicadoRepository) {
+    public ComunicadoService(ComunicadoRepository comunicadoRepository,
+                             ApplicationEventPublisher eventPublisher) {
         this.comunicadoRepository = comunicadoRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -39,7 +44,9 @@ public class ComunicadoService {
 
     @Transactional
     public Comunicado create(Comunicado comunicado) {
-        return comunicadoRepository.save(comunicado);
+        Comunicado saved = comunicadoRepository.save(comunicado);
+        publishIfBecameVisible(false, saved);
+        return saved;
     }
 
     @Transactional
@@ -47,13 +54,16 @@ public class ComunicadoService {
         Comunicado existing = comunicadoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comunicado não encontrado com id " + id));
 
+        boolean wasVisible = existing.isVisivel();
         existing.setTitulo(comunicadoPayload.getTitulo());
         existing.setMensagem(comunicadoPayload.getMensagem());
         existing.setDataExpiracao(comunicadoPayload.getDataExpiracao());
         existing.setAutor(comunicadoPayload.getAutor());
         existing.setAtivo(comunicadoPayload.isAtivo());
 
-        return comunicadoRepository.save(existing);
+        Comunicado saved = comunicadoRepository.save(existing);
+        publishIfBecameVisible(wasVisible, saved);
+        return saved;
     }
 
     @Transactional
@@ -68,7 +78,20 @@ public class ComunicadoService {
         Comunicado comunicado = comunicadoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comunicado não encontrado com id " + id));
 
+        boolean wasVisible = comunicado.isVisivel();
         comunicado.setAtivo(!comunicado.isAtivo());
-        return comunicadoRepository.save(comunicado);
+        Comunicado saved = comunicadoRepository.save(comunicado);
+        publishIfBecameVisible(wasVisible, saved);
+        return saved;
+    }
+
+    /**
+     * Notificação para todos os usuários quando o comunicado passa a ficar visível (criado ativo,
+     * reativado ou com a expiração prorrogada), enviada após o commit (BroadcastNotificationListener)
+     */
+    private void publishIfBecameVisible(boolean wasVisible, Comunicado saved) {
+        if (!wasVisible && saved.isVisivel()) {
+            eventPublisher.publishEvent(new ComunicadoPublishedEvent(saved.getId(), saved.getTitulo()));
+        }
     }
 }
@@ -0,0 +1,455 @@
+package com.necsus.necsusspring.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.necsus.necsusspring.model.PartnerStatus;
+import com.necsus.necsusspring.model.SaleStatus;
+import com.necsus.necsusspring.model.Status;
+import com.necsus.necsusspring.model.VehicleStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * Exportação em massa (CSV ou NDJSON) de associados, veículos, eventos, boletos, contas a pagar e vendas.
+ *
+ * Cada exportação é uma única consulta SQL lida por um cursor JDBC forward-only com fetch size
+ * definido, dentro de uma transação somente leitura (o driver do PostgreSQL só usa cursor com
+ * autocommit desligado). Cada linha é escrita no OutputStream assim que lida, então a memória não
+ * depende da quantidade de linhas; a conexão fica ocupada enquanto o cliente baixa.
+ */
+@Service
+public class DataExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataExportService.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public enum Dataset {
+        PARTNERS("SELECT p.id, p.name, p.cpf, p.cnpj, p.rg, p.email, p.phone, p.cell, p.date_born, p.status, " +
+                "p.registration_date, p.contract_date, a.address AS street, a.number, a.complement, a.neighborhood, " +
+                "a.city, a.states AS state, a.zipcode, c.company_name " +
+                "FROM partner p LEFT JOIN address a ON a.id = p.address_id LEFT JOIN companies c ON c.id = p.company_id",
+                "p.id"),
+        VEHICLES("SELECT v.id, v.partners_id AS partner_id, pa.name AS partner_name, v.plaque, v.maker, v.model, " +
+                "v.year_mod, v.year_maker, v.color, v.chassis, v.renavam, v.tipo_combustivel AS fuel_type, v.category, " +
+                "v.status, v.vehicle_status, v.fipe_value, v.codigo_fipe, v.contract_begin, v.contract_end, " +
+                "pm.monthly, pm.vencimento AS due_day " +
+                "FROM vehicle v LEFT JOIN partner pa ON pa.id = v.partners_id " +
+                "LEFT JOIN info_payment pm ON pm.vehicle_id = v.id",
+                "v.id"),
+        EVENTS("SELECT e.id, e.titulo, e.status, e.prioridade, e.motivo, e.envolvimento, e.data_aconteceu, " +
+                "e.hora_aconteceu, e.data_comunicacao, e.hora_comunicacao, e.data_vencimento, e.analista_responsavel, " +
+                "e.partner_id, pa.name AS partner_name, e.vehicle_id, COALESCE(v.plaque, e.placa_manual) AS plaque, " +
+                "e.id_externo, e.descricao, e.observacoes " +
+                "FROM event e LEFT JOIN partner pa ON pa.id = e.partner_id LEFT JOIN vehicle v ON v.id = e.vehicle_id",
+                "e.id"),
+        BOLETOS("SELECT b.id, b.partners_id AS partner_id, pa.name AS partner_name, b.payment_id, b.nosso_numero, " +
+                "b.numero_documento, b.vencimento, b.valor, b.status, b.data_pagamento, b.valor_recebido, " +
+                "b.data_documento, b.status_remessa " +
+                "FROM bank_slips b LEFT JOIN partner pa ON pa.id = b.partners_id",
+                "b.id"),
+        BILLS("SELECT t.id, t.descricao, t.fornecedor, t.categoria, t.numero_documento, t.valor, t.data_vencimento, " +
+                "t.data_pagamento, t.valor_pago, t.status, t.observacao, t.data_criacao FROM bill_to_pay t",
+                "t.id"),
+        SALES("SELECT s.id, s.status, s.cooperativa, s.nome_contato, s.email, s.celular, s.cidade, s.estado, " +
+                "s.tipo_veiculo, s.placa, s.marca, s.modelo, s.ano_modelo, s.origem_lead, s.veiculo_trabalho, " +
+                "s.valor_venda, s.concluida, s.data_conclusao, s.user_id, s.created_at, s.updated_at FROM sales s",
+                "s.id");
+
+        private final String select;
+        private final String orderBy;
+
+        Dataset(String select, String orderBy) {
+            this.select = select;
+            this.orderBy = orderBy;
+        }
+
+        public String pathName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Optional<Dataset> fromPath(String value) {
+            for (Dataset dataset : values()) {
+                if (dataset.pathName().equals(value)) {
+                    return Optional.of(dataset);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    public enum Format {
+        CSV("text/csv;charset=UTF-8"),
+        NDJSON("application/x-ndjson");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public static Optional<Format> fromPath(String value) {
+            for (Format format : values()) {
+                if (format.name().toLowerCase(Locale.ROOT).equals(value)) {
+                    return Optional.of(format);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Filtros das telas de listagem. Filtros que não se aplicam ao conjunto são recusados.
+     * status: PartnerStatus, VehicleStatus, Status (eventos), SaleStatus ou PENDENTE/PAGO (boletos e contas).
+     */
+    public record Filter(String search, String status, Long partnerId, boolean includeLinked) {
+    }
+
+    public record Query(Dataset dataset, String sql, List<Object> args) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    public DataExportService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.exports.fetch-size:1000}") int fetchSize) {
+        // JdbcTemplate próprio: o fetch size vale para todas as consultas do template
+        this.fetchSize = Math.max(fetchSize, 1);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(this.fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Monta a consulta do conjunto com os filtros informados, antes de começar a resposta
+     * @throws IllegalArgumentException se um filtro for inválido ou não se aplicar ao conjunto
+     */
+    public Query prepare(Dataset dataset, Filter filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        String search = hasText(filter.search()) ? "%" + filter.search().trim().toLowerCase(Locale.ROOT) + "%" : null;
+
+        switch (dataset) {
+            case PARTNERS -> {
+                if (search != null) {
+                    conditions.add("(LOWER(p.name) LIKE ? OR REPLACE(REPLACE(p.cpf, '.', ''), '-', '') LIKE ?)");
+                    args.add(search);
+                    args.add(search.replace(".", "").replace("-", ""));
+                }
+                if (hasText(filter.status())) {
+                    conditions.add("p.status = ?");
+                    args.add(parseEnum(PartnerStatus.class, filter.status()).name());
+                }
+                if (filter.partnerId() != null) {
+                    conditions.add("p.id = ?");
+                    args.add(filter.partnerId());
+                }
+            }
+            case VEHICLES -> {
+                if (search != null) {
+                    conditions.add("(LOWER(v.maker) LIKE ? OR LOWER(v.model) LIKE ? OR LOWER(v.plaque) LIKE ?)");
+                    args.add(search);
+                    args.add(search);
+                    args.add(search);
+                }
+                if (hasText(filter.status())) {
+                    conditions.add("v.vehicle_status = ?");
+                    args.add(parseEnum(VehicleStatus.class, filter.status()).name());
+                }
+                if (filter.partnerId() != null) {
+                    conditions.add("v.partners_id = ?");
+                    args.add(filter.partnerId());
+                }
+            }
+            case EVENTS -> {
+                if (search != null) {
+                    conditions.add("LOWER(e.titulo) LIKE ?");
+                    args.add(search);
+                }
+                if (hasText(filter.status())) {
+                    conditions.add("e.status = ?");
+                    args.add(parseEnum(Status.class, filter.status()).name());
+                }
+                if (filter.partnerId() != null) {
+                    conditions.add("e.partner_id = ?");
+                    args.add(filter.partnerId());
+                }
+                if (!filter.includeLinked()) {
+                    conditions.add("NOT EXISTS (SELECT 1 FROM legal_processes lp WHERE lp.source_event_id = e.id)");
+                }
+            }
+            case BOLETOS -> {
+                rejectSearch(dataset, search);
+                if (hasText(filter.status())) {
+                    conditions.add("b.status = ?");
+                    args.add(parsePaidFlag(filter.status()));
+                }
+                if (filter.partnerId() != null) {
+                    conditions.add("b.partners_id = ?");
+                    args.add(filter.partnerId());
+                }
+            }
+            case BILLS -> {
+                if (search != null) {
+                    conditions.add("(LOWER(t.descricao) LIKE ? OR LOWER(t.fornecedor) LIKE ?)");
+                    args.add(search);
+                    args.add(search);
+                }
+                if (hasText(filter.status())) {
+                    conditions.add("t.status = ?");
+                    args.add(parsePaidFlag(filter.status()));
+                }
+                rejectPartner(dataset, filter);
+            }
+            case SALES -> {
+                if (search != null) {
+                    conditions.add("(LOWER(s.nome_contato) LIKE ? OR LOWER(s.placa) LIKE ?)");
+                    args.add(search);
+                    args.add(search);
+                }
+                if (hasText(filter.status())) {
+                    conditions.add("s.status = ?");
+                    args.add(parseEnum(SaleStatus.class, filter.status()).name());
+                }
+                rejectPartner(dataset, filter);
+            }
+        }
+
+        StringBuilder sql = new StringBuilder(dataset.select);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY ").append(dataset.orderBy);
+        return new Query(dataset, sql.toString(), args);
+    }
+
+    public long write(Query query, Format format, OutputStream out) throws IOException {
+        return write(query, format, out, rows -> { });
+    }
+
+    /**
+     * Escreve o resultado da consulta em {@code out}, linha a linha.
+     * {@code progress} recebe o total de linhas já escritas a cada bloco do fetch size.
+     * @return quantidade de linhas exportadas
+     */
+    public long write(Query query, Format format, OutputStream out, LongConsumer progress) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        Long exported;
+        try {
+            exported = transactionTemplate.execute(status -> jdbcTemplate.query(query.sql(), (ResultSetExtractor<Long>) rs -> {
+                try {
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    String[] columns = new String[metaData.getColumnCount()];
+                    for (int i = 0; i < columns.length; i++) {
+                        columns[i] = metaData.getColumnLabel(i + 1);
+                    }
+                    rowWriter.start(columns);
+
+                    long rows = 0L;
+                    Object[] values = new Object[columns.length];
+                    while (rs.next()) {
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = rs.getObject(i + 1);
+                        }
+                        rowWriter.row(values);
+                        if (++rows % fetchSize == 0) {
+                            progress.accept(rows);
+                        }
+                    }
+                    rowWriter.finish();
+                    return rows;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, query.args().toArray()));
+        } catch (UncheckedIOException e) {
+            // Normalmente o cliente desistiu do download
+            throw e.getCause();
+        }
+        writer.flush();
+
+        long total = exported != null ? exported : 0L;
+        logger.info("[DATA EXPORT] {} linhas de {} exportadas em {}", total, query.dataset().pathName(), format);
+        return total;
+    }
+
+    interface RowWriter {
+        void start(String[] columns) throws IOException;
+
+        void row(Object[] values) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * CSV (RFC 4180) separado por vírgula, com cabeçalho; datas em ISO-8601
+     */
+    static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start(String[] columns) throws IOException {
+            writeLine(columns);
+        }
+
+        @Override
+        public void row(Object[] values) throws IOException {
+            writeLine(values);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvValue(exportValue(values[i])));
+            }
+            writer.write("\r\n");
+        }
+
+        static String csvValue(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    /**
+     * Um objeto JSON por linha; números e booleanos mantêm o tipo, datas em ISO-8601
+     */
+    static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private String[] columns;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = JSON_FACTORY.createGenerator(writer);
+            // O stream pertence ao chamador (resposta HTTP, possivelmente com gzip)
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start(String[] columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public void row(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                Object value = exportValue(values[i]);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Double || value instanceof Float) {
+                    generator.writeNumber(((Number) value).doubleValue());
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.longValue());
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    static Object exportValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return value;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Status inválido: " + value);
+        }
+    }
+
+    /**
+     * Boletos e contas a pagar: 0 = pendente, 1 = pago
+     */
+    private static int parsePaidFlag(String value) {
+        return switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "0", "PENDENTE" -> 0;
+            case "1", "PAGO" -> 1;
+            default -> throw new IllegalArgumentException("Status inválido: " + value + " (use PENDENTE ou PAGO)");
+        };
+    }
+
+    private static void rejectSearch(Dataset dataset, String search) {
+        if (search != null) {
+            throw new IllegalArgumentException("O filtro search não se aplica a " + dataset.pathName());
+        }
+    }
+
+    private static void rejectPartner(Dataset dataset, Filter filter) {
+        if (filter.partnerId() != null) {
+            throw new IllegalArgumentException("O filtro partnerId não se aplica a " + dataset.pathName());
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,79 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.BoardStreamMessage;
+import com.necsus.necsusspring.dto.DemandBoardCardDto;
+import com.necsus.necsusspring.event.DemandBoardChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Canal SSE do board de demandas.
+ *
+ * As mensagens saem somente após o commit das alterações feitas pelo DemandService.
+ * Assinantes restritos a um role recebem o card apenas quando a demanda é direcionada
+ * a ele; caso contrário recebem só a remoção, para que o card suma de um board que
+ * deixou de enxergá-lo.
+ */
+@Service
+public class DemandBoardStreamService {
+
+    private final DemandService demandService;
+    private final BoardStreamHub<DemandBoardCardDto> hub;
+
+    public DemandBoardStreamService(DemandService demandService,
+                                    @Value("${app.board.stream.timeout-ms:1800000}") long timeoutMs,
+                                    @Value("${app.board.stream.threads:2}") int threads,
+                                    @Value("${app.board.stream.queue-capacity:1000}") int queueCapacity) {
+        this.demandService = demandService;
+        this.hub = new BoardStreamHub<>("DEMAND BOARD", timeoutMs, threads, queueCapacity);
+    }
+
+    /**
+     * @param role role do assinante, ou nulo para ver todas as demandas (ADMIN/DIRETORIA)
+     */
+    public SseEmitter subscribe(String role) {
+        return hub.subscribe(message -> visibleTo(message, role));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChanged(DemandBoardChangedEvent event) {
+        hub.dispatch(() -> hub.broadcast(toMessage(event)));
+    }
+
+    BoardStreamMessage<DemandBoardCardDto> toMessage(DemandBoardChangedEvent event) {
+        if (event.type() == DemandBoardChangedEvent.Type.DELETED) {
+            return BoardStreamMessage.removed(null, event.demandId());
+        }
+        return demandService.findBoardCard(event.demandId())
+                .map(card -> new BoardStreamMessage<>(null, event.type().name(), event.demandId(), card))
+                .orElseGet(() -> BoardStreamMessage.removed(null, event.demandId()));
+    }
+
+    static BoardStreamMessage<DemandBoardCardDto> visibleTo(BoardStreamMessage<DemandBoardCardDto> message, String role) {
+        if (role == null || message.card() == null) {
+            return message;
+        }
+        if (message.card().targetRoles() != null && message.card().targetRoles().contains(role)) {
+            return message;
+        }
+        return BoardStreamMessage.removed(null, message.id());
+    }
+
+    @Scheduled(fixedDelayString = "${app.board.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        hub.heartbeat();
+    }
+
+    public int subscriberCount() {
+        return hub.subscriberCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hub.shutdown();
+    }
+}
@@ -1,14 +1,22 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.dto.BoardColumnCursor;
+import com.necsus.necsusspring.dto.BoardColumnPage;
 import com.necsus.necsusspring.dto.DemandBoardCardDto;
 import com.necsus.necsusspring.dto.DemandBoardSnapshot;
+import com.necsus.necsusspring.dto.NotificationDraft;
+import com.necsus.necsusspring.dto.StatusBatchResult;
+import com.necsus.necsusspring.dto.StatusMoveRequest;
+import com.necsus.necsusspring.event.DemandBoardChangedEvent;
+import com.necsus.necsusspring.event.NotificationEventListener;
+import com.necsus.necsusspring.event.NextDemandsChangedEvent;
 import com.necsus.necsusspring.model.Demand;
-import com.necsus.necsusspring.model.DemandPriority;
 import com.necsus.necsusspring.model.DemandStatus;
 import com.necsus.necsusspring.model.NotificationType;
 import com.necsus.necsusspring.model.RoleType;
 import com.necsus.necsusspring.model.UserAccount;
 import com.necsus.necsusspring.repository.DemandRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,31 +24,34 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class DemandService {
 
     private final DemandRepository demandRepository;
-    private final NotificationService notificationService;
-    private static final Map<DemandPriority, Integer> PRIORITY_ORDER = Map.of(
-            DemandPriority.URGENTE, 0,
-            DemandPriority.ALTA, 1,
-            DemandPriority.MEDIA, 2,
-            DemandPriority.BAIXA, 3
-    );
-    private static final EnumSet<DemandStatus> DASHBOARD_ALLOWED_STATUSES = EnumSet.of(
-            DemandStatus.PENDENTE,
-            DemandStatus.EM_ANDAMENTO
-    );
-
-    public DemandService(DemandRepository demandRepository, NotificationService notificationService) {
+    private final NotificationOutbox notificationOutbox;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NextDemandsCache nextDemandsCache;
+    private static final String STATUS_CHANGE_TITLE = "Status da Demanda Atualizado";
+    static final String OUTBOX_STATUS_CHANGED = "DEMAND_STATUS_CHANGED";
+    static final String OUTBOX_ASSIGNED = "DEMAND_ASSIGNED";
+
+    public DemandService(DemandRepository demandRepository,
+                         NotificationOutbox notificationOutbox,
+                         ApplicationEventPublisher eventPublisher,
+                         NextDemandsCache nextDemandsCache) {
         this.demandRepository = demandRepository;
-        this.notificationService = notificationService;
+        this.notificationOutbox = notificationOutbox;
+        this.eventPublisher = eventPublisher;
+        this.nextDemandsCache = nextDemandsCache;
     }
 
     /**
@@ -48,7 +59,11 @@ public class DemandService {
      */
     @Transactional
     public Demand createDemand(Demand demand) {
-        return demandRepository.save(demand);
+        Demand savedDemand = demandRepository.save(demand);
+        publishBoardChange(savedDemand.getId(), DemandBoardChangedEvent.Type.CREATED);
+        publishNextDemandsChange(assigneeId(savedDemand));
+        publishDemandCreated(savedDemand);
+        return savedDemand;
     }
 
     /**
@@ -59,8 +74,14 @@ public class DemandService {
         // Busca demanda anterior para comparar status
         Optional<Demand> oldDemandOpt = findById(demand.getId());
         DemandStatus oldStatus = oldDemandOpt.map(Demand::getStatus).orElse(null);
+        Long oldAssigneeId = oldDemandOpt.map(this::assigneeId).orElse(null);
 
         Demand savedDemand = demandRepository.save(demand);
+        publishBoardChange(savedDemand.getId(), oldStatus != null && oldStatus != savedDemand.getStatus()
+                ? DemandBoardChangedEvent.Type.MOVED
+                : DemandBoardChangedEvent.Type.UPDATED);
+        // A edição pode mudar responsável, prioridade ou prazo: as duas filas são recalculadas
+        publishNextDemandsChange(oldAssigneeId, assigneeId(savedDemand));
 
         // Notifica o criador se o status mudou
         if (oldStatus != null && oldStatus != savedDemand.getStatus() && savedDemand.getCreatedBy() != null) {
@@ -77,6 +98,17 @@ public class DemandService {
         return demandRepository.findById(id);
     }
 
+    /**
+     * Card atual de uma demanda, ou vazio quando ela não existe mais
+     */
+    @Transactional(readOnly = true)
+    public Optional<DemandBoardCardDto> findBoardCard(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return demandRepository.findById(id).map(DemandBoardCardDto::from);
+    }
+
     /**
      * Lista todas as demandas (para admin/diretor)
      */
@@ -96,6 +128,30 @@ public class DemandService {
         return createBoardSnapshot(demands);
     }
 
+    /**
+     * Página de uma coluna do board de demandas paginada por keyset, na mesma ordem do snapshot.
+     * Com role nulo considera todas as demandas; caso contrário apenas as direcionadas ao role.
+     */
+    @Transactional(readOnly = true)
+    public BoardColumnPage<DemandBoardCardDto> getBoardColumn(DemandStatus status, String role, String after, Integer limit) {
+        int pageSize = BoardColumnKeyset.normalizeLimit(limit);
+        BoardColumnCursor cursor = BoardColumnCursor.decode(after);
+
+        List<Object[]> keys;
+        Long totalCount = null;
+        if (cursor == null) {
+            keys = demandRepository.findBoardColumnKeys(status.name(), role, pageSize + 1);
+            totalCount = demandRepository.countBoardColumn(status.name(), role);
+        } else {
+            keys = demandRepository.findBoardColumnKeysAfter(status.name(), role, cursor.sortDate(),
+                    cursor.sortRank(), cursor.sortTitle(), cursor.id(), pageSize + 1);
+        }
+
+        return BoardColumnKeyset.assemble(status.name(), keys, pageSize, totalCount,
+                ids -> demandRepository.findAllById(ids).stream().map(DemandBoardCardDto::from).toList(),
+                DemandBoardCardDto::id);
+    }
+
     private DemandBoardSnapshot createBoardSnapshot(List<Demand> demands) {
         List<DemandBoardCardDto> cards = demands.stream()
                 .map(DemandBoardCardDto::from)
@@ -145,30 +201,28 @@ public class DemandService {
         return demandRepository.findByCreatedByOrderByCreatedAtDesc(user);
     }
 
+    /**
+     * Próximas demandas pendentes/em andamento atribuídas ao usuário (urgentes, prazo, prioridade, criação).
+     * O top-N é resolvido no banco e os ids ficam em cache por usuário até a próxima mudança na fila;
+     * as entidades são carregadas pela chave primária na ordem do ranking.
+     */
+    @Transactional(readOnly = true)
     public List<Demand> findNextDemandsForUser(UserAccount user, int limit) {
-        if (user == null || limit <= 0) {
+        if (user == null || user.getId() == null || limit <= 0) {
             return List.of();
         }
 
-        List<Demand> assignedDemands = demandRepository
-                .findByAssignedToAndStatusInOrderByCreatedAtDesc(user, DASHBOARD_ALLOWED_STATUSES);
-        if (assignedDemands.isEmpty()) {
+        List<Long> ids = nextDemandsCache.get(user.getId(), limit,
+                () -> demandRepository.findNextDemandIdsForUser(user.getId(), limit));
+        if (ids.isEmpty()) {
             return List.of();
         }
 
-        Comparator<Demand> comparator = Comparator
-                .comparing((Demand demand) -> isUrgent(demand) ? 0 : 1)
-                .thenComparing(Demand::getDueDate, Comparator.nullsLast(LocalDateTime::compareTo))
-                .thenComparing(this::priorityRank)
-                .thenComparing(Demand::getCreatedAt, Comparator.nullsLast(LocalDateTime::compareTo));
-
-        return assignedDemands.stream()
-                .filter(demand -> {
-                    DemandStatus status = demand.getStatus();
-                    return status != null && DASHBOARD_ALLOWED_STATUSES.contains(status);
-                })
-                .sorted(comparator)
-                .limit(limit)
+        Map<Long, Demand> byId = new HashMap<>();
+        demandRepository.findAllById(ids).forEach(demand -> byId.put(demand.getId(), demand));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
@@ -187,7 +241,10 @@ public class DemandService {
      * Lista demandas direcionadas a um role específico
      */
     public List<Demand> findByTargetRole(String role) {
-        return null;
+        if (role == null || role.isBlank()) {
+            return List.of();
+        }
+        return demandRepository.findByTargetRolesContaining(role);
     }
 
     /**
@@ -210,7 +267,10 @@ public class DemandService {
      */
     @Transactional
     public void deleteDemand(Long id) {
+        Long assigneeId = findById(id).map(this::assigneeId).orElse(null);
         demandRepository.deleteById(id);
+        publishBoardChange(id, DemandBoardChangedEvent.Type.DELETED);
+        publishNextDemandsChange(assigneeId);
     }
 
     /**
@@ -225,6 +285,12 @@ public class DemandService {
             demand.setStatus(newStatus);
             handleCompletionObservation(demand, newStatus, completionObservation);
             Demand savedDemand = demandRepository.save(demand);
+            publishBoardChange(savedDemand.getId(), oldStatus != newStatus
+                    ? DemandBoardChangedEvent.Type.MOVED
+                    : DemandBoardChangedEvent.Type.UPDATED);
+            if (oldStatus != newStatus) {
+                publishNextDemandsChange(assigneeId(savedDemand));
+            }
 
             // Notifica o criador da demanda sobre a mudança de status
             if (oldStatus != newStatus && demand.getCreatedBy() != null) {
@@ -236,6 +302,69 @@ public class DemandService {
         throw new RuntimeException("Demanda não encontrada com ID: " + id);
     }
 
+    /**
+     * Move várias demandas de uma vez, em uma transação: uma consulta para o estado atual,
+     * um UPDATE por status de destino e as notificações aos criadores gravadas em lote.
+     * Cancelamentos continuam restritos a quem criou a demanda.
+     *
+     * @param actor usuário que está movendo os cards (usado na regra de cancelamento)
+     */
+    @Transactional
+    public StatusBatchResult updateStatusBatch(List<StatusMoveRequest> moves, UserAccount actor) {
+        StatusBatchPlan<DemandStatus> plan = new StatusBatchPlan<>(DemandStatus.class, moves);
+
+        Map<Long, DemandStatus> currentStatuses = new HashMap<>();
+        Map<Long, Object[]> rowsById = new HashMap<>();
+        if (!plan.ids().isEmpty()) {
+            for (Object[] row : demandRepository.findStatusRowsByIdIn(plan.ids())) {
+                Long id = (Long) row[0];
+                Long creatorId = (Long) row[3];
+                if (plan.target(id) == DemandStatus.CANCELADA
+                        && (actor == null || !Objects.equals(creatorId, actor.getId()))) {
+                    plan.reject(id, StatusBatchResult.Outcome.FORBIDDEN);
+                    continue;
+                }
+                currentStatuses.put(id, (DemandStatus) row[1]);
+                rowsById.put(id, row);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationDraft> notifications = new ArrayList<>();
+        Set<Long> assigneeIds = new HashSet<>();
+        plan.resolve(currentStatuses).forEach((status, ids) -> {
+            if (status == DemandStatus.CONCLUIDA) {
+                demandRepository.completeByIdIn(status, ids, now);
+            } else {
+                demandRepository.updateStatusByIdIn(status, ids, now);
+            }
+
+            for (Long id : ids) {
+                Object[] row = rowsById.get(id);
+                publishBoardChange(id, DemandBoardChangedEvent.Type.MOVED);
+                if (row[4] != null) {
+                    assigneeIds.add((Long) row[4]);
+                }
+                if (row[3] != null) {
+                    notifications.add(NotificationDraft.of(
+                            (Long) row[3],
+                            STATUS_CHANGE_TITLE,
+                            statusChangeMessage((String) row[2], (DemandStatus) row[1], status),
+                            NotificationType.DEMAND));
+                }
+            }
+        });
+
+        if (!notifications.isEmpty()) {
+            notificationOutbox.enqueueAll(OUTBOX_STATUS_CHANGED, notifications);
+        }
+        if (!assigneeIds.isEmpty()) {
+            eventPublisher.publishEvent(new NextDemandsChangedEvent(assigneeIds));
+        }
+
+        return plan.result();
+    }
+
     private void handleCompletionObservation(Demand demand, DemandStatus newStatus, String completionObservation) {
         if (newStatus == DemandStatus.CONCLUIDA) {
             String normalized = completionObservation != null ? completionObservation.trim() : null;
@@ -253,28 +382,25 @@ public class DemandService {
     }
 
     /**
-     * Envia notificação ao criador da demanda sobre mudança de status
+     * Registra no outbox a notificação ao criador da demanda sobre mudança de status;
+     * a entrega acontece após o commit, pelo NotificationOutboxDispatcher
      */
     private void notifyStatusChange(Demand demand, DemandStatus oldStatus, DemandStatus newStatus) {
-        try {
-            String title = "Status da Demanda Atualizado";
-            String message = String.format(
-                "A demanda \"%s\" mudou de status: %s → %s",
-                demand.getTitulo(),
-                getStatusLabel(oldStatus),
-                getStatusLabel(newStatus)
-            );
-
-            notificationService.createNotification(
-                demand.getCreatedBy(),
-                title,
-                message,
-                NotificationType.DEMAND
-            );
-        } catch (Exception e) {
-            // Log do erro mas não interrompe o fluxo principal
-            System.err.println("Erro ao enviar notificação de mudança de status da demanda: " + e.getMessage());
-        }
+        notificationOutbox.enqueue(OUTBOX_STATUS_CHANGED, NotificationDraft.of(
+            demand.getCreatedBy().getId(),
+            STATUS_CHANGE_TITLE,
+            statusChangeMessage(demand.getTitulo(), oldStatus, newStatus),
+            NotificationType.DEMAND
+        ));
+    }
+
+    private String statusChangeMessage(String titulo, DemandStatus oldStatus, DemandStatus newStatus) {
+        return String.format(
+            "A demanda \"%s\" mudou de status: %s → %s",
+            titulo,
+            getStatusLabel(oldStatus),
+            getStatusLabel(newStatus)
+        );
     }
 
     /**
@@ -296,9 +422,14 @@ public class DemandService {
         if (optionalDemand.isPresent()) {
             Demand demand = optionalDemand.get();
             DemandStatus oldStatus = demand.getStatus();
+            Long oldAssigneeId = assigneeId(demand);
             demand.setAssignedTo(user);
             demand.setStatus(DemandStatus.EM_ANDAMENTO);
             Demand savedDemand = demandRepository.save(demand);
+            publishBoardChange(savedDemand.getId(), oldStatus != DemandStatus.EM_ANDAMENTO
+                    ? DemandBoardChangedEvent.Type.MOVED
+                    : DemandBoardChangedEvent.Type.UPDATED);
+            publishNextDemandsChange(oldAssigneeId, assigneeId(savedDemand));
 
             // Notifica o criador da demanda sobre a atribuição
             if (demand.getCreatedBy() != null) {
@@ -316,35 +447,65 @@ public class DemandService {
     }
 
     /**
-     * Envia notificação ao criador da demanda sobre atribuição
+     * Demanda criada já com responsável: o NotificationEventListener registra a notificação dele
+     * no outbox, nesta transação. Quem atribui a demanda a si mesmo não é notificado.
+     */
+    private void publishDemandCreated(Demand demand) {
+        UserAccount assignee = demand.getAssignedTo();
+        if (assignee == null || assignee.getId() == null) {
+            return;
+        }
+        if (demand.getCreatedBy() != null && assignee.getId().equals(demand.getCreatedBy().getId())) {
+            return;
+        }
+        eventPublisher.publishEvent(new NotificationEventListener.DemandCreatedEvent(demand.getId(), assignee,
+                String.format("A demanda \"%s\" foi atribuída a você", demand.getTitulo())));
+    }
+
+    /**
+     * Registra no outbox a notificação ao criador da demanda sobre atribuição
      */
     private void notifyAssignment(Demand demand, UserAccount assignedUser) {
-        try {
-            String title = "Demanda Atribuída";
-            String message = String.format(
-                "A demanda \"%s\" foi atribuída a %s",
-                demand.getTitulo(),
-                assignedUser.getFullName() != null ? assignedUser.getFullName() : assignedUser.getUsername()
-            );
-
-            notificationService.createNotification(
-                demand.getCreatedBy(),
-                title,
-                message,
-                NotificationType.DEMAND
-            );
-        } catch (Exception e) {
-            // Log do erro mas não interrompe o fluxo principal
-            System.err.println("Erro ao enviar notificação de atribuição da demanda: " + e.getMessage());
+        String title = "Demanda Atribuída";
+        String message = String.format(
+            "A demanda \"%s\" foi atribuída a %s",
+            demand.getTitulo(),
+            assignedUser.getFullName() != null ? assignedUser.getFullName() : assignedUser.getUsername()
+        );
+
+        notificationOutbox.enqueue(OUTBOX_ASSIGNED, NotificationDraft.of(
+            demand.getCreatedBy().getId(),
+            title,
+            message,
+            NotificationType.DEMAND
+        ));
+    }
+
+    /**
+     * Avisa os boards abertos sobre a mudança; os listeners só reagem após o commit
+     */
+    private void publishBoardChange(Long demandId, DemandBoardChangedEvent.Type type) {
+        if (demandId != null) {
+            eventPublisher.publishEvent(new DemandBoardChangedEvent(demandId, type));
         }
     }
 
-    private boolean isUrgent(Demand demand) {
-        return Optional.ofNullable(demand.getPrioridade()).orElse(DemandPriority.MEDIA) == DemandPriority.URGENTE;
+    /**
+     * Avisa o cache de próximas demandas dos responsáveis afetados; a invalidação ocorre após o commit
+     */
+    private void publishNextDemandsChange(Long... userIds) {
+        Set<Long> affected = new HashSet<>();
+        for (Long userId : userIds) {
+            if (userId != null) {
+                affected.add(userId);
+            }
+        }
+        if (!affected.isEmpty()) {
+            eventPublisher.publishEvent(new NextDemandsChangedEvent(affected));
+        }
     }
 
-    private int priorityRank(Demand demand) {
-        DemandPriority priority = Optional.ofNullable(demand.getPrioridade()).orElse(DemandPriority.MEDIA);
-        return PRIORITY_ORDER.getOrDefault(priority, Integer.MAX_VALUE);
+    private Long assigneeId(Demand demand) {
+        return demand.getAssignedTo() != null ? demand.getAssignedTo().getId() : null;
     }
 }
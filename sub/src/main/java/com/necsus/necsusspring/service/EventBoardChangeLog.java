@@ -0,0 +1,91 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.event.EventBoardChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Registro versionado das mudanças do board de eventos.
+ *
+ * Cada mudança confirmada recebe uma revisão monotonicamente crescente e fica
+ * guardada em um buffer circular limitado. O board usa esse registro para
+ * responder apenas o delta desde a revisão que o cliente já possui; quando o
+ * cliente está atrasado demais (revisão fora do buffer) o snapshot completo é enviado.
+ *
+ * A revisão inicial é derivada do relógio na subida da aplicação, de modo que
+ * revisões emitidas antes de um reinício nunca sejam confundidas com as atuais.
+ */
+@Component
+public class EventBoardChangeLog {
+
+    public record Entry(long revision, Long eventId, EventBoardChangedEvent.Type type) {
+    }
+
+    private final int capacity;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private final List<Consumer<Entry>> listeners = new CopyOnWriteArrayList<>();
+    private long revision;
+
+    public EventBoardChangeLog(@Value("${app.events.board.change-log-capacity:2000}") int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        this.revision = System.currentTimeMillis();
+    }
+
+    /**
+     * Registra a mudança somente após o commit, para que nenhum cliente receba
+     * uma revisão de dados que ainda podem sofrer rollback.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChanged(EventBoardChangedEvent event) {
+        Entry entry = append(event.eventId(), event.type());
+        listeners.forEach(listener -> listener.accept(entry));
+    }
+
+    /**
+     * Registra um consumidor das entradas já versionadas, chamado logo após cada registro e fora do lock.
+     * Com commits concorrentes a ordem de entrega pode diferir da ordem das revisões.
+     */
+    public void addListener(Consumer<Entry> listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized Entry append(Long eventId, EventBoardChangedEvent.Type type) {
+        Entry entry = new Entry(++revision, eventId, type);
+        entries.addLast(entry);
+        while (entries.size() > capacity) {
+            entries.removeFirst();
+        }
+        return entry;
+    }
+
+    public synchronized long currentRevision() {
+        return revision;
+    }
+
+    /**
+     * Retorna as mudanças posteriores à revisão informada, ou vazio quando o
+     * registro não consegue mais reconstruir o delta (revisão antiga demais ou desconhecida).
+     */
+    public synchronized Optional<List<Entry>> changesSince(long sinceRevision) {
+        if (sinceRevision > revision) {
+            return Optional.empty();
+        }
+
+        long oldestReachable = entries.isEmpty() ? revision : entries.peekFirst().revision() - 1;
+        if (sinceRevision < oldestReachable) {
+            return Optional.empty();
+        }
+
+        return Optional.of(entries.stream()
+                .filter(entry -> entry.revision() > sinceRevision)
+                .toList());
+    }
+}
@@ -0,0 +1,153 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.EventBoardSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória do snapshot do board de eventos.
+ *
+ * O snapshot guardado vale enquanto sua revisão for a revisão atual do EventBoardChangeLog.
+ * Toda mutação do board (EventService, vínculos do LegalProcessService, remoção de veículos e
+ * edição de placa ou de nome do associado) passa pelo change log
+ * após o commit, e o cache descarta o snapshot nesse momento (write-through invalidation).
+ *
+ * Misses concorrentes são agrupados: apenas uma thread reconstrói o snapshot e as demais
+ * aguardam o mesmo resultado, evitando que um cache frio dispare N consultas iguais no banco.
+ */
+@Component
+public class EventBoardSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventBoardSnapshotCache.class);
+
+    public record Stats(long hits,
+                        long misses,
+                        long rebuilds,
+                        long invalidations,
+                        double averageRebuildMillis,
+                        double lastRebuildMillis,
+                        double maxRebuildMillis,
+                        Long cachedRevision) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private final EventBoardChangeLog boardChangeLog;
+    private final Object rebuildLock = new Object();
+
+    private volatile EventBoardSnapshot cached;
+    private CompletableFuture<EventBoardSnapshot> inFlight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong totalRebuildNanos = new AtomicLong();
+    private final AtomicLong lastRebuildNanos = new AtomicLong();
+    private final AtomicLong maxRebuildNanos = new AtomicLong();
+
+    public EventBoardSnapshotCache(EventBoardChangeLog boardChangeLog) {
+        this.boardChangeLog = boardChangeLog;
+        boardChangeLog.addListener(entry -> invalidate());
+    }
+
+    /**
+     * Devolve o snapshot em cache ou reconstrói com {@code loader}, uma única vez por miss concorrente
+     */
+    public EventBoardSnapshot get(Supplier<EventBoardSnapshot> loader) {
+        EventBoardSnapshot snapshot = cached;
+        if (snapshot != null && snapshot.revision() == boardChangeLog.currentRevision()) {
+            hits.incrementAndGet();
+            return snapshot;
+        }
+
+        misses.incrementAndGet();
+
+        CompletableFuture<EventBoardSnapshot> future;
+        boolean leader = false;
+        synchronized (rebuildLock) {
+            if (inFlight == null) {
+                inFlight = new CompletableFuture<>();
+                leader = true;
+            }
+            future = inFlight;
+        }
+
+        if (leader) {
+            rebuild(loader, future);
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate() {
+        cached = null;
+        invalidations.incrementAndGet();
+    }
+
+    public Stats stats() {
+        long rebuildCount = rebuilds.get();
+        EventBoardSnapshot snapshot = cached;
+        return new Stats(
+                hits.get(),
+                misses.get(),
+                rebuildCount,
+                invalidations.get(),
+                rebuildCount == 0 ? 0.0 : toMillis(totalRebuildNanos.get()) / rebuildCount,
+                toMillis(lastRebuildNanos.get()),
+                toMillis(maxRebuildNanos.get()),
+                snapshot != null ? snapshot.revision() : null
+        );
+    }
+
+    private void rebuild(Supplier<EventBoardSnapshot> loader, CompletableFuture<EventBoardSnapshot> future) {
+        long start = System.nanoTime();
+        try {
+            EventBoardSnapshot snapshot = loader.get();
+            // Só guarda se nenhuma mudança foi confirmada durante a reconstrução
+            if (snapshot.revision() == boardChangeLog.currentRevision()) {
+                cached = snapshot;
+            }
+            future.complete(snapshot);
+        } catch (Throwable e) {
+            // Inclui Error: quem aguarda no join() recebe a falha em vez de ficar preso
+            future.completeExceptionally(e);
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            rebuilds.incrementAndGet();
+            totalRebuildNanos.addAndGet(elapsed);
+            lastRebuildNanos.set(elapsed);
+            maxRebuildNanos.accumulateAndGet(elapsed, Math::max);
+            synchronized (rebuildLock) {
+                inFlight = null;
+            }
+            logger.debug("[EVENT BOARD CACHE] Snapshot reconstruído em {} ms", toMillis(elapsed));
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
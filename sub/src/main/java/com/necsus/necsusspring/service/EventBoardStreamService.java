@@ -0,0 +1,83 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.BoardStreamMessage;
+import com.necsus.necsusspring.dto.EventBoardCardDto;
+import com.necsus.necsusspring.event.EventBoardChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Canal SSE do board de eventos.
+ *
+ * Cada entrada confirmada no EventBoardChangeLog vira uma mensagem com a revisão e o card
+ * atualizado. O cliente aplica a mensagem quando ela é exatamente a próxima revisão e,
+ * se detectar uma lacuna, busca o delta em /events/api/board?sinceRevision.
+ */
+@Service
+public class EventBoardStreamService {
+
+    public static final String READY_EVENT = "ready";
+
+    private final EventService eventService;
+    private final EventBoardChangeLog boardChangeLog;
+    private final BoardStreamHub<EventBoardCardDto> hub;
+
+    public EventBoardStreamService(EventService eventService,
+                                   EventBoardChangeLog boardChangeLog,
+                                   @Value("${app.board.stream.timeout-ms:1800000}") long timeoutMs,
+                                   @Value("${app.board.stream.threads:2}") int threads,
+                                   @Value("${app.board.stream.queue-capacity:1000}") int queueCapacity) {
+        this.eventService = eventService;
+        this.boardChangeLog = boardChangeLog;
+        this.hub = new BoardStreamHub<>("EVENT BOARD", timeoutMs, threads, queueCapacity);
+        boardChangeLog.addListener(this::onChange);
+    }
+
+    /**
+     * Abre a conexão e informa a revisão atual, para o cliente saber se precisa de um delta antes
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = hub.subscribe(null);
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(READY_EVENT)
+                    .data(Map.of("revision", boardChangeLog.currentRevision())));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    void onChange(EventBoardChangeLog.Entry entry) {
+        hub.dispatch(() -> hub.broadcast(toMessage(entry)));
+    }
+
+    BoardStreamMessage<EventBoardCardDto> toMessage(EventBoardChangeLog.Entry entry) {
+        if (entry.type() == EventBoardChangedEvent.Type.DELETED) {
+            return BoardStreamMessage.removed(entry.revision(), entry.eventId());
+        }
+        return eventService.findBoardCard(entry.eventId())
+                .map(card -> new BoardStreamMessage<>(entry.revision(), entry.type().name(), entry.eventId(), card))
+                .orElseGet(() -> BoardStreamMessage.removed(entry.revision(), entry.eventId()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.board.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        hub.heartbeat();
+    }
+
+    public int subscriberCount() {
+        return hub.subscriberCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hub.shutdown();
+    }
+}
@@ -0,0 +1,513 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.event.EventTextChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gravação do histórico de observações e descrições dos eventos fora da transação do usuário.
+ *
+ * Cada EventTextChangedEvent é gravado em event_history_outbox na transação da edição (uma linha
+ * pequena, sem leitura do histórico) e, após o commit, entra na fila em memória por uma janela
+ * curta: edições seguidas do mesmo campo, pelo mesmo usuário, são fundidas em um único registro
+ * (valor anterior da primeira, valor novo da última). Um agendamento grava os registros vencidos
+ * em lote via JDBC e remove as linhas do outbox na mesma transação. Se a fila passar do limite, a
+ * própria thread que publicou a mudança grava tudo na hora; no desligamento a fila é esvaziada.
+ *
+ * Falhas transitórias do banco devolvem os registros à fila, com uma espera antes da próxima
+ * tentativa; só registros recusados pelo banco (ex.: evento removido) são descartados. Linhas do
+ * outbox mais antigas que recovery-age-ms e que não estão na fila (queda da aplicação antes da
+ * gravação) são recuperadas periodicamente. A remoção da linha do outbox antecede a gravação do
+ * histórico: se outra instância já a removeu, o registro não é gravado de novo.
+ *
+ * Leituras do histórico chamam {@link #flushEvent(Long)} antes de consultar, então o usuário
+ * sempre vê as próprias alterações.
+ */
+@Component
+public class EventHistoryWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventHistoryWriter.class);
+
+    static final String INSERT_OBSERVATION_SQL = "INSERT INTO event_observation_history " +
+            "(event_id, previous_observation, new_observation, modified_by, modified_at) VALUES (?, ?, ?, ?, ?)";
+
+    static final String INSERT_DESCRIPTION_SQL = "INSERT INTO event_description_history " +
+            "(event_id, previous_description, new_description, modified_by, modified_at) VALUES (?, ?, ?, ?, ?)";
+
+    static final String INSERT_OUTBOX_SQL = "INSERT INTO event_history_outbox " +
+            "(event_id, field, previous_value, new_value, modified_by, modified_at, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) RETURNING id";
+
+    static final String DELETE_OUTBOX_SQL = "DELETE FROM event_history_outbox WHERE id = ?";
+
+    static final String SELECT_ORPHANS_SQL = "SELECT id, event_id, field, previous_value, new_value, modified_by, " +
+            "modified_at FROM event_history_outbox WHERE created_at <= ? ORDER BY id LIMIT ?";
+
+    public record Stats(int pending, long received, long merged, long written, long skipped, long failed,
+                        long retried, long recovered) {
+    }
+
+    private record Key(Long eventId, EventTextChangedEvent.Field field) {
+    }
+
+    private static final class PendingChange {
+        private final Long eventId;
+        private final EventTextChangedEvent.Field field;
+        private final String previousValue;
+        private final String modifiedBy;
+        private final long firstSeenMillis;
+        private final List<Long> outboxIds = new ArrayList<>();
+        private String newValue;
+        private LocalDateTime modifiedAt;
+        private long lastSeenMillis;
+
+        private PendingChange(EventTextChangedEvent change, Long outboxId, long nowMillis) {
+            this.eventId = change.eventId();
+            this.field = change.field();
+            this.previousValue = change.previousValue();
+            this.newValue = change.newValue();
+            this.modifiedBy = change.modifiedBy();
+            this.modifiedAt = change.modifiedAt() != null ? change.modifiedAt() : LocalDateTime.now();
+            this.firstSeenMillis = nowMillis;
+            this.lastSeenMillis = nowMillis;
+            if (outboxId != null) {
+                this.outboxIds.add(outboxId);
+            }
+        }
+    }
+
+    private static final RowMapper<PendingChange> ORPHAN_MAPPER = (rs, rowNum) -> {
+        Timestamp modifiedAt = rs.getTimestamp("modified_at");
+        EventTextChangedEvent change = new EventTextChangedEvent(
+                rs.getLong("event_id"),
+                EventTextChangedEvent.Field.valueOf(rs.getString("field")),
+                rs.getString("previous_value"),
+                rs.getString("new_value"),
+                rs.getString("modified_by"),
+                modifiedAt != null ? modifiedAt.toLocalDateTime() : null);
+        return new PendingChange(change, rs.getLong("id"), System.currentTimeMillis());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long mergeWindowMillis;
+    private final long maxDelayMillis;
+    private final int maxPending;
+    private final int batchSize;
+    private final long retryDelayMillis;
+    private final long recoveryAgeMillis;
+
+    private final Map<Key, PendingChange> pending = new LinkedHashMap<>();
+    private final List<PendingChange> ready = new ArrayList<>();
+    // Linhas do outbox já representadas na fila (ou em gravação), ignoradas pela recuperação
+    private final Set<Long> heldOutboxIds = new HashSet<>();
+    private long retryNotBeforeMillis;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong merged = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+
+    public EventHistoryWriter(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.events.history.merge-window-ms:5000}") long mergeWindowMillis,
+                              @Value("${app.events.history.max-delay-ms:30000}") long maxDelayMillis,
+                              @Value("${app.events.history.max-pending:5000}") int maxPending,
+                              @Value("${app.events.history.batch-size:200}") int batchSize,
+                              @Value("${app.events.history.retry-delay-ms:10000}") long retryDelayMillis,
+                              @Value("${app.events.history.recovery-age-ms:300000}") long recoveryAgeMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A gravação pode partir do afterCommit da edição ou de uma leitura readOnly
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.mergeWindowMillis = Math.max(mergeWindowMillis, 0);
+        this.maxDelayMillis = Math.max(maxDelayMillis, this.mergeWindowMillis);
+        this.maxPending = Math.max(maxPending, 1);
+        this.batchSize = Math.max(batchSize, 1);
+        this.retryDelayMillis = Math.max(retryDelayMillis, 0);
+        this.recoveryAgeMillis = Math.max(recoveryAgeMillis, this.maxDelayMillis);
+    }
+
+    /**
+     * Grava a alteração no outbox dentro da transação da edição e a coloca na fila após o commit
+     * (sem transação ativa, na hora). Se a transação sofrer rollback, a linha do outbox some junto.
+     */
+    @EventListener
+    public void onTextChanged(EventTextChangedEvent change) {
+        if (!isValid(change)) {
+            return;
+        }
+        Long outboxId = jdbcTemplate.queryForObject(INSERT_OUTBOX_SQL, Long.class,
+                change.eventId(),
+                change.field().name(),
+                change.previousValue(),
+                change.newValue(),
+                change.modifiedBy(),
+                Timestamp.valueOf(change.modifiedAt() != null ? change.modifiedAt() : LocalDateTime.now()),
+                Timestamp.valueOf(LocalDateTime.now()));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(change, outboxId);
+                }
+            });
+        } else {
+            enqueue(change, outboxId);
+        }
+    }
+
+    /**
+     * Coloca a alteração na fila, fundindo com a alteração pendente do mesmo campo quando possível
+     */
+    public void enqueue(EventTextChangedEvent change) {
+        enqueue(change, null);
+    }
+
+    private void enqueue(EventTextChangedEvent change, Long outboxId) {
+        if (!isValid(change)) {
+            return;
+        }
+        received.incrementAndGet();
+        long now = System.currentTimeMillis();
+        boolean overflow;
+        synchronized (this) {
+            Key key = new Key(change.eventId(), change.field());
+            PendingChange current = pending.get(key);
+            if (outboxId != null) {
+                heldOutboxIds.add(outboxId);
+            }
+            if (current != null
+                    && Objects.equals(current.modifiedBy, change.modifiedBy())
+                    && now - current.lastSeenMillis <= mergeWindowMillis) {
+                current.newValue = change.newValue();
+                current.modifiedAt = change.modifiedAt() != null ? change.modifiedAt() : LocalDateTime.now();
+                current.lastSeenMillis = now;
+                if (outboxId != null) {
+                    current.outboxIds.add(outboxId);
+                }
+                merged.incrementAndGet();
+            } else {
+                if (current != null) {
+                    ready.add(current);
+                }
+                pending.put(key, new PendingChange(change, outboxId, now));
+            }
+            overflow = pending.size() + ready.size() > maxPending;
+        }
+
+        if (overflow) {
+            logger.warn("[EVENT HISTORY] Fila acima de {} registros, gravando imediatamente", maxPending);
+            flushAll();
+        }
+    }
+
+    /**
+     * Grava as alterações cuja janela de fusão já terminou. Após uma falha transitória, aguarda
+     * retry-delay-ms antes de tentar de novo.
+     */
+    @Scheduled(fixedDelayString = "${app.events.history.flush-interval-ms:1000}")
+    public void flushDue() {
+        long now = System.currentTimeMillis();
+        List<PendingChange> batch;
+        synchronized (this) {
+            if (now < retryNotBeforeMillis) {
+                return;
+            }
+            Iterator<PendingChange> iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                PendingChange change = iterator.next();
+                if (now - change.lastSeenMillis >= mergeWindowMillis || now - change.firstSeenMillis >= maxDelayMillis) {
+                    ready.add(change);
+                    iterator.remove();
+                }
+            }
+            batch = drainReady();
+        }
+        write(batch);
+    }
+
+    /**
+     * Grava imediatamente as alterações pendentes de um evento (usado antes de ler o histórico)
+     */
+    public void flushEvent(Long eventId) {
+        if (eventId == null) {
+            return;
+        }
+        List<PendingChange> batch = new ArrayList<>();
+        synchronized (this) {
+            ready.removeIf(change -> {
+                boolean match = eventId.equals(change.eventId);
+                if (match) {
+                    batch.add(change);
+                }
+                return match;
+            });
+            Iterator<PendingChange> iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                PendingChange change = iterator.next();
+                if (eventId.equals(change.eventId)) {
+                    batch.add(change);
+                    iterator.remove();
+                }
+            }
+        }
+        write(batch);
+    }
+
+    /**
+     * Descarta as alterações pendentes de um evento que está sendo removido (as linhas do outbox
+     * são removidas em cascata com o evento)
+     */
+    public synchronized void discardEvent(Long eventId) {
+        if (eventId == null) {
+            return;
+        }
+        ready.removeIf(change -> discardIfMatches(eventId, change));
+        pending.values().removeIf(change -> discardIfMatches(eventId, change));
+    }
+
+    /**
+     * Recupera as linhas do outbox que não estão na fila: alterações confirmadas cuja gravação se
+     * perdeu numa queda da aplicação. A idade mínima evita disputar linhas ainda na fila de outra
+     * instância.
+     */
+    @Scheduled(initialDelayString = "${app.events.history.recovery-interval-ms:60000}",
+            fixedDelayString = "${app.events.history.recovery-interval-ms:60000}")
+    public void recoverOrphans() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusNanos(recoveryAgeMillis * 1_000_000L));
+        List<PendingChange> orphans = jdbcTemplate.query(SELECT_ORPHANS_SQL, ORPHAN_MAPPER, cutoff, maxPending);
+        int count = 0;
+        synchronized (this) {
+            for (PendingChange orphan : orphans) {
+                if (heldOutboxIds.add(orphan.outboxIds.get(0))) {
+                    ready.add(orphan);
+                    count++;
+                }
+            }
+        }
+        if (count > 0) {
+            recovered.addAndGet(count);
+            logger.warn("[EVENT HISTORY] {} alterações recuperadas do outbox", count);
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        List<PendingChange> batch;
+        synchronized (this) {
+            ready.addAll(pending.values());
+            pending.clear();
+            batch = drainReady();
+        }
+        write(batch);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(pending.size() + ready.size(), received.get(), merged.get(),
+                written.get(), skipped.get(), failed.get(), retried.get(), recovered.get());
+    }
+
+    private static boolean isValid(EventTextChangedEvent change) {
+        return change != null && change.eventId() != null && change.field() != null;
+    }
+
+    private boolean discardIfMatches(Long eventId, PendingChange change) {
+        if (!eventId.equals(change.eventId)) {
+            return false;
+        }
+        heldOutboxIds.removeAll(change.outboxIds);
+        return true;
+    }
+
+    private List<PendingChange> drainReady() {
+        List<PendingChange> batch = new ArrayList<>(ready);
+        ready.clear();
+        return batch;
+    }
+
+    private void write(List<PendingChange> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<PendingChange> observations = new ArrayList<>();
+        List<PendingChange> descriptions = new ArrayList<>();
+        List<PendingChange> unchanged = new ArrayList<>();
+        for (PendingChange change : batch) {
+            // Edições fundidas podem terminar no valor original
+            if (!isChanged(change.previousValue, change.newValue)) {
+                skipped.incrementAndGet();
+                unchanged.add(change);
+                continue;
+            }
+            if (change.field == EventTextChangedEvent.Field.OBSERVATION) {
+                observations.add(change);
+            } else {
+                descriptions.add(change);
+            }
+        }
+        insert(INSERT_OBSERVATION_SQL, observations);
+        insert(INSERT_DESCRIPTION_SQL, descriptions);
+        discardOutbox(unchanged);
+    }
+
+    private void insert(String sql, List<PendingChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (claim(changes) < outboxIdCount(changes)) {
+                    // Parte do lote já foi gravada por outra instância
+                    throw new IllegalStateException("Linhas do outbox já processadas");
+                }
+                jdbcTemplate.batchUpdate(sql, changes, batchSize, EventHistoryWriter::bind);
+            });
+            written.addAndGet(changes.size());
+            release(changes);
+            logger.debug("[EVENT HISTORY] {} registros gravados em lote", changes.size());
+        } catch (RuntimeException e) {
+            // Um registro inválido (ex.: evento removido) não deve derrubar o lote inteiro
+            logger.warn("[EVENT HISTORY] Falha no lote, gravando registro a registro: {}", e.getMessage());
+            for (PendingChange change : changes) {
+                insertOne(sql, change);
+            }
+        }
+    }
+
+    private void insertOne(String sql, PendingChange change) {
+        try {
+            Boolean inserted = transactionTemplate.execute(status -> {
+                if (!change.outboxIds.isEmpty() && claim(List.of(change)) == 0) {
+                    return false;
+                }
+                jdbcTemplate.update(sql, ps -> bind(ps, change));
+                return true;
+            });
+            if (Boolean.TRUE.equals(inserted)) {
+                written.incrementAndGet();
+            } else {
+                skipped.incrementAndGet();
+            }
+            release(List.of(change));
+        } catch (DataIntegrityViolationException rowError) {
+            failed.incrementAndGet();
+            logger.error("[EVENT HISTORY] Histórico do evento {} descartado: {}", change.eventId, rowError.getMessage());
+            discardOutbox(List.of(change));
+        } catch (RuntimeException rowError) {
+            // Falha transitória: o registro volta para a fila (e continua no outbox)
+            retried.incrementAndGet();
+            logger.warn("[EVENT HISTORY] Histórico do evento {} volta para a fila: {}", change.eventId, rowError.getMessage());
+            synchronized (this) {
+                ready.add(change);
+                retryNotBeforeMillis = System.currentTimeMillis() + retryDelayMillis;
+            }
+        }
+    }
+
+    /**
+     * Remove as linhas do outbox das alterações, na transação corrente
+     * @return quantidade de linhas removidas por esta instância
+     */
+    private int claim(List<PendingChange> changes) {
+        List<Object[]> ids = outboxIdArgs(changes);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int claimed = 0;
+        for (int count : jdbcTemplate.batchUpdate(DELETE_OUTBOX_SQL, ids)) {
+            // SUCCESS_NO_INFO (-2) conta como removida
+            if (count != 0) {
+                claimed++;
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Remove do outbox as alterações que não geram registro; se falhar, a recuperação tenta de novo
+     */
+    private void discardOutbox(List<PendingChange> changes) {
+        List<Object[]> ids = outboxIdArgs(changes);
+        if (!ids.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(DELETE_OUTBOX_SQL, ids);
+            } catch (RuntimeException e) {
+                logger.warn("[EVENT HISTORY] Falha ao limpar o outbox: {}", e.getMessage());
+            }
+        }
+        release(changes);
+    }
+
+    private synchronized void release(List<PendingChange> changes) {
+        for (PendingChange change : changes) {
+            heldOutboxIds.removeAll(change.outboxIds);
+        }
+    }
+
+    private static int outboxIdCount(List<PendingChange> changes) {
+        int count = 0;
+        for (PendingChange change : changes) {
+            count += change.outboxIds.size();
+        }
+        return count;
+    }
+
+    private static List<Object[]> outboxIdArgs(List<PendingChange> changes) {
+        List<Object[]> ids = new ArrayList<>();
+        for (PendingChange change : changes) {
+            for (Long id : change.outboxIds) {
+                ids.add(new Object[]{id});
+            }
+        }
+        return ids;
+    }
+
+    private static void bind(PreparedStatement ps, PendingChange change) throws SQLException {
+        ps.setLong(1, change.eventId);
+        ps.setString(2, change.previousValue);
+        ps.setString(3, change.newValue);
+        ps.setString(4, change.modifiedBy);
+        ps.setTimestamp(5, Timestamp.valueOf(change.modifiedAt));
+    }
+
+    /**
+     * Trata null e string vazia como equivalentes, como os serviços de histórico faziam
+     */
+    static boolean isChanged(String oldValue, String newValue) {
+        String normalizedOld = (oldValue == null || oldValue.trim().isEmpty()) ? null : oldValue.trim();
+        String normalizedNew = (newValue == null || newValue.trim().isEmpty()) ? null : newValue.trim();
+        return !Objects.equals(normalizedOld, normalizedNew);
+    }
+}
@@ -1,11 +1,12 @@
 package com.necsus.necsusspring.service;
 
-import com.necsus.necsusspring.model.Event;
+import com.necsus.necsusspring.dto.EventTextRevision;
 import com.necsus.necsusspring.model.EventObservationHistory;
 import com.necsus.necsusspring.repository.EventObservationHistoryRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -14,50 +15,40 @@ public class EventObservationHistoryService {
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(EventObservationHistoryService.class);
 
     private final EventObservationHistoryRepository historyRepository;
+    private final EventHistoryWriter historyWriter;
 
-    public EventObservationHistoryService(EventObservationHistoryRepository historyRepository) {
+    public EventObservationHistoryService(EventObservationHistoryRepository historyRepository,
+                                          EventHistoryWriter historyWriter) {
         this.historyRepository = historyRepository;
+        this.historyWriter = historyWriter;
     }
 
-    @Transactional
-    public void recordChange(Event event, String previousObservation, String newObservation, String modifiedBy) {
-        // Só registra se houve mudança real
-        if (isObservationChanged(previousObservation, newObservation)) {
-            EventObservationHistory history = new EventObservationHistory(
-                    event,
-                    previousObservation,
-                    newObservation,
-                    modifiedBy
-            );
-
-            historyRepository.save(history);
-            logger.info("Histórico de observação registrado para evento {} por {}", event.getId(), modifiedBy);
+    /**
+     * Histórico do evento com os textos reconstruídos, incluindo as alterações que ainda aguardavam gravação em lote
+     */
+    public List<EventTextRevision> getHistoryByEventId(Long eventId) {
+        historyWriter.flushEvent(eventId);
+        List<EventTextHistoryCodec.StoredRevision> chain = new ArrayList<>();
+        for (EventObservationHistory history : historyRepository.findByEventIdOrderByIdAsc(eventId)) {
+            chain.add(new EventTextHistoryCodec.StoredRevision(
+                    history.getId(),
+                    eventId,
+                    history.getStorageFormat(),
+                    history.getPreviousObservation(),
+                    history.getNewObservation(),
+                    history.getPreviousDelta(),
+                    history.getNewDelta(),
+                    history.getModifiedBy(),
+                    history.getModifiedAt()
+            ));
         }
-    }
-
-    public List<EventObservationHistory> getHistoryByEventId(Long eventId) {
-        return historyRepository.findByEventIdOrderByModifiedAtDesc(eventId);
+        return EventTextHistoryCodec.newestFirst(EventTextHistoryCodec.decode(chain));
     }
 
     @Transactional
     public void deleteByEventId(Long eventId) {
+        historyWriter.discardEvent(eventId);
         historyRepository.deleteByEventId(eventId);
         logger.info("Histórico de observações removido para evento {}", eventId);
     }
-
-    private boolean isObservationChanged(String oldValue, String newValue) {
-        // Trata null e string vazia como equivalentes
-        String normalizedOld = (oldValue == null || oldValue.trim().isEmpty()) ? null : oldValue.trim();
-        String normalizedNew = (newValue == null || newValue.trim().isEmpty()) ? null : newValue.trim();
-
-        if (normalizedOld == null && normalizedNew == null) {
-            return false;
-        }
-
-        if (normalizedOld == null || normalizedNew == null) {
-            return true;
-        }
-
-        return !normalizedOld.equals(normalizedNew);
-    }
 }
@@ -0,0 +1,69 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.EventExportFilter;
+import com.necsus.necsusspring.service.ReportJobService.JobStatus;
+import com.necsus.necsusspring.service.ReportJobService.ReportType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Exportações de eventos em PDF executadas em segundo plano.
+ *
+ * Seleções grandes não são geradas na requisição: viram um job do ReportJobService (tipo
+ * events-pdf), que escreve o PDF em uploads/exports; o usuário acompanha o job e baixa o
+ * arquivo quando estiver pronto.
+ */
+@Service
+public class EventPdfExportJobService {
+
+    private final EventPdfExportService exportService;
+    private final ReportJobService reportJobService;
+    private final int syncLimit;
+
+    public EventPdfExportJobService(EventPdfExportService exportService,
+                                    ReportJobService reportJobService,
+                                    @Value("${app.events.export.sync-limit:500}") int syncLimit) {
+        this.exportService = exportService;
+        this.reportJobService = reportJobService;
+        this.syncLimit = syncLimit;
+    }
+
+    /**
+     * Seleções maiores que este limite devem ser exportadas em segundo plano
+     */
+    public boolean requiresJob(long total) {
+        return total > syncLimit;
+    }
+
+    /**
+     * Enfileira a exportação da seleção; a mesma seleção ainda em andamento é reaproveitada
+     * @throws IllegalStateException quando a fila de exportações está cheia
+     */
+    public JobStatus submit(EventExportFilter filter, long total, String owner) {
+        ReportJobService.ReportRequest request = new ReportJobService.ReportRequest(
+                ReportType.EVENTS_PDF, filter.toString(), "eventos.pdf", MediaType.APPLICATION_PDF_VALUE, total,
+                (out, progress) -> exportService.write(filter, out, exported -> progress.accept(exported)));
+        return reportJobService.submit(request, owner);
+    }
+
+    /**
+     * Situação do job, visível apenas para quem o criou
+     */
+    public Optional<JobStatus> find(String jobId, String owner) {
+        return reportJobService.find(jobId, owner)
+                .filter(job -> job.type() == ReportType.EVENTS_PDF);
+    }
+
+    /**
+     * Arquivo gerado pelo job, quando já concluído
+     */
+    public Optional<Path> artifact(String jobId, String owner) {
+        return find(jobId, owner)
+                .flatMap(job -> reportJobService.artifact(jobId, owner))
+                .map(ReportJobService.Artifact::file);
+    }
+}
@@ -0,0 +1,279 @@
+package com.necsus.necsusspring.service;
+
+import com.lowagie.text.Chunk;
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import com.necsus.necsusspring.dto.EventExportFilter;
+import com.necsus.necsusspring.dto.EventExportRow;
+import com.necsus.necsusspring.dto.EventTextRevision;
+import com.necsus.necsusspring.repository.EventObservationHistoryRepository;
+import com.necsus.necsusspring.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Exportação de eventos em PDF (OpenPDF).
+ *
+ * O documento é escrito direto no OutputStream recebido, em blocos de {@link #CHUNK_SIZE} eventos:
+ * cada bloco é uma consulta de projeção (sem entidades no contexto de persistência) mais uma
+ * consulta do histórico de observações dos mesmos ids. O PdfWriter descarrega cada página ao
+ * fechá-la, então a memória usada depende do tamanho do bloco e não do tamanho da seleção.
+ */
+@Service
+public class EventPdfExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventPdfExportService.class);
+
+    static final int CHUNK_SIZE = 200;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private static final Font TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 16);
+    private static final Font SUBTITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9, Color.GRAY);
+    private static final Font EVENT_TITLE_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 12);
+    private static final Font LABEL_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9);
+    private static final Font VALUE_FONT = FontFactory.getFont(FontFactory.HELVETICA, 9);
+    private static final Font SECTION_FONT = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10);
+    private static final Font HISTORY_META_FONT = FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 8, Color.DARK_GRAY);
+
+    private static final Color LABEL_BACKGROUND = new Color(0xEE, 0xF1, 0xF5);
+
+    private final EventRepository eventRepository;
+    private final EventObservationHistoryRepository observationHistoryRepository;
+
+    public EventPdfExportService(EventRepository eventRepository,
+                                 EventObservationHistoryRepository observationHistoryRepository) {
+        this.eventRepository = eventRepository;
+        this.observationHistoryRepository = observationHistoryRepository;
+    }
+
+    /**
+     * Quantidade de eventos da seleção, usada para decidir entre download direto e exportação em segundo plano
+     */
+    public long count(EventExportFilter filter) {
+        if (filter.hasIds()) {
+            return filter.ids().size();
+        }
+        return eventRepository.countExportRows(filter.status(), filter.partnerId(), filter.includeLinked());
+    }
+
+    public int write(EventExportFilter filter, OutputStream out) throws IOException {
+        return write(filter, out, exported -> { });
+    }
+
+    /**
+     * Escreve o PDF da seleção em {@code out}, bloco a bloco.
+     * {@code progress} recebe o total de eventos já escritos ao fim de cada bloco.
+     * @return quantidade de eventos exportados
+     */
+    public int write(EventExportFilter filter, OutputStream out, IntConsumer progress) throws IOException {
+        Document document = new Document(PageSize.A4, 36, 36, 36, 36);
+        int exported = 0;
+        try {
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            // O stream pertence ao chamador (resposta HTTP ou arquivo do job)
+            writer.setCloseStream(false);
+            document.addTitle("Relatório de Eventos");
+            document.open();
+
+            writeHeader(document);
+
+            List<Long> ids = filter.ids();
+            int idOffset = 0;
+            long afterId = 0L;
+            while (true) {
+                List<EventExportRow> rows;
+                if (filter.hasIds()) {
+                    if (idOffset >= ids.size()) {
+                        break;
+                    }
+                    List<Long> chunkIds = ids.subList(idOffset, Math.min(idOffset + CHUNK_SIZE, ids.size()));
+                    idOffset += chunkIds.size();
+                    rows = eventRepository.findExportRowsByIdIn(chunkIds);
+                } else {
+                    rows = eventRepository.findExportRowsAfter(afterId, filter.status(), filter.partnerId(),
+                            filter.includeLinked(), PageRequest.of(0, CHUNK_SIZE));
+                    if (rows.isEmpty()) {
+                        break;
+                    }
+                    afterId = rows.get(rows.size() - 1).id();
+                }
+
+                if (!rows.isEmpty()) {
+                    Map<Long, List<EventTextRevision>> history = loadObservationHistory(rows);
+                    for (EventExportRow row : rows) {
+                        writeEvent(document, row, history.getOrDefault(row.id(), Collections.emptyList()));
+                        exported++;
+                    }
+                    writer.flush();
+                    progress.accept(exported);
+                }
+
+                if (!filter.hasIds() && rows.size() < CHUNK_SIZE) {
+                    break;
+                }
+            }
+
+            if (exported == 0) {
+                document.add(new Paragraph("Nenhum evento encontrado para a seleção informada.", VALUE_FONT));
+            }
+        } catch (DocumentException e) {
+            throw new IOException("Erro ao gerar PDF de eventos", e);
+        } finally {
+            if (document.isOpen()) {
+                document.close();
+            }
+        }
+
+        logger.info("[EVENT EXPORT] PDF gerado com {} eventos", exported);
+        return exported;
+    }
+
+    private Map<Long, List<EventTextRevision>> loadObservationHistory(List<EventExportRow> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (EventExportRow row : rows) {
+            ids.add(row.id());
+        }
+
+        Map<Long, List<EventTextHistoryCodec.StoredRevision>> chains = new HashMap<>();
+        for (Object[] line : observationHistoryRepository.findChainsByEventIdIn(ids)) {
+            Long eventId = ((Number) line[1]).longValue();
+            chains.computeIfAbsent(eventId, id -> new ArrayList<>())
+                    .add(new EventTextHistoryCodec.StoredRevision(((Number) line[0]).longValue(), eventId,
+                            (String) line[2], (String) line[3], (String) line[4], (String) line[5], (String) line[6],
+                            (String) line[7], (LocalDateTime) line[8]));
+        }
+
+        // Exibe em ordem cronológica, como a linha do tempo do evento
+        Map<Long, List<EventTextRevision>> byEvent = new HashMap<>();
+        chains.forEach((eventId, chain) -> {
+            List<EventTextRevision> revisions = new ArrayList<>(EventTextHistoryCodec.newestFirst(EventTextHistoryCodec.decode(chain)));
+            Collections.reverse(revisions);
+            byEvent.put(eventId, revisions);
+        });
+        return byEvent;
+    }
+
+    private void writeHeader(Document document) throws DocumentException {
+        Paragraph title = new Paragraph("Relatório de Eventos", TITLE_FONT);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+
+        Paragraph generatedAt = new Paragraph("Gerado em " + LocalDateTime.now().format(DATE_TIME_FORMATTER), SUBTITLE_FONT);
+        generatedAt.setAlignment(Element.ALIGN_CENTER);
+        generatedAt.setSpacingAfter(12);
+        document.add(generatedAt);
+    }
+
+    private void writeEvent(Document document, EventExportRow row, List<EventTextRevision> history) throws DocumentException {
+        Paragraph heading = new Paragraph("#" + row.id() + " - " + valueOrDash(row.titulo()), EVENT_TITLE_FONT);
+        heading.setSpacingBefore(10);
+        heading.setSpacingAfter(4);
+        document.add(heading);
+
+        PdfPTable table = new PdfPTable(new float[]{1.2f, 2f, 1.2f, 2f});
+        table.setWidthPercentage(100);
+        addField(table, "Associado", row.partnerName());
+        addField(table, "CPF", row.partnerCpf());
+        addField(table, "Veículo", vehicleDescription(row));
+        addField(table, "Placa", row.vehiclePlate() != null ? row.vehiclePlate() : row.placaManual());
+        addField(table, "Status", row.status() != null ? row.status().getFullName() : null);
+        addField(table, "Prioridade", row.prioridade() != null ? row.prioridade().getDisplayName() : null);
+        addField(table, "Motivo", row.motivo() != null ? row.motivo().getDescricao() : null);
+        addField(table, "Envolvimento", row.envolvimento() != null ? row.envolvimento().getDescricao() : null);
+        addField(table, "Ocorrido em", formatDate(row.dataAconteceu(), row.horaAconteceu()));
+        addField(table, "Comunicado em", formatDate(row.dataComunicacao(), row.horaComunicacao()));
+        addField(table, "Vencimento", formatDate(row.dataVencimento(), null));
+        addField(table, "Analista", row.analistaResponsavel());
+        document.add(table);
+
+        addSection(document, "Descrição", row.descricao());
+        addSection(document, "Observações", row.observacoes());
+
+        if (!history.isEmpty()) {
+            Paragraph historyTitle = new Paragraph("Histórico de observações", SECTION_FONT);
+            historyTitle.setSpacingBefore(6);
+            document.add(historyTitle);
+            for (EventTextRevision entry : history) {
+                Paragraph item = new Paragraph();
+                item.setIndentationLeft(10);
+                item.add(new Chunk(formatDateTime(entry.modifiedAt()) + " - " + valueOrDash(entry.modifiedBy()) + ": ",
+                        HISTORY_META_FONT));
+                item.add(new Chunk(valueOrDash(entry.newValue()), VALUE_FONT));
+                document.add(item);
+            }
+        }
+    }
+
+    private void addField(PdfPTable table, String label, String value) {
+        PdfPCell labelCell = new PdfPCell(new Phrase(label, LABEL_FONT));
+        labelCell.setBackgroundColor(LABEL_BACKGROUND);
+        labelCell.setPadding(4);
+        table.addCell(labelCell);
+
+        PdfPCell valueCell = new PdfPCell(new Phrase(valueOrDash(value), VALUE_FONT));
+        valueCell.setPadding(4);
+        table.addCell(valueCell);
+    }
+
+    private void addSection(Document document, String title, String text) throws DocumentException {
+        Paragraph sectionTitle = new Paragraph(title, SECTION_FONT);
+        sectionTitle.setSpacingBefore(6);
+        document.add(sectionTitle);
+        document.add(new Paragraph(valueOrDash(text), VALUE_FONT));
+    }
+
+    private String vehicleDescription(EventExportRow row) {
+        String maker = row.vehicleMaker() != null ? row.vehicleMaker().trim() : "";
+        String model = row.vehicleModel() != null ? row.vehicleModel().trim() : "";
+        String description = (maker + " " + model).trim();
+        return description.isEmpty() ? null : description;
+    }
+
+    /**
+     * Data com a hora opcional no formato HHMM usado nos formulários de evento
+     */
+    private String formatDate(LocalDate date, Integer hourMinute) {
+        if (date == null) {
+            return null;
+        }
+        String formatted = date.format(DATE_FORMATTER);
+        if (hourMinute != null && hourMinute >= 0 && hourMinute <= 2359) {
+            formatted += String.format(" %02d:%02d", hourMinute / 100, hourMinute % 100);
+        }
+        return formatted;
+    }
+
+    private String formatDateTime(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.format(DATE_TIME_FORMATTER) : "-";
+    }
+
+    private String valueOrDash(String value) {
+        return value == null || value.isBlank() ? "-" : value;
+    }
+}
@@ -1,7 +1,15 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.dto.BoardColumnCursor;
+import com.necsus.necsusspring.dto.BoardColumnPage;
 import com.necsus.necsusspring.dto.EventBoardCardDto;
+import com.necsus.necsusspring.dto.EventBoardDelta;
 import com.necsus.necsusspring.dto.EventBoardSnapshot;
+import com.necsus.necsusspring.dto.StatusBatchResult;
+import com.necsus.necsusspring.dto.StatusMoveRequest;
+import com.necsus.necsusspring.event.EventBoardChangedEvent;
+import com.necsus.necsusspring.event.EventTextChangedEvent;
+import com.necsus.necsusspring.event.NotificationEventListener;
 import com.necsus.necsusspring.model.Event;
 import com.necsus.necsusspring.model.Partner;
 import com.necsus.necsusspring.model.Vehicle;
@@ -9,22 +17,25 @@ import com.necsus.necsusspring.model.Status;
 import com.necsus.necsusspring.model.Prioridade;
 import com.necsus.necsusspring.model.Motivo;
 import com.necsus.necsusspring.model.Envolvimento;
+import com.necsus.necsusspring.model.UserAccount;
 import com.necsus.necsusspring.repository.EventRepository;
-import com.necsus.necsusspring.repository.LegalProcessRepository;
 import com.necsus.necsusspring.repository.PartnerRepository;
+import com.necsus.necsusspring.repository.UserAccountRepository;
 import com.necsus.necsusspring.repository.VehicleRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,23 +43,32 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final PartnerRepository partnerRepository;
-    private final LegalProcessRepository legalProcessRepository;
     private final VehicleRepository vehicleRepository;
     private final EventObservationHistoryService observationHistoryService;
     private final EventDescriptionHistoryService descriptionHistoryService;
+    private final EventBoardChangeLog boardChangeLog;
+    private final EventBoardSnapshotCache boardSnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserAccountRepository userAccountRepository;
 
     public EventService(EventRepository eventRepository,
                         PartnerRepository partnerRepository,
                         VehicleRepository vehicleRepository,
-                        LegalProcessRepository legalProcessRepository,
                         EventObservationHistoryService observationHistoryService,
-                        EventDescriptionHistoryService descriptionHistoryService) {
+                        EventDescriptionHistoryService descriptionHistoryService,
+                        EventBoardChangeLog boardChangeLog,
+                        EventBoardSnapshotCache boardSnapshotCache,
+                        ApplicationEventPublisher eventPublisher,
+                        UserAccountRepository userAccountRepository) {
         this.eventRepository = eventRepository;
         this.partnerRepository = partnerRepository;
         this.vehicleRepository = vehicleRepository;
-        this.legalProcessRepository = legalProcessRepository;
         this.observationHistoryService = observationHistoryService;
         this.descriptionHistoryService = descriptionHistoryService;
+        this.boardChangeLog = boardChangeLog;
+        this.boardSnapshotCache = boardSnapshotCache;
+        this.eventPublisher = eventPublisher;
+        this.userAccountRepository = userAccountRepository;
     }
 
     @Transactional(readOnly = true)
@@ -66,6 +86,37 @@ public class EventService {
         return eventRepository.findByStatus(status);
     }
 
+    /**
+     * Cards de uma coluna do board, projetados diretamente do banco na ordem de exibição
+     */
+    @Transactional(readOnly = true)
+    public List<EventBoardCardDto> listBoardCardsByStatus(Status status) {
+        return eventRepository.findBoardCardsByStatus(status);
+    }
+
+    /**
+     * Página de uma coluna do board paginada por keyset. Sem cursor devolve a primeira página
+     * junto com a contagem exata da coluna; eventos já enviados ao jurídico ficam de fora.
+     */
+    @Transactional(readOnly = true)
+    public BoardColumnPage<EventBoardCardDto> getBoardColumn(Status status, String after, Integer limit) {
+        int pageSize = BoardColumnKeyset.normalizeLimit(limit);
+        BoardColumnCursor cursor = BoardColumnCursor.decode(after);
+
+        List<Object[]> keys;
+        Long totalCount = null;
+        if (cursor == null) {
+            keys = eventRepository.findBoardColumnKeys(status.name(), pageSize + 1);
+            totalCount = eventRepository.countBoardColumn(status.name());
+        } else {
+            keys = eventRepository.findBoardColumnKeysAfter(status.name(), cursor.sortDate(),
+                    cursor.sortRank(), cursor.sortTitle(), cursor.id(), pageSize + 1);
+        }
+
+        return BoardColumnKeyset.assemble(status.name(), keys, pageSize, totalCount,
+                eventRepository::findBoardCardsByIdIn, EventBoardCardDto::id);
+    }
+
     @Transactional(readOnly = true)
     public List<Event> listByPartnerId(Long partnerId) {
         return eventRepository.findByPartnerId(partnerId);
@@ -76,24 +127,53 @@ public class EventService {
         return eventRepository.findById(id);
     }
 
+    /**
+     * Card atual de um evento, ou vazio quando o evento não aparece mais no board
+     * (removido ou já enviado ao jurídico)
+     */
     @Transactional(readOnly = true)
+    public Optional<EventBoardCardDto> findBoardCard(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return eventRepository.findBoardCardsByIdIn(List.of(id)).stream()
+                .filter(card -> !Boolean.TRUE.equals(card.linkedToLegalProcess()))
+                .findFirst();
+    }
+
+    /**
+     * Snapshot do board servido pelo cache; só vai ao banco quando alguma mudança foi confirmada
+     * desde a última reconstrução. Sem transação aqui para que um hit não ocupe conexão.
+     */
     public EventBoardSnapshot getBoardSnapshot() {
-        List<Event> events = listAllWithRelations();
+        return boardSnapshotCache.get(this::loadBoardSnapshot);
+    }
 
-        Set<Long> linkedEventIds = legalProcessRepository.findAllSourceEventIds().stream()
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
+    /**
+     * Snapshot para a visão do jurídico: mantém os eventos já vinculados a processos,
+     * sinalizados em {@code linkedToLegalProcess}, lidos na mesma consulta do board
+     */
+    @Transactional(readOnly = true)
+    public EventBoardSnapshot getBoardSnapshotIncludingLinked() {
+        long revision = boardChangeLog.currentRevision();
+        return toBoardSnapshot(eventRepository.findBoardCardsIncludingLinked(), revision);
+    }
 
-        if (!linkedEventIds.isEmpty()) {
-            events = events.stream()
-                    .filter(event -> event.getId() == null || !linkedEventIds.contains(event.getId()))
-                    .toList();
-        }
+    /**
+     * Métricas do cache do board: hits, misses e tempo de reconstrução
+     */
+    public EventBoardSnapshotCache.Stats getBoardCacheStats() {
+        return boardSnapshotCache.stats();
+    }
 
-        List<EventBoardCardDto> cards = events.stream()
-                .map(EventBoardCardDto::from)
-                .toList();
+    private EventBoardSnapshot loadBoardSnapshot() {
+        // A revisão é lida antes dos dados: mudanças concorrentes serão reenviadas no próximo delta
+        long revision = boardChangeLog.currentRevision();
+        // Cards já projetados, ordenados e sem os eventos do jurídico, em uma única consulta
+        return toBoardSnapshot(eventRepository.findBoardCards(), revision);
+    }
 
+    private EventBoardSnapshot toBoardSnapshot(List<EventBoardCardDto> cards, long revision) {
         LinkedHashMap<String, List<EventBoardCardDto>> grouped = new LinkedHashMap<>();
         for (Status status : Status.values()) {
             grouped.put(status.name(), new ArrayList<>());
@@ -103,13 +183,6 @@ public class EventService {
                 .computeIfAbsent(card.status(), key -> new ArrayList<>())
                 .add(card));
 
-        Comparator<EventBoardCardDto> comparator = Comparator
-                .comparing(EventBoardCardDto::dataVencimento, Comparator.nullsLast(Comparator.naturalOrder()))
-                .thenComparing(EventBoardCardDto::titulo, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
-                .thenComparing(EventBoardCardDto::id, Comparator.nullsLast(Long::compareTo));
-
-        grouped.values().forEach(list -> list.sort(comparator));
-
         LinkedHashMap<String, List<EventBoardCardDto>> immutableGrouped = new LinkedHashMap<>();
         grouped.forEach((status, list) -> immutableGrouped.put(status, List.copyOf(list)));
 
@@ -119,10 +192,127 @@ public class EventService {
         return new EventBoardSnapshot(
                 List.copyOf(cards),
                 Collections.unmodifiableMap(immutableGrouped),
-                Collections.unmodifiableMap(counters)
+                Collections.unmodifiableMap(counters),
+                revision
+        );
+    }
+
+    /**
+     * Retorna apenas os cards adicionados, movidos, atualizados e removidos desde a revisão
+     * informada. Se o histórico de mudanças não cobre mais essa revisão, devolve o snapshot completo.
+     */
+    @Transactional(readOnly = true)
+    public EventBoardDelta getBoardDelta(long sinceRevision) {
+        Optional<List<EventBoardChangeLog.Entry>> changes = boardChangeLog.changesSince(sinceRevision);
+        if (changes.isEmpty()) {
+            return EventBoardDelta.full(getBoardSnapshot());
+        }
+
+        List<EventBoardChangeLog.Entry> entries = changes.get();
+        long revision = entries.isEmpty() ? sinceRevision : entries.get(entries.size() - 1).revision();
+
+        // Consolida as mudanças por evento, preservando a ordem em que aconteceram
+        LinkedHashMap<Long, EventBoardChangedEvent.Type> changeByEvent = new LinkedHashMap<>();
+        for (EventBoardChangeLog.Entry entry : entries) {
+            changeByEvent.merge(entry.eventId(), entry.type(), EventService::mergeChange);
+        }
+
+        List<Long> removed = new ArrayList<>();
+        List<Long> touchedIds = new ArrayList<>();
+        changeByEvent.forEach((eventId, type) -> {
+            if (type == EventBoardChangedEvent.Type.DELETED) {
+                removed.add(eventId);
+            } else {
+                touchedIds.add(eventId);
+            }
+        });
+
+        List<EventBoardCardDto> added = new ArrayList<>();
+        List<EventBoardCardDto> moved = new ArrayList<>();
+        List<EventBoardCardDto> updated = new ArrayList<>();
+
+        if (!touchedIds.isEmpty()) {
+            Map<Long, EventBoardCardDto> cardsById = eventRepository.findBoardCardsByIdIn(touchedIds).stream()
+                    .collect(Collectors.toMap(EventBoardCardDto::id, card -> card));
+
+            for (Long eventId : touchedIds) {
+                EventBoardCardDto card = cardsById.get(eventId);
+                if (card == null || Boolean.TRUE.equals(card.linkedToLegalProcess())) {
+                    // Excluído ou enviado ao jurídico: deixa de aparecer no board
+                    removed.add(eventId);
+                    continue;
+                }
+                switch (changeByEvent.get(eventId)) {
+                    case CREATED -> added.add(card);
+                    case MOVED -> moved.add(card);
+                    default -> updated.add(card);
+                }
+            }
+        }
+
+        return new EventBoardDelta(
+                revision,
+                false,
+                List.copyOf(added),
+                List.copyOf(moved),
+                List.copyOf(updated),
+                List.copyOf(removed),
+                countBoardEventsByStatus(),
+                null
         );
     }
 
+    private Map<String, Long> countBoardEventsByStatus() {
+        LinkedHashMap<String, Long> counters = new LinkedHashMap<>();
+        for (Status status : Status.values()) {
+            counters.put(status.name(), 0L);
+        }
+        for (Object[] row : eventRepository.countBoardEventsByStatus()) {
+            if (row[0] instanceof Status status) {
+                counters.put(status.name(), ((Number) row[1]).longValue());
+            }
+        }
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * Uma criação seguida de qualquer alteração continua sendo uma adição para o cliente;
+     * uma exclusão prevalece sobre tudo; uma movimentação prevalece sobre simples atualizações.
+     */
+    private static EventBoardChangedEvent.Type mergeChange(EventBoardChangedEvent.Type previous,
+                                                           EventBoardChangedEvent.Type next) {
+        if (next == EventBoardChangedEvent.Type.DELETED) {
+            return next;
+        }
+        if (previous == EventBoardChangedEvent.Type.CREATED || previous == EventBoardChangedEvent.Type.MOVED) {
+            return previous;
+        }
+        return next;
+    }
+
+    private void publishBoardChange(Long eventId, EventBoardChangedEvent.Type type) {
+        if (eventId != null) {
+            eventPublisher.publishEvent(new EventBoardChangedEvent(eventId, type));
+        }
+    }
+
+    /**
+     * A alteração entra no outbox do EventHistoryWriter nesta transação; o histórico é gravado após o commit, em lote
+     */
+    private void publishTextChange(Long eventId, EventTextChangedEvent.Field field,
+                                   String previousValue, String newValue, String modifiedBy) {
+        if (eventId != null) {
+            eventPublisher.publishEvent(new EventTextChangedEvent(eventId, field, previousValue, newValue,
+                    modifiedBy, LocalDateTime.now()));
+        }
+    }
+
+    private static EventBoardChangedEvent.Type changeTypeFor(Status previousStatus, Status currentStatus) {
+        return Objects.equals(previousStatus, currentStatus)
+                ? EventBoardChangedEvent.Type.UPDATED
+                : EventBoardChangedEvent.Type.MOVED;
+    }
+
     @Transactional
     public Event create(Event event) {
         // Se status não foi definido, define como COMUNICADO por padrão
@@ -148,13 +338,48 @@ public class EventService {
                     .orElseThrow(() -> new IllegalArgumentException("Placa não encontrada para o associado informado"));
             event.setVehicle(vehicle);
         }
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        publishBoardChange(saved.getId(), EventBoardChangedEvent.Type.CREATED);
+        findAnalyst(saved).ifPresent(analyst ->
+                eventPublisher.publishEvent(new NotificationEventListener.EventCreatedEvent(saved.getId(), analyst)));
+        return saved;
+    }
+
+    /**
+     * Usuário do analista responsável (campo de texto livre: login ou nome completo), quando houver um
+     */
+    private Optional<UserAccount> findAnalyst(Event event) {
+        String analyst = event.getAnalistaResponsavel();
+        if (analyst == null || analyst.isBlank()) {
+            return Optional.empty();
+        }
+        return userAccountRepository.findActiveByUsernameOrFullName(analyst.trim()).stream().findFirst();
+    }
+
+    /**
+     * Avisa o analista responsável sobre a alteração do evento; quem alterou o próprio evento não é
+     * avisado. Atualizações seguidas do mesmo evento são agrupadas na notificação não lida
+     * (NotificationService#notifyEventUpdate).
+     */
+    private void publishEventUpdated(Event event, Status previousStatus, String modifiedBy) {
+        findAnalyst(event)
+                .filter(analyst -> modifiedBy == null || !modifiedBy.equalsIgnoreCase(analyst.getUsername()))
+                .ifPresent(analyst -> eventPublisher.publishEvent(
+                        new NotificationEventListener.EventUpdatedEvent(event.getId(), analyst, updateDetails(event, previousStatus))));
+    }
+
+    private static String updateDetails(Event event, Status previousStatus) {
+        if (event.getStatus() != null && event.getStatus() != previousStatus) {
+            return "status alterado para " + event.getStatus().getDisplayName();
+        }
+        return "dados alterados";
     }
 
     @Transactional
     public Event update(Long id, Event eventPayload) {
         Event existing = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found with id " + id));
+        Status previousStatus = existing.getStatus();
 
         existing.setTitulo(eventPayload.getTitulo());
         existing.setDescricao(eventPayload.getDescricao());
@@ -174,7 +399,10 @@ public class EventService {
         existing.setPartner(eventPayload.getPartner());
         existing.setVehicle(eventPayload.getVehicle());
 
-        return eventRepository.save(existing);
+        Event saved = eventRepository.save(existing);
+        publishBoardChange(saved.getId(), changeTypeFor(previousStatus, saved.getStatus()));
+        publishEventUpdated(saved, previousStatus, null);
+        return saved;
     }
 
     @Transactional
@@ -182,14 +410,44 @@ public class EventService {
         Event existing = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found with id " + id));
 
+        Status previousStatus = existing.getStatus();
         existing.setStatus(newStatus);
-        return eventRepository.save(existing);
+        Event saved = eventRepository.save(existing);
+        publishBoardChange(saved.getId(), changeTypeFor(previousStatus, saved.getStatus()));
+        if (previousStatus != saved.getStatus()) {
+            publishEventUpdated(saved, previousStatus, null);
+        }
+        return saved;
+    }
+
+    /**
+     * Move vários cards de uma vez: uma consulta para os status atuais e um UPDATE por status
+     * de destino, tudo na mesma transação. Devolve o desfecho de cada id pedido.
+     */
+    @Transactional
+    public StatusBatchResult updateStatusBatch(List<StatusMoveRequest> moves) {
+        StatusBatchPlan<Status> plan = new StatusBatchPlan<>(Status.class, moves);
+
+        Map<Long, Status> currentStatuses = new HashMap<>();
+        if (!plan.ids().isEmpty()) {
+            for (Object[] row : eventRepository.findStatusesByIdIn(plan.ids())) {
+                currentStatuses.put((Long) row[0], (Status) row[1]);
+            }
+        }
+
+        plan.resolve(currentStatuses).forEach((status, ids) -> {
+            eventRepository.updateStatusByIdIn(status, ids);
+            ids.forEach(id -> publishBoardChange(id, EventBoardChangedEvent.Type.MOVED));
+        });
+
+        return plan.result();
     }
 
     @Transactional
     public Event updatePartial(Long id, java.util.Map<String, Object> updates) {
         Event existing = eventRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found with id " + id));
+        Status previousStatus = existing.getStatus();
 
         // Atualiza apenas os campos fornecidos
         updates.forEach((key, value) -> {
@@ -221,7 +479,10 @@ public class EventService {
             }
         });
 
-        return eventRepository.save(existing);
+        Event saved = eventRepository.save(existing);
+        publishBoardChange(saved.getId(), changeTypeFor(previousStatus, saved.getStatus()));
+        publishEventUpdated(saved, previousStatus, null);
+        return saved;
     }
 
     /**
@@ -235,6 +496,7 @@ public class EventService {
         // Captura valores anteriores antes de fazer updates
         String previousObservation = existing.getObservacoes();
         String previousDescription = existing.getDescricao();
+        Status previousStatus = existing.getStatus();
 
         // Atualiza apenas os campos fornecidos
         updates.forEach((key, value) -> {
@@ -267,17 +529,19 @@ public class EventService {
         });
 
         Event savedEvent = eventRepository.save(existing);
+        publishBoardChange(savedEvent.getId(), changeTypeFor(previousStatus, savedEvent.getStatus()));
+        publishEventUpdated(savedEvent, previousStatus, modifiedBy);
 
         // Registra histórico se observação foi alterada e modifiedBy foi fornecido
         if (modifiedBy != null && updates.containsKey("observacoes")) {
-            observationHistoryService.recordChange(savedEvent, previousObservation,
-                savedEvent.getObservacoes(), modifiedBy);
+            publishTextChange(savedEvent.getId(), EventTextChangedEvent.Field.OBSERVATION,
+                previousObservation, savedEvent.getObservacoes(), modifiedBy);
         }
 
         // Registra histórico se descrição foi alterada e modifiedBy foi fornecido
         if (modifiedBy != null && updates.containsKey("descricao")) {
-            descriptionHistoryService.recordChange(savedEvent, previousDescription,
-                savedEvent.getDescricao(), modifiedBy);
+            publishTextChange(savedEvent.getId(), EventTextChangedEvent.Field.DESCRIPTION,
+                previousDescription, savedEvent.getDescricao(), modifiedBy);
         }
 
         return savedEvent;
@@ -294,6 +558,7 @@ public class EventService {
         // Captura valores anteriores para histórico
         String previousObservation = existing.getObservacoes();
         String previousDescription = existing.getDescricao();
+        Status previousStatus = existing.getStatus();
 
         existing.setTitulo(eventPayload.getTitulo());
         existing.setDescricao(eventPayload.getDescricao());
@@ -314,11 +579,15 @@ public class EventService {
         existing.setVehicle(eventPayload.getVehicle());
 
         Event savedEvent = eventRepository.save(existing);
+        publishBoardChange(savedEvent.getId(), changeTypeFor(previousStatus, savedEvent.getStatus()));
+        publishEventUpdated(savedEvent, previousStatus, modifiedBy);
 
         // Registra histórico se observação foi alterada
         if (modifiedBy != null) {
-            observationHistoryService.recordChange(savedEvent, previousObservation, eventPayload.getObservacoes(), modifiedBy);
-            descriptionHistoryService.recordChange(savedEvent, previousDescription, eventPayload.getDescricao(), modifiedBy);
+            publishTextChange(savedEvent.getId(), EventTextChangedEvent.Field.OBSERVATION,
+                previousObservation, eventPayload.getObservacoes(), modifiedBy);
+            publishTextChange(savedEvent.getId(), EventTextChangedEvent.Field.DESCRIPTION,
+                previousDescription, eventPayload.getDescricao(), modifiedBy);
         }
 
         return savedEvent;
@@ -335,6 +604,7 @@ public class EventService {
         descriptionHistoryService.deleteByEventId(id);
 
         eventRepository.delete(existing.get());
+        publishBoardChange(id, EventBoardChangedEvent.Type.DELETED);
         return true;
     }
 }
@@ -0,0 +1,166 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.EventTextRevision;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Formato compacto do histórico de descrição/observação dos eventos.
+ *
+ * A cadeia de cada evento é lida em ordem de id. Registros SNAPSHOT (e os antigos, sem formato)
+ * guardam os dois textos completos; registros DELTA guardam apenas:
+ * <ul>
+ *     <li>{@code previous_delta}: do texto novo do registro anterior até o texto anterior deste;</li>
+ *     <li>{@code new_delta}: do texto anterior deste até o texto novo.</li>
+ * </ul>
+ * Um delta é "=" (sem mudança), "N" (texto nulo) ou "D{prefixo},{sufixo}:{trecho}": mantém
+ * {@code prefixo} caracteres do início e {@code sufixo} do fim da base e coloca {@code trecho} no meio.
+ * Como os ids só crescem, registros novos entram sempre no fim da cadeia e nunca mudam a base
+ * dos registros já convertidos.
+ */
+final class EventTextHistoryCodec {
+
+    static final String FORMAT_SNAPSHOT = "SNAPSHOT";
+    static final String FORMAT_DELTA = "DELTA";
+
+    private static final String UNCHANGED = "=";
+    private static final String NULL_VALUE = "N";
+    private static final char DIFF = 'D';
+
+    /**
+     * Registro como está no banco
+     */
+    record StoredRevision(Long id,
+                          Long eventId,
+                          String format,
+                          String previousFull,
+                          String newFull,
+                          String previousDelta,
+                          String newDelta,
+                          String modifiedBy,
+                          LocalDateTime modifiedAt) {
+
+        boolean isDelta() {
+            return FORMAT_DELTA.equals(format);
+        }
+    }
+
+    /**
+     * Representação compacta calculada para um registro
+     */
+    record Encoded(String format, String previousFull, String newFull, String previousDelta, String newDelta) {
+
+        boolean isSnapshot() {
+            return FORMAT_SNAPSHOT.equals(format);
+        }
+    }
+
+    private EventTextHistoryCodec() {
+    }
+
+    /**
+     * Reconstrói os textos de uma cadeia ordenada por id
+     */
+    static List<EventTextRevision> decode(List<StoredRevision> chain) {
+        List<EventTextRevision> revisions = new ArrayList<>(chain.size());
+        String lastNew = null;
+        for (StoredRevision stored : chain) {
+            String previousValue;
+            String newValue;
+            if (stored.isDelta()) {
+                previousValue = apply(lastNew, stored.previousDelta());
+                newValue = apply(previousValue, stored.newDelta());
+            } else {
+                previousValue = stored.previousFull();
+                newValue = stored.newFull();
+            }
+            revisions.add(new EventTextRevision(stored.id(), stored.eventId(), previousValue, newValue,
+                    stored.modifiedBy(), stored.modifiedAt()));
+            lastNew = newValue;
+        }
+        return revisions;
+    }
+
+    /**
+     * Ordem de exibição dos endpoints de histórico: mais recente primeiro
+     */
+    static List<EventTextRevision> newestFirst(List<EventTextRevision> revisions) {
+        List<EventTextRevision> sorted = new ArrayList<>(revisions);
+        sorted.sort(Comparator.comparing(EventTextRevision::modifiedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(EventTextRevision::id, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .reversed());
+        return sorted;
+    }
+
+    /**
+     * Escolhe o formato de um registro: SNAPSHOT quando a cadeia chegou ao intervalo de snapshots
+     * (ou não há registro anterior) ou quando o delta não é menor que os textos completos
+     */
+    static Encoded encode(String baseValue,
+                          boolean hasBase,
+                          int revisionsSinceSnapshot,
+                          int snapshotInterval,
+                          String previousValue,
+                          String newValue) {
+        Encoded snapshot = new Encoded(FORMAT_SNAPSHOT, previousValue, newValue, null, null);
+        if (!hasBase || revisionsSinceSnapshot + 1 >= snapshotInterval) {
+            return snapshot;
+        }
+        String previousDelta = diff(baseValue, previousValue);
+        String newDelta = diff(previousValue, newValue);
+        if (previousDelta.length() + newDelta.length() >= length(previousValue) + length(newValue)) {
+            return snapshot;
+        }
+        return new Encoded(FORMAT_DELTA, null, null, previousDelta, newDelta);
+    }
+
+    static String diff(String base, String target) {
+        if (Objects.equals(base, target)) {
+            return UNCHANGED;
+        }
+        if (target == null) {
+            return NULL_VALUE;
+        }
+        String source = base != null ? base : "";
+        int max = Math.min(source.length(), target.length());
+        int prefix = 0;
+        while (prefix < max && source.charAt(prefix) == target.charAt(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && source.charAt(source.length() - 1 - suffix) == target.charAt(target.length() - 1 - suffix)) {
+            suffix++;
+        }
+        return DIFF + Integer.toString(prefix) + ',' + suffix + ':' + target.substring(prefix, target.length() - suffix);
+    }
+
+    static String apply(String base, String delta) {
+        if (delta == null || UNCHANGED.equals(delta)) {
+            return base;
+        }
+        if (NULL_VALUE.equals(delta)) {
+            return null;
+        }
+        if (delta.charAt(0) != DIFF) {
+            throw new IllegalStateException("Delta de histórico inválido");
+        }
+        int comma = delta.indexOf(',');
+        int colon = delta.indexOf(':', comma);
+        if (comma < 0 || colon < 0) {
+            throw new IllegalStateException("Delta de histórico inválido");
+        }
+        int prefix = Integer.parseInt(delta.substring(1, comma));
+        int suffix = Integer.parseInt(delta.substring(comma + 1, colon));
+        String source = base != null ? base : "";
+        return source.substring(0, prefix) + delta.substring(colon + 1) + source.substring(source.length() - suffix);
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
@@ -0,0 +1,180 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.EventTextRevision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Converte o histórico de descrição/observação dos eventos para o formato compacto
+ * (snapshots periódicos + deltas, ver EventTextHistoryCodec).
+ *
+ * Percorre os eventos que têm registros ainda sem formato em blocos de {@code chunkSize} eventos,
+ * cada bloco em sua própria transação. Serve tanto para a conversão inicial das tabelas quanto
+ * para as execuções periódicas que compactam os registros gravados desde a última passada.
+ */
+@Service
+public class EventTextHistoryCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventTextHistoryCompactor.class);
+
+    public enum HistoryTable {
+        OBSERVATION("event_observation_history", "previous_observation", "new_observation"),
+        DESCRIPTION("event_description_history", "previous_description", "new_description");
+
+        private final String table;
+        private final String previousColumn;
+        private final String newColumn;
+
+        HistoryTable(String table, String previousColumn, String newColumn) {
+            this.table = table;
+            this.previousColumn = previousColumn;
+            this.newColumn = newColumn;
+        }
+    }
+
+    public record Result(HistoryTable table, int events, int converted, int snapshots, int deltas, long savedChars) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int snapshotInterval;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public EventTextHistoryCompactor(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.events.history.compaction.chunk-size:100}") int chunkSize,
+                                     @Value("${app.events.history.compaction.snapshot-interval:20}") int snapshotInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.snapshotInterval = Math.max(snapshotInterval, 1);
+    }
+
+    /**
+     * Compacta as duas tabelas. Execuções concorrentes são ignoradas.
+     */
+    public List<Result> compactAll() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("[EVENT HISTORY] Compactação já em andamento, execução ignorada");
+            return List.of();
+        }
+        try {
+            List<Result> results = new ArrayList<>();
+            for (HistoryTable table : HistoryTable.values()) {
+                results.add(compact(table));
+            }
+            return results;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Result compact(HistoryTable table) {
+        String pendingEventsSql = "SELECT DISTINCT event_id FROM " + table.table +
+                " WHERE storage_format IS NULL AND event_id > ? ORDER BY event_id LIMIT ?";
+
+        int[] totals = new int[4];
+        long[] savedChars = new long[1];
+        long afterEventId = 0L;
+        while (true) {
+            List<Long> eventIds = jdbcTemplate.queryForList(pendingEventsSql, Long.class, afterEventId, chunkSize);
+            if (eventIds.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Long eventId : eventIds) {
+                    int[] counts = compactEvent(table, eventId, savedChars);
+                    totals[1] += counts[0];
+                    totals[2] += counts[1];
+                    totals[3] += counts[2];
+                }
+            });
+            totals[0] += eventIds.size();
+            afterEventId = eventIds.get(eventIds.size() - 1);
+        }
+
+        Result result = new Result(table, totals[0], totals[1], totals[2], totals[3], savedChars[0]);
+        if (result.converted() > 0) {
+            logger.info("[EVENT HISTORY] {}: {} registros convertidos em {} eventos ({} snapshots, {} deltas, {} caracteres a menos)",
+                    table.table, result.converted(), result.events(), result.snapshots(), result.deltas(), result.savedChars());
+        }
+        return result;
+    }
+
+    /**
+     * Reescreve os registros sem formato da cadeia de um evento.
+     * @return {convertidos, snapshots, deltas}
+     */
+    private int[] compactEvent(HistoryTable table, Long eventId, long[] savedChars) {
+        List<EventTextHistoryCodec.StoredRevision> chain = jdbcTemplate.query(
+                "SELECT id, storage_format, " + table.previousColumn + ", " + table.newColumn +
+                        ", previous_delta, new_delta, modified_by, modified_at FROM " + table.table +
+                        " WHERE event_id = ? ORDER BY id",
+                (rs, rowNum) -> {
+                    Timestamp modifiedAt = rs.getTimestamp("modified_at");
+                    return new EventTextHistoryCodec.StoredRevision(
+                            rs.getLong("id"),
+                            eventId,
+                            rs.getString("storage_format"),
+                            rs.getString(table.previousColumn),
+                            rs.getString(table.newColumn),
+                            rs.getString("previous_delta"),
+                            rs.getString("new_delta"),
+                            rs.getString("modified_by"),
+                            modifiedAt != null ? modifiedAt.toLocalDateTime() : null);
+                },
+                eventId);
+
+        List<EventTextRevision> revisions = EventTextHistoryCodec.decode(chain);
+        List<Object[]> updates = new ArrayList<>();
+        int snapshots = 0;
+        int deltas = 0;
+        int sinceSnapshot = 0;
+        for (int i = 0; i < chain.size(); i++) {
+            EventTextHistoryCodec.StoredRevision stored = chain.get(i);
+            EventTextRevision revision = revisions.get(i);
+
+            if (stored.format() != null) {
+                sinceSnapshot = stored.isDelta() ? sinceSnapshot + 1 : 0;
+                continue;
+            }
+
+            String base = i > 0 ? revisions.get(i - 1).newValue() : null;
+            EventTextHistoryCodec.Encoded encoded = EventTextHistoryCodec.encode(base, i > 0, sinceSnapshot,
+                    snapshotInterval, revision.previousValue(), revision.newValue());
+            if (encoded.isSnapshot()) {
+                snapshots++;
+                sinceSnapshot = 0;
+            } else {
+                deltas++;
+                sinceSnapshot++;
+                savedChars[0] += length(revision.previousValue()) + length(revision.newValue())
+                        - length(encoded.previousDelta()) - length(encoded.newDelta());
+            }
+            updates.add(new Object[]{encoded.format(), encoded.previousFull(), encoded.newFull(),
+                    encoded.previousDelta(), encoded.newDelta(), stored.id()});
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE " + table.table + " SET storage_format = ?, " +
+                    table.previousColumn + " = ?, " + table.newColumn + " = ?, previous_delta = ?, new_delta = ? " +
+                    "WHERE id = ?", updates);
+        }
+        return new int[]{updates.size(), snapshots, deltas};
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
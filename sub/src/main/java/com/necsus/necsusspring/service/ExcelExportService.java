@@ -1,6 +1,7 @@
 package com.necsus.necsusspring.service;
 
-import com.necsus.necsusspring.model.Partner;
+import com.necsus.necsusspring.dto.PartnerReportRow;
+import com.necsus.necsusspring.repository.PartnerRepository;
 import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
@@ -12,260 +13,310 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.VerticalAlignment;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
-
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Exportação do relatório de associados em Excel.
+ *
+ * As planilhas usam SXSSF: só as últimas {@link #ROW_WINDOW} linhas ficam em memória e o resto vai
+ * para um arquivo temporário, e o arquivo é escrito direto no OutputStream recebido. As linhas são
+ * lidas em blocos de {@link #CHUNK_SIZE} associados por id (projeção PartnerReportRow), então nenhuma
+ * consulta ou conexão fica aberta enquanto o cliente baixa. Os estilos são criados uma vez por
+ * arquivo e a largura das colunas é estimada pelo maior texto escrito, sem autoSizeColumn.
+ */
 @Service
 public class ExcelExportService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ExcelExportService.class);
+
+    static final int ROW_WINDOW = 100;
+    static final int CHUNK_SIZE = 1000;
+
+    private static final int MAX_COLUMN_CHARS = 60;
+    private static final int COLUMN_PADDING = 1000;
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
-    /**
-     * Gera um arquivo Excel com o relatório completo de associados
-     */
-    public byte[] generatePartnerReportExcel(List<Partner> partners) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+    private static final String[] REPORT_COLUMNS = {
+        "ID", "Nome", "CPF", "RG", "Email", "Telefone", "Celular",
+        "Data Nascimento", "Status", "Data Cadastro", "Data Contrato",
+        "Endereço", "Número", "Bairro", "Cidade", "Estado", "CEP",
+        "Quantidade de Veículos", "Empresa"
+    };
 
-            Sheet sheet = workbook.createSheet("Relatório de Associados");
+    private static final String[] LIST_COLUMNS = {"ID", "Nome", "CPF", "Email", "Telefone", "Cidade", "Status", "Veículos"};
 
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dataStyle = createDataStyle(workbook);
-            CellStyle dateStyle = createDateStyle(workbook);
-
-            Row headerRow = sheet.createRow(0);
-            String[] columns = {
-                "ID", "Nome", "CPF", "RG", "Email", "Telefone", "Celular",
-                "Data Nascimento", "Status", "Data Cadastro", "Data Contrato",
-                "Endereço", "Número", "Bairro", "Cidade", "Estado", "CEP",
-                "Quantidade de Veículos", "Empresa"
-            };
-
-            for (int i = 0; i < columns.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(columns[i]);
-                cell.setCellStyle(headerStyle);
-            }
+    private final PartnerRepository partnerRepository;
 
-            int rowNum = 1;
-            for (Partner partner : partners) {
-                Row row = sheet.createRow(rowNum++);
-
-                createCell(row, 0, partner.getId() != null ? partner.getId().toString() : "", dataStyle);
-                createCell(row, 1, partner.getName(), dataStyle);
-                createCell(row, 2, partner.getCpf(), dataStyle);
-                createCell(row, 3, partner.getRg(), dataStyle);
-                createCell(row, 4, partner.getEmail(), dataStyle);
-                createCell(row, 5, partner.getPhone(), dataStyle);
-                createCell(row, 6, partner.getCell(), dataStyle);
-
-                if (partner.getDateBorn() != null) {
-                    createCell(row, 7, partner.getDateBorn().format(DATE_FORMATTER), dateStyle);
-                } else {
-                    createCell(row, 7, "", dateStyle);
-                }
-
-                createCell(row, 8, partner.getStatus() != null ? partner.getStatus().getDisplayName() : "", dataStyle);
-
-                if (partner.getRegistrationDate() != null) {
-                    createCell(row, 9, partner.getRegistrationDate().format(DATE_TIME_FORMATTER), dateStyle);
-                } else {
-                    createCell(row, 9, "", dateStyle);
-                }
-
-                if (partner.getContractDate() != null) {
-                    createCell(row, 10, partner.getContractDate().format(DATE_FORMATTER), dateStyle);
-                } else {
-                    createCell(row, 10, "", dateStyle);
-                }
-
-                if (partner.getAddress() != null) {
-                    createCell(row, 11, partner.getAddress().getAddress(), dataStyle);
-                    createCell(row, 12, partner.getAddress().getNumber(), dataStyle);
-                    createCell(row, 13, partner.getAddress().getNeighborhood(), dataStyle);
-                    createCell(row, 14, partner.getAddress().getCity(), dataStyle);
-                    createCell(row, 15, partner.getAddress().getStates(), dataStyle);
-                    createCell(row, 16, partner.getAddress().getZipcode(), dataStyle);
-                } else {
-                    for (int i = 11; i <= 16; i++) {
-                        createCell(row, i, "", dataStyle);
-                    }
-                }
-
-                int vehicleCount = partner.getVehicles() != null ? partner.getVehicles().size() : 0;
-                createCell(row, 17, String.valueOf(vehicleCount), dataStyle);
-
-                createCell(row, 18,
-                    partner.getCompany() != null ? partner.getCompany().getCompanyName() : "",
-                    dataStyle);
-            }
+    public ExcelExportService(PartnerRepository partnerRepository) {
+        this.partnerRepository = partnerRepository;
+    }
 
-            for (int i = 0; i < columns.length; i++) {
-                sheet.autoSizeColumn(i);
-                int currentWidth = sheet.getColumnWidth(i);
-                sheet.setColumnWidth(i, currentWidth + 1000);
-            }
+    public int writePartnerReportExcel(OutputStream out) throws IOException {
+        return writePartnerReportExcel(out, exported -> { });
+    }
 
+    /**
+     * Escreve em {@code out} o relatório completo de associados.
+     * {@code progress} recebe o total de associados já escritos ao fim de cada bloco.
+     * @return quantidade de associados exportados
+     */
+    public int writePartnerReportExcel(OutputStream out, IntConsumer progress) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            Styles styles = new Styles(workbook);
+            Sheet sheet = workbook.createSheet("Relatório de Associados");
+            ColumnWidths widths = createHeader(sheet, REPORT_COLUMNS, styles);
+
+            int[] rowNum = {1};
+            int exported = forEachPartnerRow(progress, partner -> {
+                Row row = sheet.createRow(rowNum[0]++);
+
+                createCell(row, 0, partner.id() != null ? partner.id().toString() : "", styles.data, widths);
+                createCell(row, 1, partner.name(), styles.data, widths);
+                createCell(row, 2, partner.cpf(), styles.data, widths);
+                createCell(row, 3, partner.rg(), styles.data, widths);
+                createCell(row, 4, partner.email(), styles.data, widths);
+                createCell(row, 5, partner.phone(), styles.data, widths);
+                createCell(row, 6, partner.cell(), styles.data, widths);
+                createCell(row, 7, partner.dateBorn() != null ? partner.dateBorn().format(DATE_FORMATTER) : "",
+                        styles.date, widths);
+                createCell(row, 8, partner.status() != null ? partner.status().getDisplayName() : "", styles.data, widths);
+                createCell(row, 9, partner.registrationDate() != null
+                        ? partner.registrationDate().format(DATE_TIME_FORMATTER) : "", styles.date, widths);
+                createCell(row, 10, partner.contractDate() != null ? partner.contractDate().format(DATE_FORMATTER) : "",
+                        styles.date, widths);
+                createCell(row, 11, partner.street(), styles.data, widths);
+                createCell(row, 12, partner.number(), styles.data, widths);
+                createCell(row, 13, partner.neighborhood(), styles.data, widths);
+                createCell(row, 14, partner.city(), styles.data, widths);
+                createCell(row, 15, partner.state(), styles.data, widths);
+                createCell(row, 16, partner.zipcode(), styles.data, widths);
+                createCell(row, 17, String.valueOf(partner.vehicleCount()), styles.data, widths);
+                createCell(row, 18, partner.companyName(), styles.data, widths);
+            });
+
+            widths.apply(sheet);
             workbook.write(out);
-            return out.toByteArray();
+            logger.info("[PARTNER EXPORT] Excel gerado com {} associados", exported);
+            return exported;
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
     }
 
     /**
-     * Gera um arquivo Excel com resumo estatístico dos associados
+     * Escreve em {@code out} o resumo estatístico dos associados, seguido da lista resumida
      */
-    public byte[] generatePartnerSummaryExcel(ReportDataService.PartnerReportData reportData) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-
+    public void writePartnerSummaryExcel(ReportDataService.PartnerReportData reportData, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            Styles styles = new Styles(workbook);
             Sheet summarySheet = workbook.createSheet("Resumo Geral");
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dataStyle = createDataStyle(workbook);
+            ColumnWidths summaryWidths = new ColumnWidths(new String[2]);
 
             int rowNum = 0;
 
             Row titleRow = summarySheet.createRow(rowNum++);
             Cell titleCell = titleRow.createCell(0);
             titleCell.setCellValue("RELATÓRIO DE ASSOCIADOS - RESUMO GERAL");
-            CellStyle titleStyle = workbook.createCellStyle();
-            Font titleFont = workbook.createFont();
-            titleFont.setBold(true);
-            titleFont.setFontHeightInPoints((short) 14);
-            titleStyle.setFont(titleFont);
-            titleCell.setCellStyle(titleStyle);
+            titleCell.setCellStyle(styles.title);
             rowNum++;
 
             createSummaryRow(summarySheet, rowNum++, "Total de Associados",
-                String.valueOf(reportData.totalPartners()), headerStyle, dataStyle);
+                String.valueOf(reportData.totalPartners()), styles, summaryWidths);
             createSummaryRow(summarySheet, rowNum++, "Associados com Veículos",
-                String.valueOf(reportData.partnersWithVehicles()), headerStyle, dataStyle);
+                String.valueOf(reportData.partnersWithVehicles()), styles, summaryWidths);
             createSummaryRow(summarySheet, rowNum++, "Associados sem Veículos",
-                String.valueOf(reportData.partnersWithoutVehicles()), headerStyle, dataStyle);
+                String.valueOf(reportData.partnersWithoutVehicles()), styles, summaryWidths);
             createSummaryRow(summarySheet, rowNum++, "Total de Veículos",
-                String.valueOf(reportData.totalVehicles()), headerStyle, dataStyle);
+                String.valueOf(reportData.totalVehicles()), styles, summaryWidths);
             createSummaryRow(summarySheet, rowNum++, "Média de Veículos por Associado",
-                reportData.averageVehiclesPerPartner(), headerStyle, dataStyle);
+                reportData.averageVehiclesPerPartner(), styles, summaryWidths);
 
-            rowNum++;
+            summaryWidths.apply(summarySheet);
 
             if (reportData.partnersByCity() != null && !reportData.partnersByCity().isEmpty()) {
                 Sheet citySheet = workbook.createSheet("Distribuição por Cidade");
                 createDistributionSheet(citySheet, reportData.partnersByCity(),
-                    "DISTRIBUIÇÃO DE ASSOCIADOS POR CIDADE", workbook);
+                    "DISTRIBUIÇÃO DE ASSOCIADOS POR CIDADE", styles);
             }
 
-            generatePartnerListSheet(workbook, reportData.partners());
-
-            summarySheet.autoSizeColumn(0);
-            summarySheet.autoSizeColumn(1);
-            summarySheet.setColumnWidth(0, summarySheet.getColumnWidth(0) + 2000);
-            summarySheet.setColumnWidth(1, summarySheet.getColumnWidth(1) + 1000);
+            generatePartnerListSheet(workbook, styles);
 
             workbook.write(out);
-            return out.toByteArray();
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
     }
 
-    private void generatePartnerListSheet(Workbook workbook, List<Partner> partners) {
+    private void generatePartnerListSheet(Workbook workbook, Styles styles) {
         Sheet sheet = workbook.createSheet("Lista de Associados");
-        CellStyle headerStyle = createHeaderStyle(workbook);
-        CellStyle dataStyle = createDataStyle(workbook);
-
-        Row headerRow = sheet.createRow(0);
-        String[] columns = {"ID", "Nome", "CPF", "Email", "Telefone", "Cidade", "Status", "Veículos"};
-
-        for (int i = 0; i < columns.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(columns[i]);
-            cell.setCellStyle(headerStyle);
-        }
-
-        int rowNum = 1;
-        for (Partner partner : partners) {
-            Row row = sheet.createRow(rowNum++);
-
-            createCell(row, 0, partner.getId() != null ? partner.getId().toString() : "", dataStyle);
-            createCell(row, 1, partner.getName(), dataStyle);
-            createCell(row, 2, partner.getCpf(), dataStyle);
-            createCell(row, 3, partner.getEmail(), dataStyle);
-            createCell(row, 4, partner.getCell() != null ? partner.getCell() : partner.getPhone(), dataStyle);
-            createCell(row, 5, partner.getAddress() != null ? partner.getAddress().getCity() : "", dataStyle);
-            createCell(row, 6, partner.getStatus() != null ? partner.getStatus().getDisplayName() : "", dataStyle);
-
-            int vehicleCount = partner.getVehicles() != null ? partner.getVehicles().size() : 0;
-            createCell(row, 7, String.valueOf(vehicleCount), dataStyle);
-        }
+        ColumnWidths widths = createHeader(sheet, LIST_COLUMNS, styles);
+
+        int[] rowNum = {1};
+        forEachPartnerRow(exported -> { }, partner -> {
+            Row row = sheet.createRow(rowNum[0]++);
+
+            createCell(row, 0, partner.id() != null ? partner.id().toString() : "", styles.data, widths);
+            createCell(row, 1, partner.name(), styles.data, widths);
+            createCell(row, 2, partner.cpf(), styles.data, widths);
+            createCell(row, 3, partner.email(), styles.data, widths);
+            createCell(row, 4, partner.cell() != null ? partner.cell() : partner.phone(), styles.data, widths);
+            createCell(row, 5, partner.city(), styles.data, widths);
+            createCell(row, 6, partner.status() != null ? partner.status().getDisplayName() : "", styles.data, widths);
+            createCell(row, 7, String.valueOf(partner.vehicleCount()), styles.data, widths);
+        });
+
+        widths.apply(sheet);
+    }
 
-        for (int i = 0; i < columns.length; i++) {
-            sheet.autoSizeColumn(i);
-            sheet.setColumnWidth(i, sheet.getColumnWidth(i) + 1000);
+    /**
+     * Percorre todos os associados em blocos por id (keyset)
+     * @return quantidade de associados percorridos
+     */
+    private int forEachPartnerRow(IntConsumer progress, Consumer<PartnerReportRow> action) {
+        int count = 0;
+        long afterId = 0L;
+        while (true) {
+            List<PartnerReportRow> rows = partnerRepository.findReportRowsAfter(afterId, PageRequest.of(0, CHUNK_SIZE));
+            for (PartnerReportRow row : rows) {
+                action.accept(row);
+            }
+            count += rows.size();
+            progress.accept(count);
+            if (rows.size() < CHUNK_SIZE) {
+                return count;
+            }
+            afterId = rows.get(rows.size() - 1).id();
         }
     }
 
-    private void createDistributionSheet(Sheet sheet, Map<String, Long> distribution,
-                                        String title, Workbook workbook) {
-        CellStyle headerStyle = createHeaderStyle(workbook);
-        CellStyle dataStyle = createDataStyle(workbook);
+    private void createDistributionSheet(Sheet sheet, Map<String, Long> distribution, String title, Styles styles) {
+        ColumnWidths widths = new ColumnWidths(new String[]{"Cidade", "Quantidade"});
 
         int rowNum = 0;
 
         Row titleRow = sheet.createRow(rowNum++);
         Cell titleCell = titleRow.createCell(0);
         titleCell.setCellValue(title);
-        CellStyle titleStyle = workbook.createCellStyle();
-        Font titleFont = workbook.createFont();
-        titleFont.setBold(true);
-        titleFont.setFontHeightInPoints((short) 12);
-        titleStyle.setFont(titleFont);
-        titleCell.setCellStyle(titleStyle);
+        titleCell.setCellStyle(styles.subtitle);
         rowNum++;
 
         Row headerRow = sheet.createRow(rowNum++);
         Cell headerCell1 = headerRow.createCell(0);
         headerCell1.setCellValue("Cidade");
-        headerCell1.setCellStyle(headerStyle);
+        headerCell1.setCellStyle(styles.header);
 
         Cell headerCell2 = headerRow.createCell(1);
         headerCell2.setCellValue("Quantidade");
-        headerCell2.setCellStyle(headerStyle);
+        headerCell2.setCellStyle(styles.header);
 
         for (Map.Entry<String, Long> entry : distribution.entrySet()) {
             Row row = sheet.createRow(rowNum++);
-            createCell(row, 0, entry.getKey(), dataStyle);
-            createCell(row, 1, entry.getValue().toString(), dataStyle);
+            createCell(row, 0, entry.getKey(), styles.data, widths);
+            createCell(row, 1, entry.getValue().toString(), styles.data, widths);
         }
 
-        sheet.autoSizeColumn(0);
-        sheet.autoSizeColumn(1);
-        sheet.setColumnWidth(0, sheet.getColumnWidth(0) + 2000);
-        sheet.setColumnWidth(1, sheet.getColumnWidth(1) + 1000);
+        widths.apply(sheet);
     }
 
-    private void createSummaryRow(Sheet sheet, int rowNum, String label, String value,
-                                 CellStyle headerStyle, CellStyle dataStyle) {
+    private void createSummaryRow(Sheet sheet, int rowNum, String label, String value, Styles styles, ColumnWidths widths) {
         Row row = sheet.createRow(rowNum);
+        createCell(row, 0, label, styles.header, widths);
+        createCell(row, 1, value, styles.data, widths);
+    }
 
-        Cell labelCell = row.createCell(0);
-        labelCell.setCellValue(label);
-        labelCell.setCellStyle(headerStyle);
-
-        Cell valueCell = row.createCell(1);
-        valueCell.setCellValue(value);
-        valueCell.setCellStyle(dataStyle);
+    private ColumnWidths createHeader(Sheet sheet, String[] columns, Styles styles) {
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < columns.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(columns[i]);
+            cell.setCellStyle(styles.header);
+        }
+        return new ColumnWidths(columns);
     }
 
-    private void createCell(Row row, int column, String value, CellStyle style) {
+    private void createCell(Row row, int column, String value, CellStyle style, ColumnWidths widths) {
         Cell cell = row.createCell(column);
         cell.setCellValue(value != null ? value : "");
         cell.setCellStyle(style);
+        widths.track(column, value);
+    }
+
+    /**
+     * Estilos compartilhados por todas as células do arquivo
+     */
+    private static final class Styles {
+        final CellStyle header;
+        final CellStyle data;
+        final CellStyle date;
+        final CellStyle title;
+        final CellStyle subtitle;
+
+        Styles(Workbook workbook) {
+            header = createHeaderStyle(workbook);
+            data = createDataStyle(workbook);
+            date = createDataStyle(workbook);
+            date.setAlignment(HorizontalAlignment.CENTER);
+            title = createTitleStyle(workbook, (short) 14);
+            subtitle = createTitleStyle(workbook, (short) 12);
+        }
+    }
+
+    /**
+     * Largura das colunas pelo maior texto de cada uma (limitado a {@link #MAX_COLUMN_CHARS} caracteres)
+     */
+    private static final class ColumnWidths {
+        private final int[] maxChars;
+
+        ColumnWidths(String[] headers) {
+            maxChars = new int[headers.length];
+            for (int i = 0; i < headers.length; i++) {
+                track(i, headers[i]);
+            }
+        }
+
+        void track(int column, String value) {
+            if (value != null && value.length() > maxChars[column]) {
+                maxChars[column] = Math.min(value.length(), MAX_COLUMN_CHARS);
+            }
+        }
+
+        void apply(Sheet sheet) {
+            for (int i = 0; i < maxChars.length; i++) {
+                sheet.setColumnWidth(i, maxChars[i] * 256 + COLUMN_PADDING);
+            }
+        }
+    }
+
+    private static CellStyle createTitleStyle(Workbook workbook, short fontHeight) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setBold(true);
+        font.setFontHeightInPoints(fontHeight);
+        style.setFont(font);
+        return style;
     }
 
-    private CellStyle createHeaderStyle(Workbook workbook) {
+    private static CellStyle createHeaderStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
         Font font = workbook.createFont();
         font.setBold(true);
@@ -282,7 +333,7 @@ public class ExcelExportService {
         return style;
     }
 
-    private CellStyle createDataStyle(Workbook workbook) {
+    private static CellStyle createDataStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
         style.setBorderBottom(BorderStyle.THIN);
         style.setBorderTop(BorderStyle.THIN);
@@ -291,10 +342,4 @@ public class ExcelExportService {
         style.setVerticalAlignment(VerticalAlignment.CENTER);
         return style;
     }
-
-    private CellStyle createDateStyle(Workbook workbook) {
-        CellStyle style = createDataStyle(workbook);
-        style.setAlignment(HorizontalAlignment.CENTER);
-        return style;
-    }
 }
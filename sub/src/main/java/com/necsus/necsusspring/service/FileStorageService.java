@@ -13,6 +13,8 @@ import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class FileStorageService {
@@ -106,6 +108,38 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Reserva um caminho para um arquivo gerado pelo sistema (ex.: exportações em segundo plano)
+     * @param extension extensão do arquivo, com o ponto
+     * @return caminho ainda não criado dentro de uploads/exports
+     */
+    public Path newExportPath(String extension) {
+        try {
+            Path exportDir = uploadDir.resolve("exports");
+            Files.createDirectories(exportDir);
+            return exportDir.resolve(UUID.randomUUID().toString() + (extension != null ? extension : ""));
+        } catch (IOException e) {
+            logger.error("Erro ao criar diretório de exportações", e);
+            throw new RuntimeException("Não foi possível criar o diretório de exportações", e);
+        }
+    }
+
+    /**
+     * Arquivos gerados pelo sistema em uploads/exports
+     * @return lista vazia se o diretório ainda não existir
+     */
+    public List<Path> listExportFiles() {
+        Path exportDir = uploadDir.resolve("exports");
+        if (!Files.isDirectory(exportDir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(exportDir)) {
+            return files.filter(Files::isRegularFile).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao listar o diretório de exportações", e);
+        }
+    }
+
     public String extractFileName(String filePath) {
         if (filePath == null) {
             return null;
@@ -24,6 +24,9 @@ import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -102,24 +105,34 @@ public class GeminiService {
                     images.add(new GeminiImage(base64, mime));
                 }
             }
+            return analisarImagensVistoria(descricaoEvento, images);
 
-            String prompt = """
-                Atue como um Perito Técnico de Seguros Automotivos e Orçamentista Sênior.
-                
-                Analise as imagens anexadas deste veículo acidentado em conjunto com o relato do evento.
-                Relato do Condutor: "%s"
-                
-                Gere um RELATÓRIO TÉCNICO PRELIMINAR (em Markdown) contendo:
-                1. **Análise de Coerência**: O dano visível nas fotos condiz com o relato? (Sim/Não/Parcialmente). Explique brevemente.
-                2. **Lista de Avarias Visíveis**: Liste as peças que aparentam estar danificadas.
-                3. **Gravidade Estimada**: (Leve / Média / Alta / Possível Perda Total).
-                4. **Sugestão de Reparo**: Para cada peça principal, sugira: Recuperação, Troca ou Pintura.
-                
-                Seja direto e técnico.
-                """.formatted(descricaoEvento != null ? descricaoEvento : "Sem descrição.");
-
-            // Chama API com temperatura 0.4 (ideal para análise criativa mas técnica)
-            return callGeminiApiWithRetry(prompt, images, 0.4, false);
+        } catch (Exception e) {
+            logger.error("Erro na análise de vistoria", e);
+            return "Erro técnico ao analisar vistoria: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Mesma análise a partir das fotos já gravadas em disco, para rodar fora da requisição
+     * (o MultipartFile deixa de existir quando a requisição termina)
+     */
+    public String analisarVistoriaArquivos(String descricaoEvento, List<String> fotoPaths) {
+        logger.info("🚗 Iniciando análise de vistoria ({} fotos gravadas)...", fotoPaths != null ? fotoPaths.size() : 0);
+
+        if (fotoPaths == null || fotoPaths.isEmpty()) return "Nenhuma foto fornecida.";
+
+        try {
+            List<GeminiImage> images = new ArrayList<>();
+            for (String fotoPath : fotoPaths) {
+                Path path = Paths.get(fotoPath);
+                byte[] bytes = Files.readAllBytes(path);
+                if (bytes.length > 0) {
+                    String mime = Files.probeContentType(path);
+                    images.add(new GeminiImage(Base64.getEncoder().encodeToString(bytes), mime != null ? mime : "image/jpeg"));
+                }
+            }
+            return analisarImagensVistoria(descricaoEvento, images);
 
         } catch (Exception e) {
             logger.error("Erro na análise de vistoria", e);
@@ -127,6 +140,26 @@ public class GeminiService {
         }
     }
 
+    private String analisarImagensVistoria(String descricaoEvento, List<GeminiImage> images) {
+        String prompt = """
+            Atue como um Perito Técnico de Seguros Automotivos e Orçamentista Sênior.
+            
+            Analise as imagens anexadas deste veículo acidentado em conjunto com o relato do evento.
+            Relato do Condutor: "%s"
+            
+            Gere um RELATÓRIO TÉCNICO PRELIMINAR (em Markdown) contendo:
+            1. **Análise de Coerência**: O dano visível nas fotos condiz com o relato? (Sim/Não/Parcialmente). Explique brevemente.
+            2. **Lista de Avarias Visíveis**: Liste as peças que aparentam estar danificadas.
+            3. **Gravidade Estimada**: (Leve / Média / Alta / Possível Perda Total).
+            4. **Sugestão de Reparo**: Para cada peça principal, sugira: Recuperação, Troca ou Pintura.
+            
+            Seja direto e técnico.
+            """.formatted(descricaoEvento != null ? descricaoEvento : "Sem descrição.");
+
+        // Chama API com temperatura 0.4 (ideal para análise criativa mas técnica)
+        return callGeminiApiWithRetry(prompt, images, 0.4, false);
+    }
+
     // ==================================================================================
     // 3. ANÁLISE RAG (Mantido)
     // ==================================================================================
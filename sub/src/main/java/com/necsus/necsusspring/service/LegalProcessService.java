@@ -1,11 +1,13 @@
 package com.necsus.necsusspring.service;
 
 import com.necsus.necsusspring.dto.LegalProcessRequest;
+import com.necsus.necsusspring.event.EventBoardChangedEvent;
 import com.necsus.necsusspring.model.LegalProcess;
 import com.necsus.necsusspring.model.LegalProcessStatus;
 import com.necsus.necsusspring.model.LegalProcessType;
 import com.necsus.necsusspring.repository.LegalProcessRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +23,7 @@ import java.util.Optional;
 public class LegalProcessService {
 
     private final LegalProcessRepository legalProcessRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final Map<LegalProcessType, EnumSet<LegalProcessStatus>> STATUSES_BY_TYPE = Map.of(
             LegalProcessType.RASTREADOR, EnumSet.of(
@@ -44,8 +47,10 @@ public class LegalProcessService {
             )
     );
 
-    public LegalProcessService(LegalProcessRepository legalProcessRepository) {
+    public LegalProcessService(LegalProcessRepository legalProcessRepository,
+                               ApplicationEventPublisher eventPublisher) {
         this.legalProcessRepository = legalProcessRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -87,7 +92,9 @@ public class LegalProcessService {
         process.setSourceEventId(request.sourceEventId());
         process.setSourceEventSnapshot(request.sourceEventSnapshot());
         normalizeProcessTypeAndStatus(process, processType);
-        return legalProcessRepository.save(process);
+        LegalProcess saved = legalProcessRepository.save(process);
+        publishSourceEventChange(saved.getSourceEventId());
+        return saved;
     }
 
     public LegalProcess linkEventToProcess(LegalProcess process,
@@ -99,6 +106,7 @@ public class LegalProcessService {
         }
 
         boolean changed = false;
+        Long previousSourceEventId = process.getSourceEventId();
 
         if (sourceEventId != null && !Objects.equals(process.getSourceEventId(), sourceEventId)) {
             process.setSourceEventId(sourceEventId);
@@ -118,7 +126,12 @@ public class LegalProcessService {
             changed = true;
         }
 
-        return changed ? legalProcessRepository.save(process) : process;
+        if (!changed) {
+            return process;
+        }
+        LegalProcess saved = legalProcessRepository.save(process);
+        publishSourceEventChange(previousSourceEventId, saved.getSourceEventId());
+        return saved;
     }
 
     public LegalProcess update(Long id, LegalProcessRequest request) {
@@ -129,6 +142,7 @@ public class LegalProcessService {
         existing.setNumeroProcesso(request.numeroProcesso());
         existing.setValorCausa(request.valorCausa());
         existing.setPedidos(request.pedidos());
+        Long previousSourceEventId = existing.getSourceEventId();
         if (request.sourceEventId() != null) {
             existing.setSourceEventId(request.sourceEventId());
         }
@@ -137,12 +151,37 @@ public class LegalProcessService {
         }
         LegalProcessType newType = resolveType(request.processType());
         normalizeProcessTypeAndStatus(existing, newType);
-        return legalProcessRepository.save(existing);
+        LegalProcess saved = legalProcessRepository.save(existing);
+        if (request.sourceEventId() != null) {
+            publishSourceEventChange(previousSourceEventId, saved.getSourceEventId());
+        }
+        return saved;
     }
 
     public void delete(Long id) {
         LegalProcess existing = findById(id);
         legalProcessRepository.delete(existing);
+        publishSourceEventChange(existing.getSourceEventId());
+    }
+
+    /**
+     * Eventos vinculados a processos não aparecem no board de eventos; qualquer mudança no vínculo
+     * precisa ser propagada para que o board retire (ou devolva) o card correspondente.
+     */
+    private void publishSourceEventChange(Long sourceEventId) {
+        if (sourceEventId != null) {
+            eventPublisher.publishEvent(new EventBoardChangedEvent(sourceEventId, EventBoardChangedEvent.Type.UPDATED));
+        }
+    }
+
+    /**
+     * Vínculo trocado de um evento para outro: o anterior volta ao board e o novo sai
+     */
+    private void publishSourceEventChange(Long previousSourceEventId, Long sourceEventId) {
+        if (!Objects.equals(previousSourceEventId, sourceEventId)) {
+            publishSourceEventChange(previousSourceEventId);
+        }
+        publishSourceEventChange(sourceEventId);
     }
 
     /**
@@ -0,0 +1,103 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.event.NextDemandsChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória dos ids das "próximas demandas" de cada usuário (card do dashboard).
+ *
+ * Guarda apenas os ids na ordem do ranking; as entidades são recarregadas pela chave primária
+ * a cada acesso, então edições de título/descrição aparecem sem invalidação. A entrada do usuário
+ * é descartada após o commit de qualquer mudança que altere o ranking (NextDemandsChangedEvent)
+ * e expira após {@code ttlMillis} como proteção contra alterações feitas fora da aplicação.
+ *
+ * Cada usuário tem uma geração incrementada a cada invalidação: um carregamento que começou antes
+ * da invalidação não grava seu resultado, evitando repor no cache uma fila já desatualizada.
+ */
+@Component
+public class NextDemandsCache {
+
+    public record Stats(long hits, long misses, long invalidations, int size) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private record Key(Long userId, int limit) {
+    }
+
+    private record Entry(List<Long> ids, long loadedAt) {
+    }
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public NextDemandsCache(@Value("${app.demands.next.cache-ttl-ms:300000}") long ttlMillis,
+                            @Value("${app.demands.next.cache-max-entries:5000}") int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = Math.max(maxEntries, 1);
+    }
+
+    /**
+     * Ids em cache para o usuário e limite, ou o resultado de {@code loader} (gravado no cache)
+     */
+    public List<Long> get(Long userId, int limit, Supplier<List<Long>> loader) {
+        Key key = new Key(userId, limit);
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt() < ttlMillis) {
+            hits.incrementAndGet();
+            return entry.ids();
+        }
+
+        misses.incrementAndGet();
+        Long generation = generations.get(userId);
+        List<Long> ids = List.copyOf(loader.get());
+        if (ttlMillis > 0 && Objects.equals(generation, generations.get(userId))) {
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+            entries.put(key, new Entry(ids, now));
+        }
+        return ids;
+    }
+
+    /**
+     * Descarta as filas dos usuários somente após o commit da mudança, para que nenhuma leitura
+     * concorrente reponha no cache o estado anterior
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNextDemandsChanged(NextDemandsChangedEvent event) {
+        event.userIds().forEach(this::invalidate);
+    }
+
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        generations.merge(userId, 1L, Long::sum);
+        entries.keySet().removeIf(key -> key.userId().equals(userId));
+        invalidations.incrementAndGet();
+    }
+
+    public Stats stats() {
+        return new Stats(hits.get(), misses.get(), invalidations.get(), entries.size());
+    }
+}
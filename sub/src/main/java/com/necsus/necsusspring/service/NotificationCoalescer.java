@@ -0,0 +1,118 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.NotificationDraft;
+import com.necsus.necsusspring.model.NotificationType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agrupamento de notificações repetidas.
+ *
+ * Notificações com o mesmo destinatário, tipo e entidade relacionada criadas dentro da janela
+ * ({@code app.notifications.coalescing.window-minutes}) são somadas na notificação não lida já
+ * existente: o contador de ocorrências aumenta e título e mensagem passam a ser os mais recentes.
+ * Notificações já lidas não recebem ocorrências novas, que voltam a gerar uma linha.
+ */
+@Component
+public class NotificationCoalescer {
+
+    static final String MERGE_SQL = "UPDATE notifications SET title = ?, message = ?, " +
+            "occurrences = occurrences + ?, last_occurred_at = ? " +
+            "WHERE id = (SELECT id FROM notifications WHERE recipient_id = ? AND related_entity_id = ? " +
+            "AND related_entity_type = ? AND type = ? AND status = 'UNREAD' AND created_at >= ? " +
+            "ORDER BY created_at DESC, id DESC LIMIT 1)";
+
+    record Key(Long recipientId, NotificationType type, String relatedEntityType, Long relatedEntityId) {
+
+        static Key of(NotificationDraft draft) {
+            return new Key(draft.recipientId(), draft.type(), draft.relatedEntityType(), draft.relatedEntityId());
+        }
+    }
+
+    /**
+     * Ocorrências de uma mesma chave: a notificação mais recente e quantas foram agrupadas
+     */
+    record Group(NotificationDraft latest, int occurrences) {
+
+        Group merge(Group newer) {
+            return new Group(newer.latest(), occurrences + newer.occurrences());
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long windowMinutes;
+
+    public NotificationCoalescer(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.notifications.coalescing.window-minutes:30}") long windowMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.windowMinutes = windowMinutes;
+    }
+
+    public boolean isEnabled() {
+        return windowMinutes > 0;
+    }
+
+    /**
+     * Início da janela de agrupamento a partir de agora
+     */
+    public LocalDateTime windowStart() {
+        return LocalDateTime.now().minusMinutes(windowMinutes);
+    }
+
+    /**
+     * Só agrupa notificações ligadas a uma entidade (id e tipo)
+     */
+    public static boolean isCoalescable(NotificationDraft draft) {
+        return draft.relatedEntityId() != null && draft.relatedEntityType() != null;
+    }
+
+    /**
+     * Reúne as notificações agrupáveis de um lote por chave, na ordem da primeira ocorrência
+     */
+    static List<Group> group(List<NotificationDraft> drafts) {
+        Map<Key, Group> groups = new LinkedHashMap<>();
+        for (NotificationDraft draft : drafts) {
+            groups.merge(Key.of(draft), new Group(draft, 1), Group::merge);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Soma cada grupo na notificação não lida correspondente, em um único lote JDBC
+     *
+     * @return para cada grupo, se havia notificação para receber as ocorrências
+     */
+    boolean[] mergeIntoUnread(List<Group> groups) {
+        boolean[] merged = new boolean[groups.size()];
+        if (groups.isEmpty()) {
+            return merged;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp since = Timestamp.valueOf(windowStart());
+        int[] updated = jdbcTemplate.batchUpdate(MERGE_SQL, groups.stream()
+                .map(group -> new Object[]{
+                        group.latest().title(),
+                        group.latest().message(),
+                        group.occurrences(),
+                        now,
+                        group.latest().recipientId(),
+                        group.latest().relatedEntityId(),
+                        group.latest().relatedEntityType(),
+                        group.latest().type().name(),
+                        since})
+                .toList());
+        // Sem contagem confiável (SUCCESS_NO_INFO) o grupo vira uma linha nova: duplica, mas não perde
+        for (int i = 0; i < merged.length && i < updated.length; i++) {
+            merged[i] = updated[i] > 0;
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,255 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.NotificationDraft;
+import com.necsus.necsusspring.model.NotificationDigestFrequency;
+import com.necsus.necsusspring.model.NotificationType;
+import com.necsus.necsusspring.model.Prioridade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Resumo periódico de notificações.
+ *
+ * Usuários que optam por HOURLY ou DAILY não recebem as notificações comuns na hora: o
+ * dispatcher do outbox as retém em notification_digest_items e o NotificationDigestTask as reúne,
+ * por destinatário, em uma única notificação com a contagem e a mensagem mais recente de cada
+ * assunto. Notificações de prioridade alta ou urgente nunca são retidas.
+ */
+@Service
+public class NotificationDigestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDigestService.class);
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    static final String INSERT_ITEM_SQL = "INSERT INTO notification_digest_items " +
+            "(recipient_id, title, message, type, action_url, related_entity_id, related_entity_type, priority, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String SELECT_FREQUENCY_SQL = "SELECT digest_frequency FROM notification_preferences WHERE user_id = ?";
+
+    static final String UPSERT_FREQUENCY_SQL = "INSERT INTO notification_preferences (user_id, digest_frequency, updated_at) " +
+            "VALUES (?, ?, ?) ON CONFLICT (user_id) DO UPDATE SET digest_frequency = EXCLUDED.digest_frequency, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    static final String RECIPIENTS_DUE_SQL = "SELECT DISTINCT i.recipient_id FROM notification_digest_items i " +
+            "JOIN notification_preferences p ON p.user_id = i.recipient_id WHERE p.digest_frequency = ?";
+
+    static final String SELECT_ITEMS_SQL = "SELECT id, recipient_id, title, message, type, action_url, " +
+            "related_entity_id, related_entity_type, priority FROM notification_digest_items " +
+            "WHERE recipient_id = ? ORDER BY id LIMIT ?";
+
+    static final String DELETE_ITEMS_SQL = "DELETE FROM notification_digest_items WHERE recipient_id = ? AND id <= ?";
+
+    static final String DIGEST_TITLE = "Resumo de notificações";
+
+    record DigestItem(long id, NotificationDraft draft) {
+    }
+
+    private static final RowMapper<DigestItem> ITEM_MAPPER = (rs, rowNum) -> {
+        long relatedEntityId = rs.getLong("related_entity_id");
+        boolean hasRelatedEntity = !rs.wasNull();
+        String priority = rs.getString("priority");
+        return new DigestItem(rs.getLong("id"), new NotificationDraft(
+                rs.getLong("recipient_id"),
+                rs.getString("title"),
+                rs.getString("message"),
+                NotificationType.valueOf(rs.getString("type")),
+                rs.getString("action_url"),
+                hasRelatedEntity ? relatedEntityId : null,
+                rs.getString("related_entity_type"),
+                priority != null ? Prioridade.valueOf(priority) : null));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxItemsPerDigest;
+
+    public NotificationDigestService(JdbcTemplate jdbcTemplate,
+                                     NotificationService notificationService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.notifications.digest.max-items:500}") int maxItemsPerDigest) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxItemsPerDigest = Math.max(maxItemsPerDigest, 1);
+    }
+
+    @Transactional(readOnly = true)
+    public NotificationDigestFrequency getFrequency(Long userId) {
+        List<String> values = jdbcTemplate.queryForList(SELECT_FREQUENCY_SQL, String.class, userId);
+        return values.isEmpty() ? NotificationDigestFrequency.IMMEDIATE : NotificationDigestFrequency.valueOf(values.get(0));
+    }
+
+    /**
+     * Altera a frequência do usuário. Ao voltar para IMMEDIATE, o que estava retido é entregue na hora.
+     */
+    public void setFrequency(Long userId, NotificationDigestFrequency frequency) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.update(UPSERT_FREQUENCY_SQL, userId, frequency.name(), Timestamp.valueOf(LocalDateTime.now())));
+        if (frequency == NotificationDigestFrequency.IMMEDIATE) {
+            while (sendDigest(userId)) {
+                // Esvazia a fila em resumos de até maxItemsPerDigest notificações
+            }
+        }
+    }
+
+    /**
+     * Retém as notificações dos destinatários em modo resumo, na transação corrente
+     *
+     * @return as notificações a entregar imediatamente
+     */
+    @Transactional
+    public List<NotificationDraft> deferDigestDrafts(List<NotificationDraft> drafts) {
+        if (drafts == null || drafts.isEmpty()) {
+            return drafts;
+        }
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (NotificationDraft draft : drafts) {
+            if (!isUrgent(draft)) {
+                candidates.add(draft.recipientId());
+            }
+        }
+        Set<Long> digestRecipients = digestRecipients(candidates);
+        if (digestRecipients.isEmpty()) {
+            return drafts;
+        }
+
+        List<NotificationDraft> immediate = new ArrayList<>();
+        List<NotificationDraft> deferred = new ArrayList<>();
+        for (NotificationDraft draft : drafts) {
+            if (!isUrgent(draft) && digestRecipients.contains(draft.recipientId())) {
+                deferred.add(draft);
+            } else {
+                immediate.add(draft);
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, deferred, INSERT_BATCH_SIZE, (ps, draft) -> {
+            ps.setLong(1, draft.recipientId());
+            ps.setString(2, draft.title());
+            ps.setString(3, draft.message());
+            ps.setString(4, draft.type().name());
+            ps.setString(5, draft.actionUrl());
+            if (draft.relatedEntityId() != null) {
+                ps.setLong(6, draft.relatedEntityId());
+            } else {
+                ps.setNull(6, Types.BIGINT);
+            }
+            ps.setString(7, draft.relatedEntityType());
+            ps.setString(8, draft.priority() != null ? draft.priority().name() : null);
+            ps.setTimestamp(9, now);
+        });
+        return immediate;
+    }
+
+    /**
+     * Envia o resumo de todos os usuários com a frequência informada, cada um em sua própria transação
+     *
+     * @return quantidade de resumos enviados
+     */
+    public int sendDue(NotificationDigestFrequency frequency) {
+        List<Long> recipientIds = jdbcTemplate.queryForList(RECIPIENTS_DUE_SQL, Long.class, frequency.name());
+        int sent = 0;
+        for (Long recipientId : recipientIds) {
+            try {
+                if (sendDigest(recipientId)) {
+                    sent++;
+                }
+            } catch (RuntimeException e) {
+                logger.error("[NOTIFICATION DIGEST] Falha no resumo do usuário {}: {}", recipientId, e.getMessage(), e);
+            }
+        }
+        if (sent > 0) {
+            logger.info("[NOTIFICATION DIGEST] {} resumos {} enviados", sent, frequency);
+        }
+        return sent;
+    }
+
+    /**
+     * Reúne as notificações retidas do usuário em uma notificação e as remove da fila do resumo
+     *
+     * @return se havia algo para enviar
+     */
+    public boolean sendDigest(Long recipientId) {
+        Boolean sent = transactionTemplate.execute(status -> {
+            List<DigestItem> items = jdbcTemplate.query(SELECT_ITEMS_SQL, ITEM_MAPPER, recipientId, maxItemsPerDigest);
+            if (items.isEmpty()) {
+                return false;
+            }
+            List<NotificationDraft> drafts = new ArrayList<>(items.size());
+            for (DigestItem item : items) {
+                drafts.add(item.draft());
+            }
+            notificationService.createNotificationsBatch(List.of(buildDigest(recipientId, drafts)));
+            jdbcTemplate.update(DELETE_ITEMS_SQL, recipientId, items.get(items.size() - 1).id());
+            return true;
+        });
+        return Boolean.TRUE.equals(sent);
+    }
+
+    /**
+     * Uma linha por assunto (tipo, entidade relacionada e título) com o número de ocorrências e a mensagem mais recente
+     */
+    static NotificationDraft buildDigest(Long recipientId, List<NotificationDraft> drafts) {
+        Map<List<Object>, List<NotificationDraft>> subjects = new LinkedHashMap<>();
+        for (NotificationDraft draft : drafts) {
+            List<Object> key = draft.relatedEntityId() != null
+                    ? List.of(draft.type(), Objects.toString(draft.relatedEntityType()), draft.relatedEntityId())
+                    : List.of(draft.type(), draft.title());
+            subjects.computeIfAbsent(key, k -> new ArrayList<>()).add(draft);
+        }
+
+        StringBuilder message = new StringBuilder();
+        message.append(drafts.size()).append(drafts.size() == 1 ? " notificação" : " notificações")
+                .append(" desde o último resumo:");
+        for (List<NotificationDraft> occurrences : subjects.values()) {
+            NotificationDraft latest = occurrences.get(occurrences.size() - 1);
+            message.append("\n• ").append(latest.title());
+            if (occurrences.size() > 1) {
+                message.append(" (").append(occurrences.size()).append("x)");
+            }
+            message.append(": ").append(latest.message());
+        }
+
+        // Um único assunto leva direto a ele; vários levam à caixa de notificações
+        String actionUrl = subjects.size() == 1 ? drafts.get(drafts.size() - 1).actionUrl() : null;
+        return new NotificationDraft(recipientId, DIGEST_TITLE, message.toString(), NotificationType.INFO,
+                actionUrl != null ? actionUrl : "/notifications", null, null, null);
+    }
+
+    private Set<Long> digestRecipients(Set<Long> candidates) {
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(candidates.size(), "?"));
+        return new LinkedHashSet<>(jdbcTemplate.queryForList(
+                "SELECT user_id FROM notification_preferences WHERE digest_frequency <> 'IMMEDIATE' AND user_id IN ("
+                        + placeholders + ")", Long.class, candidates.toArray()));
+    }
+
+    private static boolean isUrgent(NotificationDraft draft) {
+        return draft.priority() == Prioridade.ALTA || draft.priority() == Prioridade.URGENTE;
+    }
+}
@@ -0,0 +1,79 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.NotificationDraft;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Lado de escrita do outbox de notificações.
+ *
+ * As notificações geradas por mudanças de domínio (status e atribuição de demandas, eventos
+ * publicados para o NotificationEventListener) são gravadas em notification_outbox na mesma
+ * transação da mudança: se ela sofrer rollback a notificação some junto, e se for confirmada
+ * a notificação não se perde mesmo que a entrega falhe. A entrega fica com o
+ * NotificationOutboxDispatcher, fora da requisição.
+ */
+@Service
+public class NotificationOutbox {
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    static final String INSERT_SQL = "INSERT INTO notification_outbox " +
+            "(event_type, recipient_id, title, message, type, action_url, related_entity_id, related_entity_type, " +
+            "priority, status, attempts, next_attempt_at, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationOutbox(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Registra uma notificação para entrega após o commit da transação corrente
+     *
+     * @param eventType evento de domínio que originou a notificação (ex.: DEMAND_STATUS_CHANGED)
+     */
+    @Transactional
+    public void enqueue(String eventType, NotificationDraft draft) {
+        enqueueAll(eventType, List.of(draft));
+    }
+
+    /**
+     * Registra várias notificações em lotes JDBC, na transação corrente
+     *
+     * @return quantidade de notificações registradas
+     */
+    @Transactional
+    public int enqueueAll(String eventType, List<NotificationDraft> drafts) {
+        if (drafts == null || drafts.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, drafts, INSERT_BATCH_SIZE, (ps, draft) -> {
+            ps.setString(1, eventType);
+            ps.setLong(2, draft.recipientId());
+            ps.setString(3, draft.title());
+            ps.setString(4, draft.message());
+            ps.setString(5, draft.type().name());
+            ps.setString(6, draft.actionUrl());
+            if (draft.relatedEntityId() != null) {
+                ps.setLong(7, draft.relatedEntityId());
+            } else {
+                ps.setNull(7, Types.BIGINT);
+            }
+            ps.setString(8, draft.relatedEntityType());
+            ps.setString(9, draft.priority() != null ? draft.priority().name() : null);
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+        return drafts.size();
+    }
+}
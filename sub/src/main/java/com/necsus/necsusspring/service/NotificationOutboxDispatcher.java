@@ -0,0 +1,250 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.NotificationDraft;
+import com.necsus.necsusspring.model.NotificationType;
+import com.necsus.necsusspring.model.Prioridade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrega as notificações gravadas no outbox (NotificationOutbox).
+ *
+ * A cada ciclo lê até {@code batchSize} linhas pendentes com FOR UPDATE SKIP LOCKED (mais de uma
+ * instância da aplicação pode rodar o dispatcher), grava as notificações em lote e remove as
+ * linhas, tudo na mesma transação. Notificações repetidas são agrupadas (NotificationCoalescer) e as
+ * de usuários em modo resumo ficam retidas para o NotificationDigestService. Se o lote falhar, as
+ * linhas são entregues uma a uma: as que falharem de novo voltam para a fila com backoff
+ * exponencial e, esgotadas as tentativas, ficam como DEAD com o último erro para análise.
+ */
+@Component
+public class NotificationOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    static final String SELECT_DUE_SQL = "SELECT id, recipient_id, title, message, type, action_url, " +
+            "related_entity_id, related_entity_type, priority, attempts FROM notification_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    static final String SELECT_ONE_SQL = "SELECT id, recipient_id, title, message, type, action_url, " +
+            "related_entity_id, related_entity_type, priority, attempts FROM notification_outbox " +
+            "WHERE id = ? AND status = 'PENDING' FOR UPDATE SKIP LOCKED";
+
+    static final String DELETE_SQL = "DELETE FROM notification_outbox WHERE id = ?";
+
+    static final String RETRY_SQL = "UPDATE notification_outbox SET attempts = ?, next_attempt_at = ?, last_error = ? " +
+            "WHERE id = ?";
+
+    static final String DEAD_SQL = "UPDATE notification_outbox SET attempts = ?, status = 'DEAD', last_error = ? " +
+            "WHERE id = ?";
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    public record Stats(long dispatched, long retried, long deadLettered, long batchFailures) {
+    }
+
+    record OutboxEntry(long id, int attempts, NotificationDraft draft) {
+    }
+
+    private static final RowMapper<OutboxEntry> ENTRY_MAPPER = (rs, rowNum) -> {
+        long relatedEntityId = rs.getLong("related_entity_id");
+        boolean hasRelatedEntity = !rs.wasNull();
+        String priority = rs.getString("priority");
+        return new OutboxEntry(
+                rs.getLong("id"),
+                rs.getInt("attempts"),
+                new NotificationDraft(
+                        rs.getLong("recipient_id"),
+                        rs.getString("title"),
+                        rs.getString("message"),
+                        NotificationType.valueOf(rs.getString("type")),
+                        rs.getString("action_url"),
+                        hasRelatedEntity ? relatedEntityId : null,
+                        rs.getString("related_entity_type"),
+                        priority != null ? Prioridade.valueOf(priority) : null));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationService notificationService;
+    private final NotificationDigestService digestService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseMillis;
+    private final long retryMaxMillis;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong batchFailures = new AtomicLong();
+
+    public NotificationOutboxDispatcher(JdbcTemplate jdbcTemplate,
+                                        NotificationService notificationService,
+                                        NotificationDigestService digestService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.notifications.outbox.batch-size:200}") int batchSize,
+                                        @Value("${app.notifications.outbox.max-attempts:8}") int maxAttempts,
+                                        @Value("${app.notifications.outbox.retry-base-ms:5000}") long retryBaseMillis,
+                                        @Value("${app.notifications.outbox.retry-max-ms:600000}") long retryMaxMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationService = notificationService;
+        this.digestService = digestService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.retryBaseMillis = Math.max(retryBaseMillis, 0);
+        this.retryMaxMillis = Math.max(retryMaxMillis, this.retryBaseMillis);
+    }
+
+    /**
+     * Esvazia a fila em lotes enquanto houver linhas vencidas. Execuções concorrentes são ignoradas.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.poll-interval-ms:1000}")
+    public void dispatchPending() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int processed;
+            do {
+                processed = dispatchBatch();
+            } while (processed >= batchSize);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Entrega um lote de linhas vencidas
+     * @return quantidade de linhas lidas do outbox
+     */
+    int dispatchBatch() {
+        List<OutboxEntry> loaded = new ArrayList<>();
+        Integer delivered;
+        try {
+            delivered = transactionTemplate.execute(status -> {
+                List<OutboxEntry> entries = jdbcTemplate.query(SELECT_DUE_SQL, ENTRY_MAPPER,
+                        Timestamp.valueOf(LocalDateTime.now()), batchSize);
+                if (entries.isEmpty()) {
+                    return 0;
+                }
+                loaded.addAll(entries);
+                deliver(drafts(entries));
+                jdbcTemplate.batchUpdate(DELETE_SQL, ids(entries));
+                return entries.size();
+            });
+        } catch (RuntimeException e) {
+            // O lote inteiro voltou para a fila; uma linha inválida não pode bloquear as demais
+            batchFailures.incrementAndGet();
+            logger.warn("[NOTIFICATION OUTBOX] Falha no lote de {} notificações, entregando uma a uma: {}",
+                    loaded.size(), e.getMessage());
+            for (OutboxEntry entry : loaded) {
+                dispatchOne(entry.id());
+            }
+            return loaded.size();
+        }
+
+        int count = delivered != null ? delivered : 0;
+        if (count > 0) {
+            dispatched.addAndGet(count);
+            logger.debug("[NOTIFICATION OUTBOX] {} notificações entregues", count);
+        }
+        return count;
+    }
+
+    private void dispatchOne(long id) {
+        try {
+            Boolean delivered = transactionTemplate.execute(status -> {
+                List<OutboxEntry> entries = jdbcTemplate.query(SELECT_ONE_SQL, ENTRY_MAPPER, id);
+                if (entries.isEmpty()) {
+                    // Entregue ou travada por outra instância
+                    return false;
+                }
+                deliver(drafts(entries));
+                jdbcTemplate.update(DELETE_SQL, id);
+                return true;
+            });
+            if (Boolean.TRUE.equals(delivered)) {
+                dispatched.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            recordFailure(id, e);
+        }
+    }
+
+    private void recordFailure(long id, RuntimeException error) {
+        String message = truncate(error.getMessage());
+        transactionTemplate.executeWithoutResult(status -> {
+            List<OutboxEntry> entries = jdbcTemplate.query(SELECT_ONE_SQL, ENTRY_MAPPER, id);
+            if (entries.isEmpty()) {
+                return;
+            }
+            int attempts = entries.get(0).attempts() + 1;
+            if (attempts >= maxAttempts) {
+                jdbcTemplate.update(DEAD_SQL, attempts, message, id);
+                deadLettered.incrementAndGet();
+                logger.error("[NOTIFICATION OUTBOX] Notificação {} descartada após {} tentativas: {}", id, attempts, message);
+            } else {
+                jdbcTemplate.update(RETRY_SQL, attempts,
+                        Timestamp.valueOf(LocalDateTime.now().plusNanos(backoffMillis(attempts) * 1_000_000L)), message, id);
+                retried.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Espera antes da próxima tentativa: base * 2^(tentativas - 1), limitada a retryMaxMillis
+     */
+    long backoffMillis(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(retryBaseMillis * (1L << exponent), retryMaxMillis);
+    }
+
+    /**
+     * Retém as notificações de quem está em modo resumo e grava as demais, agrupando as repetidas
+     */
+    private void deliver(List<NotificationDraft> drafts) {
+        notificationService.createNotificationsCoalesced(digestService.deferDigestDrafts(drafts));
+    }
+
+    public Stats stats() {
+        return new Stats(dispatched.get(), retried.get(), deadLettered.get(), batchFailures.get());
+    }
+
+    private static List<NotificationDraft> drafts(List<OutboxEntry> entries) {
+        List<NotificationDraft> drafts = new ArrayList<>(entries.size());
+        for (OutboxEntry entry : entries) {
+            drafts.add(entry.draft());
+        }
+        return drafts;
+    }
+
+    private static List<Object[]> ids(List<OutboxEntry> entries) {
+        List<Object[]> ids = new ArrayList<>(entries.size());
+        for (OutboxEntry entry : entries) {
+            ids.add(new Object[]{entry.id()});
+        }
+        return ids;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
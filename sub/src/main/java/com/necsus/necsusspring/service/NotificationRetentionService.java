@@ -0,0 +1,271 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.model.NotificationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retenção das notificações: arquiva as lidas antigas e expurga as arquivadas antigas.
+ *
+ * Cada tipo de notificação tem sua política (dias até arquivar, contados da leitura, e dias até
+ * expurgar, contados da criação). O trabalho é feito em blocos de {@code chunkSize} linhas
+ * consecutivas por id: a consulta de ids usa o índice (type, status) e a alteração atinge só o
+ * intervalo de ids do bloco, cada bloco em sua própria transação e com uma pausa entre blocos,
+ * para não travar grandes partes de notifications.
+ *
+ * No modo ARCHIVE_TABLE o expurgo move as linhas para notifications_archive (particionada por mês
+ * de criação; a partição do mês é criada quando necessário) em vez de apagá-las. No modo dry-run
+ * nada é alterado: apenas as quantidades que seriam processadas são contadas e registradas.
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    public enum PurgeMode {
+        DELETE, ARCHIVE_TABLE
+    }
+
+    /**
+     * Dias até arquivar e até expurgar; zero ou negativo desliga a etapa para o tipo
+     */
+    public record Policy(NotificationType type, int archiveAfterDays, int purgeAfterDays) {
+    }
+
+    public record Result(NotificationType type, int archived, int purged, boolean dryRun) {
+    }
+
+    public record Stats(long runs, long archived, long purged, long chunks, LocalDateTime lastRunAt, long lastRunMillis) {
+    }
+
+    static final String SELECT_READ_SQL = "SELECT id FROM notifications WHERE type = ? AND status = 'READ' " +
+            "AND read_at < ? AND id > ? ORDER BY id LIMIT ?";
+
+    static final String ARCHIVE_RANGE_SQL = "UPDATE notifications SET status = 'ARCHIVED' WHERE id BETWEEN ? AND ? " +
+            "AND type = ? AND status = 'READ' AND read_at < ?";
+
+    static final String SELECT_ARCHIVED_SQL = "SELECT id FROM notifications WHERE type = ? AND status = 'ARCHIVED' " +
+            "AND created_at < ? AND id > ? ORDER BY id LIMIT ?";
+
+    static final String DELETE_RANGE_SQL = "DELETE FROM notifications WHERE id BETWEEN ? AND ? " +
+            "AND type = ? AND status = 'ARCHIVED' AND created_at < ?";
+
+    static final String MONTHS_IN_RANGE_SQL = "SELECT DISTINCT CAST(date_trunc('month', created_at) AS date) " +
+            "FROM notifications WHERE id BETWEEN ? AND ? AND type = ? AND status = 'ARCHIVED' AND created_at < ?";
+
+    static final String MOVE_RANGE_SQL = "WITH moved AS (" +
+            "DELETE FROM notifications WHERE id BETWEEN ? AND ? AND type = ? AND status = 'ARCHIVED' AND created_at < ? " +
+            "RETURNING id, recipient_id, title, message, type, status, created_at, read_at, action_url, " +
+            "related_entity_id, related_entity_type, priority, occurrences, last_occurred_at) " +
+            "INSERT INTO notifications_archive (id, recipient_id, title, message, type, status, created_at, read_at, " +
+            "action_url, related_entity_id, related_entity_type, priority, occurrences, last_occurred_at) " +
+            "SELECT id, recipient_id, title, message, type, status, created_at, read_at, action_url, " +
+            "related_entity_id, related_entity_type, priority, occurrences, last_occurred_at FROM moved";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<NotificationType, Policy> policies;
+    private final PurgeMode purgeMode;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final boolean dryRun;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Set<String> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong archivedTotal = new AtomicLong();
+    private final AtomicLong purgedTotal = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMillis;
+
+    public NotificationRetentionService(JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.notifications.retention.archive-after-days:30}") int archiveAfterDays,
+                                        @Value("${app.notifications.retention.purge-after-days:90}") int purgeAfterDays,
+                                        @Value("${app.notifications.retention.type-policies:}") String typePolicies,
+                                        @Value("${app.notifications.retention.purge-mode:DELETE}") PurgeMode purgeMode,
+                                        @Value("${app.notifications.retention.chunk-size:1000}") int chunkSize,
+                                        @Value("${app.notifications.retention.pause-ms:200}") long pauseMillis,
+                                        @Value("${app.notifications.retention.dry-run:false}") boolean dryRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.policies = parsePolicies(archiveAfterDays, purgeAfterDays, typePolicies);
+        this.purgeMode = purgeMode;
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.pauseMillis = Math.max(pauseMillis, 0);
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * Aplica a política de todos os tipos. Execuções concorrentes são ignoradas.
+     */
+    public List<Result> runAll() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("[NOTIFICATION RETENTION] Retenção já em andamento, execução ignorada");
+            return List.of();
+        }
+        long started = System.currentTimeMillis();
+        try {
+            List<Result> results = new ArrayList<>();
+            for (Policy policy : policies.values()) {
+                Result result = apply(policy);
+                results.add(result);
+                if (result.archived() > 0 || result.purged() > 0) {
+                    logger.info("[NOTIFICATION RETENTION] {}{}: {} arquivadas, {} {}", result.dryRun() ? "(dry-run) " : "",
+                            policy.type(), result.archived(), result.purged(),
+                            purgeMode == PurgeMode.ARCHIVE_TABLE ? "movidas para notifications_archive" : "removidas");
+                }
+            }
+            runs.incrementAndGet();
+            return results;
+        } finally {
+            lastRunAt = LocalDateTime.now();
+            lastRunMillis = System.currentTimeMillis() - started;
+            running.set(false);
+        }
+    }
+
+    public Result apply(Policy policy) {
+        LocalDateTime now = LocalDateTime.now();
+        int archived = policy.archiveAfterDays() > 0
+                ? processChunks(SELECT_READ_SQL, policy.type(), now.minusDays(policy.archiveAfterDays()), this::archiveRange)
+                : 0;
+        int purged = policy.purgeAfterDays() > 0
+                ? processChunks(SELECT_ARCHIVED_SQL, policy.type(), now.minusDays(policy.purgeAfterDays()), this::purgeRange)
+                : 0;
+        if (!dryRun) {
+            archivedTotal.addAndGet(archived);
+            purgedTotal.addAndGet(purged);
+        }
+        return new Result(policy.type(), archived, purged, dryRun);
+    }
+
+    public Map<NotificationType, Policy> policies() {
+        return Collections.unmodifiableMap(policies);
+    }
+
+    public Stats stats() {
+        return new Stats(runs.get(), archivedTotal.get(), purgedTotal.get(), chunks.get(), lastRunAt, lastRunMillis);
+    }
+
+    @FunctionalInterface
+    private interface RangeAction {
+        int apply(long firstId, long lastId, NotificationType type, Timestamp cutoff);
+    }
+
+    /**
+     * Percorre as linhas elegíveis em blocos por id e aplica a ação a cada intervalo
+     * @return linhas processadas (ou que seriam processadas, no dry-run)
+     */
+    private int processChunks(String selectSql, NotificationType type, LocalDateTime cutoff, RangeAction action) {
+        Timestamp cutoffTs = Timestamp.valueOf(cutoff);
+        int processed = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(selectSql, Long.class, type.name(), cutoffTs, afterId, chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            long firstId = ids.get(0);
+            long lastId = ids.get(ids.size() - 1);
+            if (dryRun) {
+                processed += ids.size();
+            } else {
+                Integer affected = transactionTemplate.execute(status -> action.apply(firstId, lastId, type, cutoffTs));
+                processed += affected != null ? affected : 0;
+                chunks.incrementAndGet();
+            }
+            afterId = lastId;
+            if (ids.size() < chunkSize) {
+                break;
+            }
+            pause();
+        }
+        return processed;
+    }
+
+    private int archiveRange(long firstId, long lastId, NotificationType type, Timestamp cutoff) {
+        return jdbcTemplate.update(ARCHIVE_RANGE_SQL, firstId, lastId, type.name(), cutoff);
+    }
+
+    private int purgeRange(long firstId, long lastId, NotificationType type, Timestamp cutoff) {
+        if (purgeMode == PurgeMode.DELETE) {
+            return jdbcTemplate.update(DELETE_RANGE_SQL, firstId, lastId, type.name(), cutoff);
+        }
+        for (LocalDate month : jdbcTemplate.queryForList(MONTHS_IN_RANGE_SQL, LocalDate.class,
+                firstId, lastId, type.name(), cutoff)) {
+            ensureArchivePartition(month);
+        }
+        return jdbcTemplate.update(MOVE_RANGE_SQL, firstId, lastId, type.name(), cutoff);
+    }
+
+    private void ensureArchivePartition(LocalDate month) {
+        LocalDate start = month.withDayOfMonth(1);
+        String partition = "notifications_archive_" + start.format(PARTITION_SUFFIX);
+        if (knownPartitions.contains(partition)) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF notifications_archive " +
+                "FOR VALUES FROM ('" + start + "') TO ('" + start.plusMonths(1) + "')");
+        knownPartitions.add(partition);
+    }
+
+    private void pause() {
+        if (pauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Política padrão para todos os tipos, sobrescrita por "TIPO:dias-arquivar:dias-expurgar"
+     * separados por vírgula (ex.: "COMUNICADO:15:60,ALERT:60:365")
+     */
+    static Map<NotificationType, Policy> parsePolicies(int archiveAfterDays, int purgeAfterDays, String typePolicies) {
+        Map<NotificationType, Policy> policies = new EnumMap<>(NotificationType.class);
+        for (NotificationType type : NotificationType.values()) {
+            policies.put(type, new Policy(type, archiveAfterDays, purgeAfterDays));
+        }
+        if (typePolicies == null || typePolicies.isBlank()) {
+            return policies;
+        }
+        for (String entry : typePolicies.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Política de retenção inválida: " + entry.trim());
+            }
+            NotificationType type = NotificationType.valueOf(parts[0].trim().toUpperCase());
+            policies.put(type, new Policy(type, Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim())));
+        }
+        return policies;
+    }
+}
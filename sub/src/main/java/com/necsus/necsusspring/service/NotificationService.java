@@ -1,16 +1,39 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.dto.BroadcastAudience;
+import com.necsus.necsusspring.dto.NotificationCursor;
+import com.necsus.necsusspring.dto.NotificationDraft;
+import com.necsus.necsusspring.dto.NotificationItem;
+import com.necsus.necsusspring.dto.NotificationPage;
+import com.necsus.necsusspring.event.NotificationsCoalescedEvent;
+import com.necsus.necsusspring.event.UnreadCountChangedEvent;
 import com.necsus.necsusspring.model.*;
 import com.necsus.necsusspring.repository.NotificationRepository;
+import com.necsus.necsusspring.repository.UserAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntConsumer;
 
 /**
  * Service para gerenciar notificações do sistema.
@@ -20,10 +43,44 @@ import java.util.Optional;
 @Service
 public class NotificationService {
 
-    private final NotificationRepository notificationRepository;
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    static final int BROADCAST_CHUNK_SIZE = 2000;
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static final int APPROXIMATE_TOTAL_CAP = 1000;
 
-    public NotificationService(NotificationRepository notificationRepository) {
+    private static final String INSERT_SQL = "INSERT INTO notifications " +
+            "(recipient_id, title, message, type, status, created_at, action_url, related_entity_id, related_entity_type, priority) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final NotificationRepository notificationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final UnreadNotificationCounter unreadCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserAccountRepository userAccountRepository;
+    private final TransactionTemplate broadcastTransaction;
+    private final NotificationCoalescer coalescer;
+
+    public NotificationService(NotificationRepository notificationRepository,
+                               JdbcTemplate jdbcTemplate,
+                               UnreadNotificationCounter unreadCounter,
+                               ApplicationEventPublisher eventPublisher,
+                               UserAccountRepository userAccountRepository,
+                               PlatformTransactionManager transactionManager,
+                               NotificationCoalescer coalescer) {
         this.notificationRepository = notificationRepository;
+        this.coalescer = coalescer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.unreadCounter = unreadCounter;
+        this.eventPublisher = eventPublisher;
+        this.userAccountRepository = userAccountRepository;
+        // Cada bloco do broadcast confirma sozinho, mesmo se chamado dentro de outra transação
+        this.broadcastTransaction = new TransactionTemplate(transactionManager);
+        this.broadcastTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     /**
@@ -40,7 +97,9 @@ public class NotificationService {
                 .status(NotificationStatus.UNREAD)
                 .build();
 
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        publishUnreadDelta(recipient, 1);
+        return saved;
     }
 
     /**
@@ -63,7 +122,177 @@ public class NotificationService {
                 .priority(priority)
                 .build();
 
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        publishUnreadDelta(recipient, 1);
+        return saved;
+    }
+
+    /**
+     * Cria a notificação ou, se houver uma não lida equivalente (mesmo tipo e entidade relacionada)
+     * dentro da janela de agrupamento, soma uma ocorrência nela com o título e a mensagem novos
+     */
+    @Transactional
+    public Notification createOrCoalesceNotification(UserAccount recipient, String title, String message,
+                                                     NotificationType type, String actionUrl,
+                                                     Long relatedEntityId, String relatedEntityType,
+                                                     Prioridade priority) {
+        if (coalescer.isEnabled() && relatedEntityId != null && relatedEntityType != null) {
+            List<Notification> existing = notificationRepository.findCoalescibleUnread(recipient.getId(), type,
+                    relatedEntityType, relatedEntityId, coalescer.windowStart(), PageRequest.of(0, 1));
+            if (!existing.isEmpty()) {
+                LocalDateTime since = LocalDateTime.now();
+                Notification notification = existing.get(0);
+                notification.coalesce(title, message);
+                Notification saved = notificationRepository.save(notification);
+                eventPublisher.publishEvent(new NotificationsCoalescedEvent(recipient.getId(), since));
+                return saved;
+            }
+        }
+        return createNotification(recipient, title, message, type, actionUrl, relatedEntityId, relatedEntityType, priority);
+    }
+
+    /**
+     * Igual a {@link #createNotificationsBatch}, mas agrupando as notificações repetidas
+     * (NotificationCoalescer): primeiro dentro do próprio lote, depois nas notificações não lidas
+     * da janela. Só as que não tinham onde ser agrupadas viram linhas novas.
+     *
+     * @return quantidade de notificações novas gravadas
+     */
+    @Transactional
+    public int createNotificationsCoalesced(List<NotificationDraft> drafts) {
+        if (drafts == null || drafts.isEmpty()) {
+            return 0;
+        }
+        if (!coalescer.isEnabled()) {
+            return createNotificationsBatch(drafts);
+        }
+
+        List<NotificationDraft> inserts = new ArrayList<>();
+        List<NotificationDraft> coalescable = new ArrayList<>();
+        for (NotificationDraft draft : drafts) {
+            if (NotificationCoalescer.isCoalescable(draft)) {
+                coalescable.add(draft);
+            } else {
+                inserts.add(draft);
+            }
+        }
+
+        List<NotificationCoalescer.Group> groups = NotificationCoalescer.group(coalescable);
+        LocalDateTime mergedSince = LocalDateTime.now();
+        boolean[] merged = coalescer.mergeIntoUnread(groups);
+        List<NotificationCoalescer.Group> repeated = new ArrayList<>();
+        Set<Long> mergedRecipients = new LinkedHashSet<>();
+        for (int i = 0; i < groups.size(); i++) {
+            NotificationCoalescer.Group group = groups.get(i);
+            if (merged[i]) {
+                mergedRecipients.add(group.latest().recipientId());
+            } else {
+                inserts.add(group.latest());
+                if (group.occurrences() > 1) {
+                    repeated.add(new NotificationCoalescer.Group(group.latest(), group.occurrences() - 1));
+                }
+            }
+        }
+
+        int created = createNotificationsBatch(inserts);
+        // Repetições do próprio lote sem notificação anterior: somadas à linha que acabou de ser criada
+        coalescer.mergeIntoUnread(repeated);
+        // Linhas já existentes alteradas no lugar: o canal SSE reenvia o estado novo delas
+        mergedRecipients.forEach(recipientId ->
+                eventPublisher.publishEvent(new NotificationsCoalescedEvent(recipientId, mergedSince)));
+        if (created < drafts.size()) {
+            logger.debug("[NOTIFICATION COALESCING] {} notificações agrupadas em {} novas", drafts.size(), created);
+        }
+        return created;
+    }
+
+    /**
+     * Grava várias notificações em lotes JDBC, sem carregar os destinatários nem passar pelo
+     * contexto de persistência. Participa da transação corrente.
+     *
+     * @return quantidade de notificações gravadas
+     */
+    @Transactional
+    public int createNotificationsBatch(List<NotificationDraft> drafts) {
+        if (drafts == null || drafts.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, drafts, INSERT_BATCH_SIZE, (ps, draft) -> {
+            ps.setLong(1, draft.recipientId());
+            ps.setString(2, draft.title());
+            ps.setString(3, draft.message());
+            ps.setString(4, draft.type().name());
+            ps.setString(5, NotificationStatus.UNREAD.name());
+            ps.setTimestamp(6, now);
+            ps.setString(7, draft.actionUrl());
+            if (draft.relatedEntityId() != null) {
+                ps.setLong(8, draft.relatedEntityId());
+            } else {
+                ps.setNull(8, Types.BIGINT);
+            }
+            ps.setString(9, draft.relatedEntityType());
+            ps.setString(10, draft.priority() != null ? draft.priority().name() : null);
+        });
+
+        Map<Long, Long> perRecipient = new HashMap<>();
+        for (NotificationDraft draft : drafts) {
+            perRecipient.merge(draft.recipientId(), 1L, Long::sum);
+        }
+        perRecipient.forEach((recipientId, count) ->
+                eventPublisher.publishEvent(UnreadCountChangedEvent.delta(recipientId, count)));
+        return drafts.size();
+    }
+
+    /**
+     * Envia a mesma notificação para todos os usuários ativos ou para os usuários ativos de alguns roles
+     *
+     * @return quantidade de notificações gravadas
+     */
+    public int broadcast(BroadcastAudience audience, String title, String message, NotificationType type,
+                         String actionUrl, Long relatedEntityId, String relatedEntityType, Prioridade priority) {
+        return broadcast(audience, new NotificationDraft(null, title, message, type, actionUrl,
+                relatedEntityId, relatedEntityType, priority), null);
+    }
+
+    /**
+     * Notificação em massa. Os destinatários vêm de uma única consulta que traz só os ids; a gravação
+     * é feita em blocos de {@code BROADCAST_CHUNK_SIZE} destinatários, cada bloco em lotes JDBC e em
+     * sua própria transação, para que dezenas de milhares de destinatários não virem uma transação só.
+     * Por isso não deve ser chamado de dentro de uma transação que ainda pode sofrer rollback:
+     * os blocos já gravados permanecem.
+     *
+     * @param template notificação a enviar (o destinatário é ignorado)
+     * @param progress recebe o total de notificações já gravadas ao fim de cada bloco (opcional)
+     * @return quantidade de notificações gravadas
+     */
+    public int broadcast(BroadcastAudience audience, NotificationDraft template, IntConsumer progress) {
+        List<Long> recipientIds = audience.isAllUsers()
+                ? userAccountRepository.findActiveIds()
+                : userAccountRepository.findActiveIdsByRoleIn(audience.roleCodes());
+        if (recipientIds.isEmpty()) {
+            return 0;
+        }
+
+        int created = 0;
+        for (int start = 0; start < recipientIds.size(); start += BROADCAST_CHUNK_SIZE) {
+            List<Long> chunk = recipientIds.subList(start, Math.min(start + BROADCAST_CHUNK_SIZE, recipientIds.size()));
+            List<NotificationDraft> drafts = new ArrayList<>(chunk.size());
+            for (Long recipientId : chunk) {
+                drafts.add(template.withRecipient(recipientId));
+            }
+            Integer inserted = broadcastTransaction.execute(status -> createNotificationsBatch(drafts));
+            created += inserted != null ? inserted : 0;
+            if (progress != null) {
+                progress.accept(created);
+            }
+            logger.debug("[NOTIFICATION BROADCAST] {}/{} notificações gravadas", created, recipientIds.size());
+        }
+
+        logger.info("[NOTIFICATION BROADCAST] \"{}\" enviada para {} usuários ({})", template.title(), created,
+                audience.isAllUsers() ? "todos" : String.join(", ", audience.roleCodes()));
+        return created;
     }
 
     /**
@@ -90,6 +319,14 @@ public class NotificationService {
         return notificationRepository.countByRecipient(recipient);
     }
 
+    /**
+     * Conta as notificações de um usuário até APPROXIMATE_TOTAL_CAP + 1; acima do teto o total é só um limite inferior
+     */
+    @Transactional(readOnly = true)
+    public long countAllCapped(Long recipientId) {
+        return notificationRepository.countByRecipientIdCapped(recipientId, APPROXIMATE_TOTAL_CAP + 1);
+    }
+
     /**
      * Busca notificações de um usuário com paginação
      */
@@ -98,6 +335,41 @@ public class NotificationService {
         return notificationRepository.findByRecipientOrderByCreatedAtDesc(recipient, pageable);
     }
 
+    /**
+     * Página de notificações por keyset (mais recentes primeiro), a partir do cursor {@code before}
+     * (nulo para a primeira página) e opcionalmente restrita a um status.
+     *
+     * Não executa COUNT por padrão. Com {@code includeTotal}, o total de não lidas vem do contador
+     * em memória e os demais são contados até APPROXIMATE_TOTAL_CAP linhas (totalCapped indica o teto).
+     */
+    @Transactional(readOnly = true)
+    public NotificationPage findPage(Long recipientId, NotificationStatus status, NotificationCursor before,
+                                     int limit, boolean includeTotal) {
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        NotificationCursor cursor = before != null ? before : NotificationCursor.FIRST;
+        // Uma linha a mais indica se existe próxima página, sem precisar contar
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<NotificationItem> rows = status == null
+                ? notificationRepository.findItemsBefore(recipientId, cursor.createdAt(), cursor.id(), pageable)
+                : notificationRepository.findItemsByStatusBefore(recipientId, status, cursor.createdAt(), cursor.id(), pageable);
+
+        boolean hasMore = rows.size() > size;
+        List<NotificationItem> items = hasMore ? List.copyOf(rows.subList(0, size)) : rows;
+        String nextCursor = hasMore ? NotificationCursor.of(items.get(items.size() - 1)).encode() : null;
+
+        if (!includeTotal) {
+            return new NotificationPage(items, nextCursor, null, false);
+        }
+        if (status == NotificationStatus.UNREAD) {
+            return new NotificationPage(items, nextCursor, countUnread(recipientId), false);
+        }
+        long counted = status == null
+                ? countAllCapped(recipientId)
+                : notificationRepository.countByRecipientIdAndStatusCapped(recipientId, status.name(), APPROXIMATE_TOTAL_CAP + 1);
+        boolean capped = counted > APPROXIMATE_TOTAL_CAP;
+        return new NotificationPage(items, nextCursor, capped ? (long) APPROXIMATE_TOTAL_CAP : counted, capped);
+    }
+
     /**
      * Busca notificações não lidas de um usuário
      */
@@ -184,11 +456,15 @@ public class NotificationService {
     }
 
     /**
-     * Conta notificações não lidas de um usuário
+     * Conta notificações não lidas de um usuário, pelo contador em memória
+     * (o banco só é consultado no primeiro acesso e na reconciliação periódica)
      */
-    @Transactional(readOnly = true)
     public long countUnread(UserAccount recipient) {
-        return notificationRepository.countUnreadByRecipient(recipient);
+        return countUnread(recipient.getId());
+    }
+
+    public long countUnread(Long recipientId) {
+        return unreadCounter.get(recipientId);
     }
 
     /**
@@ -207,8 +483,13 @@ public class NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notificação não encontrada com id " + notificationId));
 
+        boolean wasUnread = notification.getStatus() == NotificationStatus.UNREAD;
         notification.markAsRead();
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        if (wasUnread) {
+            publishUnreadDelta(notification.getRecipient(), -1);
+        }
+        return saved;
     }
 
     /**
@@ -219,8 +500,13 @@ public class NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notificação não encontrada com id " + notificationId));
 
+        boolean wasUnread = notification.getStatus() == NotificationStatus.UNREAD;
         notification.markAsUnread();
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        if (!wasUnread) {
+            publishUnreadDelta(notification.getRecipient(), 1);
+        }
+        return saved;
     }
 
     /**
@@ -228,7 +514,9 @@ public class NotificationService {
      */
     @Transactional
     public int markAllAsRead(UserAccount recipient) {
-        return notificationRepository.markAllAsReadForRecipient(recipient, LocalDateTime.now());
+        int updated = notificationRepository.markAllAsReadForRecipient(recipient, LocalDateTime.now());
+        eventPublisher.publishEvent(UnreadCountChangedEvent.reset(recipient.getId()));
+        return updated;
     }
 
     /**
@@ -239,8 +527,13 @@ public class NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notificação não encontrada com id " + notificationId));
 
+        boolean wasUnread = notification.getStatus() == NotificationStatus.UNREAD;
         notification.archive();
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        if (wasUnread) {
+            publishUnreadDelta(notification.getRecipient(), -1);
+        }
+        return saved;
     }
 
     /**
@@ -248,15 +541,18 @@ public class NotificationService {
      */
     @Transactional
     public void deleteNotification(Long notificationId) {
-        if (notificationRepository.existsById(notificationId)) {
-            notificationRepository.deleteById(notificationId);
-        } else {
-            throw new RuntimeException("Notificação não encontrada com id " + notificationId);
+        Notification notification = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new RuntimeException("Notificação não encontrada com id " + notificationId));
+
+        notificationRepository.delete(notification);
+        if (notification.getStatus() == NotificationStatus.UNREAD) {
+            publishUnreadDelta(notification.getRecipient(), -1);
         }
     }
 
     /**
-     * Arquiva notificações lidas antigas (mais de 30 dias)
+     * Arquiva notificações lidas antigas (mais de 30 dias) em um único UPDATE.
+     * A rotina agendada, em blocos e com política por tipo, é o NotificationRetentionService.
      */
     @Transactional
     public int archiveOldReadNotifications() {
@@ -265,7 +561,8 @@ public class NotificationService {
     }
 
     /**
-     * Deleta notificações arquivadas antigas (mais de 90 dias)
+     * Deleta notificações arquivadas antigas (mais de 90 dias) em um único DELETE.
+     * A rotina agendada, em blocos e com política por tipo, é o NotificationRetentionService.
      */
     @Transactional
     public int deleteOldArchivedNotifications() {
@@ -281,6 +578,15 @@ public class NotificationService {
         return notificationRepository.findByRelatedEntityTypeAndRelatedEntityId(entityType, entityId);
     }
 
+    /**
+     * Ajusta o contador de não lidas do destinatário após o commit
+     */
+    private void publishUnreadDelta(UserAccount recipient, long delta) {
+        if (recipient != null && recipient.getId() != null) {
+            eventPublisher.publishEvent(UnreadCountChangedEvent.delta(recipient.getId(), delta));
+        }
+    }
+
     // ========== Métodos auxiliares para criar notificações específicas ==========
 
     /**
@@ -301,11 +607,11 @@ public class NotificationService {
     }
 
     /**
-     * Cria notificação para atualização de evento
+     * Cria notificação para atualização de evento (atualizações seguidas do mesmo evento são agrupadas)
      */
     @Transactional
     public Notification notifyEventUpdate(UserAccount recipient, Long eventId, String updateDetails) {
-        return createNotification(
+        return createOrCoalesceNotification(
                 recipient,
                 "Evento Atualizado",
                 "O evento foi atualizado: " + updateDetails,
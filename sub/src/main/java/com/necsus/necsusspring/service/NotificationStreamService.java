@@ -0,0 +1,302 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.config.AsyncExecutors;
+import com.necsus.necsusspring.config.InstrumentedExecutor;
+import com.necsus.necsusspring.dto.NotificationItem;
+import com.necsus.necsusspring.event.NotificationsCoalescedEvent;
+import com.necsus.necsusspring.event.UnreadCountChangedEvent;
+import com.necsus.necsusspring.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Canal SSE de notificações por usuário (/notifications/stream).
+ *
+ * Cada notificação nova chega ao cliente como evento "notification" (JSON, com o id da notificação
+ * como id do evento), seguido do contador de não lidas em "unread-count". O gatilho é o
+ * UnreadCountChangedEvent publicado pelo NotificationService, tratado somente após o commit.
+ * Notificações já enviadas que recebem ocorrências agrupadas (NotificationsCoalescedEvent) são
+ * reenviadas com o estado novo como "notification-updated", sem id de evento: o cursor de
+ * retomada continua sendo o id da última notificação nova.
+ *
+ * Cada assinante guarda o id da última notificação enviada; o envio busca no banco o que veio
+ * depois dele. Na reconexão o navegador manda o Last-Event-ID e recebe o que perdeu; se o atraso
+ * passar de {@code MAX_CATCH_UP} notificações o cliente recebe "resync" e recarrega a lista.
+ *
+ * Como nos boards, as conexões são requisições assíncronas do servlet (um assinante ocioso não
+ * ocupa thread do Tomcat) e os envios acontecem no pool nomeado notification-stream
+ * (AsyncExecutors), com fila limitada e métricas em /admin/async-executors. Com a fila cheia o
+ * envio é descartado e contado como rejeição; o próximo envio ao assinante recupera o que faltou
+ * a partir do cursor.
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+    public static final String RESYNC_EVENT = "resync";
+    public static final String NOTIFICATION_UPDATED_EVENT = "notification-updated";
+
+    static final int CATCH_UP_PAGE_SIZE = 100;
+    static final int MAX_CATCH_UP = 500;
+
+    /**
+     * Conexão de um destinatário; {@code cursor} é o id da última notificação enviada (-1 enquanto
+     * a posição inicial não foi definida). Envios para o mesmo assinante são serializados nele.
+     */
+    static final class Subscriber {
+        final SseEmitter emitter;
+        long cursor = -1;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final long timeoutMs;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final InstrumentedExecutor executor;
+
+    public NotificationStreamService(NotificationRepository notificationRepository,
+                                     UnreadNotificationCounter unreadCounter,
+                                     AsyncExecutors asyncExecutors,
+                                     @Value("${app.notifications.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.notificationRepository = notificationRepository;
+        this.unreadCounter = unreadCounter;
+        this.executor = asyncExecutors.notificationStream();
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Registra uma conexão do destinatário
+     *
+     * @param lastEventId id da última notificação recebida pelo cliente (Last-Event-ID), ou nulo
+     *                    para receber apenas as notificações criadas a partir de agora
+     */
+    public SseEmitter subscribe(Long recipientId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.compute(recipientId, (id, recipientSubscribers) -> {
+            Set<Subscriber> current = recipientSubscribers != null ? recipientSubscribers : ConcurrentHashMap.newKeySet();
+            current.add(subscriber);
+            return current;
+        });
+
+        emitter.onCompletion(() -> remove(recipientId, subscriber));
+        emitter.onTimeout(() -> {
+            remove(recipientId, subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> remove(recipientId, subscriber));
+
+        dispatch(() -> start(recipientId, subscriber, lastEventId));
+        return emitter;
+    }
+
+    /**
+     * Após o commit que alterou as notificações do destinatário: envia as novas (se houver)
+     * e o contador atualizado. Roda depois do UnreadNotificationCounter ter aplicado o ajuste.
+     */
+    @Order(100)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        Long recipientId = event.recipientId();
+        if (recipientId == null || !subscribers.containsKey(recipientId)) {
+            return;
+        }
+        boolean created = !event.reset() && event.delta() > 0;
+        dispatch(() -> deliver(recipientId, created));
+    }
+
+    /**
+     * Após o commit que somou ocorrências em notificações existentes: reenvia as que o assinante já
+     * recebeu (id até o cursor); as posteriores chegam pelo envio normal, já com o estado novo
+     */
+    @Order(100)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCoalesced(NotificationsCoalescedEvent event) {
+        Long recipientId = event.recipientId();
+        if (recipientId == null || !subscribers.containsKey(recipientId)) {
+            return;
+        }
+        dispatch(() -> deliverUpdates(recipientId, event.since()));
+    }
+
+    void deliverUpdates(Long recipientId, LocalDateTime since) {
+        Set<Subscriber> recipientSubscribers = subscribers.get(recipientId);
+        if (recipientSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : recipientSubscribers) {
+            synchronized (subscriber) {
+                if (subscriber.cursor < 0) {
+                    continue;
+                }
+                List<NotificationItem> items = notificationRepository.findStreamItemsCoalescedSince(
+                        recipientId, subscriber.cursor, since, PageRequest.of(0, CATCH_UP_PAGE_SIZE));
+                for (NotificationItem item : items) {
+                    if (!send(recipientId, subscriber, SseEmitter.event()
+                            .name(NOTIFICATION_UPDATED_EVENT)
+                            .data(item))) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    void start(Long recipientId, Subscriber subscriber, Long lastEventId) {
+        synchronized (subscriber) {
+            if (lastEventId == null || lastEventId < 0) {
+                subscriber.cursor = notificationRepository.findMaxIdByRecipientId(recipientId);
+            } else {
+                subscriber.cursor = lastEventId;
+                if (!catchUp(recipientId, subscriber)) {
+                    return;
+                }
+            }
+            sendUnreadCount(recipientId, subscriber);
+        }
+    }
+
+    void deliver(Long recipientId, boolean created) {
+        Set<Subscriber> recipientSubscribers = subscribers.get(recipientId);
+        if (recipientSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : recipientSubscribers) {
+            synchronized (subscriber) {
+                // Ainda sem posição inicial: o start() envia o estado atual
+                if (subscriber.cursor < 0) {
+                    continue;
+                }
+                if (created && !catchUp(recipientId, subscriber)) {
+                    continue;
+                }
+                sendUnreadCount(recipientId, subscriber);
+            }
+        }
+    }
+
+    /**
+     * Envia as notificações posteriores ao cursor do assinante, em páginas
+     * @return false se a conexão caiu durante o envio
+     */
+    private boolean catchUp(Long recipientId, Subscriber subscriber) {
+        int sent = 0;
+        while (true) {
+            List<NotificationItem> items = notificationRepository.findStreamItemsAfter(
+                    recipientId, subscriber.cursor, PageRequest.of(0, CATCH_UP_PAGE_SIZE));
+            for (NotificationItem item : items) {
+                if (!send(recipientId, subscriber, SseEmitter.event()
+                        .id(String.valueOf(item.id()))
+                        .name(NOTIFICATION_EVENT)
+                        .data(item))) {
+                    return false;
+                }
+                subscriber.cursor = item.id();
+                sent++;
+            }
+            if (items.size() < CATCH_UP_PAGE_SIZE) {
+                return true;
+            }
+            if (sent >= MAX_CATCH_UP) {
+                // Atraso grande demais para repetir item a item: o cliente recarrega a lista
+                subscriber.cursor = notificationRepository.findMaxIdByRecipientId(recipientId);
+                return send(recipientId, subscriber, SseEmitter.event()
+                        .id(String.valueOf(subscriber.cursor))
+                        .name(RESYNC_EVENT)
+                        .data(Map.of("lastId", subscriber.cursor)));
+            }
+        }
+    }
+
+    private void sendUnreadCount(Long recipientId, Subscriber subscriber) {
+        send(recipientId, subscriber, SseEmitter.event()
+                .name(UNREAD_COUNT_EVENT)
+                .data(Map.of("unreadCount", unreadCounter.get(recipientId))));
+    }
+
+    /**
+     * Comentário periódico que mantém proxies com a conexão aberta e descobre clientes que caíram
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach((recipientId, recipientSubscribers) -> {
+            for (Subscriber subscriber : recipientSubscribers) {
+                send(recipientId, subscriber, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    public int subscriberCount() {
+        int count = 0;
+        for (Set<Subscriber> recipientSubscribers : subscribers.values()) {
+            count += recipientSubscribers.size();
+        }
+        return count;
+    }
+
+    /**
+     * Encerra as conexões; o pool de envio é encerrado pelo AsyncExecutors
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(recipientSubscribers ->
+                recipientSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    logger.warn("[NOTIFICATION STREAM] Falha ao enviar notificações: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Política ABORT configurada: quem publicou o evento não deve falhar por causa do canal
+            logger.warn("[NOTIFICATION STREAM] Fila de envio cheia, envio descartado");
+        }
+    }
+
+    private boolean send(Long recipientId, Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            remove(recipientId, subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void remove(Long recipientId, Subscriber subscriber) {
+        subscribers.computeIfPresent(recipientId, (id, recipientSubscribers) -> {
+            recipientSubscribers.remove(subscriber);
+            return recipientSubscribers.isEmpty() ? null : recipientSubscribers;
+        });
+    }
+}
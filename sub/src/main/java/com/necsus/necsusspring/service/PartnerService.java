@@ -1,12 +1,15 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.event.EventBoardChangedEvent;
 import com.necsus.necsusspring.model.Address;
 import com.necsus.necsusspring.model.Adhesion;
 import com.necsus.necsusspring.model.Partner;
 import com.necsus.necsusspring.repository.AddressRepository;
 import com.necsus.necsusspring.repository.AdhesionRepository;
+import com.necsus.necsusspring.repository.EventRepository;
 import com.necsus.necsusspring.repository.PartnerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,6 +25,12 @@ public class PartnerService {
     @Autowired
     private PartnerRepository partnerRepository;
 
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Partner createPartner(Partner partner, Address address, Adhesion adhesion) {
         partner.setAddress(address);
         partner.setAdhesion(adhesion);
@@ -101,11 +110,23 @@ public class PartnerService {
                             existingPartner.setAddress(partner.getAddress());
                         }
                     }
-                    return partnerRepository.save(existingPartner);
+                    Partner saved = partnerRepository.save(existingPartner);
+                    publishBoardChanges(saved.getId());
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Partner not found with id " + partner.getId()));
     }
 
+    /**
+     * O nome do associado aparece nos cards do board de eventos. O controller pode entregar a própria
+     * entidade já alterada (open-in-view), então não há valor anterior confiável para comparar:
+     * toda edição avisa o board sobre os eventos do associado.
+     */
+    private void publishBoardChanges(Long partnerId) {
+        eventRepository.findIdsByPartnerId(partnerId).forEach(eventId ->
+                eventPublisher.publishEvent(new EventBoardChangedEvent(eventId, EventBoardChangedEvent.Type.UPDATED)));
+    }
+
     public void deletePartner(Long id) {
         partnerRepository.deleteById(id);
     }
@@ -1,12 +1,17 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.event.NotificationEventListener;
 import com.necsus.necsusspring.model.BankSlip;
 import com.necsus.necsusspring.model.BankShipment;
 import com.necsus.necsusspring.model.Partner;
+import com.necsus.necsusspring.model.RoleType;
+import com.necsus.necsusspring.model.UserAccount;
 import com.necsus.necsusspring.model.Vehicle;
 import com.necsus.necsusspring.repository.BankSlipRepository;
 import com.necsus.necsusspring.repository.BankShipmentRepository;
+import com.necsus.necsusspring.repository.UserAccountRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -30,6 +35,12 @@ public class PaymentService {
     @Autowired
     private VehicleService vehicleService;
 
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public BankShipment generateMonthlyInvoices(Long vehicleId, int numberOfSlips) {
         Vehicle vehicle = vehicleService.findById(vehicleId)
@@ -121,7 +132,21 @@ public class PaymentService {
             bankSlip.setValorRecebido(bankSlip.getValor());
         }
 
-        return bankSlipRepository.save(bankSlip);
+        BankSlip saved = bankSlipRepository.save(bankSlip);
+        publishPaymentProcessed(saved);
+        return saved;
+    }
+
+    /**
+     * Avisa o financeiro sobre a baixa: o NotificationEventListener registra uma notificação por
+     * usuário ativo do role FINANCEIRO no outbox, nesta transação
+     */
+    private void publishPaymentProcessed(BankSlip bankSlip) {
+        String message = String.format("Fatura #%d marcada como paga (valor recebido: %s)",
+                bankSlip.getId(), bankSlip.getValorRecebido());
+        for (UserAccount recipient : userAccountRepository.findActiveByRoleIn(List.of(RoleType.FINANCEIRO.getCode()))) {
+            eventPublisher.publishEvent(new NotificationEventListener.PaymentProcessedEvent(bankSlip.getId(), recipient, message));
+        }
     }
 
     /**
@@ -1,8 +1,12 @@
 package com.necsus.necsusspring.service;
 
-import com.necsus.necsusspring.model.Address;
-import com.necsus.necsusspring.model.Partner;
-import com.necsus.necsusspring.model.Vehicle;
+import com.necsus.necsusspring.dto.PartnerReportRow;
+import com.necsus.necsusspring.dto.VehicleReportRow;
+import com.necsus.necsusspring.dto.VehicleReportTotals;
+import com.necsus.necsusspring.repository.PartnerRepository;
+import com.necsus.necsusspring.repository.VehicleRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,118 +17,122 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 public class ReportDataService {
 
-    private final PartnerService partnerService;
-    private final VehicleService vehicleService;
+    public static final int MAX_PAGE_SIZE = 200;
 
-    public ReportDataService(PartnerService partnerService, VehicleService vehicleService) {
-        this.partnerService = partnerService;
-        this.vehicleService = vehicleService;
+    private final PartnerRepository partnerRepository;
+    private final VehicleRepository vehicleRepository;
+
+    public ReportDataService(PartnerRepository partnerRepository, VehicleRepository vehicleRepository) {
+        this.partnerRepository = partnerRepository;
+        this.vehicleRepository = vehicleRepository;
     }
 
+    /**
+     * Métricas do relatório de associados calculadas no banco (COUNT, EXISTS e GROUP BY cidade),
+     * sem carregar os associados; as linhas de detalhe vêm de loadPartnerRows quando pedidas
+     */
     @Transactional(readOnly = true)
     public PartnerReportData loadPartnerReportData() {
-        List<Partner> partners = partnerService.getAllPartners();
-        boolean hasPartners = !partners.isEmpty();
-
-        long partnersWithVehicles = partners.stream()
-                .filter(partner -> partner.getVehicles() != null && !partner.getVehicles().isEmpty())
-                .count();
-
-        long totalVehicles = partners.stream()
-                .mapToLong(partner -> partner.getVehicles() != null ? partner.getVehicles().size() : 0)
-                .sum();
-
-        Map<String, Long> partnersByCity = sortByValueDesc(partners.stream()
-                .map(Partner::getAddress)
-                .filter(Objects::nonNull)
-                .map(Address::getCity)
-                .filter(city -> city != null && !city.isBlank())
-                .collect(Collectors.groupingBy(this::normalizeCity, Collectors.counting())));
+        long totalPartners = partnerRepository.count();
+        if (totalPartners == 0) {
+            return new PartnerReportData(false, 0, 0, 0, 0, Map.of(), formatAverage(0d));
+        }
 
-        double averageVehicles = partners.isEmpty() ? 0d : (double) totalVehicles / partners.size();
-        NumberFormat averageFormat = NumberFormat.getNumberInstance(new Locale("pt", "BR"));
-        averageFormat.setMinimumFractionDigits(2);
-        averageFormat.setMaximumFractionDigits(2);
+        long partnersWithVehicles = partnerRepository.countWithVehicles();
+        long totalVehicles = partnerRepository.countVehiclesWithPartner();
 
-        Map<Long, Integer> partnerVehicleCount = partners.stream()
-                .collect(Collectors.toMap(
-                        Partner::getId,
-                        partner -> partner.getVehicles() != null ? partner.getVehicles().size() : 0,
-                        (first, second) -> first,
-                        LinkedHashMap::new
-                ));
-
-        Map<Long, String> partnerAddressSummary = partners.stream()
-                .collect(Collectors.toMap(
-                        Partner::getId,
-                        partner -> formatFullAddress(partner.getAddress()),
-                        (first, second) -> first,
-                        LinkedHashMap::new
-                ));
+        Map<String, Long> partnersByCity = new LinkedHashMap<>();
+        for (Object[] row : partnerRepository.countByCity()) {
+            partnersByCity.merge(normalizeCity((String) row[0]), ((Number) row[1]).longValue(), Long::sum);
+        }
 
         return new PartnerReportData(
-                partners,
-                hasPartners,
-                partners.size(),
+                true,
+                totalPartners,
                 partnersWithVehicles,
-                partners.size() - partnersWithVehicles,
+                totalPartners - partnersWithVehicles,
                 totalVehicles,
                 partnersByCity,
-                averageFormat.format(averageVehicles),
-                partnerVehicleCount,
-                partnerAddressSummary
+                formatAverage((double) totalVehicles / totalPartners)
         );
     }
 
+    /**
+     * Página da lista de associados, ordenada por id
+     */
     @Transactional(readOnly = true)
-    public VehicleReportData loadVehicleReportData() {
-        List<Vehicle> vehicles = vehicleService.listAll(null);
-        boolean hasVehicles = !vehicles.isEmpty();
-
-        Map<String, Long> vehiclesByFuel = sortByValueDesc(vehicles.stream()
-                .collect(Collectors.groupingBy(
-                        vehicle -> normalizeText(vehicle.getTipo_combustivel(), "Não informado"),
-                        Collectors.counting()
-                )));
-
-        Map<String, Long> vehiclesByMaker = sortByValueDesc(vehicles.stream()
-                .collect(Collectors.groupingBy(
-                        vehicle -> normalizeText(vehicle.getMaker(), "Não informado"),
-                        Collectors.counting()
-                )));
-
-        BigDecimal totalMonthlyValue = vehicles.stream()
-                .map(Vehicle::getPayment)
-                .filter(Objects::nonNull)
-                .map(payment -> payment.getMonthly() != null ? payment.getMonthly() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public Page<PartnerReportRow> loadPartnerRows(int page, int size) {
+        return partnerRepository.findReportRows(pageRequest(page, size));
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasPartners() {
+        return countPartners() > 0;
+    }
 
+    @Transactional(readOnly = true)
+    public long countPartners() {
+        return partnerRepository.count();
+    }
+
+    public String formatAddressSummary(PartnerReportRow row) {
+        return formatFullAddress(row.street(), row.number(), row.neighborhood(), row.city(), row.state(), row.zipcode());
+    }
+
+    /**
+     * Métricas do relatório de veículos em três consultas agrupadas sobre vehicle e info_payment.
+     * Não passa pelo VehicleService: nada é carregado por veículo e nada é gravado.
+     */
+    @Transactional(readOnly = true)
+    public VehicleReportData loadVehicleReportData() {
+        VehicleReportTotals totals = vehicleRepository.findReportTotals();
+        BigDecimal totalMonthlyValue = totals.totalMonthlyValue() != null ? totals.totalMonthlyValue() : BigDecimal.ZERO;
         NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
 
-        int distinctPartners = vehicles.stream()
-                .map(Vehicle::getPartnerId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet())
-                .size();
+        if (totals.totalVehicles() == 0) {
+            return new VehicleReportData(false, 0, 0, totalMonthlyValue, currencyFormat.format(totalMonthlyValue),
+                    Map.of(), Map.of());
+        }
 
         return new VehicleReportData(
-                vehicles,
-                hasVehicles,
-                vehicles.size(),
-                distinctPartners,
+                true,
+                totals.totalVehicles(),
+                totals.distinctPartners(),
                 totalMonthlyValue,
                 currencyFormat.format(totalMonthlyValue),
-                vehiclesByFuel,
-                vehiclesByMaker
+                toDistribution(vehicleRepository.countByFuelType()),
+                toDistribution(vehicleRepository.countByMaker())
         );
     }
 
+    /**
+     * Página da listagem de veículos, ordenada por id
+     */
+    @Transactional(readOnly = true)
+    public Page<VehicleReportRow> loadVehicleRows(int page, int size) {
+        return vehicleRepository.findReportRows(pageRequest(page, size));
+    }
+
+    /**
+     * Agrupa as linhas (valor, quantidade) sob o valor normalizado: nulos e vazios viram "Não informado"
+     */
+    private Map<String, Long> toDistribution(List<Object[]> rows) {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            distribution.merge(normalizeText((String) row[0], "Não informado"), ((Number) row[1]).longValue(), Long::sum);
+        }
+        return sortByValueDesc(distribution);
+    }
+
+    private PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+    }
+
     private Map<String, Long> sortByValueDesc(Map<String, Long> source) {
         return source.entrySet().stream()
                 .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
@@ -144,31 +152,34 @@ public class ReportDataService {
         return trimmed.isEmpty() ? defaultValue : trimmed;
     }
 
+    private String formatAverage(double average) {
+        NumberFormat averageFormat = NumberFormat.getNumberInstance(new Locale("pt", "BR"));
+        averageFormat.setMinimumFractionDigits(2);
+        averageFormat.setMaximumFractionDigits(2);
+        return averageFormat.format(average);
+    }
+
     private String normalizeCity(String city) {
         return normalizeText(city, "Não informado");
     }
 
-    private String formatFullAddress(Address address) {
-        if (address == null) {
-            return "Não informado";
-        }
-
-        String main = combineAddressAndNumber(address.getAddress(), address.getNumber());
-        String neighborhood = safeValue(address.getNeighborhood());
-        String cityState = combineCityAndState(address.getCity(), address.getStates());
-        String zipcode = safeValue(address.getZipcode());
+    private String formatFullAddress(String street, String number, String neighborhood,
+                                     String city, String state, String zipcode) {
+        String main = combineAddressAndNumber(street, number);
+        String cityState = combineCityAndState(city, state);
+        String cep = safeValue(zipcode);
 
         StringBuilder builder = new StringBuilder();
 
         appendPart(builder, main);
-        appendPart(builder, neighborhood);
+        appendPart(builder, safeValue(neighborhood));
         appendPart(builder, cityState);
 
-        if (!isBlank(zipcode)) {
+        if (!isBlank(cep)) {
             if (builder.length() > 0) {
                 builder.append(" • ");
             }
-            builder.append("CEP ").append(zipcode);
+            builder.append("CEP ").append(cep);
         }
 
         return builder.length() > 0 ? builder.toString() : "Não informado";
@@ -212,21 +223,17 @@ public class ReportDataService {
     }
 
     public record PartnerReportData(
-            List<Partner> partners,
             boolean hasPartners,
             long totalPartners,
             long partnersWithVehicles,
             long partnersWithoutVehicles,
             long totalVehicles,
             Map<String, Long> partnersByCity,
-            String averageVehiclesPerPartner,
-            Map<Long, Integer> partnerVehicleCount,
-            Map<Long, String> partnerAddressSummary
+            String averageVehiclesPerPartner
     ) {
     }
 
     public record VehicleReportData(
-            List<Vehicle> vehicles,
             boolean hasVehicles,
             long totalVehicles,
             long distinctPartners,
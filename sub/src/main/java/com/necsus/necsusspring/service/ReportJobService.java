@@ -0,0 +1,468 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.config.AsyncExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Fila de relatórios gerados em segundo plano.
+ *
+ * Um pedido de relatório vira um job: o arquivo é escrito em uploads/exports (FileStorageService)
+ * pelo executor "files" (AsyncExecutors), fora da thread da requisição. O usuário acompanha o
+ * progresso consultando o job ou assinando o canal SSE do job e baixa o arquivo quando estiver pronto.
+ *
+ * Cada tipo de relatório tem um limite de jobs simultâneos; os excedentes esperam na fila do tipo
+ * (também limitada), então um tipo pesado não ocupa o pool inteiro. Um pedido idêntico (mesmo tipo
+ * e parâmetros) a um job que ainda não terminou reaproveita esse job. Jobs concluídos e seus
+ * arquivos expiram após o tempo de retenção.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    public static final String JOB_EVENT = "job";
+
+    /**
+     * Intervalo mínimo entre dois avisos de progresso para os assinantes de um job
+     */
+    static final long PROGRESS_INTERVAL_MS = 500;
+
+    public enum ReportType {
+        PARTNERS_EXCEL("partners-excel"),
+        DATA_EXPORT("data-export"),
+        EVENTS_PDF("events-pdf");
+
+        private final String key;
+
+        ReportType(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+    }
+
+    public enum JobState {
+        PENDING, RUNNING, DONE, FAILED
+    }
+
+    /**
+     * Escreve o relatório em {@code out}; {@code progress} recebe o total de itens já escritos
+     */
+    @FunctionalInterface
+    public interface ReportWriter {
+        /**
+         * @return quantidade de itens escritos
+         */
+        long write(OutputStream out, LongConsumer progress) throws IOException;
+    }
+
+    /**
+     * Pedido de relatório. Pedidos com o mesmo tipo e a mesma {@code key} (os parâmetros do
+     * relatório) geram o mesmo arquivo. {@code total} é a quantidade esperada de itens, 0 quando
+     * não se sabe de antemão.
+     */
+    public record ReportRequest(ReportType type,
+                                String key,
+                                String filename,
+                                String contentType,
+                                long total,
+                                ReportWriter writer) {
+    }
+
+    public record JobStatus(String id,
+                            ReportType type,
+                            JobState state,
+                            long total,
+                            long progress,
+                            String filename,
+                            LocalDateTime createdAt,
+                            LocalDateTime finishedAt,
+                            String error) {
+
+        public boolean ready() {
+            return state == JobState.DONE;
+        }
+
+        public boolean finished() {
+            return state == JobState.DONE || state == JobState.FAILED;
+        }
+    }
+
+    public record Artifact(Path file, String filename, String contentType) {
+    }
+
+    private record Watcher(SseEmitter emitter, Function<JobStatus, ?> view) {
+    }
+
+    private static final class Job {
+        private final String id;
+        private final ReportType type;
+        private final String dedupeKey;
+        private final String filename;
+        private final String contentType;
+        private final long total;
+        private final Path file;
+        // Job criado sem usuário (ex.: tarefa interna) fica visível para todos
+        private final boolean shared;
+        private final Set<String> owners = ConcurrentHashMap.newKeySet();
+        private final Set<Watcher> watchers = ConcurrentHashMap.newKeySet();
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile ReportWriter writer;
+        private volatile JobState state = JobState.PENDING;
+        private volatile long progress;
+        private volatile long lastNotifiedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(ReportRequest request, String dedupeKey, Path file, String owner) {
+            this.id = UUID.randomUUID().toString();
+            this.type = request.type();
+            this.dedupeKey = dedupeKey;
+            this.filename = request.filename();
+            this.contentType = request.contentType();
+            this.total = request.total();
+            this.writer = request.writer();
+            this.file = file;
+            this.shared = owner == null;
+            if (owner != null) {
+                owners.add(owner);
+            }
+        }
+
+        private JobStatus status() {
+            return new JobStatus(id, type, state, total, progress, filename, createdAt, finishedAt, error);
+        }
+    }
+
+    /**
+     * Jobs de um tipo: {@code running} conta os que já foram entregues ao executor
+     */
+    private static final class Lane {
+        private final int limit;
+        private final Deque<Job> waiting = new ArrayDeque<>();
+        private int running;
+
+        private Lane(int limit) {
+            this.limit = Math.max(limit, 1);
+        }
+    }
+
+    private final FileStorageService fileStorageService;
+    private final Executor executor;
+    private final int maxWaiting;
+    private final long retentionMinutes;
+    private final long watchTimeoutMs;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // Protegidos por this
+    private final Map<String, Job> inFlight = new HashMap<>();
+    private final Map<ReportType, Lane> lanes = new EnumMap<>(ReportType.class);
+
+    public ReportJobService(FileStorageService fileStorageService,
+                            AsyncExecutors asyncExecutors,
+                            @Value("${app.reports.jobs.partners-excel.max-concurrent:1}") int partnersExcelConcurrency,
+                            @Value("${app.reports.jobs.data-export.max-concurrent:2}") int dataExportConcurrency,
+                            @Value("${app.reports.jobs.events-pdf.max-concurrent:1}") int eventsPdfConcurrency,
+                            @Value("${app.reports.jobs.max-waiting-per-type:10}") int maxWaiting,
+                            @Value("${app.reports.jobs.retention-minutes:120}") long retentionMinutes,
+                            @Value("${app.reports.jobs.watch-timeout-ms:1800000}") long watchTimeoutMs) {
+        this.fileStorageService = fileStorageService;
+        this.executor = asyncExecutors.files();
+        this.maxWaiting = Math.max(maxWaiting, 0);
+        this.retentionMinutes = retentionMinutes;
+        this.watchTimeoutMs = watchTimeoutMs;
+        lanes.put(ReportType.PARTNERS_EXCEL, new Lane(partnersExcelConcurrency));
+        lanes.put(ReportType.DATA_EXPORT, new Lane(dataExportConcurrency));
+        lanes.put(ReportType.EVENTS_PDF, new Lane(eventsPdfConcurrency));
+    }
+
+    /**
+     * Enfileira o relatório, ou devolve o job idêntico que ainda não terminou
+     * (o usuário passa a ter acesso a ele)
+     * @throws IllegalStateException quando a fila do tipo de relatório está cheia
+     */
+    public JobStatus submit(ReportRequest request, String owner) {
+        String dedupeKey = request.type().key() + ":" + request.key();
+        Job job;
+        boolean start;
+        synchronized (this) {
+            Job existing = inFlight.get(dedupeKey);
+            if (existing != null) {
+                if (owner != null) {
+                    existing.owners.add(owner);
+                }
+                logger.info("[REPORT JOB] Pedido de {} reaproveitou o job {} ({})", owner, existing.id, request.type().key());
+                return existing.status();
+            }
+
+            Lane lane = lanes.get(request.type());
+            start = lane.running < lane.limit;
+            if (!start && lane.waiting.size() >= maxWaiting) {
+                throw new IllegalStateException("Muitos relatórios em andamento. Tente novamente em alguns minutos.");
+            }
+
+            // Só um job novo ganha arquivo; pedidos deduplicados ou recusados não reservam caminho
+            Path file = fileStorageService.newExportPath(extension(request.filename()));
+            job = new Job(request, dedupeKey, file, owner);
+            jobs.put(job.id, job);
+            inFlight.put(dedupeKey, job);
+            if (start) {
+                lane.running++;
+            } else {
+                lane.waiting.add(job);
+            }
+        }
+
+        if (start && !dispatch(job)) {
+            synchronized (this) {
+                jobs.remove(job.id);
+                inFlight.remove(dedupeKey, job);
+            }
+            release(job.type);
+            throw new IllegalStateException("Muitos relatórios em andamento. Tente novamente em alguns minutos.");
+        }
+        logger.info("[REPORT JOB] Job {} ({}) enfileirado por {}", job.id, job.type.key(), owner);
+        return job.status();
+    }
+
+    /**
+     * Situação do job, visível apenas para quem o pediu
+     */
+    public Optional<JobStatus> find(String jobId, String owner) {
+        return findOwned(jobId, owner).map(Job::status);
+    }
+
+    /**
+     * Jobs visíveis para o usuário, do mais recente para o mais antigo
+     */
+    public List<JobStatus> list(String owner) {
+        return jobs.values().stream()
+                .filter(job -> canAccess(job, owner))
+                .sorted(Comparator.comparing((Job job) -> job.createdAt).reversed())
+                .map(Job::status)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Arquivo gerado pelo job, quando já concluído
+     */
+    public Optional<Artifact> artifact(String jobId, String owner) {
+        return findOwned(jobId, owner)
+                .filter(job -> job.state == JobState.DONE && Files.exists(job.file))
+                .map(job -> new Artifact(job.file, job.filename, job.contentType));
+    }
+
+    /**
+     * Canal SSE com a situação do job: um evento {@link #JOB_EVENT} na assinatura, a cada mudança
+     * de estado e no progresso (no máximo a cada {@link #PROGRESS_INTERVAL_MS}). O canal é
+     * encerrado quando o job termina.
+     *
+     * @param view monta o corpo de cada evento a partir da situação do job
+     */
+    public Optional<SseEmitter> subscribe(String jobId, String owner, Function<JobStatus, ?> view) {
+        return findOwned(jobId, owner).map(job -> {
+            SseEmitter emitter = new SseEmitter(watchTimeoutMs);
+            Watcher watcher = new Watcher(emitter, view);
+            emitter.onCompletion(() -> job.watchers.remove(watcher));
+            emitter.onTimeout(() -> {
+                job.watchers.remove(watcher);
+                emitter.complete();
+            });
+            emitter.onError(error -> job.watchers.remove(watcher));
+            job.watchers.add(watcher);
+
+            // Lido depois do registro: se o job terminar agora, um dos dois lados encerra o canal
+            JobStatus status = job.status();
+            send(job, watcher, status);
+            if (status.finished()) {
+                emitter.complete();
+            }
+            return emitter;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.jobs.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        LocalDateTime limit = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt != null && job.finishedAt.isBefore(limit);
+            if (expired) {
+                deleteQuietly(job.file);
+            }
+            return expired;
+        });
+
+        // Os jobs ficam só em memória: arquivos sem job são sobras de antes de um reinício
+        Set<Path> current = jobs.values().stream()
+                .map(job -> job.file.toAbsolutePath().normalize())
+                .collect(Collectors.toSet());
+        Instant fileLimit = limit.atZone(ZoneId.systemDefault()).toInstant();
+        for (Path file : fileStorageService.listExportFiles()) {
+            if (!current.contains(file.toAbsolutePath().normalize()) && modifiedBefore(file, fileLimit)) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private Optional<Job> findOwned(String jobId, String owner) {
+        Job job = jobId != null ? jobs.get(jobId) : null;
+        if (job == null || !canAccess(job, owner)) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    private boolean canAccess(Job job, String owner) {
+        return job.shared || (owner != null && job.owners.contains(owner));
+    }
+
+    private boolean dispatch(Job job) {
+        try {
+            executor.execute(() -> run(job));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Libera a vaga de um job do tipo, entregando ao executor o próximo da fila do tipo
+     */
+    private void release(ReportType type) {
+        while (true) {
+            Job next;
+            synchronized (this) {
+                Lane lane = lanes.get(type);
+                next = lane.waiting.poll();
+                if (next == null) {
+                    lane.running--;
+                    return;
+                }
+            }
+            if (dispatch(next)) {
+                return;
+            }
+            finish(next, JobState.FAILED, "Fila de relatórios cheia. Tente novamente em alguns minutos.");
+        }
+    }
+
+    private void run(Job job) {
+        job.state = JobState.RUNNING;
+        notifyWatchers(job);
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(job.file))) {
+                job.progress = job.writer.write(out, progress -> {
+                    job.progress = progress;
+                    notifyProgress(job);
+                });
+            }
+            finish(job, JobState.DONE, null);
+            logger.info("[REPORT JOB] Job {} ({}) concluído com {} itens", job.id, job.type.key(), job.progress);
+        } catch (Throwable e) {
+            // Inclui Error (ex.: OutOfMemoryError): o job não pode ficar RUNNING segurando a chave de deduplicação
+            deleteQuietly(job.file);
+            finish(job, JobState.FAILED, "Erro ao gerar relatório");
+            logger.error("[REPORT JOB] Job {} ({}) falhou", job.id, job.type.key(), e);
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            release(job.type);
+        }
+    }
+
+    private void finish(Job job, JobState state, String error) {
+        // O writer costuma capturar filtros e dados do pedido; não é mais necessário
+        job.writer = null;
+        job.error = error;
+        job.finishedAt = LocalDateTime.now();
+        job.state = state;
+        synchronized (this) {
+            inFlight.remove(job.dedupeKey, job);
+        }
+        notifyWatchers(job);
+        for (Watcher watcher : job.watchers) {
+            watcher.emitter().complete();
+        }
+        job.watchers.clear();
+    }
+
+    private void notifyProgress(Job job) {
+        long now = System.currentTimeMillis();
+        if (job.watchers.isEmpty() || now - job.lastNotifiedAt < PROGRESS_INTERVAL_MS) {
+            return;
+        }
+        job.lastNotifiedAt = now;
+        notifyWatchers(job);
+    }
+
+    private void notifyWatchers(Job job) {
+        if (job.watchers.isEmpty()) {
+            return;
+        }
+        JobStatus status = job.status();
+        for (Watcher watcher : job.watchers) {
+            send(job, watcher, status);
+        }
+    }
+
+    private void send(Job job, Watcher watcher, JobStatus status) {
+        try {
+            watcher.emitter().send(SseEmitter.event().name(JOB_EVENT).data(watcher.view().apply(status)));
+        } catch (IOException | IllegalStateException e) {
+            job.watchers.remove(watcher);
+        }
+    }
+
+    private boolean modifiedBefore(Path file, Instant limit) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(limit);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            fileStorageService.deleteFile(file.toString());
+        } catch (RuntimeException e) {
+            logger.warn("[REPORT JOB] Não foi possível apagar {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String extension(String filename) {
+        int dot = filename != null ? filename.lastIndexOf('.') : -1;
+        return dot >= 0 ? filename.substring(dot) : "";
+    }
+}
@@ -1,5 +1,7 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.dto.BoardColumnCursor;
+import com.necsus.necsusspring.dto.BoardColumnPage;
 import com.necsus.necsusspring.dto.SaleRequest;
 import com.necsus.necsusspring.model.Sale;
 import com.necsus.necsusspring.model.SaleStatus;
@@ -37,6 +39,28 @@ public class SaleService {
         return saleRepository.findByStatus(status);
     }
 
+    /**
+     * Página de uma coluna do funil de vendas paginada por keyset (mais recentes primeiro).
+     * A contagem exata só é calculada na primeira página.
+     */
+    @Transactional(readOnly = true)
+    public BoardColumnPage<Sale> getBoardColumn(SaleStatus status, String after, Integer limit) {
+        int pageSize = BoardColumnKeyset.normalizeLimit(limit);
+        BoardColumnCursor cursor = BoardColumnCursor.decode(after);
+
+        List<Object[]> keys;
+        Long totalCount = null;
+        if (cursor == null) {
+            keys = saleRepository.findBoardColumnKeys(status.name(), pageSize + 1);
+            totalCount = saleRepository.countByStatus(status);
+        } else {
+            keys = saleRepository.findBoardColumnKeysAfter(status.name(), cursor.sortDate(), cursor.id(), pageSize + 1);
+        }
+
+        return BoardColumnKeyset.assemble(status.name(), keys, pageSize, totalCount,
+                saleRepository::findAllById, Sale::getId);
+    }
+
     public Sale create(SaleRequest request) {
         Sale sale = new Sale();
         sale.setCooperativa(request.cooperativa());
@@ -0,0 +1,114 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.StatusBatchResult;
+import com.necsus.necsusspring.dto.StatusMoveRequest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Planejamento de uma movimentação em lote: valida os status pedidos, consolida ids repetidos
+ * (vale o último pedido) e agrupa os cards que realmente mudam por status de destino, para que
+ * cada grupo vire um único UPDATE ... WHERE id IN (...).
+ */
+final class StatusBatchPlan<S extends Enum<S>> {
+
+    static final int MAX_MOVES = 500;
+
+    private final Class<S> statusType;
+    private final int requested;
+    private final LinkedHashMap<Long, S> targets = new LinkedHashMap<>();
+    private final LinkedHashMap<Long, StatusBatchResult.Item> outcomes = new LinkedHashMap<>();
+    private final Set<Long> order = new LinkedHashSet<>();
+
+    StatusBatchPlan(Class<S> statusType, List<StatusMoveRequest> moves) {
+        if (moves == null || moves.isEmpty()) {
+            throw new IllegalArgumentException("Nenhuma movimentação informada");
+        }
+        if (moves.size() > MAX_MOVES) {
+            throw new IllegalArgumentException("Máximo de " + MAX_MOVES + " movimentações por lote");
+        }
+        this.statusType = statusType;
+        this.requested = moves.size();
+
+        for (StatusMoveRequest move : moves) {
+            if (move == null || move.id() == null) {
+                continue;
+            }
+            order.add(move.id());
+            S target = parse(move.status());
+            if (target == null) {
+                targets.remove(move.id());
+                outcomes.put(move.id(), new StatusBatchResult.Item(move.id(), move.status(), StatusBatchResult.Outcome.INVALID_STATUS));
+            } else {
+                outcomes.remove(move.id());
+                targets.put(move.id(), target);
+            }
+        }
+    }
+
+    /**
+     * Ids com status de destino válido, que precisam ter o status atual consultado
+     */
+    List<Long> ids() {
+        return new ArrayList<>(targets.keySet());
+    }
+
+    S target(Long id) {
+        return targets.get(id);
+    }
+
+    void reject(Long id, StatusBatchResult.Outcome outcome) {
+        S target = targets.remove(id);
+        outcomes.put(id, new StatusBatchResult.Item(id, target != null ? target.name() : null, outcome));
+    }
+
+    /**
+     * Compara com o status atual de cada card e devolve apenas as mudanças efetivas, agrupadas por destino
+     */
+    Map<S, List<Long>> resolve(Map<Long, S> currentStatuses) {
+        Map<S, List<Long>> groups = new EnumMap<>(statusType);
+        targets.forEach((id, target) -> {
+            if (!currentStatuses.containsKey(id)) {
+                outcomes.put(id, new StatusBatchResult.Item(id, target.name(), StatusBatchResult.Outcome.NOT_FOUND));
+            } else if (currentStatuses.get(id) == target) {
+                outcomes.put(id, new StatusBatchResult.Item(id, target.name(), StatusBatchResult.Outcome.UNCHANGED));
+            } else {
+                outcomes.put(id, new StatusBatchResult.Item(id, target.name(), StatusBatchResult.Outcome.MOVED));
+                groups.computeIfAbsent(target, key -> new ArrayList<>()).add(id);
+            }
+        });
+        return groups;
+    }
+
+    StatusBatchResult result() {
+        List<StatusBatchResult.Item> items = new ArrayList<>(order.size());
+        int moved = 0;
+        for (Long id : order) {
+            StatusBatchResult.Item item = outcomes.get(id);
+            if (item != null) {
+                items.add(item);
+                if (item.outcome() == StatusBatchResult.Outcome.MOVED) {
+                    moved++;
+                }
+            }
+        }
+        return new StatusBatchResult(requested, moved, List.copyOf(items));
+    }
+
+    private S parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(statusType, value.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
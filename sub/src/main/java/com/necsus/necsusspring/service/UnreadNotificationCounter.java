@@ -0,0 +1,178 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.event.UnreadCountChangedEvent;
+import com.necsus.necsusspring.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador em memória de notificações não lidas por destinatário (badge do cabeçalho).
+ *
+ * O primeiro acesso de um destinatário carrega a contagem do banco; depois disso o valor é mantido
+ * pelos UnreadCountChangedEvent publicados pelo NotificationService (criação, leitura, arquivamento,
+ * remoção e "marcar todas como lidas"), aplicados somente após o commit. Os ajustes usam
+ * AtomicLong por destinatário e nunca deixam o contador negativo.
+ *
+ * Uma carga que coincidiu com um ajuste do mesmo destinatário não é gravada (geração por
+ * destinatário). Pequenas divergências que ainda possam surgir (ex.: alterações feitas fora da
+ * aplicação) são corrigidas pela reconciliação periódica, que recalcula os contadores em cache
+ * com uma consulta agrupada por bloco de destinatários.
+ *
+ * Contagem e geração ficam na mesma entrada de um mapa limitado a {@code max-entries}: ao atingir
+ * o limite sai só o destinatário acessado há mais tempo, levando junto a sua geração.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    public record Stats(long hits, long misses, long adjustments, long corrections, int size) {
+    }
+
+    private final NotificationRepository notificationRepository;
+    private final int maxEntries;
+
+    private static final long NOT_LOADED = -1;
+
+    /**
+     * Estado de um destinatário: contagem ({@code NOT_LOADED} enquanto a carga do banco não terminou)
+     * e geração, incrementada a cada ajuste. Escritas sob o monitor da entrada; a contagem é lida sem lock.
+     */
+    static final class Entry {
+        final AtomicLong count = new AtomicLong(NOT_LOADED);
+        long generation;
+    }
+
+    private final Map<Long, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong adjustments = new AtomicLong();
+    private final AtomicLong corrections = new AtomicLong();
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     @Value("${app.notifications.unread-counter.max-entries:20000}") int maxEntries) {
+        this.notificationRepository = notificationRepository;
+        this.maxEntries = Math.max(maxEntries, 1);
+        // Ordem de acesso: a entrada mais antiga é a usada há mais tempo
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > UnreadNotificationCounter.this.maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Quantidade de não lidas do destinatário, do cache ou carregada do banco
+     */
+    public long get(Long recipientId) {
+        Entry entry = entries.get(recipientId);
+        if (entry != null) {
+            long count = entry.count.get();
+            if (count != NOT_LOADED) {
+                hits.incrementAndGet();
+                return count;
+            }
+        } else {
+            entry = entries.computeIfAbsent(recipientId, id -> new Entry());
+        }
+
+        misses.incrementAndGet();
+        long generation;
+        synchronized (entry) {
+            generation = entry.generation;
+        }
+        long loaded = notificationRepository.countUnreadByRecipientId(recipientId);
+        synchronized (entry) {
+            // Descartada se houve ajuste durante a carga ou se a entrada saiu do mapa
+            if (entry.generation == generation && entries.get(recipientId) == entry) {
+                entry.count.compareAndSet(NOT_LOADED, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    // Antes dos demais ouvintes (ex.: NotificationStreamService), que leem o contador já ajustado
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        Long recipientId = event.recipientId();
+        if (recipientId == null) {
+            return;
+        }
+        adjustments.incrementAndGet();
+        // Sem entrada não há o que ajustar nem carga em andamento: o próximo acesso carrega do banco
+        Entry entry = entries.get(recipientId);
+        if (entry == null) {
+            return;
+        }
+        synchronized (entry) {
+            entry.generation++;
+            entry.count.updateAndGet(value -> {
+                if (value == NOT_LOADED) {
+                    return value;
+                }
+                return event.reset() ? 0 : Math.max(0, value + event.delta());
+            });
+        }
+    }
+
+    /**
+     * Recalcula no banco os contadores em cache e corrige os que divergiram
+     * @return quantidade de contadores corrigidos
+     */
+    @Scheduled(initialDelayString = "${app.notifications.unread-counter.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.notifications.unread-counter.reconcile-interval-ms:300000}")
+    public int reconcile() {
+        // Cópia sem passar por get(), que mudaria a ordem de acesso
+        Map<Long, Entry> snapshot;
+        synchronized (entries) {
+            snapshot = new HashMap<>(entries);
+        }
+        List<Long> recipientIds = new ArrayList<>(snapshot.keySet());
+        int corrected = 0;
+        for (int start = 0; start < recipientIds.size(); start += RECONCILE_CHUNK_SIZE) {
+            List<Long> chunk = recipientIds.subList(start, Math.min(start + RECONCILE_CHUNK_SIZE, recipientIds.size()));
+            Map<Long, Long> actual = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadGroupedByRecipientIdIn(chunk)) {
+                actual.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+            }
+            for (Long recipientId : chunk) {
+                Entry entry = snapshot.get(recipientId);
+                long expected = actual.getOrDefault(recipientId, 0L);
+                long previous;
+                synchronized (entry) {
+                    previous = entry.count.getAndUpdate(value -> value == NOT_LOADED ? value : expected);
+                }
+                if (previous != NOT_LOADED && previous != expected) {
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            corrections.addAndGet(corrected);
+            logger.info("[NOTIFICATION COUNTER] {} contadores de não lidas corrigidos na reconciliação", corrected);
+        }
+        return corrected;
+    }
+
+    public Stats stats() {
+        return new Stats(hits.get(), misses.get(), adjustments.get(), corrections.get(), entries.size());
+    }
+}
@@ -4,6 +4,9 @@ import com.necsus.necsusspring.dto.UserRegistrationDto;
 import com.necsus.necsusspring.model.RoleType;
 import com.necsus.necsusspring.model.UserAccount;
 import com.necsus.necsusspring.repository.UserAccountRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -11,6 +14,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -98,6 +102,22 @@ public class UserAccountService implements UserDetailsService {
         return userAccountRepository.findByUsername(username);
     }
 
+    /**
+     * Id do usuário autenticado. Vem do principal criado no login ({@link AccountUser}), que guarda o
+     * id junto com o username: o username pode mudar (CompanyUserService) e depois ser reutilizado
+     * por outra conta, o id não. Para outros tipos de principal o id é consultado no banco.
+     */
+    public Optional<Long> findCurrentUserId(Authentication authentication) {
+        if (authentication == null) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof AccountUser accountUser) {
+            return Optional.of(accountUser.getId());
+        }
+        String username = authentication.getName();
+        return username != null ? userAccountRepository.findIdByUsername(username) : Optional.empty();
+    }
+
     public Optional<UserAccount> findByEmail(String email) {
         if (email == null) {
             return Optional.empty();
@@ -164,9 +184,24 @@ public class UserAccountService implements UserDetailsService {
 
         RoleType roleType = RoleType.fromCode(userAccount.getRole()).orElse(RoleType.USER);
 
-        return User.withUsername(userAccount.getUsername())
-                .password(userAccount.getPassword())
-                .roles(roleType.getCode())
-                .build();
+        return new AccountUser(userAccount.getId(), userAccount.getUsername(), userAccount.getPassword(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + roleType.getCode())));
+    }
+
+    /**
+     * Principal da sessão com o id da conta
+     */
+    public static class AccountUser extends User {
+
+        private final Long id;
+
+        public AccountUser(Long id, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+            super(username, password, authorities);
+            this.id = id;
+        }
+
+        public Long getId() {
+            return id;
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.event.EventBoardChangedEvent;
 import com.necsus.necsusspring.model.Payment;
 import com.necsus.necsusspring.model.Partner;
 import com.necsus.necsusspring.model.Vehicle;
@@ -7,6 +8,7 @@ import com.necsus.necsusspring.repository.EventRepository;
 import com.necsus.necsusspring.repository.PaymentRepository;
 import com.necsus.necsusspring.repository.PartnerRepository;
 import com.necsus.necsusspring.repository.VehicleRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -26,15 +29,18 @@ public class VehicleService {
     private final PartnerRepository partnerRepository;
     private final PaymentRepository paymentRepository;
     private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public VehicleService(VehicleRepository vehicleRepository,
                           PartnerRepository partnerRepository,
                           PaymentRepository paymentRepository,
-                          EventRepository eventRepository) {
+                          EventRepository eventRepository,
+                          ApplicationEventPublisher eventPublisher) {
         this.vehicleRepository = vehicleRepository;
         this.partnerRepository = partnerRepository;
         this.paymentRepository = paymentRepository;
         this.eventRepository = eventRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -147,6 +153,7 @@ public class VehicleService {
                 .orElseThrow(() -> new RuntimeException("Vehicle not found with id " + id));
 
         Partner partner = resolvePartner(vehiclePayload.getPartnerId());
+        boolean plaqueChanged = !Objects.equals(existing.getPlaque(), vehiclePayload.getPlaque());
         existing.setMaker(vehiclePayload.getMaker());
         if (vehiclePayload.getType_vehicle() != null) {
             existing.setType_vehicle(vehiclePayload.getType_vehicle());
@@ -169,6 +176,10 @@ public class VehicleService {
         paymentRepository.save(payment);
 
         savedVehicle.setPayment(payment);
+        if (plaqueChanged) {
+            // A placa aparece nos cards do board de eventos
+            publishBoardChanges(eventRepository.findIdsByVehicleId(id), EventBoardChangedEvent.Type.UPDATED);
+        }
         return savedVehicle;
     }
 
@@ -177,11 +188,20 @@ public class VehicleService {
         if (!vehicleRepository.existsById(id)) {
             return;
         }
+        List<Long> eventIds = eventRepository.findIdsByVehicleId(id);
         eventRepository.deleteByVehicleId(id);
+        publishBoardChanges(eventIds, EventBoardChangedEvent.Type.DELETED);
         paymentRepository.deleteByVehicleId(id);
         vehicleRepository.deleteById(id);
     }
 
+    /**
+     * O board de eventos (cache, delta e SSE) só enxerga mudanças publicadas; os listeners rodam após o commit
+     */
+    private void publishBoardChanges(List<Long> eventIds, EventBoardChangedEvent.Type type) {
+        eventIds.forEach(eventId -> eventPublisher.publishEvent(new EventBoardChangedEvent(eventId, type)));
+    }
+
     private Partner resolvePartner(Long partnerId) {
         return partnerRepository.findById(partnerId)
                 .orElseThrow(() -> new RuntimeException("Partner not found with id " + partnerId));
@@ -0,0 +1,20 @@
+-- Índices para a paginação por cursor (keyset) das colunas de kanban.
+-- As expressões precisam ser idênticas às usadas nas consultas de BOARD_COLUMN_KEYS dos repositórios.
+
+-- Board de eventos: status, vencimento (nulos por último), título normalizado e id
+CREATE INDEX IF NOT EXISTS idx_event_board_column
+    ON event (status, COALESCE(data_vencimento, DATE '9999-12-31'), LOWER(COALESCE(titulo, '')), id);
+
+-- Board de demandas: status, prazo (nulos por último), prioridade, título normalizado e id
+CREATE INDEX IF NOT EXISTS idx_demands_board_column
+    ON demands (
+        status,
+        COALESCE(due_date, TIMESTAMP '9999-12-31 00:00:00'),
+        (CASE prioridade WHEN 'URGENTE' THEN 0 WHEN 'ALTA' THEN 1 WHEN 'BAIXA' THEN 3 ELSE 2 END),
+        LOWER(COALESCE(titulo, '')),
+        id
+    );
+
+-- Funil de vendas: status e mais recentes primeiro
+CREATE INDEX IF NOT EXISTS idx_sales_board_column
+    ON sales (status, created_at DESC, id DESC);
@@ -0,0 +1,4 @@
+-- Índice para a exclusão (NOT EXISTS) dos eventos já enviados ao jurídico nas consultas do board
+CREATE INDEX IF NOT EXISTS idx_legal_processes_source_event_id
+    ON legal_processes (source_event_id)
+    WHERE source_event_id IS NOT NULL;
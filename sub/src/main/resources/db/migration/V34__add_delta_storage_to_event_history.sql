@@ -0,0 +1,28 @@
+-- Armazenamento compacto do histórico de descrição/observação dos eventos.
+-- storage_format nulo = registro antigo com as cópias completas; SNAPSHOT = cópias completas
+-- já processadas; DELTA = previous_/new_ vazios e o texto reconstruído a partir do registro
+-- anterior (por id) com previous_delta e new_delta.
+ALTER TABLE IF EXISTS event_observation_history
+    ADD COLUMN IF NOT EXISTS storage_format VARCHAR(10),
+    ADD COLUMN IF NOT EXISTS previous_delta TEXT,
+    ADD COLUMN IF NOT EXISTS new_delta TEXT;
+
+ALTER TABLE IF EXISTS event_description_history
+    ADD COLUMN IF NOT EXISTS storage_format VARCHAR(10),
+    ADD COLUMN IF NOT EXISTS previous_delta TEXT,
+    ADD COLUMN IF NOT EXISTS new_delta TEXT;
+
+-- Localiza os eventos com registros ainda não convertidos e percorre a cadeia de cada evento por id
+CREATE INDEX IF NOT EXISTS idx_event_observation_history_pending
+    ON event_observation_history (event_id)
+    WHERE storage_format IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_event_description_history_pending
+    ON event_description_history (event_id)
+    WHERE storage_format IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_event_observation_history_event_id
+    ON event_observation_history (event_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_event_description_history_event_id
+    ON event_description_history (event_id, id);
@@ -0,0 +1,28 @@
+-- Roles destinatários das demandas normalizados (uma linha por role), substituindo o
+-- LIKE '%role%' sobre demands.target_roles nas consultas de acesso e do board.
+-- A coluna target_roles continua existindo e é mantida em sincronia pela aplicação.
+CREATE TABLE IF NOT EXISTS demand_target_roles (
+    demand_id BIGINT NOT NULL REFERENCES demands (id) ON DELETE CASCADE,
+    role VARCHAR(50) NOT NULL,
+    PRIMARY KEY (demand_id, role)
+);
+
+-- Demandas de um role: percorre apenas as linhas do role
+CREATE INDEX IF NOT EXISTS idx_demand_target_roles_role
+    ON demand_target_roles (role, demand_id);
+
+-- Demais ramos da consulta de demandas acessíveis (criadas por / atribuídas a)
+CREATE INDEX IF NOT EXISTS idx_demands_created_by_id
+    ON demands (created_by_id);
+
+CREATE INDEX IF NOT EXISTS idx_demands_assigned_to_id
+    ON demands (assigned_to_id);
+
+-- Carga inicial a partir da lista separada por vírgulas
+INSERT INTO demand_target_roles (demand_id, role)
+SELECT d.id, TRIM(r.role)
+FROM demands d
+CROSS JOIN LATERAL unnest(string_to_array(d.target_roles, ',')) AS r(role)
+WHERE d.target_roles IS NOT NULL
+  AND TRIM(r.role) <> ''
+ON CONFLICT DO NOTHING;
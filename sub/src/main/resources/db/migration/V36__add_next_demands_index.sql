@@ -0,0 +1,6 @@
+-- "Próximas demandas" do dashboard: top-N das demandas abertas de um responsável.
+-- Índice parcial apenas com as linhas PENDENTE/EM_ANDAMENTO (as concluídas e canceladas,
+-- a maior parte da tabela, ficam de fora); o predicado é o mesmo da consulta.
+CREATE INDEX IF NOT EXISTS idx_demands_next_for_user
+    ON demands (assigned_to_id, status, due_date)
+    WHERE status IN ('PENDENTE', 'EM_ANDAMENTO');
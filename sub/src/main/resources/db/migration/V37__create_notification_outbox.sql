@@ -0,0 +1,33 @@
+-- Outbox transacional das notificações: os serviços gravam aqui, na mesma transação da
+-- mudança de domínio, e o NotificationOutboxDispatcher transforma as linhas em notificações
+-- em lotes. Linhas entregues são removidas; as que esgotam as tentativas ficam como DEAD.
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(60) NOT NULL,
+    recipient_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    action_url VARCHAR(500),
+    related_entity_id BIGINT,
+    related_entity_type VARCHAR(100),
+    priority VARCHAR(20),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_notification_outbox_status
+        CHECK (status IN ('PENDING', 'DEAD'))
+);
+
+-- Fila do dispatcher: apenas as linhas pendentes, na ordem de gravação
+CREATE INDEX IF NOT EXISTS idx_notification_outbox_pending
+    ON notification_outbox (next_attempt_at, id)
+    WHERE status = 'PENDING';
+
+COMMENT ON TABLE notification_outbox IS 'Notificações pendentes de entrega (outbox transacional)';
+COMMENT ON COLUMN notification_outbox.event_type IS 'Evento de domínio que originou a notificação';
+COMMENT ON COLUMN notification_outbox.status IS 'PENDING (aguardando entrega) ou DEAD (tentativas esgotadas)';
+COMMENT ON COLUMN notification_outbox.last_error IS 'Último erro de entrega';
@@ -0,0 +1,4 @@
+-- Canal /notifications/stream: notificações de um destinatário com id maior que o último
+-- recebido pelo cliente (envio após o commit e retomada pelo Last-Event-ID).
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_id
+    ON notifications (recipient_id, id);
@@ -0,0 +1,23 @@
+-- Destino do expurgo de notificações no modo ARCHIVE_TABLE (app.notifications.retention.purge-mode).
+-- Particionada por mês de criação: o NotificationRetentionService cria a partição de cada mês
+-- (notifications_archive_AAAAMM) antes de mover as linhas, e meses antigos podem ser descartados
+-- com DROP TABLE da partição.
+CREATE TABLE IF NOT EXISTS notifications_archive (
+    id BIGINT NOT NULL,
+    recipient_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    read_at TIMESTAMP,
+    action_url VARCHAR(500),
+    related_entity_id BIGINT,
+    related_entity_type VARCHAR(100),
+    priority VARCHAR(20),
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_archive_recipient
+    ON notifications_archive (recipient_id, created_at);
@@ -0,0 +1,44 @@
+-- Agrupamento de notificações: notificações repetidas do mesmo destinatário, tipo e entidade
+-- relacionada dentro da janela app.notifications.coalescing.window-minutes viram uma só linha,
+-- com o número de ocorrências e a mensagem mais recente.
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS occurrences INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS last_occurred_at TIMESTAMP;
+
+ALTER TABLE notifications_archive ADD COLUMN IF NOT EXISTS occurrences INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE notifications_archive ADD COLUMN IF NOT EXISTS last_occurred_at TIMESTAMP;
+
+-- Busca da notificação não lida a ser atualizada no agrupamento
+CREATE INDEX IF NOT EXISTS idx_notifications_coalesce
+    ON notifications (recipient_id, related_entity_id, related_entity_type, type, created_at)
+    WHERE status = 'UNREAD' AND related_entity_id IS NOT NULL;
+
+-- Preferência de resumo periódico por usuário (sem linha = entrega imediata)
+CREATE TABLE IF NOT EXISTS notification_preferences (
+    user_id BIGINT PRIMARY KEY REFERENCES app_users (id) ON DELETE CASCADE,
+    digest_frequency VARCHAR(20) NOT NULL DEFAULT 'IMMEDIATE',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_notification_preferences_digest
+        CHECK (digest_frequency IN ('IMMEDIATE', 'HOURLY', 'DAILY'))
+);
+
+-- Notificações retidas para o próximo resumo dos usuários que optaram por ele
+CREATE TABLE IF NOT EXISTS notification_digest_items (
+    id BIGSERIAL PRIMARY KEY,
+    recipient_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    action_url VARCHAR(500),
+    related_entity_id BIGINT,
+    related_entity_type VARCHAR(100),
+    priority VARCHAR(20),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_digest_items_recipient
+    ON notification_digest_items (recipient_id, id);
+
+COMMENT ON COLUMN notifications.occurrences IS 'Quantas notificações equivalentes foram agrupadas nesta linha';
+COMMENT ON COLUMN notifications.last_occurred_at IS 'Data da ocorrência mais recente agrupada';
+COMMENT ON TABLE notification_digest_items IS 'Notificações aguardando o resumo periódico do destinatário';
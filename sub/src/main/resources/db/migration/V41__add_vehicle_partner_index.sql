@@ -0,0 +1,3 @@
+-- Relatório de associados: contagem de veículos por associado e EXISTS de associados com
+-- veículo (ver PartnerRepository) sem varrer a tabela vehicle a cada associado.
+CREATE INDEX IF NOT EXISTS idx_vehicle_partners_id ON vehicle (partners_id);
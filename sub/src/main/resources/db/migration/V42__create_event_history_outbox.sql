@@ -0,0 +1,27 @@
+-- Outbox do histórico de descrição/observação dos eventos: cada edição grava uma linha aqui,
+-- na transação da edição, e o EventHistoryWriter a remove na mesma transação em que grava o
+-- registro fundido em event_observation_history/event_description_history. Linhas que
+-- sobrevivem a uma queda da aplicação são recuperadas e gravadas depois.
+CREATE TABLE IF NOT EXISTS event_history_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL REFERENCES event (id) ON DELETE CASCADE,
+    field VARCHAR(20) NOT NULL,
+    previous_value TEXT,
+    new_value TEXT,
+    modified_by VARCHAR(255),
+    modified_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_event_history_outbox_field
+        CHECK (field IN ('OBSERVATION', 'DESCRIPTION'))
+);
+
+-- Recuperação das linhas antigas, na ordem de gravação
+CREATE INDEX IF NOT EXISTS idx_event_history_outbox_created
+    ON event_history_outbox (created_at, id);
+
+-- Remoção em cascata junto com o evento
+CREATE INDEX IF NOT EXISTS idx_event_history_outbox_event
+    ON event_history_outbox (event_id);
+
+COMMENT ON TABLE event_history_outbox IS 'Alterações de descrição/observação ainda não gravadas no histórico';
@@ -0,0 +1,14 @@
+-- Board de eventos: títulos nulos passam a ficar por último também na paginação por cursor,
+-- como no NULLS LAST das consultas do board (BOARD_CARD_ORDER). O índice de V32 é recriado com
+-- a mesma chave de EventRepository.BOARD_COLUMN_KEYS: status, vencimento (nulos por último),
+-- título nulo, título normalizado e id.
+DROP INDEX IF EXISTS idx_event_board_column;
+
+CREATE INDEX IF NOT EXISTS idx_event_board_column
+    ON event (
+        status,
+        COALESCE(data_vencimento, DATE '9999-12-31'),
+        (CASE WHEN titulo IS NULL THEN 1 ELSE 0 END),
+        LOWER(COALESCE(titulo, '')),
+        id
+    );
@@ -73,6 +73,58 @@
         bindEvents();
         updateFilterBadge();
         loadBoard();
+        openBoardStream();
+    }
+
+    /**
+     * Recebe as mudanças de cards feitas por outros usuários via SSE.
+     * Após uma reconexão o board é recarregado, pois mensagens podem ter sido perdidas.
+     */
+    function openBoardStream() {
+        if (typeof EventSource === 'undefined') {
+            return;
+        }
+
+        let disconnected = false;
+        const source = new EventSource('/demands/api/board/stream');
+
+        source.onopen = () => {
+            if (disconnected) {
+                disconnected = false;
+                loadBoard();
+            }
+        };
+
+        source.addEventListener('card-change', event => {
+            applyStreamMessage(JSON.parse(event.data));
+        });
+
+        source.onerror = () => {
+            disconnected = true;
+        };
+    }
+
+    function applyStreamMessage(message) {
+        if (!message || message.id == null) {
+            return;
+        }
+
+        const index = state.cards.findIndex(item => String(item.id) === String(message.id));
+        if (!message.card) {
+            if (index === -1) {
+                return;
+            }
+            state.cards.splice(index, 1);
+        } else if (index === -1) {
+            state.cards.push(message.card);
+        } else {
+            state.cards[index] = message.card;
+        }
+
+        // Não redesenha no meio de um arraste; o drop já faz o render
+        if (!dragState.cardId) {
+            render();
+        }
     }
 
     function collectAllRoles() {
@@ -14,9 +14,14 @@
     ];
     const ENVOLVIMENTO_VALUES = ['CAUSADOR', 'VITIMA', 'NAO_INFORMADO'];
     const MOTIVO_VALUES = ['COLISAO', 'ROUBO', 'FURTO', 'INCENDIO', 'VANDALISMO', 'FENOMENO_NATURAL', 'QUEBRA_PECA', 'OUTROS', 'NAO_INFORMADO_MOTIVO'];
+    const BOARD_REFRESH_INTERVAL_MS = 15000;
 
     const state = {
         cards: [],
+        revision: null,
+        refreshing: false,
+        streamConnected: false,
+        stale: false,
         search: "",
         advancedFilters: {
             prioridade: [...PRIORIDADE_VALUES],
@@ -104,6 +109,64 @@
         highlightState.eventId = readHighlightParam();
         bindEvents();
         loadBoard();
+        openBoardStream();
+        // Com o stream conectado o polling só roda para recuperar mensagens que não puderam ser aplicadas
+        setInterval(() => {
+            if (!state.streamConnected || state.stale) {
+                refreshBoard();
+            }
+        }, BOARD_REFRESH_INTERVAL_MS);
+    }
+
+    /**
+     * Recebe as mudanças de cards por SSE. Cada mensagem traz a revisão; se ela não for
+     * exatamente a próxima (mensagem perdida, reconexão), o board busca o delta pelo polling.
+     */
+    function openBoardStream() {
+        if (typeof EventSource === 'undefined') {
+            return;
+        }
+
+        const source = new EventSource('/events/api/board/stream');
+
+        source.addEventListener('ready', event => {
+            state.streamConnected = true;
+            const payload = JSON.parse(event.data);
+            if (state.revision != null && payload.revision !== state.revision) {
+                state.stale = true;
+                refreshBoard();
+            }
+        });
+
+        source.addEventListener('card-change', event => {
+            applyStreamMessage(JSON.parse(event.data));
+        });
+
+        source.onerror = () => {
+            // O navegador reconecta sozinho; até lá o polling assume
+            state.streamConnected = false;
+        };
+    }
+
+    function applyStreamMessage(message) {
+        if (!message || state.revision == null || message.revision <= state.revision) {
+            return;
+        }
+
+        if (message.revision !== state.revision + 1 || state.refreshing || dragState.cardId) {
+            state.stale = true;
+            refreshBoard();
+            return;
+        }
+
+        const changed = applyDelta({
+            revision: message.revision,
+            removed: message.card ? [] : [message.id],
+            updated: message.card ? [message.card] : []
+        });
+        if (changed) {
+            render();
+        }
     }
 
     function readHighlightParam() {
@@ -186,13 +249,7 @@
             }
 
             const payload = await response.json();
-            if (payload && Array.isArray(payload.cards)) {
-                state.cards = payload.cards;
-            } else if (payload && payload.eventsByStatus) {
-                state.cards = Object.values(payload.eventsByStatus).flat();
-            } else {
-                state.cards = [];
-            }
+            applySnapshot(payload);
 
             render();
             handleHighlight();
@@ -202,6 +259,88 @@
         }
     }
 
+    function applySnapshot(payload) {
+        if (payload && Array.isArray(payload.cards)) {
+            state.cards = payload.cards;
+        } else if (payload && payload.eventsByStatus) {
+            state.cards = Object.values(payload.eventsByStatus).flat();
+        } else {
+            state.cards = [];
+        }
+        state.revision = payload && payload.revision != null ? payload.revision : null;
+    }
+
+    /**
+     * Busca apenas o que mudou desde a última revisão conhecida.
+     * O servidor devolve o snapshot completo quando não consegue montar o delta.
+     */
+    async function refreshBoard() {
+        if (state.revision == null || state.refreshing || document.hidden || dragState.cardId) {
+            return;
+        }
+
+        state.refreshing = true;
+        try {
+            const response = await fetch(`/events/api/board?sinceRevision=${encodeURIComponent(state.revision)}`, {
+                headers: buildHeaders({ 'Accept': 'application/json' })
+            });
+
+            if (!response.ok) {
+                throw new Error('Erro ao atualizar eventos.');
+            }
+
+            const delta = await response.json();
+            state.stale = false;
+            if (applyDelta(delta)) {
+                render();
+            }
+        } catch (error) {
+            console.warn('[KANBAN] Falha ao atualizar board:', error);
+        } finally {
+            state.refreshing = false;
+        }
+    }
+
+    function applyDelta(delta) {
+        if (!delta) {
+            return false;
+        }
+
+        if (delta.fullSnapshot) {
+            applySnapshot(delta.snapshot);
+            return true;
+        }
+
+        state.revision = delta.revision;
+
+        const removedIds = new Set((delta.removed || []).map(String));
+        const upserts = [...(delta.added || []), ...(delta.moved || []), ...(delta.updated || [])];
+        if (removedIds.size === 0 && upserts.length === 0) {
+            return false;
+        }
+
+        const upsertsById = new Map(upserts.map(card => [String(card.id), card]));
+        state.cards = state.cards
+            .filter(card => !removedIds.has(String(card.id)) && !upsertsById.has(String(card.id)))
+            .concat(upserts)
+            .sort(compareCards);
+        return true;
+    }
+
+    // Mesma ordenação usada pelo servidor em cada coluna: vencimento, título e id
+    function compareCards(a, b) {
+        if (a.dataVencimento !== b.dataVencimento) {
+            if (!a.dataVencimento) return 1;
+            if (!b.dataVencimento) return -1;
+            return a.dataVencimento < b.dataVencimento ? -1 : 1;
+        }
+        const byTitle = (a.titulo || '').localeCompare(b.titulo || '', 'pt-BR', { sensitivity: 'base' });
+        if (byTitle !== 0) {
+            return byTitle;
+        }
+        return Number(a.id) - Number(b.id);
+    }
+
     function handleHighlight() {
         if (!highlightState.eventId || highlightState.hasOpened) {
             return;
@@ -366,9 +366,14 @@ document.addEventListener('DOMContentLoaded', function() {
         `;
     }
 
+    function partnersTotal(data) {
+        return data.partnersPage ? data.partnersPage.totalElements : null;
+    }
+
     function buildPartnersTable(items, options) {
         const settings = Object.assign({
             limit: null,
+            total: null,
             context: 'overlay'
         }, options || {});
 
@@ -386,7 +391,8 @@ document.addEventListener('DOMContentLoaded', function() {
 
         const limit = typeof settings.limit === 'number' ? settings.limit : null;
         const sliced = limit ? items.slice(0, limit) : items;
-        const hasMore = limit && items.length > limit;
+        const total = typeof settings.total === 'number' ? settings.total : items.length;
+        const hasMore = total > sliced.length;
         const tableClass = settings.context === 'overlay' ? 'table table-hover align-middle mb-0' : 'table align-middle mb-0';
 
         const rows = sliced.map(function (item) {
@@ -407,8 +413,11 @@ document.addEventListener('DOMContentLoaded', function() {
             `;
         }).join('');
 
+        const hint = settings.context === 'preview'
+            ? 'Clique em &ldquo;Ver detalhes&rdquo; para acessar a lista completa.'
+            : 'Exporte em Excel para obter a lista completa.';
         const note = hasMore
-            ? `<div class="p-3 text-muted small border-top">Exibindo ${limit} de ${items.length} associados. Clique em &ldquo;Ver detalhes&rdquo; para acessar a lista completa.</div>`
+            ? `<div class="p-3 text-muted small border-top">Exibindo ${sliced.length} de ${total} associados. ${hint}</div>`
             : '';
 
         return `
@@ -480,7 +489,7 @@ document.addEventListener('DOMContentLoaded', function() {
         }
 
         if (data.partners) {
-            sections.push(buildPartnersTable(data.partners, {context: 'overlay'}));
+            sections.push(buildPartnersTable(data.partners, {context: 'overlay', total: partnersTotal(data)}));
         }
 
         if (!sections.length) {
@@ -519,7 +528,7 @@ document.addEventListener('DOMContentLoaded', function() {
         }
 
         if (data.partners) {
-            previewSections.push(buildPartnersTable(data.partners, {limit: 5, context: 'preview'}));
+            previewSections.push(buildPartnersTable(data.partners, {limit: 5, context: 'preview', total: partnersTotal(data)}));
         }
 
         previewSections.push('<p class="text-muted small mb-0 mt-3 text-end">Use o botão &ldquo;Ver detalhes&rdquo; para explorar todo o relatório.</p>');
@@ -700,6 +709,70 @@ document.addEventListener('DOMContentLoaded', function() {
         showFeedback('Visualização limpa com sucesso.');
     }
 
+    function describeJob(job) {
+        if (job.total > 0) {
+            return 'Gerando ' + job.filename + ': ' + job.progress + ' de ' + job.total + ' associados...';
+        }
+        return 'Gerando ' + job.filename + '...';
+    }
+
+    function watchReportJob(job, button) {
+        const source = new EventSource(job.eventsUrl);
+        source.addEventListener('job', function (event) {
+            const current = JSON.parse(event.data);
+            if (current.state === 'DONE') {
+                source.close();
+                button.classList.remove('disabled');
+                showFeedback('Relatório pronto. Download iniciado.');
+                window.location.href = current.downloadUrl;
+            } else if (current.state === 'FAILED') {
+                source.close();
+                button.classList.remove('disabled');
+                showFeedback(current.error || 'Erro ao gerar o relatório.', 'error');
+            } else {
+                showFeedback(describeJob(current));
+            }
+        });
+        source.onerror = function () {
+            source.close();
+            button.classList.remove('disabled');
+        };
+    }
+
+    // Downloads em Excel viram jobs em segundo plano; o link continua funcionando sem JavaScript
+    function handleReportJob(event) {
+        const button = event.currentTarget;
+        event.preventDefault();
+        if (button.classList.contains('disabled')) {
+            return;
+        }
+        button.classList.add('disabled');
+
+        fetch(button.dataset.reportJob, {
+            method: 'POST',
+            headers: FETCH_HEADERS
+        })
+            .then(function (response) {
+                if (response.status === 204) {
+                    throw new Error('Não há associados cadastrados para gerar o relatório.');
+                }
+                return response.json().then(function (body) {
+                    if (!response.ok) {
+                        throw new Error(body.error || 'Erro ao solicitar o relatório.');
+                    }
+                    return body;
+                });
+            })
+            .then(function (job) {
+                showFeedback(describeJob(job));
+                watchReportJob(job, button);
+            })
+            .catch(function (error) {
+                button.classList.remove('disabled');
+                showFeedback(error.message, 'error');
+            });
+    }
+
     function handleScrollButton() {
         form.scrollIntoView({behavior: 'smooth', block: 'start'});
     }
@@ -724,5 +797,9 @@ document.addEventListener('DOMContentLoaded', function() {
         scrollButton.addEventListener('click', handleScrollButton);
     }
 
+    page.querySelectorAll('[data-report-job]').forEach(function (button) {
+        button.addEventListener('click', handleReportJob);
+    });
+
     console.log('Event listeners registrados com sucesso');
 });
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.necsus.necsusspring.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentedExecutorTest {
+
+    private InstrumentedExecutor executor;
+
+    @AfterEach
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdown(1);
+        }
+    }
+
+    /**
+     * Ocupa a única thread do pool e a única vaga da fila
+     */
+    private CountDownLatch saturate() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> await(release));
+        return release;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void testExecute_WhenQueueFullWithCallerRuns_ShouldRunOnCallerThread() throws Exception {
+        executor = new InstrumentedExecutor("test", 1, 1, InstrumentedExecutor.RejectionPolicy.CALLER_RUNS);
+        CountDownLatch release = saturate();
+
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+        release.countDown();
+
+        assertSame(Thread.currentThread(), ranOn.get());
+        InstrumentedExecutor.Stats stats = executor.stats();
+        assertEquals(3, stats.submitted());
+        assertEquals(1, stats.callerRuns());
+        assertEquals(0, stats.rejected());
+    }
+
+    @Test
+    public void testExecute_WhenQueueFullWithAbort_ShouldRejectAndCount() throws Exception {
+        executor = new InstrumentedExecutor("test", 1, 1, InstrumentedExecutor.RejectionPolicy.ABORT);
+        CountDownLatch release = saturate();
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        release.countDown();
+
+        assertEquals(1, executor.stats().rejected());
+        assertEquals(1, executor.stats().queueCapacity());
+    }
+
+    @Test
+    public void testExecute_WhenTaskFails_ShouldCountFailureAndKeepPoolWorking() throws Exception {
+        executor = new InstrumentedExecutor("test", 1, 10, InstrumentedExecutor.RejectionPolicy.ABORT);
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            throw new IllegalStateException("falha");
+        });
+        executor.execute(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown(5);
+        InstrumentedExecutor.Stats stats = executor.stats();
+        assertEquals(1, stats.failed());
+        assertEquals(1, stats.completed());
+    }
+}
@@ -1,6 +1,7 @@
 package com.necsus.necsusspring.controller;
 
 import com.necsus.necsusspring.model.*;
+import com.necsus.necsusspring.service.DemandBoardStreamService;
 import com.necsus.necsusspring.service.DemandService;
 import com.necsus.necsusspring.service.UserAccountService;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,6 +38,9 @@ public class DemandControllerTest {
     @Mock
     private UserAccountService userAccountService;
 
+    @Mock
+    private DemandBoardStreamService boardStreamService;
+
     @Mock
     private Authentication authentication;
 
@@ -0,0 +1,155 @@
+package com.necsus.necsusspring.event;
+
+import com.necsus.necsusspring.dto.NotificationDraft;
+import com.necsus.necsusspring.model.NotificationType;
+import com.necsus.necsusspring.model.UserAccount;
+import com.necsus.necsusspring.service.NotificationOutbox;
+import com.necsus.necsusspring.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationEventListenerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private AnnotationConfigApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+
+    /** Linhas gravadas no outbox e se havia transação ativa no momento da gravação */
+    private final List<NotificationDraft> outboxRows = new ArrayList<>();
+    private final List<Boolean> writtenInTransaction = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    outboxRows.addAll((Collection<NotificationDraft>) invocation.getArgument(1));
+                    writtenInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+                    return new int[0][];
+                });
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(JdbcTemplate.class, () -> jdbcTemplate);
+        context.registerBean(NotificationOutbox.class);
+        context.registerBean(NotificationService.class, () -> notificationService);
+        context.registerBean(NotificationEventListener.class);
+        context.refresh();
+
+        transactionTemplate = new TransactionTemplate(new InMemoryTransactionManager());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        context.close();
+    }
+
+    private static UserAccount user(Long id) {
+        UserAccount user = new UserAccount();
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    public void testEventPublishedInTransaction_ShouldWriteOutboxRowInSameTransaction() {
+        transactionTemplate.executeWithoutResult(status ->
+                context.publishEvent(new NotificationEventListener.EventCreatedEvent(10L, user(3L))));
+
+        assertEquals(1, outboxRows.size());
+        assertEquals(List.of(true), writtenInTransaction);
+        NotificationDraft row = outboxRows.get(0);
+        assertEquals(3L, row.recipientId());
+        assertEquals("Novo Evento Criado", row.title());
+        assertEquals(NotificationType.EVENT, row.type());
+        assertEquals(10L, row.relatedEntityId());
+    }
+
+    @Test
+    public void testEventUpdatedPublishedInTransaction_ShouldCoalesceThroughNotificationService() {
+        UserAccount analyst = user(3L);
+        List<Boolean> notifiedInTransaction = new ArrayList<>();
+        when(notificationService.notifyEventUpdate(analyst, 10L, "status alterado para Em análise"))
+                .thenAnswer(invocation -> {
+                    notifiedInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+                    return null;
+                });
+
+        transactionTemplate.executeWithoutResult(status -> context.publishEvent(
+                new NotificationEventListener.EventUpdatedEvent(10L, analyst, "status alterado para Em análise")));
+
+        assertEquals(List.of(true), notifiedInTransaction);
+        assertTrue(outboxRows.isEmpty());
+    }
+
+    @Test
+    public void testDemandCreatedPublishedInTransaction_ShouldWriteOutboxRow() {
+        transactionTemplate.executeWithoutResult(status ->
+                context.publishEvent(new NotificationEventListener.DemandCreatedEvent(5L, user(2L), "Nova demanda")));
+
+        assertEquals(1, outboxRows.size());
+        assertEquals(List.of(true), writtenInTransaction);
+        assertEquals("Nova Demanda Atribuída", outboxRows.get(0).title());
+        assertEquals("/demands/5", outboxRows.get(0).actionUrl());
+    }
+
+    @Test
+    public void testEventWithoutRecipient_ShouldNotWriteOutboxRow() {
+        transactionTemplate.executeWithoutResult(status ->
+                context.publishEvent(new NotificationEventListener.PaymentProcessedEvent(1L, null, "Pago")));
+
+        assertTrue(outboxRows.isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    /**
+     * Gerenciador de transação sem recurso: só abre e fecha o escopo transacional, o que basta para
+     * o listener rodar dentro da transação de quem publicou o evento
+     */
+    private static class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
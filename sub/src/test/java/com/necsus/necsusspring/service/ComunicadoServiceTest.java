@@ -0,0 +1,101 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.event.ComunicadoPublishedEvent;
+import com.necsus.necsusspring.model.Comunicado;
+import com.necsus.necsusspring.repository.ComunicadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ComunicadoServiceTest {
+
+    @InjectMocks
+    private ComunicadoService comunicadoService;
+
+    @Mock
+    private ComunicadoRepository comunicadoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private Comunicado comunicado;
+
+    @BeforeEach
+    public void setUp() {
+        comunicado = new Comunicado();
+        comunicado.setId(1L);
+        comunicado.setTitulo("Assembleia");
+        comunicado.setMensagem("Assembleia geral na sexta");
+        lenient().when(comunicadoRepository.save(any(Comunicado.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static Comunicado payload(boolean ativo, LocalDateTime dataExpiracao) {
+        Comunicado payload = new Comunicado();
+        payload.setTitulo("Assembleia");
+        payload.setMensagem("Assembleia geral na sexta");
+        payload.setAtivo(ativo);
+        payload.setDataExpiracao(dataExpiracao);
+        return payload;
+    }
+
+    @Test
+    public void testCreate_WhenInactive_ShouldNotPublish() {
+        comunicado.setAtivo(false);
+
+        comunicadoService.create(comunicado);
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void testUpdate_WhenActivated_ShouldPublishComunicado() {
+        comunicado.setAtivo(false);
+        when(comunicadoRepository.findById(1L)).thenReturn(Optional.of(comunicado));
+
+        Comunicado result = comunicadoService.update(1L, payload(true, null));
+
+        assertTrue(result.isVisivel());
+        verify(eventPublisher).publishEvent(new ComunicadoPublishedEvent(1L, "Assembleia"));
+    }
+
+    @Test
+    public void testUpdate_WhenExpirationIsExtended_ShouldPublishComunicado() {
+        comunicado.setDataExpiracao(LocalDateTime.now().minusDays(1));
+        when(comunicadoRepository.findById(1L)).thenReturn(Optional.of(comunicado));
+
+        comunicadoService.update(1L, payload(true, LocalDateTime.now().plusDays(7)));
+
+        verify(eventPublisher).publishEvent(new ComunicadoPublishedEvent(1L, "Assembleia"));
+    }
+
+    @Test
+    public void testUpdate_WhenAlreadyVisible_ShouldNotPublishAgain() {
+        when(comunicadoRepository.findById(1L)).thenReturn(Optional.of(comunicado));
+
+        comunicadoService.update(1L, payload(true, null));
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    public void testToggleAtivo_WhenReactivated_ShouldPublishComunicado() {
+        comunicado.setAtivo(false);
+        when(comunicadoRepository.findById(1L)).thenReturn(Optional.of(comunicado));
+
+        comunicadoService.toggleAtivo(1L);
+
+        verify(eventPublisher).publishEvent(new ComunicadoPublishedEvent(1L, "Assembleia"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.service.DataExportService.Dataset;
+import com.necsus.necsusspring.service.DataExportService.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DataExportServiceTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DataExportService exportService;
+
+    @BeforeEach
+    public void setUp() {
+        exportService = new DataExportService(dataSource, transactionManager, 500);
+    }
+
+    @Test
+    public void testPrepare_WithoutFilters_ShouldSelectWholeDatasetOrderedById() {
+        DataExportService.Query query = exportService.prepare(Dataset.SALES, new Filter(null, null, null, true));
+
+        assertFalse(query.sql().contains("WHERE"));
+        assertTrue(query.sql().endsWith("ORDER BY s.id"));
+        assertTrue(query.args().isEmpty());
+    }
+
+    @Test
+    public void testPrepare_WithPartnerFilters_ShouldBindSearchStatusAndId() {
+        DataExportService.Query query = exportService.prepare(Dataset.PARTNERS,
+                new Filter(" 123.456 ", "ativo", 7L, true));
+
+        assertTrue(query.sql().contains("WHERE (LOWER(p.name) LIKE ?"));
+        assertEquals(List.of("%123.456%", "%123456%", "ATIVO", 7L), query.args());
+    }
+
+    @Test
+    public void testPrepare_Events_WithoutIncludeLinked_ShouldExcludeEventsWithLegalProcess() {
+        DataExportService.Query query = exportService.prepare(Dataset.EVENTS, new Filter(null, "ABERTO", null, false));
+
+        assertTrue(query.sql().contains("NOT EXISTS (SELECT 1 FROM legal_processes lp WHERE lp.source_event_id = e.id)"));
+        assertEquals(List.of("ABERTO"), query.args());
+    }
+
+    @Test
+    public void testPrepare_Bills_ShouldAcceptPaidFlagAndRejectPartnerFilter() {
+        DataExportService.Query query = exportService.prepare(Dataset.BILLS, new Filter(null, "pago", null, true));
+        assertEquals(List.of(1), query.args());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.prepare(Dataset.BILLS, new Filter(null, null, 3L, true)));
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.prepare(Dataset.BOLETOS, new Filter(null, "ATRASADO", null, true)));
+    }
+
+    @Test
+    public void testPrepare_WithUnknownStatus_ShouldThrowIllegalArgumentException() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> exportService.prepare(Dataset.VEHICLES, new Filter(null, "QUALQUER", null, true)));
+
+        assertTrue(error.getMessage().contains("QUALQUER"));
+    }
+
+    @Test
+    public void testCsvRowWriter_ShouldQuoteSpecialCharactersAndFormatValues() throws Exception {
+        StringWriter out = new StringWriter();
+        DataExportService.CsvRowWriter writer = new DataExportService.CsvRowWriter(out);
+
+        writer.start(new String[]{"id", "name", "valor", "created_at"});
+        writer.row(new Object[]{1L, "Silva, \"Zé\"", new BigDecimal("1E+2"),
+                Timestamp.valueOf(LocalDateTime.of(2024, 3, 1, 10, 30))});
+        writer.row(new Object[]{2L, null, null, null});
+        writer.finish();
+
+        assertEquals("id,name,valor,created_at\r\n" +
+                "1,\"Silva, \"\"Zé\"\"\",100,2024-03-01T10:30\r\n" +
+                "2,,,\r\n", out.toString());
+    }
+
+    @Test
+    public void testNdjsonRowWriter_ShouldWriteOneTypedObjectPerLine() throws Exception {
+        StringWriter out = new StringWriter();
+        DataExportService.NdjsonRowWriter writer = new DataExportService.NdjsonRowWriter(out);
+
+        writer.start(new String[]{"id", "name", "valor", "concluida", "data"});
+        writer.row(new Object[]{1L, "Linha\n2", new BigDecimal("10.50"), true,
+                java.sql.Date.valueOf("2024-03-01")});
+        writer.row(new Object[]{2, null, null, false, null});
+        writer.finish();
+
+        assertEquals("{\"id\":1,\"name\":\"Linha\\n2\",\"valor\":10.50,\"concluida\":true,\"data\":\"2024-03-01\"}\n" +
+                "{\"id\":2,\"name\":null,\"valor\":null,\"concluida\":false,\"data\":null}\n", out.toString());
+    }
+}
@@ -0,0 +1,88 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.BoardStreamMessage;
+import com.necsus.necsusspring.dto.DemandBoardCardDto;
+import com.necsus.necsusspring.event.DemandBoardChangedEvent;
+import com.necsus.necsusspring.model.Demand;
+import com.necsus.necsusspring.model.DemandStatus;
+import com.necsus.necsusspring.model.UserAccount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DemandBoardStreamServiceTest {
+
+    @Mock
+    private DemandService demandService;
+
+    private DemandBoardStreamService streamService;
+    private DemandBoardCardDto card;
+
+    @BeforeEach
+    public void setUp() {
+        streamService = new DemandBoardStreamService(demandService, 60000L, 1, 10);
+
+        UserAccount creator = new UserAccount();
+        creator.setId(1L);
+        creator.setUsername("creator");
+
+        Demand demand = new Demand();
+        demand.setId(7L);
+        demand.setTitulo("Demanda");
+        demand.setStatus(DemandStatus.PENDENTE);
+        demand.setTargetRoles("FINANCEIRO");
+        demand.setCreatedBy(creator);
+        demand.setCreatedAt(LocalDateTime.now());
+        card = DemandBoardCardDto.from(demand);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        streamService.shutdown();
+    }
+
+    @Test
+    public void testToMessage_WhenDemandExists_ShouldCarryCard() {
+        when(demandService.findBoardCard(7L)).thenReturn(Optional.of(card));
+
+        BoardStreamMessage<DemandBoardCardDto> message =
+                streamService.toMessage(new DemandBoardChangedEvent(7L, DemandBoardChangedEvent.Type.MOVED));
+
+        assertEquals("MOVED", message.type());
+        assertEquals(7L, message.id());
+        assertSame(card, message.card());
+    }
+
+    @Test
+    public void testToMessage_WhenDemandWasDeleted_ShouldNotQueryCard() {
+        BoardStreamMessage<DemandBoardCardDto> message =
+                streamService.toMessage(new DemandBoardChangedEvent(7L, DemandBoardChangedEvent.Type.DELETED));
+
+        assertEquals(BoardStreamMessage.REMOVED, message.type());
+        assertNull(message.card());
+        verify(demandService, never()).findBoardCard(any());
+    }
+
+    @Test
+    public void testVisibleTo_ShouldHideCardFromOtherRoles() {
+        BoardStreamMessage<DemandBoardCardDto> message = new BoardStreamMessage<>(null, "UPDATED", 7L, card);
+
+        assertSame(message, DemandBoardStreamService.visibleTo(message, null));
+        assertSame(message, DemandBoardStreamService.visibleTo(message, "FINANCEIRO"));
+
+        BoardStreamMessage<DemandBoardCardDto> hidden = DemandBoardStreamService.visibleTo(message, "COMERCIAL");
+        assertEquals(BoardStreamMessage.REMOVED, hidden.type());
+        assertEquals(7L, hidden.id());
+        assertNull(hidden.card());
+    }
+}
@@ -1,5 +1,14 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.dto.BoardColumnPage;
+import com.necsus.necsusspring.dto.DemandBoardCardDto;
+import com.necsus.necsusspring.dto.DemandBoardSnapshot;
+import com.necsus.necsusspring.dto.NotificationDraft;
+import com.necsus.necsusspring.dto.StatusBatchResult;
+import com.necsus.necsusspring.dto.StatusMoveRequest;
+import com.necsus.necsusspring.event.DemandBoardChangedEvent;
+import com.necsus.necsusspring.event.NotificationEventListener;
+import com.necsus.necsusspring.event.NextDemandsChangedEvent;
 import com.necsus.necsusspring.model.Demand;
 import com.necsus.necsusspring.model.DemandPriority;
 import com.necsus.necsusspring.model.DemandStatus;
@@ -9,18 +18,23 @@ import com.necsus.necsusspring.repository.DemandRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -34,7 +48,13 @@ public class DemandServiceTest {
     private DemandRepository demandRepository;
 
     @Mock
-    private NotificationService notificationService;
+    private NotificationOutbox notificationOutbox;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private NextDemandsCache nextDemandsCache;
 
     private Demand testDemand;
     private UserAccount testUser;
@@ -67,6 +87,31 @@ public class DemandServiceTest {
         verify(demandRepository, times(1)).save(testDemand);
     }
 
+    @Test
+    public void testCreateDemand_WithAssignee_ShouldPublishDemandCreatedForAssignee() {
+        UserAccount assignee = new UserAccount();
+        assignee.setId(2L);
+        testDemand.setAssignedTo(assignee);
+        when(demandRepository.save(any(Demand.class))).thenReturn(testDemand);
+
+        demandService.createDemand(testDemand);
+
+        verify(eventPublisher).publishEvent(argThat((Object published) ->
+                published instanceof NotificationEventListener.DemandCreatedEvent created
+                        && created.getDemandId().equals(1L)
+                        && created.getRecipient() == assignee));
+    }
+
+    @Test
+    public void testCreateDemand_WhenSelfAssigned_ShouldNotPublishDemandCreated() {
+        testDemand.setAssignedTo(testUser);
+        when(demandRepository.save(any(Demand.class))).thenReturn(testDemand);
+
+        demandService.createDemand(testDemand);
+
+        verify(eventPublisher, never()).publishEvent(any(NotificationEventListener.DemandCreatedEvent.class));
+    }
+
     @Test
     public void testUpdateDemand_ShouldReturnUpdatedDemand() {
         testDemand.setTitulo("Updated Demand");
@@ -166,6 +211,32 @@ public class DemandServiceTest {
         verify(demandRepository, times(1)).findByTargetRolesContaining(targetRole);
     }
 
+    @Test
+    public void testGetBoardSnapshotByRole_ShouldUseRoleQuery() {
+        testDemand.setTargetRolesList(List.of("RH", "FINANCEIRO"));
+        when(demandRepository.findByTargetRolesContaining("RH")).thenReturn(List.of(testDemand));
+
+        DemandBoardSnapshot snapshot = demandService.getBoardSnapshotByRole("RH");
+
+        assertNotNull(snapshot);
+        assertEquals(1, snapshot.cards().size());
+        verify(demandRepository, never()).findAll();
+    }
+
+    @Test
+    public void testSetTargetRoles_ShouldKeepNormalizedRolesInSync() {
+        testDemand.setTargetRoles("RH, FINANCEIRO,,RH");
+        assertEquals(Set.of("RH", "FINANCEIRO"), testDemand.getTargetRoleSet());
+
+        testDemand.setTargetRolesList(List.of("TI"));
+        assertEquals(Set.of("TI"), testDemand.getTargetRoleSet());
+        assertEquals("TI", testDemand.getTargetRoles());
+
+        testDemand.setTargetRolesList(null);
+        assertTrue(testDemand.getTargetRoleSet().isEmpty());
+        assertNull(testDemand.getTargetRoles());
+    }
+
     @Test
     public void testFindAccessibleByUser_WhenUserIsAdmin_ShouldReturnAllDemands() {
         List<Demand> allDemands = Arrays.asList(testDemand, new Demand());
@@ -213,6 +284,7 @@ public class DemandServiceTest {
         demandService.deleteDemand(demandId);
 
         verify(demandRepository, times(1)).deleteById(demandId);
+        verify(eventPublisher).publishEvent(new DemandBoardChangedEvent(demandId, DemandBoardChangedEvent.Type.DELETED));
     }
 
     @Test
@@ -227,6 +299,8 @@ public class DemandServiceTest {
         verify(demandRepository, times(1)).findById(1L);
         assertEquals("Entrega finalizada", result.getCompletionObservation());
         verify(demandRepository, times(1)).save(testDemand);
+        verify(eventPublisher).publishEvent(new DemandBoardChangedEvent(1L, DemandBoardChangedEvent.Type.MOVED));
+        verify(notificationOutbox).enqueue(eq(DemandService.OUTBOX_STATUS_CHANGED), any(NotificationDraft.class));
     }
 
     @Test
@@ -270,127 +344,41 @@ public class DemandServiceTest {
     }
 
     @Test
-    public void testFindNextDemandsForUser_ShouldPrioritizeUrgentAndDueDate() {
+    @SuppressWarnings("unchecked")
+    public void testFindNextDemandsForUser_ShouldKeepRankingOrderFromQuery() {
         Demand urgent = new Demand();
         urgent.setId(2L);
         urgent.setTitulo("Urgente");
         urgent.setPrioridade(DemandPriority.URGENTE);
-        urgent.setDueDate(LocalDateTime.now().plusDays(5));
-        urgent.setCreatedAt(LocalDateTime.now().minusDays(1));
         urgent.setAssignedTo(testUser);
 
         Demand dueSoon = new Demand();
         dueSoon.setId(3L);
         dueSoon.setTitulo("Prazo curto");
-        dueSoon.setPrioridade(DemandPriority.MEDIA);
-        dueSoon.setDueDate(LocalDateTime.now().plusDays(1));
-        dueSoon.setCreatedAt(LocalDateTime.now().minusDays(2));
         dueSoon.setAssignedTo(testUser);
 
-        Demand other = new Demand();
-        other.setId(4L);
-        other.setTitulo("Outro");
-        other.setPrioridade(DemandPriority.BAIXA);
-        other.setDueDate(LocalDateTime.now().plusDays(10));
-        other.setCreatedAt(LocalDateTime.now());
-        other.setAssignedTo(testUser);
-
-        when(demandRepository.findByAssignedToAndStatusInOrderByCreatedAtDesc(eq(testUser), anyCollection()))
-                .thenReturn(Arrays.asList(other, urgent, dueSoon));
+        when(nextDemandsCache.get(eq(1L), eq(3), any()))
+                .thenAnswer(invocation -> ((Supplier<List<Long>>) invocation.getArgument(2)).get());
+        when(demandRepository.findNextDemandIdsForUser(1L, 3)).thenReturn(List.of(2L, 3L));
+        when(demandRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(dueSoon, urgent));
 
         List<Demand> result = demandService.findNextDemandsForUser(testUser, 3);
 
-        assertEquals(3, result.size());
+        assertEquals(2, result.size());
         assertEquals(urgent.getId(), result.get(0).getId());
         assertEquals(dueSoon.getId(), result.get(1).getId());
-        verify(demandRepository, times(1))
-                .findByAssignedToAndStatusInOrderByCreatedAtDesc(eq(testUser), anyCollection());
+        verify(demandRepository, never()).findByAssignedToAndStatusInOrderByCreatedAtDesc(any(), anyCollection());
     }
 
     @Test
-    public void testFindNextDemandsForUser_ShouldIncludePendingAndInProgressDemands() {
-        Demand completed = new Demand();
-        completed.setId(10L);
-        completed.setTitulo("Concluída");
-        completed.setStatus(DemandStatus.CONCLUIDA);
-        completed.setAssignedTo(testUser);
-
-        Demand canceled = new Demand();
-        canceled.setId(11L);
-        canceled.setTitulo("Cancelada");
-        canceled.setStatus(DemandStatus.CANCELADA);
-        canceled.setAssignedTo(testUser);
-
-        Demand pending = new Demand();
-        pending.setId(12L);
-        pending.setTitulo("Pendente");
-        pending.setStatus(DemandStatus.PENDENTE);
-        pending.setAssignedTo(testUser);
-
-        Demand inProgress = new Demand();
-        inProgress.setId(13L);
-        inProgress.setTitulo("Em andamento");
-        inProgress.setStatus(DemandStatus.EM_ANDAMENTO);
-        inProgress.setAssignedTo(testUser);
-
-        Demand withoutStatus = new Demand();
-        withoutStatus.setId(14L);
-        withoutStatus.setTitulo("Sem status");
-        withoutStatus.setAssignedTo(testUser);
-
-        when(demandRepository.findByAssignedToAndStatusInOrderByCreatedAtDesc(eq(testUser), anyCollection()))
-                .thenReturn(Arrays.asList(completed, canceled, pending, inProgress, withoutStatus));
+    public void testFindNextDemandsForUser_WhenCached_ShouldOnlyLoadByPrimaryKey() {
+        when(nextDemandsCache.get(eq(1L), eq(3), any())).thenReturn(List.of(1L));
+        when(demandRepository.findAllById(List.of(1L))).thenReturn(List.of(testDemand));
 
         List<Demand> result = demandService.findNextDemandsForUser(testUser, 3);
 
-        assertEquals(2, result.size());
-        assertTrue(result.stream().anyMatch(demand -> demand.getId().equals(pending.getId())));
-        assertTrue(result.stream().anyMatch(demand -> demand.getId().equals(inProgress.getId())));
-        assertTrue(result.stream().noneMatch(demand -> demand.getId().equals(withoutStatus.getId())));
-        verify(demandRepository, times(1))
-                .findByAssignedToAndStatusInOrderByCreatedAtDesc(eq(testUser), anyCollection());
-    }
-
-    @Test
-    public void testFindNextDemandsForUser_ShouldIncludePendingAndInProgressDemands() {
-        Demand completed = new Demand();
-        completed.setId(10L);
-        completed.setTitulo("Concluída");
-        completed.setStatus(DemandStatus.CONCLUIDA);
-        completed.setAssignedTo(testUser);
-
-        Demand canceled = new Demand();
-        canceled.setId(11L);
-        canceled.setTitulo("Cancelada");
-        canceled.setStatus(DemandStatus.CANCELADA);
-        canceled.setAssignedTo(testUser);
-
-        Demand pending = new Demand();
-        pending.setId(12L);
-        pending.setTitulo("Pendente");
-        pending.setStatus(DemandStatus.PENDENTE);
-        pending.setAssignedTo(testUser);
-
-        Demand inProgress = new Demand();
-        inProgress.setId(13L);
-        inProgress.setTitulo("Em andamento");
-        inProgress.setStatus(DemandStatus.EM_ANDAMENTO);
-        inProgress.setAssignedTo(testUser);
-
-        Demand withoutStatus = new Demand();
-        withoutStatus.setId(14L);
-        withoutStatus.setTitulo("Sem status");
-        withoutStatus.setAssignedTo(testUser);
-
-        when(demandRepository.findByAssignedToOrderByCreatedAtDesc(testUser))
-                .thenReturn(Arrays.asList(completed, canceled, pending, inProgress, withoutStatus));
-
-        List<Demand> result = demandService.findNextDemandsForUser(testUser, 3);
-
-        assertEquals(2, result.size());
-        assertTrue(result.stream().anyMatch(demand -> demand.getId().equals(pending.getId())));
-        assertTrue(result.stream().anyMatch(demand -> demand.getId().equals(inProgress.getId())));
-        assertTrue(result.stream().noneMatch(demand -> demand.getId().equals(withoutStatus.getId())));
+        assertEquals(List.of(testDemand), result);
+        verify(demandRepository, never()).findNextDemandIdsForUser(any(), anyInt());
     }
 
     @Test
@@ -400,6 +388,74 @@ public class DemandServiceTest {
 
         List<Demand> resultNegativeLimit = demandService.findNextDemandsForUser(testUser, 0);
         assertTrue(resultNegativeLimit.isEmpty());
-        verify(demandRepository, never()).findByAssignedToAndStatusInOrderByCreatedAtDesc(any(), anyCollection());
+        verifyNoInteractions(nextDemandsCache);
+        verify(demandRepository, never()).findNextDemandIdsForUser(any(), anyInt());
+    }
+
+    @Test
+    public void testAssignToUser_ShouldInvalidateNextDemandsOfPreviousAndNewAssignee() {
+        UserAccount previous = new UserAccount();
+        previous.setId(7L);
+        testDemand.setAssignedTo(previous);
+        when(demandRepository.findById(1L)).thenReturn(Optional.of(testDemand));
+        when(demandRepository.save(testDemand)).thenReturn(testDemand);
+
+        demandService.assignToUser(1L, testUser);
+
+        verify(eventPublisher).publishEvent(new NextDemandsChangedEvent(Set.of(1L, 7L)));
+    }
+
+    @Test
+    public void testGetBoardColumn_ShouldKeepKeysetOrderAndFilterByRole() {
+        Demand urgent = new Demand();
+        urgent.setId(2L);
+        urgent.setTitulo("Urgente");
+        urgent.setStatus(DemandStatus.PENDENTE);
+        urgent.setPrioridade(DemandPriority.URGENTE);
+
+        when(demandRepository.findBoardColumnKeys(DemandStatus.PENDENTE.name(), "FINANCEIRO", 51)).thenReturn(List.of(
+                new Object[]{2L, "2025-01-10 00:00:00.0", 0, "urgente"},
+                new Object[]{1L, "2025-01-10 00:00:00.0", 2, "test demand"}
+        ));
+        when(demandRepository.countBoardColumn(DemandStatus.PENDENTE.name(), "FINANCEIRO")).thenReturn(2L);
+        when(demandRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testDemand, urgent));
+
+        BoardColumnPage<DemandBoardCardDto> page =
+                demandService.getBoardColumn(DemandStatus.PENDENTE, "FINANCEIRO", null, null);
+
+        assertEquals(2, page.items().size());
+        assertEquals(2L, page.items().get(0).id());
+        assertEquals(1L, page.items().get(1).id());
+        assertEquals(2L, page.totalCount());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUpdateStatusBatch_ShouldUpdateInBulkAndBatchNotifications() {
+        when(demandRepository.findStatusRowsByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new Object[]{1L, DemandStatus.PENDENTE, "Primeira", 1L, 5L},
+                new Object[]{2L, DemandStatus.EM_ANDAMENTO, "Segunda", 1L, null},
+                new Object[]{3L, DemandStatus.PENDENTE, "Terceira", 99L, 6L}
+        ));
+
+        StatusBatchResult result = demandService.updateStatusBatch(List.of(
+                new StatusMoveRequest(1L, "CONCLUIDA"),
+                new StatusMoveRequest(2L, "CONCLUIDA"),
+                new StatusMoveRequest(3L, "CANCELADA")
+        ), testUser);
+
+        assertEquals(2, result.moved());
+        assertEquals(StatusBatchResult.Outcome.FORBIDDEN, result.results().get(2).outcome());
+        verify(demandRepository).completeByIdIn(eq(DemandStatus.CONCLUIDA), eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(demandRepository, never()).updateStatusByIdIn(any(), anyCollection(), any());
+        verify(demandRepository, never()).save(any());
+
+        ArgumentCaptor<List<NotificationDraft>> drafts = ArgumentCaptor.forClass(List.class);
+        verify(notificationOutbox, times(1)).enqueueAll(eq(DemandService.OUTBOX_STATUS_CHANGED), drafts.capture());
+        assertEquals(2, drafts.getValue().size());
+        assertTrue(drafts.getValue().get(0).message().contains("Primeira"));
+        verify(notificationOutbox, never()).enqueue(any(), any());
+        verify(eventPublisher).publishEvent(new NextDemandsChangedEvent(Set.of(5L)));
     }
 }
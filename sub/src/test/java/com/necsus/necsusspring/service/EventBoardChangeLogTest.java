@@ -0,0 +1,69 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.event.EventBoardChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventBoardChangeLogTest {
+
+    @Test
+    public void testAppend_ShouldIncreaseRevisionMonotonically() {
+        EventBoardChangeLog changeLog = new EventBoardChangeLog(10);
+        long initial = changeLog.currentRevision();
+
+        EventBoardChangeLog.Entry first = changeLog.append(1L, EventBoardChangedEvent.Type.CREATED);
+        EventBoardChangeLog.Entry second = changeLog.append(2L, EventBoardChangedEvent.Type.MOVED);
+
+        assertEquals(initial + 1, first.revision());
+        assertEquals(initial + 2, second.revision());
+        assertEquals(second.revision(), changeLog.currentRevision());
+    }
+
+    @Test
+    public void testChangesSince_ShouldReturnOnlyNewerEntries() {
+        EventBoardChangeLog changeLog = new EventBoardChangeLog(10);
+        EventBoardChangeLog.Entry first = changeLog.append(1L, EventBoardChangedEvent.Type.CREATED);
+        changeLog.append(2L, EventBoardChangedEvent.Type.UPDATED);
+
+        Optional<List<EventBoardChangeLog.Entry>> changes = changeLog.changesSince(first.revision());
+
+        assertTrue(changes.isPresent());
+        assertEquals(1, changes.get().size());
+        assertEquals(2L, changes.get().get(0).eventId());
+    }
+
+    @Test
+    public void testChangesSince_WhenClientIsUpToDate_ShouldReturnEmptyList() {
+        EventBoardChangeLog changeLog = new EventBoardChangeLog(10);
+        changeLog.append(1L, EventBoardChangedEvent.Type.CREATED);
+
+        Optional<List<EventBoardChangeLog.Entry>> changes = changeLog.changesSince(changeLog.currentRevision());
+
+        assertTrue(changes.isPresent());
+        assertTrue(changes.get().isEmpty());
+    }
+
+    @Test
+    public void testChangesSince_WhenRevisionWasEvicted_ShouldRequireFullSnapshot() {
+        EventBoardChangeLog changeLog = new EventBoardChangeLog(2);
+        long initial = changeLog.currentRevision();
+        changeLog.append(1L, EventBoardChangedEvent.Type.CREATED);
+        changeLog.append(2L, EventBoardChangedEvent.Type.CREATED);
+        changeLog.append(3L, EventBoardChangedEvent.Type.CREATED);
+
+        assertTrue(changeLog.changesSince(initial).isEmpty());
+        assertTrue(changeLog.changesSince(initial + 1).isPresent());
+    }
+
+    @Test
+    public void testChangesSince_WhenRevisionIsUnknown_ShouldRequireFullSnapshot() {
+        EventBoardChangeLog changeLog = new EventBoardChangeLog(10);
+
+        assertTrue(changeLog.changesSince(changeLog.currentRevision() + 100).isEmpty());
+        assertTrue(changeLog.changesSince(0L).isEmpty());
+    }
+}
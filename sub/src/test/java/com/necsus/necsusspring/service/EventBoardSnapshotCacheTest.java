@@ -0,0 +1,145 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.EventBoardSnapshot;
+import com.necsus.necsusspring.event.EventBoardChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventBoardSnapshotCacheTest {
+
+    private EventBoardChangeLog changeLog;
+    private EventBoardSnapshotCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        changeLog = new EventBoardChangeLog(100);
+        cache = new EventBoardSnapshotCache(changeLog);
+        loads = new AtomicInteger();
+    }
+
+    private Supplier<EventBoardSnapshot> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return new EventBoardSnapshot(List.of(), Map.of(), Map.of(), changeLog.currentRevision());
+        };
+    }
+
+    @Test
+    public void testGet_WhenNothingChanged_ShouldServeFromCache() {
+        EventBoardSnapshot first = cache.get(loader());
+        EventBoardSnapshot second = cache.get(loader());
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+        assertEquals(1, cache.stats().rebuilds());
+    }
+
+    @Test
+    public void testGet_AfterBoardChange_ShouldRebuild() {
+        EventBoardSnapshot first = cache.get(loader());
+
+        changeLog.onBoardChanged(new EventBoardChangedEvent(1L, EventBoardChangedEvent.Type.MOVED));
+        EventBoardSnapshot second = cache.get(loader());
+
+        assertNotSame(first, second);
+        assertEquals(2, loads.get());
+        assertEquals(changeLog.currentRevision(), second.revision());
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    public void testGet_WhenLoaderFails_ShouldPropagateAndNotCache() {
+        assertThrows(IllegalStateException.class, () -> cache.get(() -> {
+            throw new IllegalStateException("banco indisponível");
+        }));
+
+        cache.get(loader());
+        assertEquals(1, loads.get());
+        assertEquals(0, cache.stats().hits());
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    public void testGet_ConcurrentMisses_ShouldLoadOnlyOnce() throws Exception {
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        Supplier<EventBoardSnapshot> slowLoader = () -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            try {
+                releaseLoader.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new EventBoardSnapshot(List.of(), Map.of(), Map.of(), changeLog.currentRevision());
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<EventBoardSnapshot> leader = pool.submit(() -> cache.get(slowLoader));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            Future<EventBoardSnapshot> follower1 = pool.submit(() -> cache.get(slowLoader));
+            Future<EventBoardSnapshot> follower2 = pool.submit(() -> cache.get(slowLoader));
+            Thread.sleep(50);
+            releaseLoader.countDown();
+
+            EventBoardSnapshot snapshot = leader.get(5, TimeUnit.SECONDS);
+            assertSame(snapshot, follower1.get(5, TimeUnit.SECONDS));
+            assertSame(snapshot, follower2.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testGet_WhenLoaderThrowsError_ShouldFailFollowersInsteadOfBlocking() throws Exception {
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        Supplier<EventBoardSnapshot> failingLoader = () -> {
+            loaderStarted.countDown();
+            try {
+                releaseLoader.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new OutOfMemoryError("heap");
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<EventBoardSnapshot> leader = pool.submit(() -> cache.get(failingLoader));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            Future<EventBoardSnapshot> follower = pool.submit(() -> cache.get(failingLoader));
+            Thread.sleep(50);
+            releaseLoader.countDown();
+
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(OutOfMemoryError.class, leaderFailure.getCause());
+            ExecutionException followerFailure = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(OutOfMemoryError.class, followerFailure.getCause());
+
+            cache.get(loader());
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.event.EventTextChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EventHistoryWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EventHistoryWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        writer = new EventHistoryWriter(jdbcTemplate, transactionManager, 60_000, 120_000, 100, 50, 10_000, 300_000);
+    }
+
+    private static EventTextChangedEvent observation(Long eventId, String previous, String current, String user) {
+        return new EventTextChangedEvent(eventId, EventTextChangedEvent.Field.OBSERVATION, previous, current, user, LocalDateTime.now());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> capturedBatch(String sql) {
+        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(sql), captor.capture(), eq(50), any(ParameterizedPreparedStatementSetter.class));
+        return captor.getValue();
+    }
+
+    @Test
+    public void testEnqueue_WithRapidEditsBySameUser_ShouldMergeIntoSingleRow() {
+        writer.enqueue(observation(1L, "a", "ab", "ana"));
+        writer.enqueue(observation(1L, "ab", "abc", "ana"));
+        writer.enqueue(observation(1L, "abc", "abcd", "ana"));
+
+        writer.flushAll();
+
+        assertEquals(1, capturedBatch(EventHistoryWriter.INSERT_OBSERVATION_SQL).size());
+        EventHistoryWriter.Stats stats = writer.stats();
+        assertEquals(3, stats.received());
+        assertEquals(2, stats.merged());
+        assertEquals(1, stats.written());
+        assertEquals(0, stats.pending());
+    }
+
+    @Test
+    public void testEnqueue_WithDifferentUsers_ShouldKeepSeparateRows() {
+        writer.enqueue(observation(1L, "a", "b", "ana"));
+        writer.enqueue(observation(1L, "b", "c", "bruno"));
+
+        writer.flushAll();
+
+        assertEquals(2, capturedBatch(EventHistoryWriter.INSERT_OBSERVATION_SQL).size());
+    }
+
+    @Test
+    public void testFlushAll_WhenEditsRevertToOriginal_ShouldSkipRow() {
+        writer.enqueue(observation(1L, "original", "temp", "ana"));
+        writer.enqueue(observation(1L, "temp", "original ", "ana"));
+
+        writer.flushAll();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(1, writer.stats().skipped());
+    }
+
+    @Test
+    public void testFlushDue_ShouldWaitForMergeWindow() {
+        writer.enqueue(observation(1L, "a", "b", "ana"));
+
+        writer.flushDue();
+
+        verifyNoInteractions(jdbcTemplate);
+        assertEquals(1, writer.stats().pending());
+    }
+
+    @Test
+    public void testFlushDue_WithZeroWindow_ShouldWriteImmediately() {
+        writer = new EventHistoryWriter(jdbcTemplate, transactionManager, 0, 0, 100, 50, 10_000, 300_000);
+        writer.enqueue(observation(1L, "a", "b", "ana"));
+        writer.enqueue(new EventTextChangedEvent(2L, EventTextChangedEvent.Field.DESCRIPTION, "x", "y", "ana", LocalDateTime.now()));
+
+        writer.flushDue();
+
+        assertEquals(1, capturedBatch(EventHistoryWriter.INSERT_OBSERVATION_SQL).size());
+        assertEquals(1, capturedBatch(EventHistoryWriter.INSERT_DESCRIPTION_SQL).size());
+    }
+
+    @Test
+    public void testFlushEvent_ShouldWriteOnlyThatEvent() {
+        writer.enqueue(observation(1L, "a", "b", "ana"));
+        writer.enqueue(observation(2L, "a", "b", "ana"));
+
+        writer.flushEvent(1L);
+
+        assertEquals(1, capturedBatch(EventHistoryWriter.INSERT_OBSERVATION_SQL).size());
+        assertEquals(1, writer.stats().pending());
+    }
+
+    @Test
+    public void testDiscardEvent_ShouldDropPendingChanges() {
+        writer.enqueue(observation(1L, "a", "b", "ana"));
+
+        writer.discardEvent(1L);
+        writer.flushAll();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void testFlushAll_WhenBatchFails_ShouldRetryRowByRow() {
+        doThrow(new DataIntegrityViolationException("fk"))
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("fk"))
+                .thenReturn(1);
+
+        writer.enqueue(observation(1L, "a", "b", "ana"));
+        writer.enqueue(observation(2L, "a", "b", "ana"));
+        writer.flushAll();
+
+        EventHistoryWriter.Stats stats = writer.stats();
+        assertEquals(1, stats.written());
+        assertEquals(1, stats.failed());
+    }
+
+    @Test
+    public void testEnqueue_WhenQueueIsFull_ShouldFlushSynchronously() {
+        writer = new EventHistoryWriter(jdbcTemplate, transactionManager, 60_000, 120_000, 2, 50, 10_000, 300_000);
+        writer.enqueue(observation(1L, "a", "b", "ana"));
+        writer.enqueue(observation(2L, "a", "b", "ana"));
+        writer.enqueue(observation(3L, "a", "b", "ana"));
+
+        assertEquals(3, capturedBatch(EventHistoryWriter.INSERT_OBSERVATION_SQL).size());
+        assertEquals(0, writer.stats().pending());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOnTextChanged_ShouldWriteOutboxAndDeleteItWithHistoryBatch() {
+        when(jdbcTemplate.queryForObject(eq(EventHistoryWriter.INSERT_OUTBOX_SQL), eq(Long.class),
+                any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(10L, 11L);
+        when(jdbcTemplate.batchUpdate(eq(EventHistoryWriter.DELETE_OUTBOX_SQL), anyList())).thenReturn(new int[]{1, 1});
+
+        writer.onTextChanged(observation(1L, "a", "ab", "ana"));
+        writer.onTextChanged(observation(1L, "ab", "abc", "ana"));
+        writer.flushAll();
+
+        assertEquals(1, capturedBatch(EventHistoryWriter.INSERT_OBSERVATION_SQL).size());
+        ArgumentCaptor<List<Object[]>> deleted = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(EventHistoryWriter.DELETE_OUTBOX_SQL), deleted.capture());
+        assertEquals(2, deleted.getValue().size());
+        assertEquals(1, writer.stats().written());
+    }
+
+    @Test
+    public void testFlushAll_WhenDatabaseIsUnavailable_ShouldKeepChangesQueuedForRetry() {
+        doThrow(new TransientDataAccessResourceException("conexão recusada"))
+                .when(jdbcTemplate).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new TransientDataAccessResourceException("conexão recusada"));
+
+        writer.enqueue(observation(1L, "a", "b", "ana"));
+        writer.flushAll();
+        writer.flushDue();
+
+        EventHistoryWriter.Stats stats = writer.stats();
+        assertEquals(0, stats.failed());
+        assertEquals(1, stats.retried());
+        assertEquals(1, stats.pending());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRecoverOrphans_ShouldQueueOutboxRowsNotHeldInMemory() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("id")).thenReturn(7L);
+        when(row.getLong("event_id")).thenReturn(3L);
+        when(row.getString("field")).thenReturn("DESCRIPTION");
+        when(row.getString("previous_value")).thenReturn("antes");
+        when(row.getString("new_value")).thenReturn("depois");
+        when(row.getString("modified_by")).thenReturn("ana");
+        when(row.getTimestamp("modified_at")).thenReturn(Timestamp.valueOf(LocalDateTime.now()));
+        when(jdbcTemplate.query(eq(EventHistoryWriter.SELECT_ORPHANS_SQL), any(RowMapper.class), any(), eq(100)))
+                .thenAnswer(invocation -> List.of(invocation.getArgument(1, RowMapper.class).mapRow(row, 0)));
+        when(jdbcTemplate.batchUpdate(eq(EventHistoryWriter.DELETE_OUTBOX_SQL), anyList())).thenReturn(new int[]{1});
+
+        writer.recoverOrphans();
+        writer.recoverOrphans();
+        writer.flushAll();
+
+        assertEquals(1, writer.stats().recovered());
+        assertEquals(1, capturedBatch(EventHistoryWriter.INSERT_DESCRIPTION_SQL).size());
+    }
+}
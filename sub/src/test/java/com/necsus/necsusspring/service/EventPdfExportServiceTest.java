@@ -0,0 +1,126 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.EventExportFilter;
+import com.necsus.necsusspring.dto.EventExportRow;
+import com.necsus.necsusspring.model.Prioridade;
+import com.necsus.necsusspring.model.Status;
+import com.necsus.necsusspring.repository.EventObservationHistoryRepository;
+import com.necsus.necsusspring.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EventPdfExportServiceTest {
+
+    @InjectMocks
+    private EventPdfExportService exportService;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventObservationHistoryRepository observationHistoryRepository;
+
+    private static EventExportRow row(long id) {
+        return new EventExportRow(id, "Evento " + id, "Descrição", Status.ABERTO, Prioridade.ALTA, null, null,
+                "Associado", "000.000.000-00", "ABC1D23", "VW", "Gol", null,
+                LocalDate.of(2024, 1, 10), 1430, null, null, null, "Observação", "analista");
+    }
+
+    private static List<EventExportRow> rowsFor(Collection<Long> ids) {
+        List<EventExportRow> rows = new ArrayList<>();
+        for (Long id : ids) {
+            rows.add(row(id));
+        }
+        return rows;
+    }
+
+    @Test
+    public void testWrite_WithSelectedIds_ShouldLoadInChunksAndProducePdf() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= EventPdfExportService.CHUNK_SIZE * 2L + 10; id++) {
+            ids.add(id);
+        }
+        when(eventRepository.findExportRowsByIdIn(anyCollection()))
+                .thenAnswer(invocation -> rowsFor(invocation.getArgument(0)));
+        when(observationHistoryRepository.findChainsByEventIdIn(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{10L, 1L, null, "Antiga", "Nova observação", null, null,
+                        "admin", LocalDateTime.now()}));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Integer> progress = new ArrayList<>();
+        int exported = exportService.write(EventExportFilter.ofIds(ids), out, progress::add);
+
+        assertEquals(ids.size(), exported);
+        assertEquals(List.of(200, 400, 410), progress);
+        assertTrue(new String(out.toByteArray(), 0, 5, StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+        verify(eventRepository, times(3)).findExportRowsByIdIn(anyCollection());
+        verify(observationHistoryRepository, times(3)).findChainsByEventIdIn(anyCollection());
+    }
+
+    @Test
+    public void testWrite_WithBoardFilter_ShouldPageByIdUntilLastChunk() throws Exception {
+        List<EventExportRow> firstChunk = new ArrayList<>();
+        for (long id = 1; id <= EventPdfExportService.CHUNK_SIZE; id++) {
+            firstChunk.add(row(id));
+        }
+        when(eventRepository.findExportRowsAfter(eq(0L), eq(Status.ABERTO), isNull(), eq(false), any(Pageable.class)))
+                .thenReturn(firstChunk);
+        when(eventRepository.findExportRowsAfter(eq((long) EventPdfExportService.CHUNK_SIZE), eq(Status.ABERTO), isNull(), eq(false), any(Pageable.class)))
+                .thenReturn(List.of(row(500L)));
+        when(observationHistoryRepository.findChainsByEventIdIn(anyCollection())).thenReturn(List.of());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int exported = exportService.write(new EventExportFilter(null, Status.ABERTO, null, false), out);
+
+        assertEquals(EventPdfExportService.CHUNK_SIZE + 1, exported);
+        verify(eventRepository, times(2)).findExportRowsAfter(anyLong(), any(), any(), anyBoolean(), any(Pageable.class));
+        verify(eventRepository, never()).findExportRowsByIdIn(anyCollection());
+    }
+
+    @Test
+    public void testWrite_WhenNothingMatches_ShouldStillProduceValidPdf() throws Exception {
+        when(eventRepository.findExportRowsAfter(anyLong(), any(), any(), anyBoolean(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int exported = exportService.write(new EventExportFilter(null, null, null, false), out);
+
+        assertEquals(0, exported);
+        assertTrue(out.size() > 0);
+        verifyNoInteractions(observationHistoryRepository);
+    }
+
+    @Test
+    public void testCount_WithSelectedIds_ShouldNotQueryDatabase() {
+        long total = exportService.count(EventExportFilter.ofIds(List.of(1L, 2L, 3L)));
+
+        assertEquals(3, total);
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    public void testParseIds_ShouldSortAndDeduplicate() {
+        assertEquals(List.of(1L, 2L, 5L), EventExportFilter.parseIds("5, 1,2,,5"));
+        assertThrows(IllegalArgumentException.class, () -> EventExportFilter.parseIds("1,abc"));
+    }
+}
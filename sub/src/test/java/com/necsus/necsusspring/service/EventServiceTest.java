@@ -1,9 +1,19 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.dto.BoardColumnCursor;
+import com.necsus.necsusspring.dto.BoardColumnPage;
+import com.necsus.necsusspring.dto.EventBoardCardDto;
+import com.necsus.necsusspring.dto.EventBoardDelta;
 import com.necsus.necsusspring.dto.EventBoardSnapshot;
+import com.necsus.necsusspring.dto.StatusBatchResult;
+import com.necsus.necsusspring.dto.StatusMoveRequest;
+import com.necsus.necsusspring.event.EventBoardChangedEvent;
+import com.necsus.necsusspring.event.EventTextChangedEvent;
+import com.necsus.necsusspring.event.NotificationEventListener;
 import com.necsus.necsusspring.model.*;
 import com.necsus.necsusspring.repository.EventRepository;
 import com.necsus.necsusspring.repository.PartnerRepository;
+import com.necsus.necsusspring.repository.UserAccountRepository;
 import com.necsus.necsusspring.repository.VehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,9 +21,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +46,18 @@ public class EventServiceTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
+    @Mock
+    private EventBoardChangeLog boardChangeLog;
+
+    @Mock
+    private EventBoardSnapshotCache boardSnapshotCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserAccountRepository userAccountRepository;
+
     private Event testEvent;
     private Partner testPartner;
     private Vehicle testVehicle;
@@ -56,6 +80,10 @@ public class EventServiceTest {
         testEvent.setPartner(testPartner);
         testEvent.setVehicle(testVehicle);
         testEvent.setDataVencimento(LocalDate.now());
+
+        // O cache apenas repassa para o carregamento real; seu comportamento é testado à parte
+        lenient().when(boardSnapshotCache.get(any()))
+                .thenAnswer(invocation -> invocation.<Supplier<EventBoardSnapshot>>getArgument(0).get());
     }
 
     @Test
@@ -130,17 +158,152 @@ public class EventServiceTest {
 
     @Test
     public void testGetBoardSnapshot_ShouldReturnGroupedEvents() {
-        List<Event> events = Arrays.asList(testEvent);
-        when(eventRepository.findAllByOrderByStatusAscDataVencimentoAscIdAsc()).thenReturn(events);
+        List<EventBoardCardDto> cards = Arrays.asList(EventBoardCardDto.from(testEvent));
+        when(eventRepository.findBoardCards()).thenReturn(cards);
 
         EventBoardSnapshot result = eventService.getBoardSnapshot();
 
         assertNotNull(result);
         assertNotNull(result.cards());
-        assertNotNull(result.grouped());
+        assertNotNull(result.eventsByStatus());
         assertNotNull(result.counters());
         assertEquals(1, result.cards().size());
-        verify(eventRepository, times(1)).findAllByOrderByStatusAscDataVencimentoAscIdAsc();
+        assertEquals(1L, result.counters().get(Status.COMUNICADO.name()));
+        verify(eventRepository, times(1)).findBoardCards();
+        verify(eventRepository, never()).findAllByOrderByStatusAscDataVencimentoAscIdAsc();
+    }
+
+    @Test
+    public void testGetBoardSnapshotIncludingLinked_ShouldKeepFlaggedCards() {
+        when(boardChangeLog.currentRevision()).thenReturn(20L);
+        when(eventRepository.findBoardCardsIncludingLinked()).thenReturn(List.of(
+                EventBoardCardDto.from(testEvent), linkedCard(2L, Status.COMUNICADO)));
+
+        EventBoardSnapshot result = eventService.getBoardSnapshotIncludingLinked();
+
+        assertEquals(2, result.cards().size());
+        assertEquals(2L, result.counters().get(Status.COMUNICADO.name()));
+        assertTrue(result.cards().get(1).linkedToLegalProcess());
+        assertEquals(20L, result.revision());
+        verify(eventRepository, never()).findBoardCards();
+        verifyNoInteractions(boardSnapshotCache);
+    }
+
+    @Test
+    public void testFindBoardCard_WhenEventWasSentToLegal_ShouldReturnEmpty() {
+        when(eventRepository.findBoardCardsByIdIn(List.of(2L))).thenReturn(List.of(linkedCard(2L, Status.ANALISE)));
+
+        assertTrue(eventService.findBoardCard(2L).isEmpty());
+    }
+
+    private static EventBoardCardDto linkedCard(Long id, Status status) {
+        return new EventBoardCardDto(id, "Linked Event", null, status, null, null, null,
+                null, null, null, null, null,
+                null, null, null, null, null,
+                null, null,
+                false, false, false, false, false,
+                true);
+    }
+
+    @Test
+    public void testListBoardCardsByStatus_ShouldUseProjection() {
+        List<EventBoardCardDto> cards = Arrays.asList(EventBoardCardDto.from(testEvent));
+        when(eventRepository.findBoardCardsByStatus(Status.COMUNICADO)).thenReturn(cards);
+
+        List<EventBoardCardDto> result = eventService.listBoardCardsByStatus(Status.COMUNICADO);
+
+        assertEquals(1, result.size());
+        verify(eventRepository, never()).findByStatus(any());
+    }
+
+    @Test
+    public void testGetBoardDelta_ShouldClassifyChangesSinceRevision() {
+        Event movedEvent = new Event();
+        movedEvent.setId(2L);
+        movedEvent.setTitulo("Moved Event");
+        movedEvent.setStatus(Status.VISTORIA);
+        movedEvent.setPartner(testPartner);
+
+        when(boardChangeLog.changesSince(10L)).thenReturn(Optional.of(List.of(
+                new EventBoardChangeLog.Entry(11L, 1L, EventBoardChangedEvent.Type.CREATED),
+                new EventBoardChangeLog.Entry(12L, 2L, EventBoardChangedEvent.Type.MOVED),
+                new EventBoardChangeLog.Entry(13L, 1L, EventBoardChangedEvent.Type.UPDATED),
+                new EventBoardChangeLog.Entry(14L, 3L, EventBoardChangedEvent.Type.DELETED)
+        )));
+        when(eventRepository.findBoardCardsByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                EventBoardCardDto.from(testEvent), EventBoardCardDto.from(movedEvent)));
+        when(eventRepository.countBoardEventsByStatus()).thenReturn(List.<Object[]>of(
+                new Object[]{Status.COMUNICADO, 1L},
+                new Object[]{Status.VISTORIA, 1L}
+        ));
+
+        EventBoardDelta delta = eventService.getBoardDelta(10L);
+
+        assertFalse(delta.fullSnapshot());
+        assertEquals(14L, delta.revision());
+        assertEquals(1, delta.added().size());
+        assertEquals(1L, delta.added().get(0).id());
+        assertEquals(1, delta.moved().size());
+        assertEquals(2L, delta.moved().get(0).id());
+        assertTrue(delta.updated().isEmpty());
+        assertEquals(List.of(3L), delta.removed());
+        assertEquals(1L, delta.counters().get(Status.VISTORIA.name()));
+        assertEquals(0L, delta.counters().get(Status.ANALISE.name()));
+    }
+
+    @Test
+    public void testGetBoardDelta_WhenEventWasSentToLegal_ShouldReportRemoval() {
+        when(boardChangeLog.changesSince(10L)).thenReturn(Optional.of(List.of(
+                new EventBoardChangeLog.Entry(11L, 1L, EventBoardChangedEvent.Type.UPDATED)
+        )));
+        when(eventRepository.findBoardCardsByIdIn(List.of(1L))).thenReturn(List.of(linkedCard(1L, Status.COMUNICADO)));
+        when(eventRepository.countBoardEventsByStatus()).thenReturn(List.of());
+
+        EventBoardDelta delta = eventService.getBoardDelta(10L);
+
+        assertEquals(List.of(1L), delta.removed());
+        assertTrue(delta.updated().isEmpty());
+    }
+
+    @Test
+    public void testGetBoardDelta_WhenClientIsTooFarBehind_ShouldReturnFullSnapshot() {
+        when(boardChangeLog.changesSince(1L)).thenReturn(Optional.empty());
+        when(boardChangeLog.currentRevision()).thenReturn(50L);
+        when(eventRepository.findBoardCards()).thenReturn(List.of(EventBoardCardDto.from(testEvent)));
+
+        EventBoardDelta delta = eventService.getBoardDelta(1L);
+
+        assertTrue(delta.fullSnapshot());
+        assertEquals(50L, delta.revision());
+        assertNotNull(delta.snapshot());
+        assertEquals(1, delta.snapshot().cards().size());
+    }
+
+    @Test
+    public void testUpdateStatus_ShouldPublishMoveForBoard() {
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
+
+        eventService.updateStatus(1L, Status.VISTORIA);
+
+        verify(eventPublisher).publishEvent(new EventBoardChangedEvent(1L, EventBoardChangedEvent.Type.MOVED));
+    }
+
+    @Test
+    public void testUpdatePartialWithHistory_ShouldPublishOnlyEditedTextField() {
+        testEvent.setObservacoes("Antes");
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        eventService.updatePartialWithHistory(1L, Map.of("observacoes", "Depois"), "analista");
+
+        verify(eventPublisher).publishEvent(argThat((Object published) -> published instanceof EventTextChangedEvent change
+                && change.field() == EventTextChangedEvent.Field.OBSERVATION
+                && "Antes".equals(change.previousValue())
+                && "Depois".equals(change.newValue())
+                && "analista".equals(change.modifiedBy())));
+        verify(eventPublisher, never()).publishEvent(argThat((Object published) -> published instanceof EventTextChangedEvent change
+                && change.field() == EventTextChangedEvent.Field.DESCRIPTION));
     }
 
     @Test
@@ -156,6 +319,56 @@ public class EventServiceTest {
         verify(eventRepository, times(1)).save(any(Event.class));
     }
 
+    @Test
+    public void testCreate_WithAnalyst_ShouldPublishEventCreatedForAnalyst() {
+        UserAccount analyst = new UserAccount();
+        analyst.setId(7L);
+        testEvent.setAnalistaResponsavel(" Maria ");
+        when(partnerRepository.findById(1L)).thenReturn(Optional.of(testPartner));
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
+        when(userAccountRepository.findActiveByUsernameOrFullName("Maria")).thenReturn(List.of(analyst));
+
+        eventService.create(testEvent);
+
+        verify(eventPublisher).publishEvent(argThat((Object published) ->
+                published instanceof NotificationEventListener.EventCreatedEvent created
+                        && created.getEventId().equals(1L)
+                        && created.getRecipient() == analyst));
+    }
+
+    @Test
+    public void testUpdateStatus_WhenStatusChanges_ShouldPublishEventUpdatedForAnalyst() {
+        UserAccount analyst = new UserAccount();
+        analyst.setId(7L);
+        testEvent.setAnalistaResponsavel("maria");
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userAccountRepository.findActiveByUsernameOrFullName("maria")).thenReturn(List.of(analyst));
+
+        eventService.updateStatus(1L, Status.ANALISE);
+
+        verify(eventPublisher).publishEvent(argThat((Object published) ->
+                published instanceof NotificationEventListener.EventUpdatedEvent updated
+                        && updated.getRecipient() == analyst
+                        && updated.getUpdateMessage().equals("status alterado para " + Status.ANALISE.getDisplayName())));
+    }
+
+    @Test
+    public void testUpdatePartialWithHistory_WhenAnalystEditsOwnEvent_ShouldNotPublishEventUpdated() {
+        UserAccount analyst = new UserAccount();
+        analyst.setId(7L);
+        analyst.setUsername("maria");
+        testEvent.setAnalistaResponsavel("maria");
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(testEvent));
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userAccountRepository.findActiveByUsernameOrFullName("maria")).thenReturn(List.of(analyst));
+
+        eventService.updatePartialWithHistory(1L, Map.of("titulo", "Novo título"), "maria");
+
+        verify(eventPublisher, never()).publishEvent(any(NotificationEventListener.EventUpdatedEvent.class));
+    }
+
     @Test
     public void testCreate_WithNullStatus_ShouldSetDefaultStatus() {
         testEvent.setStatus(null);
@@ -310,6 +523,109 @@ public class EventServiceTest {
         verify(eventRepository, never()).save(any());
     }
 
+    @Test
+    public void testGetBoardColumn_FirstPage_ShouldReturnCountAndCursor() {
+        when(eventRepository.findBoardColumnKeys(Status.COMUNICADO.name(), 2)).thenReturn(List.of(
+                new Object[]{1L, "2025-01-10", 0, "test event"},
+                new Object[]{3L, "9999-12-31", 0, "third event"}
+        ));
+        when(eventRepository.countBoardColumn(Status.COMUNICADO.name())).thenReturn(5L);
+        when(eventRepository.findBoardCardsByIdIn(List.of(1L))).thenReturn(List.of(EventBoardCardDto.from(testEvent)));
+
+        BoardColumnPage<EventBoardCardDto> page = eventService.getBoardColumn(Status.COMUNICADO, null, 1);
+
+        assertEquals(1, page.items().size());
+        assertEquals(1L, page.items().get(0).id());
+        assertEquals(5L, page.totalCount());
+        assertTrue(page.hasMore());
+
+        BoardColumnCursor cursor = BoardColumnCursor.decode(page.nextCursor());
+        assertEquals(1L, cursor.id());
+        assertEquals("2025-01-10", cursor.sortDate());
+        assertEquals("test event", cursor.sortTitle());
+    }
+
+    @Test
+    public void testGetBoardColumn_WithCursor_ShouldSeekAfterLastCardWithoutCounting() {
+        Event secondEvent = new Event();
+        secondEvent.setId(2L);
+        secondEvent.setTitulo("Second Event");
+        secondEvent.setStatus(Status.COMUNICADO);
+        String after = new BoardColumnCursor("2025-01-10", 0, "test event", 1L).encode();
+
+        when(eventRepository.findBoardColumnKeysAfter(Status.COMUNICADO.name(), "2025-01-10", 0, "test event", 1L, 51))
+                .thenReturn(List.<Object[]>of(new Object[]{2L, "2025-02-01", 0, "second event"}));
+        when(eventRepository.findBoardCardsByIdIn(List.of(2L))).thenReturn(List.of(EventBoardCardDto.from(secondEvent)));
+
+        BoardColumnPage<EventBoardCardDto> page = eventService.getBoardColumn(Status.COMUNICADO, after, null);
+
+        assertEquals(1, page.items().size());
+        assertEquals(2L, page.items().get(0).id());
+        assertNull(page.totalCount());
+        assertFalse(page.hasMore());
+        verify(eventRepository, never()).countBoardColumn(any());
+    }
+
+    @Test
+    public void testGetBoardColumn_AfterUntitledCard_ShouldSeekWithTitleRank() {
+        Event untitled = new Event();
+        untitled.setId(4L);
+        untitled.setStatus(Status.COMUNICADO);
+        when(eventRepository.findBoardColumnKeys(Status.COMUNICADO.name(), 2)).thenReturn(List.of(
+                new Object[]{4L, "2025-01-10", 1, ""},
+                new Object[]{5L, "2025-01-10", 1, ""}
+        ));
+        when(eventRepository.countBoardColumn(Status.COMUNICADO.name())).thenReturn(2L);
+        when(eventRepository.findBoardCardsByIdIn(List.of(4L))).thenReturn(List.of(EventBoardCardDto.from(untitled)));
+        when(eventRepository.findBoardColumnKeysAfter(Status.COMUNICADO.name(), "2025-01-10", 1, "", 4L, 2))
+                .thenReturn(List.<Object[]>of());
+
+        BoardColumnPage<EventBoardCardDto> page = eventService.getBoardColumn(Status.COMUNICADO, null, 1);
+        eventService.getBoardColumn(Status.COMUNICADO, page.nextCursor(), 1);
+
+        assertEquals(1, BoardColumnCursor.decode(page.nextCursor()).sortRank());
+        verify(eventRepository).findBoardColumnKeysAfter(Status.COMUNICADO.name(), "2025-01-10", 1, "", 4L, 2);
+    }
+
+    @Test
+    public void testGetBoardColumn_WithInvalidCursor_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> eventService.getBoardColumn(Status.COMUNICADO, "%%invalid%%", 10));
+    }
+
+    @Test
+    public void testUpdateStatusBatch_ShouldGroupUpdatesByTargetStatus() {
+        when(eventRepository.findStatusesByIdIn(List.of(1L, 2L, 3L, 4L))).thenReturn(List.of(
+                new Object[]{1L, Status.VISTORIA},
+                new Object[]{2L, Status.VISTORIA},
+                new Object[]{3L, Status.ANALISE}
+        ));
+
+        StatusBatchResult result = eventService.updateStatusBatch(List.of(
+                new StatusMoveRequest(1L, "ANALISE"),
+                new StatusMoveRequest(2L, "ANALISE"),
+                new StatusMoveRequest(3L, "ANALISE"),
+                new StatusMoveRequest(4L, "ANALISE"),
+                new StatusMoveRequest(5L, "INEXISTENTE")
+        ));
+
+        assertEquals(5, result.requested());
+        assertEquals(2, result.moved());
+        assertEquals(StatusBatchResult.Outcome.MOVED, result.results().get(0).outcome());
+        assertEquals(StatusBatchResult.Outcome.MOVED, result.results().get(1).outcome());
+        assertEquals(StatusBatchResult.Outcome.UNCHANGED, result.results().get(2).outcome());
+        assertEquals(StatusBatchResult.Outcome.NOT_FOUND, result.results().get(3).outcome());
+        assertEquals(StatusBatchResult.Outcome.INVALID_STATUS, result.results().get(4).outcome());
+        verify(eventRepository, times(1)).updateStatusByIdIn(Status.ANALISE, List.of(1L, 2L));
+        verify(eventRepository, never()).save(any());
+        verify(eventPublisher, times(2)).publishEvent(any(EventBoardChangedEvent.class));
+    }
+
+    @Test
+    public void testUpdateStatusBatch_WhenEmpty_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> eventService.updateStatusBatch(List.of()));
+    }
+
     @Test
     public void testDelete_WhenEventExists_ShouldDeleteEvent() {
         when(eventRepository.existsById(1L)).thenReturn(true);
@@ -0,0 +1,100 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.EventTextRevision;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventTextHistoryCodecTest {
+
+    private static EventTextHistoryCodec.StoredRevision legacy(long id, String previous, String current) {
+        return new EventTextHistoryCodec.StoredRevision(id, 1L, null, previous, current, null, null,
+                "analista", LocalDateTime.of(2024, 1, 1, 10, 0).plusMinutes(id));
+    }
+
+    /**
+     * Converte uma cadeia antiga como o compactador faz e devolve os registros no formato novo
+     */
+    private static List<EventTextHistoryCodec.StoredRevision> compact(List<EventTextHistoryCodec.StoredRevision> chain,
+                                                                      int snapshotInterval) {
+        List<EventTextRevision> revisions = EventTextHistoryCodec.decode(chain);
+        List<EventTextHistoryCodec.StoredRevision> compacted = new ArrayList<>();
+        int sinceSnapshot = 0;
+        for (int i = 0; i < revisions.size(); i++) {
+            EventTextRevision revision = revisions.get(i);
+            EventTextHistoryCodec.Encoded encoded = EventTextHistoryCodec.encode(
+                    i > 0 ? revisions.get(i - 1).newValue() : null, i > 0, sinceSnapshot, snapshotInterval,
+                    revision.previousValue(), revision.newValue());
+            sinceSnapshot = encoded.isSnapshot() ? 0 : sinceSnapshot + 1;
+            compacted.add(new EventTextHistoryCodec.StoredRevision(revision.id(), 1L, encoded.format(),
+                    encoded.previousFull(), encoded.newFull(), encoded.previousDelta(), encoded.newDelta(),
+                    revision.modifiedBy(), revision.modifiedAt()));
+        }
+        return compacted;
+    }
+
+    @Test
+    public void testDiffAndApply_ShouldRoundTrip() {
+        String base = "Cliente relatou colisão traseira na rodovia";
+        String target = "Cliente relatou colisão lateral na rodovia BR-101";
+
+        String delta = EventTextHistoryCodec.diff(base, target);
+
+        assertEquals(target, EventTextHistoryCodec.apply(base, delta));
+        assertTrue(delta.length() < target.length());
+        assertEquals("=", EventTextHistoryCodec.diff(base, base));
+        assertNull(EventTextHistoryCodec.apply(base, EventTextHistoryCodec.diff(base, null)));
+        assertEquals("novo", EventTextHistoryCodec.apply(null, EventTextHistoryCodec.diff(null, "novo")));
+    }
+
+    @Test
+    public void testCompactedChain_ShouldDecodeToSameTexts() {
+        List<EventTextHistoryCodec.StoredRevision> chain = new ArrayList<>();
+        String text = "Observação inicial do evento com bastante contexto sobre o sinistro";
+        for (long id = 1; id <= 30; id++) {
+            String next = id % 7 == 0 ? null : (text == null ? "" : text) + " | atualização " + id;
+            chain.add(legacy(id, text, next));
+            text = next;
+        }
+        // Registro gravado fora da sequência (texto anterior diferente do novo do registro anterior)
+        chain.add(legacy(31, "editado sem histórico", "editado sem histórico e revisado"));
+
+        List<EventTextRevision> expected = EventTextHistoryCodec.decode(chain);
+        List<EventTextRevision> decoded = EventTextHistoryCodec.decode(compact(chain, 10));
+
+        assertEquals(expected, decoded);
+    }
+
+    @Test
+    public void testEncode_ShouldTakeSnapshotAtIntervalAndKeepDeltasBetween() {
+        List<EventTextHistoryCodec.StoredRevision> chain = new ArrayList<>();
+        String text = "Descrição longa do evento que será editada várias vezes pelo analista responsável";
+        for (long id = 1; id <= 12; id++) {
+            String next = text + " " + id;
+            chain.add(legacy(id, text, next));
+            text = next;
+        }
+
+        List<EventTextHistoryCodec.StoredRevision> compacted = compact(chain, 5);
+
+        assertEquals(EventTextHistoryCodec.FORMAT_SNAPSHOT, compacted.get(0).format());
+        assertEquals(EventTextHistoryCodec.FORMAT_DELTA, compacted.get(1).format());
+        assertEquals(EventTextHistoryCodec.FORMAT_SNAPSHOT, compacted.get(5).format());
+        assertNull(compacted.get(1).previousFull());
+        assertNull(compacted.get(1).newFull());
+    }
+
+    @Test
+    public void testNewestFirst_ShouldOrderByModifiedAtDescending() {
+        List<EventTextRevision> revisions = EventTextHistoryCodec.decode(List.of(legacy(1, null, "a"), legacy(2, "a", "b")));
+
+        List<EventTextRevision> ordered = EventTextHistoryCodec.newestFirst(revisions);
+
+        assertEquals(2L, ordered.get(0).id());
+        assertEquals(1L, ordered.get(1).id());
+    }
+}
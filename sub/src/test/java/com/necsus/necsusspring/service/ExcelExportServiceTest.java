@@ -0,0 +1,89 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.PartnerReportRow;
+import com.necsus.necsusspring.model.PartnerStatus;
+import com.necsus.necsusspring.repository.PartnerRepository;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExcelExportServiceTest {
+
+    @InjectMocks
+    private ExcelExportService excelExportService;
+
+    @Mock
+    private PartnerRepository partnerRepository;
+
+    private static PartnerReportRow row(long id) {
+        return new PartnerReportRow(id, "Associado " + id, "000.000.000-00", null, "associado" + id + "@email.com",
+                null, "(11) 99999-0000", null, PartnerStatus.values()[0], LocalDateTime.of(2024, 1, 10, 9, 30), null,
+                "Rua A", "10", "Centro", "São Paulo", "SP", "01000-000", 2, null);
+    }
+
+    private static List<PartnerReportRow> rows(long fromId, int count) {
+        List<PartnerReportRow> rows = new ArrayList<>();
+        for (long id = fromId; id < fromId + count; id++) {
+            rows.add(row(id));
+        }
+        return rows;
+    }
+
+    @Test
+    public void testWritePartnerReportExcel_ShouldReadPartnersInChunksAndWriteEveryRow() throws Exception {
+        int chunk = ExcelExportService.CHUNK_SIZE;
+        when(partnerRepository.findReportRowsAfter(eq(0L), any(Pageable.class))).thenReturn(rows(1, chunk));
+        when(partnerRepository.findReportRowsAfter(eq((long) chunk), any(Pageable.class))).thenReturn(rows(chunk + 1, 5));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int exported = excelExportService.writePartnerReportExcel(out);
+
+        assertEquals(chunk + 5, exported);
+        verify(partnerRepository, times(2)).findReportRowsAfter(anyLong(), any(Pageable.class));
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("Relatório de Associados");
+            assertEquals(chunk + 5, sheet.getLastRowNum());
+            assertEquals("Quantidade de Veículos", sheet.getRow(0).getCell(17).getStringCellValue());
+            assertEquals("Associado " + (chunk + 5), sheet.getRow(chunk + 5).getCell(1).getStringCellValue());
+            assertEquals("2", sheet.getRow(1).getCell(17).getStringCellValue());
+            assertTrue(sheet.getColumnWidth(4) > sheet.getColumnWidth(0));
+        }
+    }
+
+    @Test
+    public void testWritePartnerSummaryExcel_ShouldWriteSummaryCitiesAndList() throws Exception {
+        when(partnerRepository.findReportRowsAfter(eq(0L), any(Pageable.class))).thenReturn(rows(1, 2));
+        ReportDataService.PartnerReportData reportData = new ReportDataService.PartnerReportData(
+                true, 2, 2, 0, 4, Map.of("São Paulo", 2L), "2,00");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        excelExportService.writePartnerSummaryExcel(reportData, out);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(3, workbook.getNumberOfSheets());
+            assertEquals("2", workbook.getSheet("Resumo Geral").getRow(2).getCell(1).getStringCellValue());
+            assertEquals("São Paulo", workbook.getSheet("Distribuição por Cidade").getRow(3).getCell(0).getStringCellValue());
+            assertEquals(2, workbook.getSheet("Lista de Associados").getLastRowNum());
+        }
+    }
+}
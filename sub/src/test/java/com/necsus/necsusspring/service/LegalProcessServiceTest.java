@@ -1,6 +1,7 @@
 package com.necsus.necsusspring.service;
 
 import com.necsus.necsusspring.dto.LegalProcessRequest;
+import com.necsus.necsusspring.event.EventBoardChangedEvent;
 import com.necsus.necsusspring.model.LegalProcess;
 import com.necsus.necsusspring.model.LegalProcessStatus;
 import com.necsus.necsusspring.model.LegalProcessType;
@@ -11,8 +12,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,11 +28,14 @@ class LegalProcessServiceTest {
     @Mock
     private LegalProcessRepository legalProcessRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private LegalProcessService legalProcessService;
 
     @BeforeEach
     void setUp() {
-        legalProcessService = new LegalProcessService(legalProcessRepository);
+        legalProcessService = new LegalProcessService(legalProcessRepository, eventPublisher);
         when(legalProcessRepository.save(any(LegalProcess.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
     }
@@ -85,4 +91,29 @@ class LegalProcessServiceTest {
         assertThat(result.getProcessType()).isEqualTo(LegalProcessType.RASTREADOR);
         assertThat(result.getStatus()).isEqualTo(LegalProcessStatus.RASTREADOR_EM_ABERTO);
     }
+
+    @Test
+    void updateShouldNotifyPreviousAndNewSourceEventWhenRelinked() {
+        LegalProcess existing = new LegalProcess();
+        existing.setProcessType(LegalProcessType.TERCEIROS);
+        existing.setSourceEventId(5L);
+        when(legalProcessRepository.findById(1L)).thenReturn(Optional.of(existing));
+        LegalProcessRequest request = new LegalProcessRequest(
+                "Autor",
+                "Réu",
+                "Matéria",
+                "PROC-REL-001",
+                BigDecimal.ONE,
+                "Pedidos",
+                LegalProcessType.TERCEIROS,
+                6L,
+                null
+        );
+
+        LegalProcess result = legalProcessService.update(1L, request);
+
+        assertThat(result.getSourceEventId()).isEqualTo(6L);
+        verify(eventPublisher).publishEvent(new EventBoardChangedEvent(5L, EventBoardChangedEvent.Type.UPDATED));
+        verify(eventPublisher).publishEvent(new EventBoardChangedEvent(6L, EventBoardChangedEvent.Type.UPDATED));
+    }
 }
@@ -0,0 +1,73 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.event.NextDemandsChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NextDemandsCacheTest {
+
+    private NextDemandsCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new NextDemandsCache(60_000, 100);
+        loads = new AtomicInteger();
+    }
+
+    private List<Long> load(List<Long> ids) {
+        loads.incrementAndGet();
+        return ids;
+    }
+
+    @Test
+    public void testGet_WhenCached_ShouldNotReload() {
+        assertEquals(List.of(1L, 2L), cache.get(10L, 3, () -> load(List.of(1L, 2L))));
+        assertEquals(List.of(1L, 2L), cache.get(10L, 3, () -> load(List.of(9L))));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hits());
+        assertEquals(1, cache.stats().misses());
+    }
+
+    @Test
+    public void testOnNextDemandsChanged_ShouldEvictOnlyAffectedUsers() {
+        cache.get(10L, 3, () -> load(List.of(1L)));
+        cache.get(20L, 3, () -> load(List.of(2L)));
+
+        cache.onNextDemandsChanged(new NextDemandsChangedEvent(Set.of(10L)));
+
+        assertEquals(List.of(3L), cache.get(10L, 3, () -> load(List.of(3L))));
+        assertEquals(List.of(2L), cache.get(20L, 3, () -> load(List.of(4L))));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testGet_WhenInvalidatedDuringLoad_ShouldNotStoreStaleResult() {
+        List<Long> stale = cache.get(10L, 3, () -> {
+            cache.invalidate(10L);
+            return load(List.of(1L));
+        });
+
+        assertEquals(List.of(1L), stale);
+        assertEquals(List.of(2L), cache.get(10L, 3, () -> load(List.of(2L))));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testGet_WithZeroTtl_ShouldAlwaysLoad() {
+        cache = new NextDemandsCache(0, 100);
+
+        cache.get(10L, 3, () -> load(List.of(1L)));
+        cache.get(10L, 3, () -> load(List.of(1L)));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.stats().size());
+    }
+}
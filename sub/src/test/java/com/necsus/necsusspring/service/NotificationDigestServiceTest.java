@@ -0,0 +1,89 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.NotificationDraft;
+import com.necsus.necsusspring.model.NotificationType;
+import com.necsus.necsusspring.model.Prioridade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationDigestServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationDigestService digestService;
+
+    @BeforeEach
+    public void setUp() {
+        digestService = new NotificationDigestService(jdbcTemplate, notificationService, transactionManager, 500);
+    }
+
+    private static NotificationDraft draft(Long recipientId, String message, Prioridade priority) {
+        return new NotificationDraft(recipientId, "Evento Atualizado", message, NotificationType.EVENT, "/events/7",
+                7L, "Event", priority);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDeferDigestDrafts_ShouldHoldCommonNotificationsOfDigestUsersOnly() {
+        NotificationDraft digestCommon = draft(1L, "Status alterado", Prioridade.MEDIA);
+        NotificationDraft digestUrgent = draft(1L, "Prazo vencido", Prioridade.URGENTE);
+        NotificationDraft immediateUser = draft(2L, "Status alterado", Prioridade.MEDIA);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1L), eq(2L))).thenReturn(List.of(1L));
+
+        List<NotificationDraft> immediate = digestService.deferDigestDrafts(List.of(digestCommon, digestUrgent, immediateUser));
+
+        assertEquals(List.of(digestUrgent, immediateUser), immediate);
+        ArgumentCaptor<List<NotificationDraft>> deferred = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(NotificationDigestService.INSERT_ITEM_SQL), deferred.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(digestCommon), deferred.getValue());
+    }
+
+    @Test
+    public void testDeferDigestDrafts_WithoutDigestUsers_ShouldDeliverEverything() {
+        List<NotificationDraft> drafts = List.of(draft(2L, "Status alterado", Prioridade.MEDIA));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(2L))).thenReturn(List.of());
+
+        assertSame(drafts, digestService.deferDigestDrafts(drafts));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    public void testBuildDigest_ShouldSummarizeEachSubjectWithCountAndLatestMessage() {
+        NotificationDraft other = NotificationDraft.of(1L, "Novo Comunicado", "Reunião geral", NotificationType.COMUNICADO);
+
+        NotificationDraft digest = NotificationDigestService.buildDigest(1L, List.of(
+                draft(1L, "Status alterado", null), other, draft(1L, "Descrição alterada", null)));
+
+        assertEquals(NotificationDigestService.DIGEST_TITLE, digest.title());
+        assertEquals(1L, digest.recipientId());
+        assertTrue(digest.message().startsWith("3 notificações"));
+        assertTrue(digest.message().contains("Evento Atualizado (2x): Descrição alterada"));
+        assertTrue(digest.message().contains("Novo Comunicado: Reunião geral"));
+        assertEquals("/notifications", digest.actionUrl());
+    }
+}
@@ -0,0 +1,135 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.dto.NotificationDraft;
+import com.necsus.necsusspring.model.NotificationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationOutboxDispatcherTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private NotificationDigestService digestService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    public void setUp() {
+        dispatcher = new NotificationOutboxDispatcher(jdbcTemplate, notificationService, digestService, transactionManager,
+                200, 3, 5000, 60_000);
+        lenient().when(digestService.deferDigestDrafts(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static NotificationOutboxDispatcher.OutboxEntry entry(long id, int attempts) {
+        return new NotificationOutboxDispatcher.OutboxEntry(id, attempts,
+                NotificationDraft.of(10L, "Título " + id, "Mensagem", NotificationType.DEMAND));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubDue(List<NotificationOutboxDispatcher.OutboxEntry> entries) {
+        when(jdbcTemplate.query(eq(NotificationOutboxDispatcher.SELECT_DUE_SQL), any(RowMapper.class), any(), eq(200)))
+                .thenReturn((List) entries);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubOne(NotificationOutboxDispatcher.OutboxEntry entry) {
+        when(jdbcTemplate.query(eq(NotificationOutboxDispatcher.SELECT_ONE_SQL), any(RowMapper.class), eq(entry.id())))
+                .thenReturn((List) List.of(entry));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDispatchBatch_ShouldInsertNotificationsAndDeleteRowsInOneBatch() {
+        stubDue(List.of(entry(1L, 0), entry(2L, 0)));
+
+        int processed = dispatcher.dispatchBatch();
+
+        assertEquals(2, processed);
+        ArgumentCaptor<List<NotificationDraft>> drafts = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).createNotificationsCoalesced(drafts.capture());
+        assertEquals(2, drafts.getValue().size());
+        ArgumentCaptor<List<Object[]>> deleted = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(NotificationOutboxDispatcher.DELETE_SQL), deleted.capture());
+        assertEquals(2, deleted.getValue().size());
+        assertEquals(2, dispatcher.stats().dispatched());
+    }
+
+    @Test
+    public void testDispatchBatch_WhenQueueIsEmpty_ShouldNotCreateNotifications() {
+        stubDue(List.of());
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    public void testDispatchBatch_WhenBatchFails_ShouldDeliverRowByRowAndScheduleRetry() {
+        NotificationOutboxDispatcher.OutboxEntry first = entry(1L, 0);
+        NotificationOutboxDispatcher.OutboxEntry second = entry(2L, 0);
+        stubDue(List.of(first, second));
+        stubOne(first);
+        stubOne(second);
+        when(notificationService.createNotificationsCoalesced(anyList()))
+                .thenThrow(new DataIntegrityViolationException("fk"))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("fk"));
+
+        dispatcher.dispatchBatch();
+
+        verify(jdbcTemplate).update(NotificationOutboxDispatcher.DELETE_SQL, 1L);
+        verify(jdbcTemplate).update(eq(NotificationOutboxDispatcher.RETRY_SQL), eq(1), any(), eq("fk"), eq(2L));
+        NotificationOutboxDispatcher.Stats stats = dispatcher.stats();
+        assertEquals(1, stats.dispatched());
+        assertEquals(1, stats.retried());
+        assertEquals(1, stats.batchFailures());
+    }
+
+    @Test
+    public void testDispatchBatch_WhenAttemptsAreExhausted_ShouldDeadLetter() {
+        NotificationOutboxDispatcher.OutboxEntry exhausted = entry(5L, 2);
+        stubDue(List.of(exhausted));
+        stubOne(exhausted);
+        when(notificationService.createNotificationsCoalesced(anyList()))
+                .thenThrow(new DataIntegrityViolationException("fk"));
+
+        dispatcher.dispatchBatch();
+
+        verify(jdbcTemplate).update(NotificationOutboxDispatcher.DEAD_SQL, 3, "fk", 5L);
+        verify(jdbcTemplate, never()).update(eq(NotificationOutboxDispatcher.DELETE_SQL), any(Object[].class));
+        assertEquals(1, dispatcher.stats().deadLettered());
+    }
+
+    @Test
+    public void testBackoffMillis_ShouldDoubleUntilLimit() {
+        assertEquals(5000, dispatcher.backoffMillis(1));
+        assertEquals(10_000, dispatcher.backoffMillis(2));
+        assertEquals(20_000, dispatcher.backoffMillis(3));
+        assertEquals(60_000, dispatcher.backoffMillis(10));
+    }
+}
@@ -0,0 +1,95 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.model.NotificationType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationRetentionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationRetentionService service(boolean dryRun) {
+        return new NotificationRetentionService(jdbcTemplate, transactionManager, 30, 90, "",
+                NotificationRetentionService.PurgeMode.DELETE, 2, 0, dryRun);
+    }
+
+    @Test
+    public void testParsePolicies_ShouldApplyDefaultsAndTypeOverrides() {
+        Map<NotificationType, NotificationRetentionService.Policy> policies =
+                NotificationRetentionService.parsePolicies(30, 90, "comunicado:15:60, ALERT:0:365");
+
+        assertEquals(NotificationType.values().length, policies.size());
+        assertEquals(new NotificationRetentionService.Policy(NotificationType.EVENT, 30, 90), policies.get(NotificationType.EVENT));
+        assertEquals(new NotificationRetentionService.Policy(NotificationType.COMUNICADO, 15, 60), policies.get(NotificationType.COMUNICADO));
+        assertEquals(0, policies.get(NotificationType.ALERT).archiveAfterDays());
+        assertThrows(IllegalArgumentException.class, () -> NotificationRetentionService.parsePolicies(30, 90, "EVENT:10"));
+    }
+
+    @Test
+    public void testApply_ShouldArchiveAndPurgeInIdRangeChunks() {
+        when(jdbcTemplate.queryForList(eq(NotificationRetentionService.SELECT_READ_SQL), eq(Long.class),
+                any(), any(), eq(0L), eq(2)))
+                .thenReturn(List.of(3L, 7L));
+        when(jdbcTemplate.queryForList(eq(NotificationRetentionService.SELECT_READ_SQL), eq(Long.class),
+                any(), any(), eq(7L), eq(2)))
+                .thenReturn(List.of(12L));
+        when(jdbcTemplate.queryForList(eq(NotificationRetentionService.SELECT_ARCHIVED_SQL), eq(Long.class),
+                any(), any(), eq(0L), eq(2)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.update(eq(NotificationRetentionService.ARCHIVE_RANGE_SQL), eq(3L), eq(7L), any(), any()))
+                .thenReturn(2);
+        when(jdbcTemplate.update(eq(NotificationRetentionService.ARCHIVE_RANGE_SQL), eq(12L), eq(12L), any(), any()))
+                .thenReturn(1);
+
+        NotificationRetentionService.Result result = service(false)
+                .apply(new NotificationRetentionService.Policy(NotificationType.DEMAND, 30, 90));
+
+        assertEquals(3, result.archived());
+        assertEquals(0, result.purged());
+        verify(transactionManager, times(2)).commit(any());
+        verify(jdbcTemplate, never()).update(eq(NotificationRetentionService.DELETE_RANGE_SQL), any(Object[].class));
+    }
+
+    @Test
+    public void testApply_InDryRun_ShouldOnlyCount() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(), any(), eq(0L), eq(2)))
+                .thenReturn(List.of(5L));
+
+        NotificationRetentionService.Result result = service(true)
+                .apply(new NotificationRetentionService.Policy(NotificationType.SYSTEM, 30, 90));
+
+        assertTrue(result.dryRun());
+        assertEquals(1, result.archived());
+        assertEquals(1, result.purged());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    public void testApply_WhenStepsDisabled_ShouldNotQuery() {
+        NotificationRetentionService.Result result = service(false)
+                .apply(new NotificationRetentionService.Policy(NotificationType.INFO, 0, 0));
+
+        assertEquals(0, result.archived());
+        assertEquals(0, result.purged());
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -1,25 +1,42 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.dto.BroadcastAudience;
+import com.necsus.necsusspring.dto.NotificationCursor;
+import com.necsus.necsusspring.dto.NotificationDraft;
+import com.necsus.necsusspring.dto.NotificationItem;
+import com.necsus.necsusspring.dto.NotificationPage;
+import com.necsus.necsusspring.event.NotificationsCoalescedEvent;
+import com.necsus.necsusspring.event.UnreadCountChangedEvent;
 import com.necsus.necsusspring.model.*;
 import com.necsus.necsusspring.repository.NotificationRepository;
+import com.necsus.necsusspring.repository.UserAccountRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +48,24 @@ public class NotificationServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UnreadNotificationCounter unreadCounter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserAccountRepository userAccountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private NotificationCoalescer coalescer;
+
     private Notification testNotification;
     private UserAccount testUser;
 
@@ -68,6 +103,7 @@ public class NotificationServiceTest {
         assertEquals(NotificationType.EVENT, result.getType());
         assertEquals(NotificationStatus.UNREAD, result.getStatus());
         verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(eventPublisher).publishEvent(UnreadCountChangedEvent.delta(1L, 1));
     }
 
     @Test
@@ -191,13 +227,13 @@ public class NotificationServiceTest {
     }
 
     @Test
-    public void testCountUnread_ShouldReturnCount() {
-        when(notificationRepository.countUnreadByRecipient(testUser)).thenReturn(5L);
+    public void testCountUnread_ShouldUseInMemoryCounter() {
+        when(unreadCounter.get(1L)).thenReturn(5L);
 
         long count = notificationService.countUnread(testUser);
 
         assertEquals(5L, count);
-        verify(notificationRepository, times(1)).countUnreadByRecipient(testUser);
+        verify(notificationRepository, never()).countUnreadByRecipient(any());
     }
 
     @Test
@@ -213,6 +249,7 @@ public class NotificationServiceTest {
         assertNotNull(result.getReadAt());
         verify(notificationRepository, times(1)).findById(1L);
         verify(notificationRepository, times(1)).save(testNotification);
+        verify(eventPublisher).publishEvent(UnreadCountChangedEvent.delta(1L, -1));
     }
 
     @Test
@@ -229,6 +266,7 @@ public class NotificationServiceTest {
         assertNull(result.getReadAt());
         verify(notificationRepository, times(1)).findById(1L);
         verify(notificationRepository, times(1)).save(testNotification);
+        verify(eventPublisher).publishEvent(UnreadCountChangedEvent.delta(1L, 1));
     }
 
     @Test
@@ -241,6 +279,7 @@ public class NotificationServiceTest {
         assertEquals(10, count);
         verify(notificationRepository, times(1))
                 .markAllAsReadForRecipient(eq(testUser), any(LocalDateTime.class));
+        verify(eventPublisher).publishEvent(UnreadCountChangedEvent.reset(1L));
     }
 
     @Test
@@ -255,29 +294,31 @@ public class NotificationServiceTest {
         assertEquals(NotificationStatus.ARCHIVED, result.getStatus());
         verify(notificationRepository, times(1)).findById(1L);
         verify(notificationRepository, times(1)).save(testNotification);
+        // Já estava lida: o contador de não lidas não muda
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     public void testDeleteNotification_WhenExists_ShouldDeleteSuccessfully() {
-        when(notificationRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(notificationRepository).deleteById(1L);
+        when(notificationRepository.findById(1L)).thenReturn(Optional.of(testNotification));
 
         assertDoesNotThrow(() -> notificationService.deleteNotification(1L));
 
-        verify(notificationRepository, times(1)).existsById(1L);
-        verify(notificationRepository, times(1)).deleteById(1L);
+        verify(notificationRepository, times(1)).findById(1L);
+        verify(notificationRepository, times(1)).delete(testNotification);
+        verify(eventPublisher).publishEvent(UnreadCountChangedEvent.delta(1L, -1));
     }
 
     @Test
     public void testDeleteNotification_WhenDoesNotExist_ShouldThrowException() {
-        when(notificationRepository.existsById(1L)).thenReturn(false);
+        when(notificationRepository.findById(1L)).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> notificationService.deleteNotification(1L));
 
         assertEquals("Notificação não encontrada com id 1", exception.getMessage());
-        verify(notificationRepository, times(1)).existsById(1L);
-        verify(notificationRepository, never()).deleteById(1L);
+        verify(notificationRepository, times(1)).findById(1L);
+        verify(notificationRepository, never()).delete(any(Notification.class));
     }
 
     @Test
@@ -360,4 +401,188 @@ public class NotificationServiceTest {
         verify(notificationRepository, times(1))
                 .findByRelatedEntityTypeAndRelatedEntityId("Event", 1L);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCreateNotificationsBatch_ShouldUseSingleJdbcBatch() {
+        List<NotificationDraft> drafts = List.of(
+                NotificationDraft.of(1L, "Título", "Mensagem 1", NotificationType.DEMAND),
+                NotificationDraft.of(2L, "Título", "Mensagem 2", NotificationType.DEMAND)
+        );
+
+        int created = notificationService.createNotificationsBatch(drafts);
+
+        assertEquals(2, created);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), eq(drafts), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(notificationRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(UnreadCountChangedEvent.delta(1L, 1));
+        verify(eventPublisher).publishEvent(UnreadCountChangedEvent.delta(2L, 1));
+    }
+
+    @Test
+    public void testCreateNotificationsBatch_WhenEmpty_ShouldNotTouchDatabase() {
+        assertEquals(0, notificationService.createNotificationsBatch(List.of()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static NotificationDraft eventUpdate(String message) {
+        return new NotificationDraft(1L, "Evento Atualizado", message, NotificationType.EVENT, "/events/7",
+                7L, "Event", Prioridade.MEDIA);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCreateNotificationsCoalesced_WithRepeatedDraftsAndNoUnread_ShouldInsertOneRowWithAllOccurrences() {
+        when(coalescer.isEnabled()).thenReturn(true);
+        when(coalescer.mergeIntoUnread(anyList())).thenReturn(new boolean[]{false}, new boolean[]{true});
+        NotificationDraft plain = NotificationDraft.of(2L, "Aviso", "Mensagem", NotificationType.SYSTEM);
+
+        int created = notificationService.createNotificationsCoalesced(List.of(
+                eventUpdate("Status alterado"), plain, eventUpdate("Descrição alterada"), eventUpdate("Analista alterado")));
+
+        assertEquals(2, created);
+        ArgumentCaptor<List<NotificationDraft>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), inserted.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(2, inserted.getValue().size());
+        assertTrue(inserted.getValue().contains(plain));
+        assertTrue(inserted.getValue().contains(eventUpdate("Analista alterado")));
+
+        ArgumentCaptor<List<NotificationCoalescer.Group>> merges = ArgumentCaptor.forClass(List.class);
+        verify(coalescer, times(2)).mergeIntoUnread(merges.capture());
+        assertEquals(3, merges.getAllValues().get(0).get(0).occurrences());
+        assertEquals(2, merges.getAllValues().get(1).get(0).occurrences());
+    }
+
+    @Test
+    public void testCreateNotificationsCoalesced_WhenUnreadExists_ShouldOnlyUpdateIt() {
+        when(coalescer.isEnabled()).thenReturn(true);
+        when(coalescer.mergeIntoUnread(anyList())).thenReturn(new boolean[]{true}, new boolean[0]);
+
+        int created = notificationService.createNotificationsCoalesced(List.of(
+                eventUpdate("Status alterado"), eventUpdate("Descrição alterada")));
+
+        assertEquals(0, created);
+        verifyNoInteractions(jdbcTemplate);
+        verify(eventPublisher).publishEvent(argThat((Object published) ->
+                published instanceof NotificationsCoalescedEvent coalesced && coalesced.recipientId().equals(1L)));
+        verify(eventPublisher, never()).publishEvent(any(UnreadCountChangedEvent.class));
+    }
+
+    @Test
+    public void testCreateOrCoalesceNotification_WhenUnreadExists_ShouldIncrementOccurrences() {
+        testNotification.setRelatedEntityId(7L);
+        testNotification.setRelatedEntityType("Event");
+        when(coalescer.isEnabled()).thenReturn(true);
+        when(notificationRepository.findCoalescibleUnread(eq(1L), eq(NotificationType.EVENT), eq("Event"), eq(7L),
+                any(), any(Pageable.class))).thenReturn(List.of(testNotification));
+        when(notificationRepository.save(testNotification)).thenReturn(testNotification);
+
+        Notification result = notificationService.notifyEventUpdate(testUser, 7L, "status alterado");
+
+        assertEquals(2, result.getOccurrences());
+        assertEquals("O evento foi atualizado: status alterado", result.getMessage());
+        assertNotNull(result.getLastOccurredAt());
+        verify(eventPublisher).publishEvent(argThat((Object published) ->
+                published instanceof NotificationsCoalescedEvent coalesced
+                        && coalesced.recipientId().equals(1L)
+                        && !coalesced.since().isAfter(result.getLastOccurredAt())));
+        verify(eventPublisher, never()).publishEvent(any(UnreadCountChangedEvent.class));
+    }
+
+    @Test
+    public void testBroadcast_ToAllUsers_ShouldInsertInChunksWithOwnTransactions() {
+        List<Long> recipientIds = new ArrayList<>();
+        for (long id = 1; id <= NotificationService.BROADCAST_CHUNK_SIZE * 2L + 5; id++) {
+            recipientIds.add(id);
+        }
+        when(userAccountRepository.findActiveIds()).thenReturn(recipientIds);
+
+        List<Integer> progress = new ArrayList<>();
+        int created = notificationService.broadcast(BroadcastAudience.ALL_USERS,
+                NotificationDraft.of(null, "Novo Comunicado", "Mensagem", NotificationType.COMUNICADO), progress::add);
+
+        int chunk = NotificationService.BROADCAST_CHUNK_SIZE;
+        assertEquals(recipientIds.size(), created);
+        assertEquals(List.of(chunk, chunk * 2, chunk * 2 + 5), progress);
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(transactionManager, times(3)).commit(any());
+        verify(userAccountRepository, never()).findActiveIdsByRoleIn(any());
+    }
+
+    @Test
+    public void testBroadcast_ToRolesWithoutUsers_ShouldNotInsert() {
+        when(userAccountRepository.findActiveIdsByRoleIn(any())).thenReturn(List.of());
+
+        int created = notificationService.broadcast(BroadcastAudience.roles("FINANCEIRO"), "Aviso", "Mensagem",
+                NotificationType.SYSTEM, null, null, null, null);
+
+        assertEquals(0, created);
+        verifyNoInteractions(jdbcTemplate, transactionManager);
+    }
+
+    private static List<NotificationItem> items(int count, LocalDateTime newest) {
+        List<NotificationItem> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new NotificationItem(100L - i, "Título", "Mensagem", NotificationType.SYSTEM,
+                    NotificationStatus.READ, null, null, null, null, newest.minusMinutes(i), 1));
+        }
+        return items;
+    }
+
+    @Test
+    public void testFindPage_WhenMoreRowsThanLimit_ShouldReturnCursorOfLastItemWithoutCounting() {
+        LocalDateTime now = LocalDateTime.now();
+        when(notificationRepository.findItemsBefore(eq(1L), eq(NotificationCursor.FIRST.createdAt()),
+                eq(Long.MAX_VALUE), eq(PageRequest.of(0, 4)))).thenReturn(items(4, now));
+
+        NotificationPage page = notificationService.findPage(1L, null, null, 3, false);
+
+        assertEquals(3, page.items().size());
+        assertTrue(page.hasMore());
+        assertEquals(new NotificationCursor(now.minusMinutes(2), 98L), NotificationCursor.decode(page.nextCursor()));
+        assertNull(page.total());
+        verify(notificationRepository, never()).countByRecipientIdCapped(any(), anyInt());
+    }
+
+    @Test
+    public void testFindPage_WithCursorAndStatus_ShouldSeekFromCursor() {
+        NotificationCursor cursor = new NotificationCursor(LocalDateTime.now(), 50L);
+        when(notificationRepository.findItemsByStatusBefore(eq(1L), eq(NotificationStatus.ARCHIVED),
+                eq(cursor.createdAt()), eq(50L), any(Pageable.class))).thenReturn(items(2, cursor.createdAt()));
+
+        NotificationPage page = notificationService.findPage(1L, NotificationStatus.ARCHIVED, cursor, 20, false);
+
+        assertEquals(2, page.items().size());
+        assertFalse(page.hasMore());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    public void testFindPage_WithTotalAboveCap_ShouldReturnCappedTotal() {
+        when(notificationRepository.findItemsBefore(eq(1L), any(), anyLong(), any(Pageable.class)))
+                .thenReturn(items(1, LocalDateTime.now()));
+        when(notificationRepository.countByRecipientIdCapped(1L, NotificationService.APPROXIMATE_TOTAL_CAP + 1))
+                .thenReturn((long) NotificationService.APPROXIMATE_TOTAL_CAP + 1);
+
+        NotificationPage page = notificationService.findPage(1L, null, null, 20, true);
+
+        assertEquals(NotificationService.APPROXIMATE_TOTAL_CAP, page.total().longValue());
+        assertTrue(page.totalCapped());
+    }
+
+    @Test
+    public void testFindPage_UnreadWithTotal_ShouldUseInMemoryCounter() {
+        when(notificationRepository.findItemsByStatusBefore(eq(1L), eq(NotificationStatus.UNREAD), any(), anyLong(),
+                any(Pageable.class))).thenReturn(List.of());
+        when(unreadCounter.get(1L)).thenReturn(7L);
+
+        NotificationPage page = notificationService.findPage(1L, NotificationStatus.UNREAD, null, 20, true);
+
+        assertEquals(7L, page.total().longValue());
+        assertFalse(page.totalCapped());
+        verify(notificationRepository, never()).countByRecipientIdAndStatusCapped(any(), any(), anyInt());
+    }
 }
@@ -0,0 +1,157 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.config.AsyncExecutors;
+import com.necsus.necsusspring.config.InstrumentedExecutor;
+import com.necsus.necsusspring.dto.NotificationItem;
+import com.necsus.necsusspring.event.NotificationsCoalescedEvent;
+import com.necsus.necsusspring.event.UnreadCountChangedEvent;
+import com.necsus.necsusspring.model.NotificationStatus;
+import com.necsus.necsusspring.model.NotificationType;
+import com.necsus.necsusspring.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationStreamServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UnreadNotificationCounter unreadCounter;
+
+    @Mock
+    private AsyncExecutors asyncExecutors;
+
+    private InstrumentedExecutor executor;
+    private NotificationStreamService streamService;
+
+    @BeforeEach
+    public void setUp() {
+        executor = new InstrumentedExecutor(AsyncExecutors.NOTIFICATION_STREAM, 1, 10, InstrumentedExecutor.RejectionPolicy.DISCARD);
+        when(asyncExecutors.notificationStream()).thenReturn(executor);
+        streamService = new NotificationStreamService(notificationRepository, unreadCounter, asyncExecutors, 60000L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        streamService.shutdown();
+        executor.shutdown(0);
+    }
+
+    private static NotificationItem item(long id) {
+        return new NotificationItem(id, "Título " + id, "Mensagem", NotificationType.SYSTEM,
+                NotificationStatus.UNREAD, null, null, null, null, LocalDateTime.now(), 1);
+    }
+
+    private static List<NotificationItem> items(long fromId, int count) {
+        List<NotificationItem> items = new ArrayList<>();
+        for (long id = fromId; id < fromId + count; id++) {
+            items.add(item(id));
+        }
+        return items;
+    }
+
+    @Test
+    public void testStart_WithoutResumeToken_ShouldStartFromLatestNotification() {
+        NotificationStreamService.Subscriber subscriber = new NotificationStreamService.Subscriber(new SseEmitter());
+        when(notificationRepository.findMaxIdByRecipientId(1L)).thenReturn(42L);
+        when(unreadCounter.get(1L)).thenReturn(3L);
+
+        streamService.start(1L, subscriber, null);
+
+        assertEquals(42L, subscriber.cursor);
+        verify(notificationRepository, never()).findStreamItemsAfter(anyLong(), anyLong(), any(Pageable.class));
+        verify(unreadCounter).get(1L);
+    }
+
+    @Test
+    public void testStart_WithResumeToken_ShouldSendMissedNotificationsInPages() {
+        NotificationStreamService.Subscriber subscriber = new NotificationStreamService.Subscriber(new SseEmitter());
+        int pageSize = NotificationStreamService.CATCH_UP_PAGE_SIZE;
+        when(notificationRepository.findStreamItemsAfter(eq(1L), eq(10L), any(Pageable.class)))
+                .thenReturn(items(11, pageSize));
+        when(notificationRepository.findStreamItemsAfter(eq(1L), eq(10L + pageSize), any(Pageable.class)))
+                .thenReturn(items(11 + pageSize, 5));
+
+        streamService.start(1L, subscriber, 10L);
+
+        assertEquals(15L + pageSize, subscriber.cursor);
+        verify(notificationRepository, times(2)).findStreamItemsAfter(eq(1L), anyLong(), any(Pageable.class));
+        verify(notificationRepository, never()).findMaxIdByRecipientId(anyLong());
+        verify(unreadCounter).get(1L);
+    }
+
+    @Test
+    public void testStart_WhenBacklogExceedsLimit_ShouldJumpToLatestAndAskForResync() {
+        NotificationStreamService.Subscriber subscriber = new NotificationStreamService.Subscriber(new SseEmitter());
+        int pageSize = NotificationStreamService.CATCH_UP_PAGE_SIZE;
+        when(notificationRepository.findStreamItemsAfter(eq(1L), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> items((long) invocation.getArgument(1) + 1, pageSize));
+        when(notificationRepository.findMaxIdByRecipientId(1L)).thenReturn(100_000L);
+
+        streamService.start(1L, subscriber, 0L);
+
+        assertEquals(100_000L, subscriber.cursor);
+        verify(notificationRepository, times(NotificationStreamService.MAX_CATCH_UP / pageSize))
+                .findStreamItemsAfter(eq(1L), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    public void testDeliverUpdates_ShouldResendCoalescedNotificationsUpToCursor() {
+        when(notificationRepository.findMaxIdByRecipientId(1L)).thenReturn(42L);
+        LocalDateTime since = LocalDateTime.now().minusSeconds(1);
+        when(notificationRepository.findStreamItemsCoalescedSince(eq(1L), eq(42L), eq(since), any(Pageable.class)))
+                .thenReturn(List.of(item(40)));
+        streamService.subscribe(1L, null);
+        verify(unreadCounter, timeout(1000)).get(1L);
+
+        streamService.deliverUpdates(1L, since);
+
+        verify(notificationRepository).findStreamItemsCoalescedSince(eq(1L), eq(42L), eq(since), any(Pageable.class));
+        verify(notificationRepository, never()).findStreamItemsAfter(anyLong(), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    public void testSubscribe_ShouldSendThroughNamedInstrumentedExecutor() {
+        when(notificationRepository.findMaxIdByRecipientId(1L)).thenReturn(42L);
+
+        streamService.subscribe(1L, null);
+
+        verify(unreadCounter, timeout(1000)).get(1L);
+        InstrumentedExecutor.Stats stats = executor.stats();
+        assertEquals(AsyncExecutors.NOTIFICATION_STREAM, stats.name());
+        assertEquals(1, stats.submitted());
+    }
+
+    @Test
+    public void testOnNotificationsCoalesced_WithoutSubscribers_ShouldNotQueryDatabase() {
+        streamService.onNotificationsCoalesced(new NotificationsCoalescedEvent(1L, LocalDateTime.now()));
+
+        verifyNoInteractions(notificationRepository, unreadCounter);
+    }
+
+    @Test
+    public void testOnUnreadCountChanged_WithoutSubscribers_ShouldNotQueryDatabase() {
+        streamService.onUnreadCountChanged(UnreadCountChangedEvent.delta(1L, 1));
+
+        assertEquals(0, streamService.subscriberCount());
+        verifyNoInteractions(notificationRepository, unreadCounter);
+    }
+}
@@ -1,10 +1,12 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.event.EventBoardChangedEvent;
 import com.necsus.necsusspring.model.Address;
 import com.necsus.necsusspring.model.Partner;
 import com.necsus.necsusspring.model.PartnerStatus;
 import com.necsus.necsusspring.repository.AddressRepository;
 import com.necsus.necsusspring.repository.AdhesionRepository;
+import com.necsus.necsusspring.repository.EventRepository;
 import com.necsus.necsusspring.repository.PartnerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,8 +14,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,6 +39,12 @@ public class PartnerServiceTest {
     @Mock
     private AdhesionRepository adhesionRepository;
 
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * This test demonstrates the bug: attempting to update a partner that has no address
      * with new address information causes a NullPointerException.
@@ -163,4 +173,24 @@ public class PartnerServiceTest {
         // Verify the same address object was updated (not replaced)
         assertEquals(100L, result.getAddress().getId());
     }
+
+    @Test
+    public void testUpdatePartner_ShouldNotifyEventBoardAboutPartnerEvents() {
+        Partner existingPartner = new Partner();
+        existingPartner.setId(1L);
+        existingPartner.setName("Jane Doe");
+
+        Partner updatePayload = new Partner();
+        updatePayload.setId(1L);
+        updatePayload.setName("Jane Souza");
+
+        when(partnerRepository.findById(1L)).thenReturn(Optional.of(existingPartner));
+        when(partnerRepository.save(any(Partner.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(eventRepository.findIdsByPartnerId(1L)).thenReturn(List.of(10L, 11L));
+
+        partnerService.updatePartner(updatePayload);
+
+        verify(eventPublisher).publishEvent(new EventBoardChangedEvent(10L, EventBoardChangedEvent.Type.UPDATED));
+        verify(eventPublisher).publishEvent(new EventBoardChangedEvent(11L, EventBoardChangedEvent.Type.UPDATED));
+    }
 }
@@ -1,23 +1,28 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.dto.PartnerReportRow;
+import com.necsus.necsusspring.dto.VehicleReportRow;
+import com.necsus.necsusspring.dto.VehicleReportTotals;
 import com.necsus.necsusspring.model.Address;
-import com.necsus.necsusspring.model.Partner;
-import com.necsus.necsusspring.model.Payment;
-import com.necsus.necsusspring.model.Vehicle;
+import com.necsus.necsusspring.repository.PartnerRepository;
+import com.necsus.necsusspring.repository.VehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,17 +32,12 @@ public class ReportDataServiceTest {
     private ReportDataService reportDataService;
 
     @Mock
-    private PartnerService partnerService;
+    private PartnerRepository partnerRepository;
 
     @Mock
-    private VehicleService vehicleService;
+    private VehicleRepository vehicleRepository;
 
-    private Partner testPartner1;
-    private Partner testPartner2;
-    private Vehicle testVehicle1;
-    private Vehicle testVehicle2;
     private Address testAddress;
-    private Payment testPayment;
 
     @BeforeEach
     public void setUp() {
@@ -48,45 +48,35 @@ public class ReportDataServiceTest {
         testAddress.setCity("São Paulo");
         testAddress.setStates("SP");
         testAddress.setZipcode("01234-567");
+    }
+
+    private void stubPartnerAggregates(long total, long withVehicles, long vehicles, List<Object[]> byCity) {
+        when(partnerRepository.count()).thenReturn(total);
+        when(partnerRepository.countWithVehicles()).thenReturn(withVehicles);
+        when(partnerRepository.countVehiclesWithPartner()).thenReturn(vehicles);
+        when(partnerRepository.countByCity()).thenReturn(byCity);
+    }
+
+    private void stubVehicleAggregates(VehicleReportTotals totals, List<Object[]> byFuel, List<Object[]> byMaker) {
+        when(vehicleRepository.findReportTotals()).thenReturn(totals);
+        when(vehicleRepository.countByFuelType()).thenReturn(byFuel);
+        when(vehicleRepository.countByMaker()).thenReturn(byMaker);
+    }
 
-        testPayment = new Payment();
-        testPayment.setMonthly(new BigDecimal("150.00"));
-
-        testPartner1 = new Partner();
-        testPartner1.setId(1L);
-        testPartner1.setName("Partner 1");
-        testPartner1.setAddress(testAddress);
-        testPartner1.setVehicles(new ArrayList<>());
-
-        testPartner2 = new Partner();
-        testPartner2.setId(2L);
-        testPartner2.setName("Partner 2");
-        testPartner2.setVehicles(new ArrayList<>());
-
-        testVehicle1 = new Vehicle();
-        testVehicle1.setId(1L);
-        testVehicle1.setPlaque("ABC1234");
-        testVehicle1.setMaker("Toyota");
-        testVehicle1.setTipo_combustivel("Gasolina");
-        testVehicle1.setPartnerId(1L);
-        testVehicle1.setPayment(testPayment);
-
-        testVehicle2 = new Vehicle();
-        testVehicle2.setId(2L);
-        testVehicle2.setPlaque("XYZ5678");
-        testVehicle2.setMaker("Honda");
-        testVehicle2.setTipo_combustivel("Flex");
-        testVehicle2.setPartnerId(1L);
-        testVehicle2.setPayment(testPayment);
-
-        testPartner1.getVehicles().add(testVehicle1);
-        testPartner1.getVehicles().add(testVehicle2);
+    private static PartnerReportRow partnerRow(Long id, Address address, long vehicleCount) {
+        return new PartnerReportRow(id, "Partner " + id, null, null, null, null, null, null, null, null, null,
+                address != null ? address.getAddress() : null,
+                address != null ? address.getNumber() : null,
+                address != null ? address.getNeighborhood() : null,
+                address != null ? address.getCity() : null,
+                address != null ? address.getStates() : null,
+                address != null ? address.getZipcode() : null,
+                vehicleCount, null);
     }
 
     @Test
     public void testLoadPartnerReportData_WithPartners_ShouldReturnCompleteReport() {
-        List<Partner> partners = Arrays.asList(testPartner1, testPartner2);
-        when(partnerService.getAllPartners()).thenReturn(partners);
+        stubPartnerAggregates(2L, 1L, 2L, List.<Object[]>of(new Object[]{"São Paulo", 1L}));
 
         ReportDataService.PartnerReportData result = reportDataService.loadPartnerReportData();
 
@@ -98,12 +88,13 @@ public class ReportDataServiceTest {
         assertEquals(2, result.totalVehicles());
         assertNotNull(result.partnersByCity());
         assertNotNull(result.averageVehiclesPerPartner());
-        verify(partnerService, times(1)).getAllPartners();
+        verify(partnerRepository, never()).findAll();
+        verify(partnerRepository, never()).findReportRows(any(Pageable.class));
     }
 
     @Test
     public void testLoadPartnerReportData_WithNoPartners_ShouldReturnEmptyReport() {
-        when(partnerService.getAllPartners()).thenReturn(new ArrayList<>());
+        when(partnerRepository.count()).thenReturn(0L);
 
         ReportDataService.PartnerReportData result = reportDataService.loadPartnerReportData();
 
@@ -114,16 +105,15 @@ public class ReportDataServiceTest {
         assertEquals(0, result.partnersWithoutVehicles());
         assertEquals(0, result.totalVehicles());
         assertEquals("0,00", result.averageVehiclesPerPartner());
+        verify(partnerRepository, never()).countWithVehicles();
+        verify(partnerRepository, never()).countByCity();
     }
 
     @Test
     public void testLoadPartnerReportData_ShouldGroupPartnersByCity() {
-        Address address2 = new Address();
-        address2.setCity("Rio de Janeiro");
-        testPartner2.setAddress(address2);
-
-        List<Partner> partners = Arrays.asList(testPartner1, testPartner2);
-        when(partnerService.getAllPartners()).thenReturn(partners);
+        stubPartnerAggregates(2L, 1L, 2L, List.of(
+                new Object[]{"São Paulo", 1L},
+                new Object[]{"Rio de Janeiro", 1L}));
 
         ReportDataService.PartnerReportData result = reportDataService.loadPartnerReportData();
 
@@ -135,40 +125,34 @@ public class ReportDataServiceTest {
 
     @Test
     public void testLoadPartnerReportData_ShouldCalculateAverageVehicles() {
-        List<Partner> partners = Arrays.asList(testPartner1, testPartner2);
-        when(partnerService.getAllPartners()).thenReturn(partners);
+        stubPartnerAggregates(2L, 1L, 2L, List.of());
 
         ReportDataService.PartnerReportData result = reportDataService.loadPartnerReportData();
 
         // Partner 1 has 2 vehicles, Partner 2 has 0 vehicles
-        // Average = 2 / 2 = 1.00
-        assertNotNull(result.averageVehiclesPerPartner());
-        assertTrue(result.averageVehiclesPerPartner().contains("1"));
+        // Average = 2 / 2 = 1,00
+        assertEquals("1,00", result.averageVehiclesPerPartner());
     }
 
     @Test
-    public void testLoadPartnerReportData_ShouldIncludeVehicleCount() {
-        List<Partner> partners = Arrays.asList(testPartner1, testPartner2);
-        when(partnerService.getAllPartners()).thenReturn(partners);
-
-        ReportDataService.PartnerReportData result = reportDataService.loadPartnerReportData();
-
-        Map<Long, Integer> vehicleCount = result.partnerVehicleCount();
-        assertNotNull(vehicleCount);
-        assertEquals(2, vehicleCount.get(1L));
-        assertEquals(0, vehicleCount.get(2L));
+    public void testLoadPartnerRows_ShouldReturnRequestedPageWithVehicleCount() {
+        Page<PartnerReportRow> page = new PageImpl<>(List.of(partnerRow(1L, testAddress, 2), partnerRow(2L, null, 0)));
+        when(partnerRepository.findReportRows(any(Pageable.class))).thenReturn(page);
+
+        Page<PartnerReportRow> result = reportDataService.loadPartnerRows(3, 10_000);
+
+        assertEquals(2, result.getContent().get(0).vehicleCount());
+        assertEquals(0, result.getContent().get(1).vehicleCount());
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(partnerRepository).findReportRows(pageable.capture());
+        assertEquals(3, pageable.getValue().getPageNumber());
+        assertEquals(ReportDataService.MAX_PAGE_SIZE, pageable.getValue().getPageSize());
     }
 
     @Test
-    public void testLoadPartnerReportData_ShouldFormatAddressSummary() {
-        List<Partner> partners = Arrays.asList(testPartner1);
-        when(partnerService.getAllPartners()).thenReturn(partners);
+    public void testFormatAddressSummary_ShouldFormatAddressSummary() {
+        String address = reportDataService.formatAddressSummary(partnerRow(1L, testAddress, 2));
 
-        ReportDataService.PartnerReportData result = reportDataService.loadPartnerReportData();
-
-        Map<Long, String> addressSummary = result.partnerAddressSummary();
-        assertNotNull(addressSummary);
-        String address = addressSummary.get(1L);
         assertNotNull(address);
         assertTrue(address.contains("Test Street"));
         assertTrue(address.contains("123"));
@@ -177,10 +161,16 @@ public class ReportDataServiceTest {
         assertTrue(address.contains("01234-567"));
     }
 
+    @Test
+    public void testFormatAddressSummary_WithPartnerWithoutAddress_ShouldHandleGracefully() {
+        assertEquals("Não informado", reportDataService.formatAddressSummary(partnerRow(1L, null, 0)));
+    }
+
     @Test
     public void testLoadVehicleReportData_WithVehicles_ShouldReturnCompleteReport() {
-        List<Vehicle> vehicles = Arrays.asList(testVehicle1, testVehicle2);
-        when(vehicleService.listAll(null)).thenReturn(vehicles);
+        stubVehicleAggregates(new VehicleReportTotals(2L, 1L, new BigDecimal("300.00")),
+                List.of(new Object[]{"Gasolina", 1L}, new Object[]{"Flex", 1L}),
+                List.of(new Object[]{"Toyota", 1L}, new Object[]{"Honda", 1L}));
 
         ReportDataService.VehicleReportData result = reportDataService.loadVehicleReportData();
 
@@ -190,12 +180,13 @@ public class ReportDataServiceTest {
         assertEquals(1, result.distinctPartners());
         assertEquals(new BigDecimal("300.00"), result.totalMonthlyValue());
         assertNotNull(result.totalMonthlyValueFormatted());
-        verify(vehicleService, times(1)).listAll(null);
+        verify(vehicleRepository, never()).findAll();
+        verify(vehicleRepository, never()).findReportRows(any(Pageable.class));
     }
 
     @Test
     public void testLoadVehicleReportData_WithNoVehicles_ShouldReturnEmptyReport() {
-        when(vehicleService.listAll(null)).thenReturn(new ArrayList<>());
+        when(vehicleRepository.findReportTotals()).thenReturn(new VehicleReportTotals(0L, 0L, BigDecimal.ZERO));
 
         ReportDataService.VehicleReportData result = reportDataService.loadVehicleReportData();
 
@@ -204,12 +195,14 @@ public class ReportDataServiceTest {
         assertEquals(0, result.totalVehicles());
         assertEquals(0, result.distinctPartners());
         assertEquals(BigDecimal.ZERO, result.totalMonthlyValue());
+        verify(vehicleRepository, never()).countByFuelType();
+        verify(vehicleRepository, never()).countByMaker();
     }
 
     @Test
     public void testLoadVehicleReportData_ShouldGroupByFuelType() {
-        List<Vehicle> vehicles = Arrays.asList(testVehicle1, testVehicle2);
-        when(vehicleService.listAll(null)).thenReturn(vehicles);
+        stubVehicleAggregates(new VehicleReportTotals(2L, 1L, BigDecimal.ZERO),
+                List.of(new Object[]{"Gasolina", 1L}, new Object[]{"Flex", 1L}), List.of());
 
         ReportDataService.VehicleReportData result = reportDataService.loadVehicleReportData();
 
@@ -222,8 +215,8 @@ public class ReportDataServiceTest {
 
     @Test
     public void testLoadVehicleReportData_ShouldGroupByMaker() {
-        List<Vehicle> vehicles = Arrays.asList(testVehicle1, testVehicle2);
-        when(vehicleService.listAll(null)).thenReturn(vehicles);
+        stubVehicleAggregates(new VehicleReportTotals(3L, 1L, BigDecimal.ZERO), List.of(),
+                List.of(new Object[]{"Toyota", 1L}, new Object[]{"Honda", 2L}));
 
         ReportDataService.VehicleReportData result = reportDataService.loadVehicleReportData();
 
@@ -231,27 +224,26 @@ public class ReportDataServiceTest {
         assertNotNull(vehiclesByMaker);
         assertEquals(2, vehiclesByMaker.size());
         assertEquals(1L, vehiclesByMaker.get("Toyota"));
-        assertEquals(1L, vehiclesByMaker.get("Honda"));
+        assertEquals(2L, vehiclesByMaker.get("Honda"));
+        assertEquals("Honda", vehiclesByMaker.keySet().iterator().next());
     }
 
     @Test
-    public void testLoadVehicleReportData_WithNullFuelType_ShouldHandleGracefully() {
-        testVehicle1.setTipo_combustivel(null);
-        List<Vehicle> vehicles = Arrays.asList(testVehicle1, testVehicle2);
-        when(vehicleService.listAll(null)).thenReturn(vehicles);
+    public void testLoadVehicleReportData_WithNullOrBlankFuelType_ShouldMergeIntoNotInformed() {
+        stubVehicleAggregates(new VehicleReportTotals(4L, 1L, BigDecimal.ZERO),
+                List.of(new Object[]{null, 1L}, new Object[]{"", 2L}, new Object[]{"Flex", 1L}), List.of());
 
         ReportDataService.VehicleReportData result = reportDataService.loadVehicleReportData();
 
         Map<String, Long> vehiclesByFuel = result.vehiclesByFuel();
-        assertNotNull(vehiclesByFuel);
-        assertTrue(vehiclesByFuel.containsKey("Não informado"));
+        assertEquals(3L, vehiclesByFuel.get("Não informado"));
+        assertEquals(1L, vehiclesByFuel.get("Flex"));
     }
 
     @Test
     public void testLoadVehicleReportData_WithNullMaker_ShouldHandleGracefully() {
-        testVehicle1.setMaker(null);
-        List<Vehicle> vehicles = Arrays.asList(testVehicle1, testVehicle2);
-        when(vehicleService.listAll(null)).thenReturn(vehicles);
+        stubVehicleAggregates(new VehicleReportTotals(2L, 1L, BigDecimal.ZERO), List.of(),
+                List.of(new Object[]{null, 1L}, new Object[]{"Honda", 1L}));
 
         ReportDataService.VehicleReportData result = reportDataService.loadVehicleReportData();
 
@@ -261,59 +253,18 @@ public class ReportDataServiceTest {
     }
 
     @Test
-    public void testLoadVehicleReportData_ShouldCalculateTotalMonthlyValue() {
-        testVehicle1.setPayment(testPayment);
-        Payment payment2 = new Payment();
-        payment2.setMonthly(new BigDecimal("250.00"));
-        testVehicle2.setPayment(payment2);
-
-        List<Vehicle> vehicles = Arrays.asList(testVehicle1, testVehicle2);
-        when(vehicleService.listAll(null)).thenReturn(vehicles);
-
-        ReportDataService.VehicleReportData result = reportDataService.loadVehicleReportData();
-
-        assertEquals(new BigDecimal("400.00"), result.totalMonthlyValue());
-    }
-
-    @Test
-    public void testLoadVehicleReportData_WithNullPayment_ShouldHandleGracefully() {
-        testVehicle1.setPayment(null);
-        List<Vehicle> vehicles = Arrays.asList(testVehicle1, testVehicle2);
-        when(vehicleService.listAll(null)).thenReturn(vehicles);
-
-        ReportDataService.VehicleReportData result = reportDataService.loadVehicleReportData();
-
-        assertEquals(new BigDecimal("150.00"), result.totalMonthlyValue());
-    }
-
-    @Test
-    public void testLoadVehicleReportData_ShouldCountDistinctPartners() {
-        testVehicle2.setPartnerId(2L);
-        List<Vehicle> vehicles = Arrays.asList(testVehicle1, testVehicle2);
-        when(vehicleService.listAll(null)).thenReturn(vehicles);
+    public void testLoadVehicleReportData_WithoutPayments_ShouldReturnZeroMonthlyValue() {
+        stubVehicleAggregates(new VehicleReportTotals(2L, 2L, null), List.of(), List.of());
 
         ReportDataService.VehicleReportData result = reportDataService.loadVehicleReportData();
 
+        assertEquals(BigDecimal.ZERO, result.totalMonthlyValue());
         assertEquals(2, result.distinctPartners());
     }
 
-    @Test
-    public void testLoadPartnerReportData_WithPartnerWithoutAddress_ShouldHandleGracefully() {
-        testPartner1.setAddress(null);
-        List<Partner> partners = Arrays.asList(testPartner1);
-        when(partnerService.getAllPartners()).thenReturn(partners);
-
-        ReportDataService.PartnerReportData result = reportDataService.loadPartnerReportData();
-
-        Map<Long, String> addressSummary = result.partnerAddressSummary();
-        assertNotNull(addressSummary);
-        assertEquals("Não informado", addressSummary.get(1L));
-    }
-
     @Test
     public void testLoadVehicleReportData_ShouldFormatCurrencyInBrazilianFormat() {
-        List<Vehicle> vehicles = Arrays.asList(testVehicle1);
-        when(vehicleService.listAll(null)).thenReturn(vehicles);
+        stubVehicleAggregates(new VehicleReportTotals(1L, 1L, new BigDecimal("150.00")), List.of(), List.of());
 
         ReportDataService.VehicleReportData result = reportDataService.loadVehicleReportData();
 
@@ -321,4 +272,19 @@ public class ReportDataServiceTest {
         assertNotNull(formatted);
         assertTrue(formatted.contains("150") || formatted.contains("R$"));
     }
+
+    @Test
+    public void testLoadVehicleRows_ShouldCapPageSize() {
+        when(vehicleRepository.findReportRows(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(
+                new VehicleReportRow(1L, "Toyota", "Corolla", "ABC1234", "Gasolina", 1, null, "Partner 1",
+                        new BigDecimal("150.00")))));
+
+        Page<VehicleReportRow> result = reportDataService.loadVehicleRows(-1, 0);
+
+        assertEquals(1, result.getContent().size());
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(vehicleRepository).findReportRows(pageable.capture());
+        assertEquals(0, pageable.getValue().getPageNumber());
+        assertEquals(1, pageable.getValue().getPageSize());
+    }
 }
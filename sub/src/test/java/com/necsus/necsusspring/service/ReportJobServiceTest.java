@@ -0,0 +1,176 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.config.AsyncExecutors;
+import com.necsus.necsusspring.config.InstrumentedExecutor;
+import com.necsus.necsusspring.service.ReportJobService.JobState;
+import com.necsus.necsusspring.service.ReportJobService.JobStatus;
+import com.necsus.necsusspring.service.ReportJobService.ReportRequest;
+import com.necsus.necsusspring.service.ReportJobService.ReportType;
+import com.necsus.necsusspring.service.ReportJobService.ReportWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReportJobServiceTest {
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private AsyncExecutors asyncExecutors;
+
+    @Mock
+    private InstrumentedExecutor executor;
+
+    @TempDir
+    Path tempDir;
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    private ReportJobService reportJobService;
+
+    @BeforeEach
+    public void setUp() {
+        when(asyncExecutors.files()).thenReturn(executor);
+        when(fileStorageService.newExportPath(anyString()))
+                .thenAnswer(invocation -> tempDir.resolve(UUID.randomUUID() + invocation.getArgument(0, String.class)));
+        lenient().doAnswer(invocation -> tasks.add(invocation.getArgument(0)))
+                .when(executor).execute(any(Runnable.class));
+        reportJobService = new ReportJobService(fileStorageService, asyncExecutors, 1, 1, 1, 1, 120, 60000);
+    }
+
+    private static ReportRequest request(String key, ReportWriter writer) {
+        return new ReportRequest(ReportType.PARTNERS_EXCEL, key, "relatorio.xlsx", "application/octet-stream", 2, writer);
+    }
+
+    private static ReportWriter writing(String content) {
+        return (out, progress) -> {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            progress.accept(1);
+            return 2;
+        };
+    }
+
+    @Test
+    public void testSubmit_WithIdenticalRequestInFlight_ShouldReuseJobAndGrantAccess() {
+        JobStatus first = reportJobService.submit(request("full", writing("a")), "ana");
+        JobStatus second = reportJobService.submit(request("full", writing("a")), "bruno");
+
+        assertEquals(first.id(), second.id());
+        assertEquals(1, tasks.size());
+        assertTrue(reportJobService.find(first.id(), "bruno").isPresent());
+        assertTrue(reportJobService.find(first.id(), "carla").isEmpty());
+        verify(fileStorageService, times(1)).newExportPath(anyString());
+    }
+
+    @Test
+    public void testSubmit_WhenTypeLimitReached_ShouldQueueAndStartAfterRunningJobFinishes() {
+        JobStatus running = reportJobService.submit(request("full", writing("a")), "ana");
+        JobStatus waiting = reportJobService.submit(request("summary", writing("b")), "ana");
+
+        assertEquals(1, tasks.size());
+        assertEquals(JobState.PENDING, reportJobService.find(waiting.id(), "ana").orElseThrow().state());
+
+        tasks.get(0).run();
+
+        assertEquals(JobState.DONE, reportJobService.find(running.id(), "ana").orElseThrow().state());
+        assertEquals(2, tasks.size());
+        tasks.get(1).run();
+        assertEquals(JobState.DONE, reportJobService.find(waiting.id(), "ana").orElseThrow().state());
+    }
+
+    @Test
+    public void testSubmit_WhenTypeQueueIsFull_ShouldThrowIllegalStateException() {
+        reportJobService.submit(request("full", writing("a")), "ana");
+        reportJobService.submit(request("summary", writing("b")), "ana");
+
+        assertThrows(IllegalStateException.class,
+                () -> reportJobService.submit(request("other", writing("c")), "ana"));
+        verify(fileStorageService, times(2)).newExportPath(anyString());
+    }
+
+    @Test
+    public void testRun_ShouldWriteArtifactAndExposeItToOwnerOnly() throws IOException {
+        JobStatus submitted = reportJobService.submit(request("full", writing("conteúdo")), "ana");
+        assertTrue(reportJobService.artifact(submitted.id(), "ana").isEmpty());
+
+        tasks.get(0).run();
+
+        JobStatus done = reportJobService.find(submitted.id(), "ana").orElseThrow();
+        assertTrue(done.ready());
+        assertEquals(2, done.progress());
+        assertNotNull(done.finishedAt());
+        ReportJobService.Artifact artifact = reportJobService.artifact(submitted.id(), "ana").orElseThrow();
+        assertEquals("conteúdo", Files.readString(artifact.file(), StandardCharsets.UTF_8));
+        assertEquals("relatorio.xlsx", artifact.filename());
+        assertTrue(reportJobService.artifact(submitted.id(), "bruno").isEmpty());
+    }
+
+    @Test
+    public void testRun_WhenWriterFails_ShouldMarkFailedDeleteFileAndAllowNewRequest() {
+        JobStatus submitted = reportJobService.submit(request("full", (out, progress) -> {
+            throw new IOException("disco cheio");
+        }), "ana");
+
+        tasks.get(0).run();
+
+        JobStatus failed = reportJobService.find(submitted.id(), "ana").orElseThrow();
+        assertEquals(JobState.FAILED, failed.state());
+        assertEquals("Erro ao gerar relatório", failed.error());
+        verify(fileStorageService).deleteFile(anyString());
+
+        JobStatus retry = reportJobService.submit(request("full", writing("a")), "ana");
+        assertNotEquals(submitted.id(), retry.id());
+    }
+
+    @Test
+    public void testRun_WhenWriterThrowsError_ShouldMarkFailedRethrowAndAllowNewRequest() {
+        JobStatus submitted = reportJobService.submit(request("full", (out, progress) -> {
+            throw new OutOfMemoryError("heap");
+        }), "ana");
+
+        assertThrows(OutOfMemoryError.class, () -> tasks.get(0).run());
+
+        assertEquals(JobState.FAILED, reportJobService.find(submitted.id(), "ana").orElseThrow().state());
+        JobStatus retry = reportJobService.submit(request("full", writing("a")), "ana");
+        assertNotEquals(submitted.id(), retry.id());
+        assertEquals(2, tasks.size());
+    }
+
+    @Test
+    public void testPurgeExpired_ShouldRemoveFinishedJobsAndOrphanFiles() throws IOException {
+        reportJobService = new ReportJobService(fileStorageService, asyncExecutors, 1, 1, 1, 1, -1, 60000);
+        JobStatus submitted = reportJobService.submit(request("full", writing("a")), "ana");
+        tasks.get(0).run();
+
+        Path orphan = Files.writeString(tempDir.resolve("sobra.csv"), "x");
+        Files.setLastModifiedTime(orphan, FileTime.from(Instant.now().minus(1, ChronoUnit.DAYS)));
+        when(fileStorageService.listExportFiles()).thenReturn(List.of(orphan));
+
+        reportJobService.purgeExpired();
+
+        assertTrue(reportJobService.find(submitted.id(), "ana").isEmpty());
+        verify(fileStorageService).deleteFile(orphan.toString());
+        verify(fileStorageService, times(2)).deleteFile(anyString());
+    }
+}
@@ -0,0 +1,121 @@
+package com.necsus.necsusspring.service;
+
+import com.necsus.necsusspring.event.UnreadCountChangedEvent;
+import com.necsus.necsusspring.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UnreadNotificationCounterTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    public void setUp() {
+        counter = new UnreadNotificationCounter(notificationRepository, 100);
+    }
+
+    @Test
+    public void testGet_ShouldLoadOnceAndServeFromMemory() {
+        when(notificationRepository.countUnreadByRecipientId(1L)).thenReturn(4L);
+
+        assertEquals(4, counter.get(1L));
+        assertEquals(4, counter.get(1L));
+
+        verify(notificationRepository, times(1)).countUnreadByRecipientId(1L);
+        assertEquals(1, counter.stats().hits());
+    }
+
+    @Test
+    public void testOnUnreadCountChanged_ShouldAdjustWithoutGoingNegative() {
+        when(notificationRepository.countUnreadByRecipientId(1L)).thenReturn(1L);
+        counter.get(1L);
+
+        counter.onUnreadCountChanged(UnreadCountChangedEvent.delta(1L, 3));
+        assertEquals(4, counter.get(1L));
+
+        counter.onUnreadCountChanged(UnreadCountChangedEvent.delta(1L, -10));
+        assertEquals(0, counter.get(1L));
+
+        counter.onUnreadCountChanged(UnreadCountChangedEvent.delta(1L, 2));
+        counter.onUnreadCountChanged(UnreadCountChangedEvent.reset(1L));
+        assertEquals(0, counter.get(1L));
+        verify(notificationRepository, times(1)).countUnreadByRecipientId(1L);
+    }
+
+    @Test
+    public void testOnUnreadCountChanged_WhenNotCached_ShouldLoadOnNextRead() {
+        counter.onUnreadCountChanged(UnreadCountChangedEvent.delta(1L, 1));
+        when(notificationRepository.countUnreadByRecipientId(1L)).thenReturn(7L);
+
+        assertEquals(7, counter.get(1L));
+    }
+
+    @Test
+    public void testGet_WhenAdjustedDuringLoad_ShouldNotCacheLoadedValue() {
+        when(notificationRepository.countUnreadByRecipientId(1L)).thenAnswer(invocation -> {
+            counter.onUnreadCountChanged(UnreadCountChangedEvent.delta(1L, 1));
+            return 3L;
+        }).thenReturn(4L);
+
+        assertEquals(3, counter.get(1L));
+        assertEquals(4, counter.get(1L));
+    }
+
+    @Test
+    public void testGet_WhenFull_ShouldEvictOnlyLeastRecentlyUsedRecipient() {
+        counter = new UnreadNotificationCounter(notificationRepository, 2);
+        when(notificationRepository.countUnreadByRecipientId(anyLong())).thenReturn(1L);
+        counter.get(1L);
+        counter.get(2L);
+        counter.get(1L);
+
+        counter.get(3L);
+
+        assertEquals(2, counter.stats().size());
+        counter.get(1L);
+        verify(notificationRepository, times(1)).countUnreadByRecipientId(1L);
+        counter.get(2L);
+        verify(notificationRepository, times(2)).countUnreadByRecipientId(2L);
+    }
+
+    @Test
+    public void testOnUnreadCountChanged_ForUnknownRecipients_ShouldNotGrowCache() {
+        for (long recipientId = 1; recipientId <= 500; recipientId++) {
+            counter.onUnreadCountChanged(UnreadCountChangedEvent.delta(recipientId, 1));
+        }
+
+        assertEquals(0, counter.stats().size());
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    public void testReconcile_ShouldFixDriftedCounters() {
+        when(notificationRepository.countUnreadByRecipientId(1L)).thenReturn(5L);
+        when(notificationRepository.countUnreadByRecipientId(2L)).thenReturn(2L);
+        counter.get(1L);
+        counter.get(2L);
+        when(notificationRepository.countUnreadGroupedByRecipientIdIn(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 5L}));
+
+        int corrected = counter.reconcile();
+
+        assertEquals(1, corrected);
+        assertEquals(5, counter.get(1L));
+        assertEquals(0, counter.get(2L));
+        assertEquals(1, counter.stats().corrections());
+    }
+}
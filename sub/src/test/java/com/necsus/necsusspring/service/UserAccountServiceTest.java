@@ -11,6 +11,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -304,4 +306,28 @@ public class UserAccountServiceTest {
         assertTrue(result.getAuthorities().stream()
                 .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN")));
     }
+
+    @Test
+    public void testFindCurrentUserId_WithAccountPrincipal_ShouldUseIdFromLogin() {
+        when(userAccountRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        UserDetails principal = userAccountService.loadUserByUsername("testuser");
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities());
+
+        assertEquals(Optional.of(1L), userAccountService.findCurrentUserId(authentication));
+        verify(userAccountRepository, never()).findIdByUsername(any());
+    }
+
+    @Test
+    public void testFindCurrentUserId_WithOtherPrincipal_ShouldQueryCurrentUsernameEveryTime() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken("testuser", null, List.of());
+        when(userAccountRepository.findIdByUsername("testuser"))
+                .thenReturn(Optional.of(1L))
+                .thenReturn(Optional.of(2L));
+
+        assertEquals(Optional.of(1L), userAccountService.findCurrentUserId(authentication));
+        // Username renomeado e reaproveitado por outra conta: nada fica em memória
+        assertEquals(Optional.of(2L), userAccountService.findCurrentUserId(authentication));
+        assertEquals(Optional.empty(), userAccountService.findCurrentUserId(null));
+    }
 }
@@ -1,5 +1,6 @@
 package com.necsus.necsusspring.service;
 
+import com.necsus.necsusspring.event.EventBoardChangedEvent;
 import com.necsus.necsusspring.model.Payment;
 import com.necsus.necsusspring.model.Partner;
 import com.necsus.necsusspring.model.Vehicle;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -47,6 +49,9 @@ public class VehicleServiceTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private Vehicle testVehicle;
     private Partner testPartner;
     private Payment testPayment;
@@ -232,12 +237,16 @@ public class VehicleServiceTest {
         when(paymentRepository.findByVehicleId(1L)).thenReturn(Optional.of(testPayment));
         when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
 
+        when(eventRepository.findIdsByVehicleId(1L)).thenReturn(List.of(7L));
+
         Vehicle result = vehicleService.update(1L, updatedVehicle);
 
         assertNotNull(result);
         verify(vehicleRepository, times(1)).findById(1L);
         verify(vehicleRepository, times(1)).save(any(Vehicle.class));
         verify(paymentRepository, times(1)).save(any(Payment.class));
+        // Placa alterada: o card do evento no board precisa ser atualizado
+        verify(eventPublisher).publishEvent(new EventBoardChangedEvent(7L, EventBoardChangedEvent.Type.UPDATED));
     }
 
     @Test
@@ -256,10 +265,13 @@ public class VehicleServiceTest {
     @Test
     public void testDelete_WhenVehicleExists_ShouldDeleteVehicleAndRelatedData() {
         when(vehicleRepository.existsById(1L)).thenReturn(true);
+        when(eventRepository.findIdsByVehicleId(1L)).thenReturn(List.of(7L, 8L));
 
         vehicleService.delete(1L);
 
         verify(eventRepository, times(1)).deleteByVehicleId(1L);
+        verify(eventPublisher).publishEvent(new EventBoardChangedEvent(7L, EventBoardChangedEvent.Type.DELETED));
+        verify(eventPublisher).publishEvent(new EventBoardChangedEvent(8L, EventBoardChangedEvent.Type.DELETED));
         verify(paymentRepository, times(1)).deleteByVehicleId(1L);
         verify(vehicleRepository, times(1)).deleteById(1L);
     }